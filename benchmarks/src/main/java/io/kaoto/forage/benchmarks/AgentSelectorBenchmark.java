@@ -0,0 +1,75 @@
+package io.kaoto.forage.benchmarks;
+
+import io.kaoto.forage.agent.factory.AgentIdSelectorHelper;
+import io.kaoto.forage.agent.factory.AgentSelector;
+import io.kaoto.forage.agent.factory.MultiAgentConfig;
+import java.util.concurrent.TimeUnit;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares selecting the agent ID of an exchange with a selector created once per factory against creating the
+ * selector from the configuration for every exchange, for the route ID and header sources. Run with
+ * {@code -prof gc} to compare the allocation rate as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AgentSelectorBenchmark {
+
+    private static final String HEADER_NAME = "agent";
+
+    @Param({MultiAgentConfig.ROUTE_ID, MultiAgentConfig.HEADER})
+    public String source;
+
+    private DefaultCamelContext camelContext;
+    private MultiAgentConfig config;
+    private AgentSelector agentSelector;
+    private Exchange exchange;
+
+    @Setup
+    public void setup() {
+        System.setProperty("forage.multi.agent.id.source", source);
+        System.setProperty("forage.multi.agent.id.source.header", HEADER_NAME);
+
+        camelContext = new DefaultCamelContext();
+        config = new MultiAgentConfig();
+        agentSelector = AgentIdSelectorHelper.create(config);
+
+        exchange = new DefaultExchange(camelContext);
+        exchange.getIn().setHeader(HEADER_NAME, "weather");
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.clearProperty("forage.multi.agent.id.source");
+        System.clearProperty("forage.multi.agent.id.source.header");
+        camelContext.stop();
+    }
+
+    @Benchmark
+    public String cachedSelector() {
+        return AgentIdSelectorHelper.select(agentSelector, exchange);
+    }
+
+    @Benchmark
+    public String selectorPerExchange() {
+        return AgentIdSelectorHelper.select(config, exchange);
+    }
+}
@@ -0,0 +1,73 @@
+package io.kaoto.forage.benchmarks;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import io.kaoto.forage.memory.chat.messagewindow.PersistentChatMemoryStore;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the round-trips of {@link PersistentChatMemoryStore}, which copies the messages of the conversation on
+ * every update and every read, for conversations of increasing length.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ChatMemoryStoreBenchmark {
+
+    private static final String MEMORY_ID = "benchmark";
+
+    @Param({"4", "20", "100"})
+    public int messages;
+
+    private PersistentChatMemoryStore store;
+    private List<ChatMessage> conversation;
+
+    @Setup
+    public void setup() {
+        conversation = new ArrayList<>(messages);
+        conversation.add(SystemMessage.from("You are a helpful assistant answering questions about the weather."));
+        for (int i = 1; i < messages; i++) {
+            conversation.add(
+                    i % 2 == 1
+                            ? UserMessage.from("What is the weather like in city " + i + "?")
+                            : AiMessage.from("The weather in city " + (i - 1) + " is sunny, 21 degrees."));
+        }
+
+        store = new PersistentChatMemoryStore();
+        store.updateMessages(MEMORY_ID, conversation);
+    }
+
+    @Benchmark
+    public void updateMessages() {
+        store.updateMessages(MEMORY_ID, conversation);
+    }
+
+    @Benchmark
+    public List<ChatMessage> getMessages() {
+        return store.getMessages(MEMORY_ID);
+    }
+
+    @Benchmark
+    public List<ChatMessage> roundTrip() {
+        store.updateMessages(MEMORY_ID, conversation);
+        return store.getMessages(MEMORY_ID);
+    }
+}
@@ -0,0 +1,73 @@
+package io.kaoto.forage.benchmarks;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import io.kaoto.forage.core.ai.memory.ChatMessageCodec;
+import io.kaoto.forage.core.ai.memory.ChatMessageCodecs;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the chat memory codecs used by the remote chat memory stores, with and without compression, on
+ * conversations of increasing length.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ChatMessageCodecBenchmark {
+
+    @Param({"json", "binary"})
+    public String codecName;
+
+    @Param({"none", "deflate"})
+    public String compression;
+
+    @Param({"4", "20", "100"})
+    public int messages;
+
+    private ChatMessageCodec codec;
+    private List<ChatMessage> conversation;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() {
+        conversation = new ArrayList<>(messages);
+        conversation.add(SystemMessage.from("You are a helpful assistant answering questions about the weather."));
+        for (int i = 1; i < messages; i++) {
+            conversation.add(
+                    i % 2 == 1
+                            ? UserMessage.from("What is the weather like in city " + i + "?")
+                            : AiMessage.from("The weather in city " + (i - 1) + " is sunny, 21 degrees."));
+        }
+
+        codec = ChatMessageCodecs.of(codecName, compression);
+        encoded = codec.encode(conversation);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return codec.encode(conversation);
+    }
+
+    @Benchmark
+    public List<ChatMessage> decode() {
+        return codec.decode(encoded);
+    }
+}
@@ -0,0 +1,75 @@
+package io.kaoto.forage.benchmarks;
+
+import io.kaoto.forage.core.util.config.Config;
+import io.kaoto.forage.core.util.config.ConfigHelper;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the discovery of the named and default prefixes of a properties file holding 16 named datasources,
+ * through the regexp based {@link ConfigStore#readPrefixes(Config, String)} and the prefix index.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConfigPrefixesBenchmark {
+
+    private static final String KIND = "jdbc";
+
+    private final PrefixesConfig config = new PrefixesConfig();
+    private final String namedRegexp = ConfigHelper.getNamedPropertyRegexp(KIND);
+    private final String defaultRegexp = ConfigHelper.getDefaultPropertyRegexp(KIND);
+
+    @Setup
+    public void setup() {
+        // Reads the properties file once, so that the benchmarks measure the cached path
+        ConfigStore.getInstance().readNamedPrefixes(config, KIND);
+    }
+
+    @Benchmark
+    public Set<String> readPrefixesNamed() {
+        return ConfigStore.getInstance().readPrefixes(config, namedRegexp);
+    }
+
+    @Benchmark
+    public Set<String> readPrefixesDefault() {
+        return ConfigStore.getInstance().readPrefixes(config, defaultRegexp);
+    }
+
+    @Benchmark
+    public Set<String> readNamedPrefixes() {
+        return ConfigStore.getInstance().readNamedPrefixes(config, KIND);
+    }
+
+    @Benchmark
+    public Set<String> readDefaultPrefixes() {
+        return ConfigStore.getInstance().readDefaultPrefixes(config, KIND);
+    }
+
+    static final class PrefixesConfig implements Config {
+
+        @Override
+        public String name() {
+            return "forage-prefixes-benchmark";
+        }
+
+        @Override
+        public void register(String name, String value) {
+            // NO-OP
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package io.kaoto.forage.benchmarks;
+
+import io.kaoto.forage.core.util.config.Config;
+import io.kaoto.forage.core.util.config.ConfigModule;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link ConfigStore#get(ConfigModule)} with the previous store implementation, which kept every value
+ * in a {@link Properties} table behind a {@code synchronized} singleton accessor, at 1, 8 and 64 reader threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConfigStoreBenchmark {
+
+    private static final int MODULES = 256;
+
+    private ConfigModule[] modules;
+
+    @Setup
+    public void setup() {
+        modules = new ConfigModule[MODULES];
+        for (int i = 0; i < MODULES; i++) {
+            modules[i] = ConfigModule.of(BenchmarkConfig.class, "forage.benchmark.property" + i)
+                    .asNamed("ds" + (i % 16));
+            ConfigStore.getInstance().set(modules[i], "value" + i);
+            LegacyConfigStore.getInstance().set(modules[i], "value" + i);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int index;
+
+        int next() {
+            index = (index + 1) & (MODULES - 1);
+            return index;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Optional<String> snapshotGet1Thread(Cursor cursor) {
+        return ConfigStore.getInstance().get(modules[cursor.next()]);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Optional<String> snapshotGet8Threads(Cursor cursor) {
+        return ConfigStore.getInstance().get(modules[cursor.next()]);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public Optional<String> snapshotGet64Threads(Cursor cursor) {
+        return ConfigStore.getInstance().get(modules[cursor.next()]);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Optional<String> legacyGet1Thread(Cursor cursor) {
+        return LegacyConfigStore.getInstance().get(modules[cursor.next()]);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Optional<String> legacyGet8Threads(Cursor cursor) {
+        return LegacyConfigStore.getInstance().get(modules[cursor.next()]);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public Optional<String> legacyGet64Threads(Cursor cursor) {
+        return LegacyConfigStore.getInstance().get(modules[cursor.next()]);
+    }
+
+    static final class BenchmarkConfig implements Config {
+
+        @Override
+        public String name() {
+            return "forage-benchmark";
+        }
+
+        @Override
+        public void register(String name, String value) {
+            // NO-OP
+        }
+    }
+
+    /**
+     * Reproduces the read path of the store before the snapshot rework: a synchronized singleton accessor
+     * in front of a {@link Properties} table.
+     */
+    static final class LegacyConfigStore {
+        private static LegacyConfigStore INSTANCE;
+        private final Properties properties = new Properties();
+
+        static synchronized LegacyConfigStore getInstance() {
+            if (INSTANCE != null) {
+                return INSTANCE;
+            }
+
+            INSTANCE = new LegacyConfigStore();
+            return INSTANCE;
+        }
+
+        void set(ConfigModule module, String value) {
+            properties.put(module, value);
+        }
+
+        Optional<String> get(ConfigModule module) {
+            return Optional.ofNullable((String) properties.get(module));
+        }
+    }
+}
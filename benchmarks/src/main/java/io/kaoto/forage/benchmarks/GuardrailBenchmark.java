@@ -0,0 +1,104 @@
+package io.kaoto.forage.benchmarks;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.guardrail.InputGuardrail;
+import dev.langchain4j.guardrail.InputGuardrailResult;
+import dev.langchain4j.guardrail.OutputGuardrail;
+import dev.langchain4j.guardrail.OutputGuardrailResult;
+import io.kaoto.forage.core.guardrails.InputGuardrailProvider;
+import io.kaoto.forage.core.guardrails.OutputGuardrailProvider;
+import io.kaoto.forage.guardrails.input.CodeInjectionGuardrailProvider;
+import io.kaoto.forage.guardrails.input.InputLengthGuardrailProvider;
+import io.kaoto.forage.guardrails.input.KeywordFilterGuardrailProvider;
+import io.kaoto.forage.guardrails.input.PiiDetectorGuardrailProvider;
+import io.kaoto.forage.guardrails.input.PromptInjectionGuardrailProvider;
+import io.kaoto.forage.guardrails.output.JsonFormatGuardrailProvider;
+import io.kaoto.forage.guardrails.output.OutputLengthGuardrailProvider;
+import io.kaoto.forage.guardrails.output.SensitiveDataGuardrailProvider;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the evaluation of a message by each guardrail provider, created with its default configuration.
+ * The messages are benign, so that every guardrail runs all its checks rather than stopping at the first match.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GuardrailBenchmark {
+
+    private static final String USER_MESSAGE = "Could you summarize the attached quarterly report and list the three "
+            + "main risks mentioned by the finance team? Please keep the answer under two hundred words.";
+
+    private static final String AI_MESSAGE = "{\"summary\": \"Revenue grew by 4% over the quarter.\", "
+            + "\"risks\": [\"currency exposure\", \"supplier concentration\", \"hiring delays\"]}";
+
+    @State(Scope.Thread)
+    public static class Input {
+
+        private static final Map<String, Supplier<InputGuardrailProvider>> PROVIDERS = Map.of(
+                "code-injection", CodeInjectionGuardrailProvider::new,
+                "input-length", InputLengthGuardrailProvider::new,
+                "keyword-filter", KeywordFilterGuardrailProvider::new,
+                "pii-detector", PiiDetectorGuardrailProvider::new,
+                "prompt-injection", PromptInjectionGuardrailProvider::new);
+
+        @Param({"code-injection", "input-length", "keyword-filter", "pii-detector", "prompt-injection"})
+        public String provider;
+
+        private InputGuardrail guardrail;
+        private UserMessage message;
+
+        @Setup
+        public void setup() {
+            guardrail = PROVIDERS.get(provider).get().create(null);
+            message = UserMessage.from(USER_MESSAGE);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Output {
+
+        private static final Map<String, Supplier<OutputGuardrailProvider>> PROVIDERS = Map.of(
+                "json-format", JsonFormatGuardrailProvider::new,
+                "output-length", OutputLengthGuardrailProvider::new,
+                "sensitive-data", SensitiveDataGuardrailProvider::new);
+
+        @Param({"json-format", "output-length", "sensitive-data"})
+        public String provider;
+
+        private OutputGuardrail guardrail;
+        private AiMessage message;
+
+        @Setup
+        public void setup() {
+            guardrail = PROVIDERS.get(provider).get().create(null);
+            message = AiMessage.from(AI_MESSAGE);
+        }
+    }
+
+    @Benchmark
+    public InputGuardrailResult validateInput(Input input) {
+        return input.guardrail.validate(input.message);
+    }
+
+    @Benchmark
+    public OutputGuardrailResult validateOutput(Output output) {
+        return output.guardrail.validate(output.message);
+    }
+}
@@ -0,0 +1,110 @@
+package io.kaoto.forage.benchmarks;
+
+import io.kaoto.forage.jdbc.common.DataSourceFactoryConfig;
+import io.kaoto.forage.jdbc.common.idempotent.ForageJdbcMessageIdRepository;
+import io.kaoto.forage.jdbc.h2.H2Jdbc;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link ForageJdbcMessageIdRepository#add(String)} and {@link ForageJdbcMessageIdRepository#contains(String)}
+ * against an in-memory H2 database, through the pooled DataSource created by {@link H2Jdbc}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JdbcMessageIdRepositoryBenchmark {
+
+    private static final String PREFIX = "bench";
+    private static final int KNOWN_KEYS = 1024;
+
+    private static final Map<String, String> PROPERTIES = Map.of(
+            "forage.bench.jdbc.db.kind", "h2",
+            "forage.bench.jdbc.url", "jdbc:h2:mem:forage-benchmark;DB_CLOSE_DELAY=-1",
+            "forage.bench.jdbc.username", "sa",
+            "forage.bench.jdbc.password", "",
+            "forage.bench.jdbc.idempotent.repository.enabled", "true",
+            "forage.bench.jdbc.idempotent.repository.table.name", ForageJdbcMessageIdRepository.DEFAULT_TABLENAME,
+            "forage.bench.jdbc.idempotent.repository.table.create", "true",
+            "forage.bench.jdbc.idempotent.repository.processor.name", "benchmark");
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private DataSource dataSource;
+    private ForageJdbcMessageIdRepository repository;
+
+    @Setup
+    public void setup() {
+        PROPERTIES.forEach(System::setProperty);
+
+        H2Jdbc h2Jdbc = new H2Jdbc();
+        dataSource = h2Jdbc.create(PREFIX);
+        repository = new ForageJdbcMessageIdRepository(new DataSourceFactoryConfig(PREFIX), dataSource, h2Jdbc);
+        repository.start();
+
+        for (int i = 0; i < KNOWN_KEYS; i++) {
+            repository.add("known-" + i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        repository.clear();
+        repository.stop();
+        if (dataSource instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+        PROPERTIES.keySet().forEach(System::clearProperty);
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int index;
+
+        String nextKnownKey() {
+            index = (index + 1) & (KNOWN_KEYS - 1);
+            return "known-" + index;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean addNewKey() {
+        return repository.add("new-" + sequence.incrementAndGet());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean containsKnownKey1Thread(Cursor cursor) {
+        return repository.contains(cursor.nextKnownKey());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean containsKnownKey8Threads(Cursor cursor) {
+        return repository.contains(cursor.nextKnownKey());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean containsUnknownKey() {
+        return repository.contains("unknown");
+    }
+}
@@ -0,0 +1,112 @@
+package io.kaoto.forage.benchmarks;
+
+import dev.langchain4j.service.tool.ToolProvider;
+import io.kaoto.forage.agent.factory.MultiAgentFactory;
+import java.util.concurrent.TimeUnit;
+import org.apache.camel.Exchange;
+import org.apache.camel.component.langchain4j.agent.api.Agent;
+import org.apache.camel.component.langchain4j.agent.api.AiAgentBody;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link MultiAgentFactory#createAgent(Exchange, String)} once the agents are created, which is the path
+ * taken by every exchange, at 1, 8 and 64 threads spread over 8 agents.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MultiAgentFactoryBenchmark {
+
+    private static final int AGENTS = 8;
+
+    private DefaultCamelContext camelContext;
+    private MultiAgentFactory factory;
+    private Exchange exchange;
+    private String[] agentIds;
+
+    @Setup
+    public void setup() throws Exception {
+        agentIds = new String[AGENTS];
+        for (int i = 0; i < AGENTS; i++) {
+            agentIds[i] = "agent" + i;
+            System.setProperty("forage." + agentIds[i] + ".provider.agent.class", NoOpAgent.class.getName());
+        }
+        System.setProperty("forage.multi.agent.names", String.join(",", agentIds));
+
+        camelContext = new DefaultCamelContext();
+        camelContext.setApplicationContextClassLoader(MultiAgentFactoryBenchmark.class.getClassLoader());
+        camelContext.start();
+
+        factory = new MultiAgentFactory();
+        factory.setCamelContext(camelContext);
+        exchange = new DefaultExchange(camelContext);
+
+        for (String agentId : agentIds) {
+            factory.createAgent(exchange, agentId);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        camelContext.stop();
+        System.clearProperty("forage.multi.agent.names");
+        for (String agentId : agentIds) {
+            System.clearProperty("forage." + agentId + ".provider.agent.class");
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int index;
+
+        int next() {
+            index = (index + 1) & (AGENTS - 1);
+            return index;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Agent createAgent1Thread(Cursor cursor) throws Exception {
+        return factory.createAgent(exchange, agentIds[cursor.next()]);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Agent createAgent8Threads(Cursor cursor) throws Exception {
+        return factory.createAgent(exchange, agentIds[cursor.next()]);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public Agent createAgent64Threads(Cursor cursor) throws Exception {
+        return factory.createAgent(exchange, agentIds[cursor.next()]);
+    }
+
+    /**
+     * An agent without model, registered as a service so that the factory can resolve it.
+     */
+    public static final class NoOpAgent implements Agent {
+
+        @Override
+        public String chat(AiAgentBody<?> aiAgentBody, ToolProvider toolProvider) {
+            return aiAgentBody.getUserMessage();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package io.kaoto.forage.benchmarks;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.service.tool.ToolProvider;
+import dev.langchain4j.service.tool.ToolProviderResult;
+import io.kaoto.forage.agent.simple.SimpleAgent;
+import java.util.concurrent.TimeUnit;
+import org.apache.camel.component.langchain4j.agent.api.AgentConfiguration;
+import org.apache.camel.component.langchain4j.agent.api.AiAgentBody;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link SimpleAgent#chat(AiAgentBody, ToolProvider)} against a model answering immediately, so that the
+ * cost of the agent itself shows: reusing the cached AI service when the tool provider is unchanged, and
+ * rebuilding it when the tool provider alternates between two instances.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SimpleAgentBenchmark {
+
+    private final ToolProvider firstToolProvider =
+            request -> ToolProviderResult.builder().build();
+    private final ToolProvider secondToolProvider =
+            request -> ToolProviderResult.builder().build();
+
+    private SimpleAgent agent;
+    private AiAgentBody<?> body;
+    private boolean alternate;
+
+    @Setup
+    public void setup() {
+        agent = new SimpleAgent();
+        agent.configure(new AgentConfiguration().withChatModel(new EchoChatModel()));
+        body = new AiAgentBody<>("What is the weather like?");
+    }
+
+    @Benchmark
+    public String chatCachedService() {
+        return agent.chat(body, firstToolProvider);
+    }
+
+    @Benchmark
+    public String chatAlternatingToolProviders() {
+        alternate = !alternate;
+        return agent.chat(body, alternate ? firstToolProvider : secondToolProvider);
+    }
+
+    /**
+     * A model answering without any I/O.
+     */
+    static final class EchoChatModel implements ChatModel {
+
+        @Override
+        public ChatResponse doChat(ChatRequest chatRequest) {
+            return ChatResponse.builder().aiMessage(AiMessage.from("Sunny")).build();
+        }
+    }
+}
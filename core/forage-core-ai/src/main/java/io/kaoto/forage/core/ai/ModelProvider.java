@@ -2,8 +2,21 @@ package io.kaoto.forage.core.ai;
 
 import dev.langchain4j.model.chat.ChatModel;
 import io.kaoto.forage.core.common.BeanProvider;
+import io.kaoto.forage.core.util.config.ConfigOverlay;
 
 /**
  * Provider interface for creating AI models
  */
-public interface ModelProvider extends BeanProvider<ChatModel> {}
+public interface ModelProvider extends BeanProvider<ChatModel> {
+
+    /**
+     * Creates a new chat model, reading its configuration with the given overlay applied, so that the caller can
+     * hand configuration values to the provider without setting them as system properties
+     * @param id a pre-existing ID that can be used by the provider to refer to its configuration
+     * @param overlay the configuration values taking precedence over the system properties and configuration files
+     * @return the created chat model
+     */
+    default ChatModel create(String id, ConfigOverlay overlay) {
+        return overlay.apply(() -> create(id));
+    }
+}
@@ -0,0 +1,38 @@
+package io.kaoto.forage.core.ai;
+
+import dev.langchain4j.model.chat.StreamingChatModel;
+import io.kaoto.forage.core.util.config.ConfigOverlay;
+
+/**
+ * Optional capability of a {@link ModelProvider} that can also create streaming models, which emit the response
+ * token by token as the model produces it. The streaming model is created from the same configuration as the
+ * provider's chat model.
+ */
+public interface StreamingModelProvider {
+
+    /**
+     * Creates a new streaming chat model with the default configuration
+     * @return the created streaming chat model
+     */
+    default StreamingChatModel createStreaming() {
+        return createStreaming(null);
+    }
+
+    /**
+     * Creates a new streaming chat model
+     * @param id a pre-existing ID that can be used by the provider to refer to its configuration
+     * @return the created streaming chat model
+     */
+    StreamingChatModel createStreaming(String id);
+
+    /**
+     * Creates a new streaming chat model, reading its configuration with the given overlay applied
+     * @param id a pre-existing ID that can be used by the provider to refer to its configuration
+     * @param overlay the configuration values taking precedence over the system properties and configuration files
+     * @return the created streaming chat model
+     * @see ModelProvider#create(String, ConfigOverlay)
+     */
+    default StreamingChatModel createStreaming(String id, ConfigOverlay overlay) {
+        return overlay.apply(() -> createStreaming(id));
+    }
+}
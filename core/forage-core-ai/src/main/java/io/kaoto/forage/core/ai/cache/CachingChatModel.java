@@ -0,0 +1,295 @@
+package io.kaoto.forage.core.ai.cache;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.Capability;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.listener.ChatModelListener;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.request.ChatRequestParameters;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import io.kaoto.forage.core.instrumentation.CacheStatistics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link ChatModel} answering repeated requests from a cache instead of calling the model it wraps.
+ *
+ * <p>Requests are first looked up by the hash of their normalized content: the messages, with their whitespace
+ * collapsed, and the request parameters. Prompts differing only by case are told apart, unless case folding is
+ * enabled, as the case may change the meaning of a prompt or the expected response. When a {@link SemanticResponseIndex} is given,
+ * single-prompt requests without tools missing the exact lookup are then matched against the prompts cached in the
+ * same context by embedding similarity. Either way, responses are read from the {@link ResponseCache} local tier.
+ *
+ * <p>Requests with non-text content and responses requesting tool executions are never cached.
+ */
+public class CachingChatModel implements ChatModel {
+    private static final Logger LOG = LoggerFactory.getLogger(CachingChatModel.class);
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final ChatModel delegate;
+    private final ResponseCache cache;
+    private final SemanticResponseIndex semanticIndex;
+    private final boolean ignoreCase;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder semanticHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final CacheStatistics statistics = new Statistics();
+
+    /**
+     * @param delegate the model answering the requests missing the cache
+     * @param maxEntries the maximum number of responses kept
+     * @param ttlNanos how long a response is kept, or 0 to keep it until evicted
+     * @param semanticIndex the index used to match similar prompts, or null for exact matches only
+     * @param ignoreCase whether prompts differing only by case match the same response
+     */
+    public CachingChatModel(
+            ChatModel delegate,
+            int maxEntries,
+            long ttlNanos,
+            SemanticResponseIndex semanticIndex,
+            boolean ignoreCase) {
+        this.delegate = delegate;
+        this.semanticIndex = semanticIndex;
+        this.ignoreCase = ignoreCase;
+        this.cache =
+                new ResponseCache(maxEntries, ttlNanos, semanticIndex != null ? semanticIndex::evicted : key -> {});
+    }
+
+    @Override
+    public ChatResponse chat(ChatRequest chatRequest) {
+        final String normalized = normalize(chatRequest.messages());
+        if (normalized == null) {
+            return delegate.chat(chatRequest);
+        }
+
+        final String context = String.valueOf(chatRequest.parameters());
+        final String key = hash(context + '\n' + normalized);
+        ChatResponse response = cache.get(key);
+        if (response != null) {
+            hits.increment();
+            return response;
+        }
+
+        final String prompt = semanticIndex != null ? singlePrompt(chatRequest) : null;
+        Embedding embedding = null;
+        String semanticContext = null;
+        if (prompt != null) {
+            embedding = semanticIndex.embed(prompt);
+            semanticContext = hash(context + '\n' + normalize(systemMessages(chatRequest.messages())));
+            String similarKey = semanticIndex.find(embedding, semanticContext);
+            response = similarKey != null ? cache.get(similarKey) : null;
+            if (response != null) {
+                semanticHits.increment();
+                return response;
+            }
+        }
+
+        misses.increment();
+        response = delegate.chat(chatRequest);
+        if (response.aiMessage() != null && !response.aiMessage().hasToolExecutionRequests()) {
+            cache.put(key, response);
+            if (embedding != null) {
+                semanticIndex.add(key, prompt, embedding, semanticContext);
+            }
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(
+                    "Response cache miss ({} cached, {} hits, {} semantic hits, {} misses, {} evictions)",
+                    cache.size(),
+                    hits(),
+                    semanticHits(),
+                    misses(),
+                    evictions());
+        }
+        return response;
+    }
+
+    @Override
+    public ChatRequestParameters defaultRequestParameters() {
+        return delegate.defaultRequestParameters();
+    }
+
+    @Override
+    public List<ChatModelListener> listeners() {
+        return delegate.listeners();
+    }
+
+    @Override
+    public dev.langchain4j.model.ModelProvider provider() {
+        return delegate.provider();
+    }
+
+    @Override
+    public Set<Capability> supportedCapabilities() {
+        return delegate.supportedCapabilities();
+    }
+
+    /**
+     * Returns how many requests were answered from an exact match.
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns how many requests were answered from a similar prompt.
+     */
+    public long semanticHits() {
+        return semanticHits.sum();
+    }
+
+    /**
+     * Returns how many cacheable requests were sent to the model.
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns how many responses were removed because they expired or the cache was full.
+     */
+    public long evictions() {
+        return cache.evictions();
+    }
+
+    /**
+     * Returns the share of cacheable requests answered from the cache, between 0 and 1.
+     */
+    public double hitRatio() {
+        long cached = hits() + semanticHits();
+        long total = cached + misses();
+        return total == 0 ? 0 : (double) cached / total;
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Returns the statistics of the cache, the requests answered from a similar prompt counting as hits.
+     */
+    public CacheStatistics statistics() {
+        return statistics;
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Returns the user prompt of requests made of system messages and a single text user message, without tools,
+     * as only those can be matched semantically.
+     */
+    private static String singlePrompt(ChatRequest chatRequest) {
+        if (chatRequest.toolSpecifications() != null
+                && !chatRequest.toolSpecifications().isEmpty()) {
+            return null;
+        }
+
+        String prompt = null;
+        for (ChatMessage message : chatRequest.messages()) {
+            if (message instanceof UserMessage userMessage && prompt == null && userMessage.hasSingleText()) {
+                prompt = userMessage.singleText();
+            } else if (!(message instanceof SystemMessage)) {
+                return null;
+            }
+        }
+        return prompt;
+    }
+
+    private static List<ChatMessage> systemMessages(List<ChatMessage> messages) {
+        return messages.stream().filter(SystemMessage.class::isInstance).toList();
+    }
+
+    /**
+     * Returns the messages with their whitespace collapsed, and their case folded if requested, or null if one of
+     * them cannot be cached.
+     */
+    private String normalize(List<ChatMessage> messages) {
+        StringBuilder normalized = new StringBuilder();
+        for (ChatMessage message : messages) {
+            normalized.append(message.type()).append(':');
+            if (message instanceof SystemMessage systemMessage) {
+                normalized.append(normalize(systemMessage.text()));
+            } else if (message instanceof UserMessage userMessage) {
+                if (!userMessage.hasSingleText()) {
+                    return null;
+                }
+                normalized.append(normalize(userMessage.singleText()));
+            } else if (message instanceof AiMessage aiMessage) {
+                normalized.append(normalize(aiMessage.text()));
+                if (aiMessage.hasToolExecutionRequests()) {
+                    normalized.append(aiMessage.toolExecutionRequests());
+                }
+            } else if (message instanceof ToolExecutionResultMessage resultMessage) {
+                normalized
+                        .append(resultMessage.id())
+                        .append(':')
+                        .append(resultMessage.toolName())
+                        .append(':')
+                        .append(normalize(resultMessage.text()));
+            } else {
+                return null;
+            }
+            normalized.append('\n');
+        }
+        return normalized.toString();
+    }
+
+    private String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String collapsed = WHITESPACE.matcher(text.strip()).replaceAll(" ");
+        return ignoreCase ? collapsed.toLowerCase(Locale.ROOT) : collapsed;
+    }
+
+    private static String hash(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private final class Statistics implements CacheStatistics {
+
+        @Override
+        public long hits() {
+            return CachingChatModel.this.hits() + semanticHits();
+        }
+
+        @Override
+        public long misses() {
+            return CachingChatModel.this.misses();
+        }
+
+        @Override
+        public long evictions() {
+            return CachingChatModel.this.evictions();
+        }
+
+        @Override
+        public int size() {
+            return CachingChatModel.this.size();
+        }
+    }
+}
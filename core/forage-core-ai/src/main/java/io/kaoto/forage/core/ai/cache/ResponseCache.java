@@ -0,0 +1,110 @@
+package io.kaoto.forage.core.ai.cache;
+
+import dev.langchain4j.model.chat.response.ChatResponse;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * The local heap tier of the response cache: a bounded map of responses, evicting the least recently used one when
+ * full, where each response expires a fixed time after it was stored.
+ *
+ * <p>Lookups are cheap compared to a model round trip, so the map is simply guarded by its own lock. The keys removed
+ * are collected under the lock and reported once it is released, as the eviction callback may call a remote store.
+ */
+public final class ResponseCache {
+
+    private record Entry(ChatResponse response, long expiresAt) {}
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Consumer<String> onEviction;
+    private final Map<String, Entry> entries;
+    // The keys evicted by the current operation, guarded by the entries lock
+    private final List<String> evicted = new ArrayList<>();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maxEntries the maximum number of responses kept
+     * @param ttlNanos how long a response is kept, or 0 to keep it until evicted
+     * @param onEviction called, without holding any lock, with the key of each response removed from the cache,
+     *     expired or evicted
+     */
+    public ResponseCache(int maxEntries, long ttlNanos, Consumer<String> onEviction) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlNanos;
+        this.onEviction = onEviction;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > ResponseCache.this.maxEntries) {
+                    evicted.add(eldest.getKey());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the response stored for the key, or null if there is none or it has expired.
+     */
+    public ChatResponse get(String key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (ttlNanos <= 0 || System.nanoTime() - entry.expiresAt() <= 0) {
+                return entry.response();
+            }
+            entries.remove(key);
+        }
+        evictions.increment();
+        onEviction.accept(key);
+        return null;
+    }
+
+    public void put(String key, ChatResponse response) {
+        List<String> removed;
+        synchronized (entries) {
+            entries.put(key, new Entry(response, System.nanoTime() + ttlNanos));
+            if (evicted.isEmpty()) {
+                return;
+            }
+            removed = List.copyOf(evicted);
+            evicted.clear();
+        }
+        evictions.add(removed.size());
+        removed.forEach(onEviction);
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int maxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Returns how many responses were removed because they expired or the cache was full.
+     */
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public void clear() {
+        List<String> removed;
+        synchronized (entries) {
+            removed = List.copyOf(entries.keySet());
+            entries.clear();
+        }
+        removed.forEach(onEviction);
+    }
+}
@@ -0,0 +1,101 @@
+package io.kaoto.forage.core.ai.cache;
+
+import static dev.langchain4j.store.embedding.filter.MetadataFilterBuilder.metadataKey;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Finds the cached response of a prompt close enough to a new one, by comparing the embeddings of the prompts.
+ *
+ * <p>The index only holds the embeddings of the prompts, along with the key of their response in the
+ * {@link ResponseCache}: responses are always read from the local tier, so the embedding store may be shared and
+ * responses removed from the local tier are no longer matched.
+ */
+public final class SemanticResponseIndex {
+    private static final Logger LOG = LoggerFactory.getLogger(SemanticResponseIndex.class);
+
+    static final String KEY = "forage_cache_key";
+    static final String CONTEXT = "forage_cache_context";
+
+    private final EmbeddingModel embeddingModel;
+    private final EmbeddingStore<TextSegment> embeddingStore;
+    private final double minScore;
+
+    // The ids of the embeddings in the store, by response key, to remove them along with the responses
+    private final Map<String, String> ids = new ConcurrentHashMap<>();
+
+    /**
+     * @param embeddingModel the model computing the embeddings of the prompts
+     * @param embeddingStore the store of the embeddings of the cached prompts
+     * @param minScore the minimum similarity, between 0 and 1, for a cached prompt to match
+     */
+    public SemanticResponseIndex(
+            EmbeddingModel embeddingModel, EmbeddingStore<TextSegment> embeddingStore, double minScore) {
+        this.embeddingModel = embeddingModel;
+        this.embeddingStore = embeddingStore;
+        this.minScore = minScore;
+    }
+
+    public Embedding embed(String prompt) {
+        return embeddingModel.embed(prompt).content();
+    }
+
+    /**
+     * Returns the key of the response to the closest prompt sent in the same context, or null if none is close
+     * enough.
+     *
+     * @param embedding the embedding of the prompt
+     * @param context the hash of everything but the prompt in the request (system messages, parameters)
+     */
+    public String find(Embedding embedding, String context) {
+        List<EmbeddingMatch<TextSegment>> matches = embeddingStore
+                .search(EmbeddingSearchRequest.builder()
+                        .queryEmbedding(embedding)
+                        .maxResults(1)
+                        .minScore(minScore)
+                        .filter(metadataKey(CONTEXT).isEqualTo(context))
+                        .build())
+                .matches();
+        if (matches.isEmpty() || matches.get(0).embedded() == null) {
+            return null;
+        }
+        return matches.get(0).embedded().metadata().getString(KEY);
+    }
+
+    public void add(String key, String prompt, Embedding embedding, String context) {
+        TextSegment segment = TextSegment.from(prompt, Metadata.from(Map.of(KEY, key, CONTEXT, context)));
+        String previous = ids.put(key, embeddingStore.add(embedding, segment));
+        if (previous != null) {
+            remove(previous);
+        }
+    }
+
+    /**
+     * Removes the prompt whose response was removed from the local tier.
+     */
+    public void evicted(String key) {
+        String id = ids.remove(key);
+        if (id != null) {
+            remove(id);
+        }
+    }
+
+    private void remove(String id) {
+        try {
+            embeddingStore.remove(id);
+        } catch (UnsupportedOperationException e) {
+            LOG.trace("The embedding store cannot remove the embedding {}", id);
+        }
+    }
+}
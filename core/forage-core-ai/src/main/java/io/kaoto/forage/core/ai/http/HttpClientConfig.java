@@ -0,0 +1,62 @@
+package io.kaoto.forage.core.ai.http;
+
+import static io.kaoto.forage.core.ai.http.HttpClientConfigEntries.MAX_CONNECTIONS;
+import static io.kaoto.forage.core.ai.http.HttpClientConfigEntries.PROXY;
+import static io.kaoto.forage.core.ai.http.HttpClientConfigEntries.SHARED;
+
+import io.kaoto.forage.core.util.config.Config;
+import io.kaoto.forage.core.util.config.ConfigModule;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import java.util.Optional;
+
+/**
+ * Configuration of the HTTP clients shared by the model providers through {@link SharedHttpClients}.
+ *
+ * <p><strong>Configuration Parameters:</strong>
+ * <ul>
+ *   <li><strong>FORAGE_HTTP_CLIENT_SHARED</strong> - Share the HTTP clients across model providers (default: true)</li>
+ *   <li><strong>FORAGE_HTTP_CLIENT_MAX_CONNECTIONS</strong> - Maximum number of requests in flight per shared
+ *   client, 0 for no limit (default: 0)</li>
+ *   <li><strong>FORAGE_HTTP_CLIENT_PROXY</strong> - HTTP proxy as {@code host:port} (default: none)</li>
+ * </ul>
+ */
+public class HttpClientConfig implements Config {
+
+    public HttpClientConfig() {
+        // Loads the configurations from the properties file associated with this Config module
+        ConfigStore.getInstance().load(HttpClientConfig.class, this, this::register);
+
+        // Lastly, load the overrides defined in system properties and environment variables
+        HttpClientConfigEntries.loadOverrides(null);
+    }
+
+    @Override
+    public void register(String name, String value) {
+        Optional<ConfigModule> config = HttpClientConfigEntries.find(null, name);
+
+        config.ifPresent(module -> ConfigStore.getInstance().set(module, value));
+    }
+
+    @Override
+    public String name() {
+        return "forage-http-client";
+    }
+
+    public boolean shared() {
+        return ConfigStore.getInstance()
+                .get(SHARED)
+                .map(Boolean::parseBoolean)
+                .orElse(Boolean.parseBoolean(SHARED.defaultValue()));
+    }
+
+    public int maxConnections() {
+        return ConfigStore.getInstance()
+                .get(MAX_CONNECTIONS)
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(MAX_CONNECTIONS.defaultValue()));
+    }
+
+    public String proxy() {
+        return ConfigStore.getInstance().get(PROXY).orElse(null);
+    }
+}
@@ -0,0 +1,68 @@
+package io.kaoto.forage.core.ai.http;
+
+import io.kaoto.forage.core.util.config.ConfigEntries;
+import io.kaoto.forage.core.util.config.ConfigEntry;
+import io.kaoto.forage.core.util.config.ConfigModule;
+import io.kaoto.forage.core.util.config.ConfigTag;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class HttpClientConfigEntries extends ConfigEntries {
+    public static final ConfigModule SHARED = ConfigModule.of(
+            HttpClientConfig.class,
+            "forage.http.client.shared",
+            "Share the HTTP clients of the model providers calling the same endpoint with the same settings",
+            "Shared HTTP Clients",
+            "true",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule MAX_CONNECTIONS = ConfigModule.of(
+            HttpClientConfig.class,
+            "forage.http.client.max.connections",
+            "Maximum number of requests in flight on a shared HTTP client (0 for no limit)",
+            "Max Connections",
+            "0",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule PROXY = ConfigModule.of(
+            HttpClientConfig.class,
+            "forage.http.client.proxy",
+            "HTTP proxy used by the model providers, as host:port",
+            "Proxy",
+            null,
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+
+    private static final Map<ConfigModule, ConfigEntry> CONFIG_MODULES = new ConcurrentHashMap<>();
+
+    static {
+        init();
+    }
+
+    static void init() {
+        CONFIG_MODULES.put(SHARED, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(MAX_CONNECTIONS, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(PROXY, ConfigEntry.fromModule());
+    }
+
+    public static Map<ConfigModule, ConfigEntry> entries() {
+        return Collections.unmodifiableMap(CONFIG_MODULES);
+    }
+
+    public static Optional<ConfigModule> find(String prefix, String name) {
+        return find(CONFIG_MODULES, prefix, name);
+    }
+
+    /**
+     * Load override configurations (which are defined via environment variables and/or system properties)
+     * @param prefix and optional prefix to use
+     */
+    public static void loadOverrides(String prefix) {
+        load(CONFIG_MODULES, prefix);
+    }
+}
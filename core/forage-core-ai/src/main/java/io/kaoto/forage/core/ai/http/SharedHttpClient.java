@@ -0,0 +1,180 @@
+package io.kaoto.forage.core.ai.http;
+
+import dev.langchain4j.exception.HttpException;
+import dev.langchain4j.http.client.HttpClient;
+import dev.langchain4j.http.client.HttpRequest;
+import dev.langchain4j.http.client.SuccessfulHttpResponse;
+import dev.langchain4j.http.client.sse.ServerSentEvent;
+import dev.langchain4j.http.client.sse.ServerSentEventContext;
+import dev.langchain4j.http.client.sse.ServerSentEventListener;
+import dev.langchain4j.http.client.sse.ServerSentEventParser;
+import io.kaoto.forage.core.exceptions.RuntimeForageException;
+import io.kaoto.forage.core.instrumentation.HttpClientStatistics;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An HTTP client shared by the models calling the same endpoint, so that they reuse the same connections and TLS
+ * sessions, and multiplex their requests over HTTP/2.
+ *
+ * <p>Requests, streaming ones included, are bounded by the maximum number of connections, when one is configured.
+ * A request waits for a permit at most the read timeout of the client, or {@link #DEFAULT_ACQUIRE_TIMEOUT} without
+ * one, then fails. A streaming request holds its permit until the stream is closed or fails. Models asking for a
+ * different maximum number of connections are bound to different clients.
+ */
+public final class SharedHttpClient implements HttpClient, HttpClientStatistics {
+
+    static final Duration DEFAULT_ACQUIRE_TIMEOUT = Duration.ofSeconds(60);
+
+    private final SharedHttpClients.Key key;
+    private final HttpClient delegate;
+    private final int maxConnections;
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+
+    private final LongAdder models = new LongAdder();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder streamingRequests = new LongAdder();
+    private final LongAdder inFlight = new LongAdder();
+
+    SharedHttpClient(SharedHttpClients.Key key, HttpClient delegate) {
+        this.key = key;
+        this.delegate = delegate;
+        this.maxConnections = key.maxConnections();
+        this.permits = maxConnections > 0 ? new Semaphore(maxConnections) : null;
+        this.acquireTimeoutNanos = (key.readTimeout() != null ? key.readTimeout() : DEFAULT_ACQUIRE_TIMEOUT).toNanos();
+    }
+
+    @Override
+    public SuccessfulHttpResponse execute(HttpRequest request) throws HttpException, RuntimeException {
+        acquire();
+        requests.increment();
+        inFlight.increment();
+        try {
+            return delegate.execute(request);
+        } finally {
+            release();
+        }
+    }
+
+    @Override
+    public void execute(HttpRequest request, ServerSentEventParser parser, ServerSentEventListener listener) {
+        acquire();
+        streamingRequests.increment();
+        inFlight.increment();
+        ReleasingListener releasingListener = new ReleasingListener(listener);
+        try {
+            delegate.execute(request, parser, releasingListener);
+        } catch (RuntimeException e) {
+            releasingListener.release();
+            throw e;
+        }
+    }
+
+    private void acquire() {
+        if (permits == null) {
+            return;
+        }
+        try {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new RuntimeForageException(String.format(
+                        "Timed out after %d ms waiting for one of the %d connections to %s",
+                        TimeUnit.NANOSECONDS.toMillis(acquireTimeoutNanos), maxConnections, key.baseUrl()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeForageException("Interrupted while waiting for a connection to " + key.baseUrl(), e);
+        }
+    }
+
+    private void release() {
+        inFlight.decrement();
+        if (permits != null) {
+            permits.release();
+        }
+    }
+
+    void bound() {
+        models.increment();
+    }
+
+    /**
+     * Returns the settings this client was created for.
+     */
+    public SharedHttpClients.Key key() {
+        return key;
+    }
+
+    @Override
+    public long models() {
+        return models.sum();
+    }
+
+    @Override
+    public long requests() {
+        return requests.sum();
+    }
+
+    @Override
+    public long streamingRequests() {
+        return streamingRequests.sum();
+    }
+
+    @Override
+    public long inFlight() {
+        return inFlight.sum();
+    }
+
+    @Override
+    public int maxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * Releases the permit of a streaming request once, when its stream is closed or fails.
+     */
+    private final class ReleasingListener implements ServerSentEventListener {
+        private final ServerSentEventListener delegate;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ReleasingListener(ServerSentEventListener delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onOpen(SuccessfulHttpResponse response) {
+            delegate.onOpen(response);
+        }
+
+        @Override
+        public void onEvent(ServerSentEvent event, ServerSentEventContext context) {
+            delegate.onEvent(event, context);
+        }
+
+        @Override
+        public void onEvent(ServerSentEvent event) {
+            delegate.onEvent(event);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            release();
+            delegate.onError(error);
+        }
+
+        @Override
+        public void onClose() {
+            release();
+            delegate.onClose();
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                SharedHttpClient.this.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package io.kaoto.forage.core.ai.http;
+
+import dev.langchain4j.http.client.HttpClient;
+import dev.langchain4j.http.client.HttpClientBuilder;
+import dev.langchain4j.http.client.jdk.JdkHttpClientBuilder;
+import io.kaoto.forage.core.exceptions.RuntimeForageException;
+import io.kaoto.forage.core.instrumentation.ForageInstrumentation;
+import java.net.InetSocketAddress;
+import java.net.ProxySelector;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Registry of the HTTP clients used by the model providers, keyed by base URL, protocol version, proxy, timeouts and
+ * maximum number of connections.
+ *
+ * <p>Each named agent used to build its model with its own HTTP client, opening its own connection pool and TLS
+ * sessions to the same endpoint. Model providers instead pass {@link #builder(String, java.net.http.HttpClient.Version)}
+ * to the model builders, so that the models calling the same endpoint with the same settings share one JDK HTTP
+ * client. HTTP/2 is used unless HTTP/1.1 is requested, so concurrent requests to the same endpoint are multiplexed
+ * over the same connection.
+ *
+ * <p>The JDK client keeps idle connections alive for {@code jdk.httpclient.keepalive.timeout} seconds (1200 by
+ * default), and bounds its HTTP/1.1 pool with {@code jdk.httpclient.connectionPoolSize}.
+ *
+ * <p>The shared clients are registered with {@link ForageInstrumentation}, which exposes how many models reuse each
+ * of them and how many requests they are executing.
+ *
+ * @see HttpClientConfig
+ */
+public final class SharedHttpClients {
+    private static final Logger LOG = LoggerFactory.getLogger(SharedHttpClients.class);
+
+    /**
+     * The settings identifying a shared client.
+     */
+    public record Key(
+            String baseUrl,
+            java.net.http.HttpClient.Version version,
+            String proxy,
+            Duration connectTimeout,
+            Duration readTimeout,
+            int maxConnections) {}
+
+    private static final Map<Key, SharedHttpClient> CLIENTS = new ConcurrentHashMap<>();
+    private static final LongAdder CREATED = new LongAdder();
+    private static final LongAdder REUSED = new LongAdder();
+
+    private SharedHttpClients() {}
+
+    /**
+     * Returns a builder of HTTP client for the given endpoint, to pass to a model builder. The model builder sets
+     * the timeouts, then builds the client: the shared client for those settings is returned, created on first use.
+     * If sharing is disabled, the builder creates a new JDK HTTP client each time, as the model builder would.
+     *
+     * @param baseUrl the base URL of the endpoint, or null for the default endpoint of the model
+     * @param version the HTTP protocol version
+     * @return the builder to pass to the model builder
+     */
+    public static HttpClientBuilder builder(String baseUrl, java.net.http.HttpClient.Version version) {
+        return new Builder(baseUrl, version, new HttpClientConfig());
+    }
+
+    /**
+     * Returns the shared clients created so far.
+     */
+    public static Collection<SharedHttpClient> clients() {
+        return List.copyOf(CLIENTS.values());
+    }
+
+    /**
+     * Returns how many shared clients were created.
+     */
+    public static long created() {
+        return CREATED.sum();
+    }
+
+    /**
+     * Returns how many times a model was bound to an existing shared client instead of creating its own.
+     */
+    public static long reused() {
+        return REUSED.sum();
+    }
+
+    static SharedHttpClient get(Key key) {
+        SharedHttpClient client = CLIENTS.get(key);
+        if (client != null) {
+            REUSED.increment();
+        } else {
+            client = CLIENTS.computeIfAbsent(key, k -> {
+                CREATED.increment();
+                LOG.debug("Creating shared HTTP client for {}", k);
+                SharedHttpClient created = new SharedHttpClient(k, newClient(k));
+                ForageInstrumentation.registerHttpClient(k.baseUrl(), created);
+                return created;
+            });
+        }
+        client.bound();
+        return client;
+    }
+
+    private static HttpClient newClient(Key key) {
+        java.net.http.HttpClient.Builder httpClientBuilder =
+                java.net.http.HttpClient.newBuilder().version(key.version());
+        if (key.proxy() != null) {
+            httpClientBuilder.proxy(ProxySelector.of(proxyAddress(key.proxy())));
+        }
+
+        JdkHttpClientBuilder builder = new JdkHttpClientBuilder().httpClientBuilder(httpClientBuilder);
+        if (key.connectTimeout() != null) {
+            builder.connectTimeout(key.connectTimeout());
+        }
+        if (key.readTimeout() != null) {
+            builder.readTimeout(key.readTimeout());
+        }
+        return builder.build();
+    }
+
+    private static InetSocketAddress proxyAddress(String proxy) {
+        int separator = proxy.lastIndexOf(':');
+        if (separator <= 0) {
+            throw new RuntimeForageException("The HTTP proxy must be configured as host:port, but was " + proxy);
+        }
+        try {
+            return InetSocketAddress.createUnresolved(
+                    proxy.substring(0, separator), Integer.parseInt(proxy.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeForageException("Invalid HTTP proxy " + proxy, e);
+        }
+    }
+
+    private static final class Builder implements HttpClientBuilder {
+        private final String baseUrl;
+        private final java.net.http.HttpClient.Version version;
+        private final HttpClientConfig config;
+        private Duration connectTimeout;
+        private Duration readTimeout;
+
+        private Builder(String baseUrl, java.net.http.HttpClient.Version version, HttpClientConfig config) {
+            this.baseUrl = baseUrl;
+            this.version = version;
+            this.config = config;
+        }
+
+        @Override
+        public Duration connectTimeout() {
+            return connectTimeout;
+        }
+
+        @Override
+        public HttpClientBuilder connectTimeout(Duration timeout) {
+            this.connectTimeout = timeout;
+            return this;
+        }
+
+        @Override
+        public Duration readTimeout() {
+            return readTimeout;
+        }
+
+        @Override
+        public HttpClientBuilder readTimeout(Duration timeout) {
+            this.readTimeout = timeout;
+            return this;
+        }
+
+        @Override
+        public HttpClient build() {
+            Key key = new Key(baseUrl, version, config.proxy(), connectTimeout, readTimeout, config.maxConnections());
+            if (!config.shared()) {
+                return newClient(key);
+            }
+            return get(key);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package io.kaoto.forage.core.ai.limit;
+
+import io.kaoto.forage.core.exceptions.RuntimeForageException;
+import io.kaoto.forage.core.instrumentation.LimiterStatistics;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits the number of concurrent calls to a model, adapting the limit to what the provider sustains.
+ *
+ * <p>The limit follows an AIMD (additive increase, multiplicative decrease) policy: each successful call raises the
+ * limit by {@code 1 / limit}, that is by one once a full window of calls succeeded, while each call rejected by the
+ * provider because of rate limiting or overload halves it. The limit stays between 1 and the configured maximum, and
+ * only grows while the calls in flight actually use it. Latency is not used as a congestion signal, as the latency
+ * of a model call mostly depends on the length of its response.
+ *
+ * <p>Callers exceeding the limit wait in a bounded queue, up to a timeout. Callers arriving when the queue is full,
+ * or waiting longer than the timeout, are rejected with a {@link RuntimeForageException} without calling the model,
+ * so that an overloaded provider sees fewer requests instead of a retry storm.
+ */
+public final class AdaptiveConcurrencyLimiter implements LimiterStatistics {
+
+    private static final double BACKOFF_RATIO = 0.5;
+
+    private final String name;
+    private final int maxLimit;
+    private final int maxQueued;
+    private final long queueTimeoutNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private double limit;
+    private int inFlight;
+    private int queued;
+
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder drops = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    /**
+     * @param name the name of the limited model, used in error messages
+     * @param maxLimit the maximum number of concurrent calls
+     * @param maxQueued the maximum number of callers waiting for a permit
+     * @param queueTimeoutNanos how long a caller waits for a permit before being rejected
+     */
+    public AdaptiveConcurrencyLimiter(String name, int maxLimit, int maxQueued, long queueTimeoutNanos) {
+        this.name = name;
+        this.maxLimit = Math.max(1, maxLimit);
+        this.maxQueued = Math.max(0, maxQueued);
+        this.queueTimeoutNanos = queueTimeoutNanos;
+        this.limit = Math.max(1, this.maxLimit / 2);
+    }
+
+    /**
+     * A permit to call the model, which must be released exactly once through one of its methods.
+     */
+    public final class Permit {
+        private Permit() {}
+
+        /**
+         * Releases the permit after a successful call.
+         */
+        public void success() {
+            successes.increment();
+            release(false);
+        }
+
+        /**
+         * Releases the permit after a call rejected by the provider because of rate limiting or overload.
+         */
+        public void dropped() {
+            drops.increment();
+            release(true);
+        }
+
+        /**
+         * Releases the permit after a call failing for reasons unrelated to the load of the provider.
+         */
+        public void ignored() {
+            release(null);
+        }
+    }
+
+    /**
+     * Acquires a permit, waiting in the queue if the limit is reached.
+     *
+     * @return the permit to release once the call is done
+     * @throws RuntimeForageException if the queue is full, the wait times out or the caller is interrupted
+     */
+    public Permit acquire() {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit) {
+                inFlight++;
+                return new Permit();
+            }
+            if (queued >= maxQueued) {
+                rejections.increment();
+                throw new RuntimeForageException(String.format(
+                        "Too many concurrent calls to %s: %d in flight and %d waiting", name, inFlight, queued));
+            }
+
+            queued++;
+            try {
+                long remaining = queueTimeoutNanos;
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0) {
+                        rejections.increment();
+                        throw new RuntimeForageException(String.format(
+                                "Timed out after %d ms waiting to call %s",
+                                TimeUnit.NANOSECONDS.toMillis(queueTimeoutNanos), name));
+                    }
+                    remaining = available.awaitNanos(remaining);
+                }
+                inFlight++;
+                return new Permit();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                rejections.increment();
+                throw new RuntimeForageException("Interrupted while waiting to call " + name, e);
+            } finally {
+                queued--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param dropped true if the call was dropped, false if it succeeded, null if it says nothing about the load
+     */
+    private void release(Boolean dropped) {
+        lock.lock();
+        try {
+            if (Boolean.TRUE.equals(dropped)) {
+                limit = Math.max(1, limit * BACKOFF_RATIO);
+            } else if (Boolean.FALSE.equals(dropped) && inFlight >= (int) limit) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+            inFlight--;
+            // The limit may have grown by more than one permit
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public int limit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int queued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long successes() {
+        return successes.sum();
+    }
+
+    @Override
+    public long drops() {
+        return drops.sum();
+    }
+
+    @Override
+    public long rejections() {
+        return rejections.sum();
+    }
+}
@@ -0,0 +1,91 @@
+package io.kaoto.forage.core.ai.limit;
+
+import dev.langchain4j.exception.HttpException;
+import dev.langchain4j.model.chat.Capability;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.listener.ChatModelListener;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.request.ChatRequestParameters;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A {@link ChatModel} calling the model it wraps through an {@link AdaptiveConcurrencyLimiter}.
+ *
+ * <p>Calls failing with a rate limit (HTTP 429), an overload (HTTP 503) or a timeout reduce the limit; the failure
+ * is still thrown to the caller.
+ */
+public class ConcurrencyLimitedChatModel implements ChatModel {
+
+    private final ChatModel delegate;
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public ConcurrencyLimitedChatModel(ChatModel delegate, AdaptiveConcurrencyLimiter limiter) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+    }
+
+    @Override
+    public ChatResponse chat(ChatRequest chatRequest) {
+        final AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire();
+        final ChatResponse response;
+        try {
+            response = delegate.chat(chatRequest);
+        } catch (RuntimeException | Error e) {
+            if (isOverload(e)) {
+                permit.dropped();
+            } else {
+                permit.ignored();
+            }
+            throw e;
+        }
+        permit.success();
+        return response;
+    }
+
+    @Override
+    public ChatRequestParameters defaultRequestParameters() {
+        return delegate.defaultRequestParameters();
+    }
+
+    @Override
+    public List<ChatModelListener> listeners() {
+        return delegate.listeners();
+    }
+
+    @Override
+    public dev.langchain4j.model.ModelProvider provider() {
+        return delegate.provider();
+    }
+
+    @Override
+    public Set<Capability> supportedCapabilities() {
+        return delegate.supportedCapabilities();
+    }
+
+    public AdaptiveConcurrencyLimiter limiter() {
+        return limiter;
+    }
+
+    /**
+     * Returns whether the failure tells that the provider is overloaded. Providers built on their own SDK report
+     * rate limits with their own exceptions, so these are recognized by name as well.
+     */
+    static boolean isOverload(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof HttpException httpException
+                    && (httpException.statusCode() == 429 || httpException.statusCode() == 503)) {
+                return true;
+            }
+            if (t instanceof java.util.concurrent.TimeoutException || t instanceof java.net.http.HttpTimeoutException) {
+                return true;
+            }
+            String type = t.getClass().getSimpleName();
+            if (type.contains("RateLimit") || type.contains("TooManyRequests") || type.contains("Timeout")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
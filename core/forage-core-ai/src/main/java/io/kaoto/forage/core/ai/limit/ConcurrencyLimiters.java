@@ -0,0 +1,100 @@
+package io.kaoto.forage.core.ai.limit;
+
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import io.kaoto.forage.core.instrumentation.ForageInstrumentation;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Registry of the concurrency limiters of the models, one per provider, endpoint and model name, so that all the
+ * agents calling the same model on the same endpoint share the same limit, whether they stream or not.
+ *
+ * <p>Model providers wrap the models they create with {@link #limit}, using the settings of their configuration.
+ * The limiter of a model is created with the settings of the first model created for it, and registered with
+ * {@link ForageInstrumentation}, which exposes its limit, the calls in flight and queued, and their outcomes.
+ */
+public final class ConcurrencyLimiters {
+    private static final Logger LOG = LoggerFactory.getLogger(ConcurrencyLimiters.class);
+
+    private static final Map<String, AdaptiveConcurrencyLimiter> LIMITERS = new ConcurrentHashMap<>();
+
+    private ConcurrencyLimiters() {}
+
+    /**
+     * Wraps the model with the limiter of the provider, endpoint and model name, if a maximum limit is configured.
+     *
+     * @param chatModel the model to limit
+     * @param provider the provider kind (i.e.: {@code openai})
+     * @param endpoint the base URL of the provider, or null for its default endpoint
+     * @param modelName the model name, or null for the default model of the provider
+     * @param maxLimit the maximum number of concurrent calls, or null to not limit the model
+     * @param queueSize the maximum number of callers waiting for a permit
+     * @param queueTimeout how long a caller waits for a permit
+     * @return the limited model, or the model itself if no maximum limit is configured
+     */
+    public static ChatModel limit(
+            ChatModel chatModel,
+            String provider,
+            String endpoint,
+            String modelName,
+            Integer maxLimit,
+            int queueSize,
+            Duration queueTimeout) {
+        if (maxLimit == null || maxLimit <= 0) {
+            return chatModel;
+        }
+        return new ConcurrencyLimitedChatModel(
+                chatModel, limiter(provider, endpoint, modelName, maxLimit, queueSize, queueTimeout));
+    }
+
+    /**
+     * Wraps the streaming model with the limiter of the provider, endpoint and model name, if a maximum limit is
+     * configured. A streaming call holds its permit until its response is complete or fails.
+     *
+     * @see #limit(ChatModel, String, String, String, Integer, int, Duration)
+     */
+    public static StreamingChatModel limit(
+            StreamingChatModel chatModel,
+            String provider,
+            String endpoint,
+            String modelName,
+            Integer maxLimit,
+            int queueSize,
+            Duration queueTimeout) {
+        if (maxLimit == null || maxLimit <= 0) {
+            return chatModel;
+        }
+        return new ConcurrencyLimitedStreamingChatModel(
+                chatModel, limiter(provider, endpoint, modelName, maxLimit, queueSize, queueTimeout));
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(
+            String provider, String endpoint, String modelName, int maxLimit, int queueSize, Duration queueTimeout) {
+        String name = provider + (endpoint != null ? "@" + endpoint : "") + (modelName != null ? "/" + modelName : "");
+        return LIMITERS.computeIfAbsent(name, n -> {
+            LOG.info(
+                    "Limiting the concurrent calls to {} to {}, with up to {} callers waiting {} ms",
+                    n,
+                    maxLimit,
+                    queueSize,
+                    queueTimeout.toMillis());
+            AdaptiveConcurrencyLimiter limiter =
+                    new AdaptiveConcurrencyLimiter(n, maxLimit, queueSize, queueTimeout.toNanos());
+            ForageInstrumentation.registerLimiter(n, limiter);
+            return limiter;
+        });
+    }
+
+    /**
+     * Returns the limiters created so far.
+     */
+    public static Collection<AdaptiveConcurrencyLimiter> limiters() {
+        return List.copyOf(LIMITERS.values());
+    }
+}
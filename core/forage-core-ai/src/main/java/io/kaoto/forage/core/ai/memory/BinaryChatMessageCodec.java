@@ -0,0 +1,242 @@
+package io.kaoto.forage.core.ai.memory;
+
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.ChatMessageDeserializer;
+import dev.langchain4j.data.message.ChatMessageSerializer;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.data.message.UserMessage;
+import io.kaoto.forage.core.exceptions.RuntimeForageException;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodes chat messages in a compact binary form: a message-type tag followed by the fields of the message, each
+ * string being its UTF-8 bytes prefixed with their length.
+ *
+ * <p>System messages, single-text user messages, AI messages made of a text, a thinking text and tool execution
+ * requests, and tool execution results are encoded field by field. Any other message, such as a user message with
+ * an image or an AI message with attributes, is encoded as its JSON form, so that nothing is lost.
+ *
+ * <p>Decoding recognizes the formats of all the built-in codecs, so that conversations stored as JSON remain
+ * readable after switching to this codec.
+ */
+public final class BinaryChatMessageCodec implements ChatMessageCodec {
+
+    public static final String NAME = "binary";
+    public static final BinaryChatMessageCodec INSTANCE = new BinaryChatMessageCodec();
+
+    /** First byte of an encoded conversation, never the first byte of a JSON document. */
+    static final byte CONVERSATION = (byte) 0xB1;
+    /** First byte of an encoded message, never the first byte of a JSON document. */
+    static final byte MESSAGE = (byte) 0xB2;
+
+    private static final int JSON = 0;
+    private static final int SYSTEM = 1;
+    private static final int USER = 2;
+    private static final int AI = 3;
+    private static final int TOOL_EXECUTION_RESULT = 4;
+
+    private BinaryChatMessageCodec() {}
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] encode(List<ChatMessage> messages) {
+        Writer writer = new Writer(64 * messages.size() + 8);
+        writer.out.write(CONVERSATION);
+        writer.writeVarInt(messages.size());
+        for (ChatMessage message : messages) {
+            write(writer, message);
+        }
+        return writer.out.toByteArray();
+    }
+
+    @Override
+    public List<ChatMessage> decode(byte[] bytes) {
+        return ChatMessageCodecs.decode(bytes);
+    }
+
+    @Override
+    public byte[] encodeMessage(ChatMessage message) {
+        Writer writer = new Writer(72);
+        writer.out.write(MESSAGE);
+        write(writer, message);
+        return writer.out.toByteArray();
+    }
+
+    @Override
+    public ChatMessage decodeMessage(byte[] bytes) {
+        return ChatMessageCodecs.decodeMessage(bytes);
+    }
+
+    static List<ChatMessage> decodeConversation(byte[] bytes) {
+        Reader reader = new Reader(bytes, 1);
+        int count = reader.readVarInt();
+        List<ChatMessage> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            messages.add(read(reader));
+        }
+        return messages;
+    }
+
+    static ChatMessage decodeSingleMessage(byte[] bytes) {
+        return read(new Reader(bytes, 1));
+    }
+
+    private static void write(Writer writer, ChatMessage message) {
+        // A message is only encoded field by field if rebuilding it from those fields gives it back
+        if (message instanceof SystemMessage system) {
+            writer.out.write(SYSTEM);
+            writer.writeString(system.text());
+        } else if (message instanceof UserMessage user && user.hasSingleText() && isPlainUserMessage(user)) {
+            writer.out.write(USER);
+            writer.writeString(user.name());
+            writer.writeString(user.singleText());
+        } else if (message instanceof AiMessage ai && isPlainAiMessage(ai)) {
+            writer.out.write(AI);
+            writer.writeString(ai.text());
+            writer.writeString(ai.thinking());
+            writer.writeVarInt(ai.toolExecutionRequests().size());
+            for (ToolExecutionRequest request : ai.toolExecutionRequests()) {
+                writer.writeString(request.id());
+                writer.writeString(request.name());
+                writer.writeString(request.arguments());
+            }
+        } else if (message instanceof ToolExecutionResultMessage result
+                && ToolExecutionResultMessage.from(result.id(), result.toolName(), result.text())
+                        .equals(result)) {
+            writer.out.write(TOOL_EXECUTION_RESULT);
+            writer.writeString(result.id());
+            writer.writeString(result.toolName());
+            writer.writeString(result.text());
+        } else {
+            writer.out.write(JSON);
+            writer.writeString(ChatMessageSerializer.messageToJson(message));
+        }
+    }
+
+    private static ChatMessage read(Reader reader) {
+        int tag = reader.readByte();
+        return switch (tag) {
+            case SYSTEM -> SystemMessage.from(reader.readString());
+            case USER -> userMessage(reader.readString(), reader.readString());
+            case AI -> {
+                String text = reader.readString();
+                String thinking = reader.readString();
+                int count = reader.readVarInt();
+                List<ToolExecutionRequest> requests = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    requests.add(ToolExecutionRequest.builder()
+                            .id(reader.readString())
+                            .name(reader.readString())
+                            .arguments(reader.readString())
+                            .build());
+                }
+                yield aiMessage(text, thinking, requests);
+            }
+            case TOOL_EXECUTION_RESULT -> ToolExecutionResultMessage.from(
+                    reader.readString(), reader.readString(), reader.readString());
+            case JSON -> ChatMessageDeserializer.messageFromJson(reader.readString());
+            default -> throw new RuntimeForageException("Unknown chat message tag: " + tag);
+        };
+    }
+
+    private static boolean isPlainUserMessage(UserMessage user) {
+        return userMessage(user.name(), user.singleText()).equals(user);
+    }
+
+    private static boolean isPlainAiMessage(AiMessage ai) {
+        return aiMessage(ai.text(), ai.thinking(), ai.toolExecutionRequests()).equals(ai);
+    }
+
+    private static UserMessage userMessage(String name, String text) {
+        return name != null ? UserMessage.from(name, text) : UserMessage.from(text);
+    }
+
+    private static AiMessage aiMessage(String text, String thinking, List<ToolExecutionRequest> requests) {
+        return AiMessage.builder()
+                .text(text)
+                .thinking(thinking)
+                .toolExecutionRequests(requests)
+                .build();
+    }
+
+    private static final class Writer {
+        private final ByteArrayOutputStream out;
+
+        private Writer(int size) {
+            this.out = new ByteArrayOutputStream(size);
+        }
+
+        private void writeVarInt(int value) {
+            while ((value & ~0x7F) != 0) {
+                out.write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.write(value);
+        }
+
+        /**
+         * Writes the length of the string plus one, 0 standing for null, followed by its UTF-8 bytes.
+         */
+        private void writeString(String value) {
+            if (value == null) {
+                writeVarInt(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length + 1);
+            out.write(bytes, 0, bytes.length);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] bytes;
+        private int position;
+
+        private Reader(byte[] bytes, int position) {
+            this.bytes = bytes;
+            this.position = position;
+        }
+
+        private int readByte() {
+            if (position >= bytes.length) {
+                throw new RuntimeForageException("Truncated chat message data");
+            }
+            return bytes[position++] & 0xFF;
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                int b = readByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new RuntimeForageException("Malformed chat message data");
+        }
+
+        private String readString() {
+            int length = readVarInt() - 1;
+            if (length < 0) {
+                return null;
+            }
+            if (length > bytes.length - position) {
+                throw new RuntimeForageException("Truncated chat message data");
+            }
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package io.kaoto.forage.core.ai.memory;
+
+import dev.langchain4j.data.message.ChatMessage;
+import java.util.List;
+
+/**
+ * Converts chat messages to and from the bytes kept by a chat memory store.
+ *
+ * <p>Codecs are looked up by name with {@link ChatMessageCodecs#of(String, String)}. Besides the built-in
+ * {@code json} and {@code binary} codecs, codecs can be provided with the {@link java.util.ServiceLoader}
+ * mechanism, by listing their class in {@code META-INF/services/io.kaoto.forage.core.ai.memory.ChatMessageCodec}.
+ *
+ * <p>Implementations must be thread-safe, and must encode equal messages to equal bytes, as stores may compare the
+ * encoded messages to find the ones that changed.
+ */
+public interface ChatMessageCodec {
+
+    /**
+     * Returns the name the codec is configured with (i.e.: {@code binary}).
+     */
+    String name();
+
+    /**
+     * Encodes a conversation.
+     *
+     * @param messages the messages of the conversation
+     * @return the encoded conversation
+     */
+    byte[] encode(List<ChatMessage> messages);
+
+    /**
+     * Decodes a conversation encoded by {@link #encode(List)}.
+     *
+     * @param bytes the encoded conversation
+     * @return the messages of the conversation
+     */
+    List<ChatMessage> decode(byte[] bytes);
+
+    /**
+     * Encodes a single message, for stores keeping each message of a conversation apart.
+     *
+     * @param message the message
+     * @return the encoded message
+     */
+    byte[] encodeMessage(ChatMessage message);
+
+    /**
+     * Decodes a single message encoded by {@link #encodeMessage(ChatMessage)}.
+     *
+     * @param bytes the encoded message
+     * @return the message
+     */
+    ChatMessage decodeMessage(byte[] bytes);
+}
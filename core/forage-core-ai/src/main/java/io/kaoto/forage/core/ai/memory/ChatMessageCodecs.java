@@ -0,0 +1,88 @@
+package io.kaoto.forage.core.ai.memory;
+
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.ChatMessageDeserializer;
+import io.kaoto.forage.core.exceptions.RuntimeForageException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * Looks up the {@link ChatMessageCodec} of a chat memory store, and decodes the values of the built-in codecs.
+ */
+public final class ChatMessageCodecs {
+
+    public static final String NO_COMPRESSION = "none";
+
+    /** The size in bytes from which encoded messages are compressed, when compression is enabled. */
+    public static final int COMPRESSION_THRESHOLD = 512;
+
+    private ChatMessageCodecs() {}
+
+    /**
+     * Returns the codec with the given name, optionally compressing its output.
+     *
+     * @param name the name of the codec: {@code json}, {@code binary} or the name of a codec provided with the
+     *     {@link ServiceLoader} mechanism
+     * @param compression the compression: {@code none} or {@code deflate}
+     * @return the codec
+     * @throws RuntimeForageException if no codec has this name, or the compression is not supported
+     */
+    public static ChatMessageCodec of(String name, String compression) {
+        ChatMessageCodec codec = find(name);
+        if (compression == null || NO_COMPRESSION.equalsIgnoreCase(compression)) {
+            return codec;
+        }
+        if (CompressingChatMessageCodec.DEFLATE.equalsIgnoreCase(compression)) {
+            return new CompressingChatMessageCodec(codec, COMPRESSION_THRESHOLD);
+        }
+        throw new RuntimeForageException(
+                "Unsupported chat memory compression: " + compression + " (must be none or deflate)");
+    }
+
+    private static ChatMessageCodec find(String name) {
+        if (name == null || JsonChatMessageCodec.NAME.equalsIgnoreCase(name)) {
+            return JsonChatMessageCodec.INSTANCE;
+        }
+        if (BinaryChatMessageCodec.NAME.equalsIgnoreCase(name)) {
+            return BinaryChatMessageCodec.INSTANCE;
+        }
+        for (ChatMessageCodec codec :
+                ServiceLoader.load(ChatMessageCodec.class, ChatMessageCodec.class.getClassLoader())) {
+            if (codec.name().equalsIgnoreCase(name)) {
+                return codec;
+            }
+        }
+        throw new RuntimeForageException("Unknown chat message codec: " + name);
+    }
+
+    /**
+     * Decodes a conversation encoded by any of the built-in codecs, compressed or not.
+     */
+    static List<ChatMessage> decode(byte[] bytes) {
+        if (bytes.length == 0) {
+            return Collections.emptyList();
+        }
+        if (CompressingChatMessageCodec.isCompressed(bytes)) {
+            return decode(CompressingChatMessageCodec.decompress(bytes));
+        }
+        if (bytes[0] == BinaryChatMessageCodec.CONVERSATION) {
+            return BinaryChatMessageCodec.decodeConversation(bytes);
+        }
+        return ChatMessageDeserializer.messagesFromJson(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a message encoded by any of the built-in codecs, compressed or not.
+     */
+    static ChatMessage decodeMessage(byte[] bytes) {
+        if (CompressingChatMessageCodec.isCompressed(bytes)) {
+            return decodeMessage(CompressingChatMessageCodec.decompress(bytes));
+        }
+        if (bytes.length > 0 && bytes[0] == BinaryChatMessageCodec.MESSAGE) {
+            return BinaryChatMessageCodec.decodeSingleMessage(bytes);
+        }
+        return ChatMessageDeserializer.messageFromJson(new String(bytes, StandardCharsets.UTF_8));
+    }
+}
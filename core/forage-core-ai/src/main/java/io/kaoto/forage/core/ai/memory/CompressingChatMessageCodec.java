@@ -0,0 +1,133 @@
+package io.kaoto.forage.core.ai.memory;
+
+import dev.langchain4j.data.message.ChatMessage;
+import io.kaoto.forage.core.exceptions.RuntimeForageException;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compresses with DEFLATE the bytes of another codec, when they are large enough for compression to pay off.
+ *
+ * <p>A compressed value starts with a marker byte followed by the length of the uncompressed bytes; values below the
+ * threshold are kept as encoded by the other codec. Compressed values are recognized by all the built-in codecs, so
+ * compression can be turned on and off without losing the stored conversations.
+ */
+public final class CompressingChatMessageCodec implements ChatMessageCodec {
+
+    public static final String DEFLATE = "deflate";
+
+    /** First byte of a compressed value, never the first byte of a JSON document or of a binary encoded value. */
+    static final byte COMPRESSED = (byte) 0xC1;
+
+    /** Largest uncompressed value accepted, so that a corrupted length cannot allocate more than the store holds. */
+    static final int MAX_UNCOMPRESSED_LENGTH = 64 * 1024 * 1024;
+
+    /** DEFLATE does not expand a byte by more than this ratio, so larger lengths cannot be genuine. */
+    private static final int MAX_DEFLATE_RATIO = 1032;
+
+    private final ChatMessageCodec codec;
+    private final int threshold;
+
+    /**
+     * @param codec the codec encoding the messages
+     * @param threshold the size in bytes from which the encoded messages are compressed
+     */
+    public CompressingChatMessageCodec(ChatMessageCodec codec, int threshold) {
+        this.codec = codec;
+        this.threshold = Math.max(1, threshold);
+    }
+
+    @Override
+    public String name() {
+        return codec.name() + "+" + DEFLATE;
+    }
+
+    @Override
+    public byte[] encode(List<ChatMessage> messages) {
+        return compress(codec.encode(messages));
+    }
+
+    @Override
+    public List<ChatMessage> decode(byte[] bytes) {
+        return codec.decode(isCompressed(bytes) ? decompress(bytes) : bytes);
+    }
+
+    @Override
+    public byte[] encodeMessage(ChatMessage message) {
+        return compress(codec.encodeMessage(message));
+    }
+
+    @Override
+    public ChatMessage decodeMessage(byte[] bytes) {
+        return codec.decodeMessage(isCompressed(bytes) ? decompress(bytes) : bytes);
+    }
+
+    private byte[] compress(byte[] bytes) {
+        if (bytes.length < threshold) {
+            return bytes;
+        }
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2 + 8);
+            out.write(COMPRESSED);
+            writeInt(out, bytes.length);
+            byte[] buffer = new byte[Math.min(bytes.length, 8192)];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            // Incompressible values are kept as they are
+            return out.size() < bytes.length ? out.toByteArray() : bytes;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    static boolean isCompressed(byte[] bytes) {
+        return bytes.length > 5 && bytes[0] == COMPRESSED;
+    }
+
+    static byte[] decompress(byte[] bytes) {
+        int length =
+                ((bytes[1] & 0xFF) << 24) | ((bytes[2] & 0xFF) << 16) | ((bytes[3] & 0xFF) << 8) | (bytes[4] & 0xFF);
+        if (length < 0
+                || length > MAX_UNCOMPRESSED_LENGTH
+                || (long) length > (long) (bytes.length - 5) * MAX_DEFLATE_RATIO) {
+            throw new RuntimeForageException(String.format(
+                    "Invalid length %d of compressed chat message data of %d bytes", length, bytes.length));
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, 5, bytes.length - 5);
+            byte[] result = new byte[length];
+            int read = 0;
+            while (read < length && !inflater.finished()) {
+                int inflated = inflater.inflate(result, read, length - read);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += inflated;
+            }
+            if (read != length) {
+                throw new RuntimeForageException("Truncated compressed chat message data");
+            }
+            return result;
+        } catch (DataFormatException e) {
+            throw new RuntimeForageException("Malformed compressed chat message data", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+}
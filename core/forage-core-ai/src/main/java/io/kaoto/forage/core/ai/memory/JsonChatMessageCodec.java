@@ -0,0 +1,46 @@
+package io.kaoto.forage.core.ai.memory;
+
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.ChatMessageSerializer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Encodes chat messages as the UTF-8 bytes of their LangChain4j JSON form, the format the chat memory stores have
+ * always used.
+ *
+ * <p>Decoding recognizes the formats of all the built-in codecs, so that conversations stored with another codec
+ * remain readable after switching back to JSON.
+ */
+public final class JsonChatMessageCodec implements ChatMessageCodec {
+
+    public static final String NAME = "json";
+    public static final JsonChatMessageCodec INSTANCE = new JsonChatMessageCodec();
+
+    private JsonChatMessageCodec() {}
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] encode(List<ChatMessage> messages) {
+        return ChatMessageSerializer.messagesToJson(messages).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public List<ChatMessage> decode(byte[] bytes) {
+        return ChatMessageCodecs.decode(bytes);
+    }
+
+    @Override
+    public byte[] encodeMessage(ChatMessage message) {
+        return ChatMessageSerializer.messageToJson(message).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public ChatMessage decodeMessage(byte[] bytes) {
+        return ChatMessageCodecs.decodeMessage(bytes);
+    }
+}
@@ -0,0 +1,289 @@
+package io.kaoto.forage.core.ai.memory;
+
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+import io.kaoto.forage.core.instrumentation.CacheStatistics;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A local tier in front of a remote chat memory store: the conversations last read or written are kept decoded in a
+ * bounded map, the least recently used one being evicted when full, so that an agent serving the next turn of a
+ * conversation reads it locally and only writes it remotely.
+ *
+ * <p>Writes go through to the remote store before the local copy is replaced. The local copies are only correct as
+ * long as the remote store reports the changes made by other instances, which it does by calling
+ * {@link #invalidate(String)}; until its source of invalidations is live, the store is suspended and all the calls go
+ * to the remote store. A source that may have missed invalidations, for instance after a reconnection, calls
+ * {@link #suspend()} and then {@link #resume()}, which drops all the local copies.
+ *
+ * <p>Remote stores also report the changes made by this instance. As an agent updates its conversation on each turn,
+ * each write of this instance that changes the local copy expects one invalidation, which is ignored; any other
+ * invalidation drops the local copy, so that a conversation changed by another instance, even right after a write of
+ * this instance, is read again from the remote store. An expected invalidation that does not arrive within
+ * {@link #OWN_WRITE_WINDOW_NANOS} is no longer waited for, so that it cannot hide a later change of another instance.
+ * A write leaving the conversation unchanged expects no invalidation, as the remote store may not touch it; if one
+ * arrives anyway, it only costs a read.
+ */
+public final class NearCacheChatMemoryStore implements ChatMemoryStore, CacheStatistics {
+
+    /** How long the invalidation of a write of this instance is waited for. */
+    static final long OWN_WRITE_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+    /**
+     * A local copy of a conversation, or a placeholder while it is read or written remotely: the result of the remote
+     * call is only kept if the placeholder is still there, i.e. no unexpected invalidation arrived in between.
+     */
+    private static final class Entry {
+        private final List<ChatMessage> messages;
+        private final boolean writing;
+        // The invalidations of the writes of this instance still expected until pendingUntil; guarded by entries
+        private int pending;
+        private final long pendingUntil;
+
+        private Entry(List<ChatMessage> messages, boolean writing, int pending, long pendingUntil) {
+            this.messages = messages;
+            this.writing = writing;
+            this.pending = pending;
+            this.pendingUntil = pendingUntil;
+        }
+
+        private static Entry loading() {
+            return new Entry(null, false, 0, 0);
+        }
+
+        /**
+         * Returns a placeholder for a write of this instance, expecting one more invalidation unless the write leaves
+         * the local copy unchanged.
+         */
+        private static Entry writing(Entry previous, List<ChatMessage> messages, long now) {
+            int pending = previous != null ? previous.pending(now) : 0;
+            if (messages == null || previous == null || !messages.equals(previous.messages)) {
+                pending++;
+            }
+            return new Entry(null, true, pending, now + OWN_WRITE_WINDOW_NANOS);
+        }
+
+        private int pending(long now) {
+            return now - pendingUntil < 0 ? pending : 0;
+        }
+    }
+
+    private final ChatMemoryStore store;
+    private final int maxEntries;
+    private final Map<String, Entry> entries;
+    private volatile boolean active;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a suspended near cache, to be resumed once its source of invalidations is live.
+     *
+     * @param store the remote store
+     * @param maxEntries the maximum number of conversations kept locally
+     */
+    public NearCacheChatMemoryStore(ChatMemoryStore store, int maxEntries) {
+        this.store = Objects.requireNonNull(store, "ChatMemoryStore cannot be null");
+        this.maxEntries = Math.max(1, maxEntries);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > NearCacheChatMemoryStore.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public List<ChatMessage> getMessages(Object memoryId) {
+        Objects.requireNonNull(memoryId, "Memory ID cannot be null");
+        if (!active) {
+            return store.getMessages(memoryId);
+        }
+
+        String key = memoryId.toString();
+        Entry loading;
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.messages != null) {
+                hits.increment();
+                return new ArrayList<>(entry.messages);
+            }
+            misses.increment();
+            if (entry != null && entry.writing) {
+                // Read what is being written by another thread from the remote store, without caching it
+                loading = null;
+            } else {
+                loading = Entry.loading();
+                entries.put(key, loading);
+            }
+        }
+
+        List<ChatMessage> messages = store.getMessages(memoryId);
+        if (loading != null) {
+            List<ChatMessage> copy = List.copyOf(messages);
+            synchronized (entries) {
+                if (entries.get(key) == loading) {
+                    entries.put(key, new Entry(copy, false, 0, 0));
+                }
+            }
+        }
+        return messages;
+    }
+
+    @Override
+    public void updateMessages(Object memoryId, List<ChatMessage> messages) {
+        Objects.requireNonNull(memoryId, "Memory ID cannot be null");
+        Objects.requireNonNull(messages, "Messages list cannot be null");
+        if (!active) {
+            store.updateMessages(memoryId, messages);
+            return;
+        }
+
+        String key = memoryId.toString();
+        List<ChatMessage> copy = List.copyOf(messages);
+        Entry writing;
+        synchronized (entries) {
+            writing = Entry.writing(entries.get(key), copy, System.nanoTime());
+            entries.put(key, writing);
+        }
+
+        boolean written = false;
+        try {
+            store.updateMessages(memoryId, messages);
+            written = true;
+        } finally {
+            synchronized (entries) {
+                if (entries.get(key) == writing) {
+                    if (written) {
+                        // Carries the invalidations still expected, some of them may have arrived meanwhile
+                        entries.put(key, new Entry(copy, false, writing.pending, writing.pendingUntil));
+                    } else {
+                        entries.remove(key);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void deleteMessages(Object memoryId) {
+        Objects.requireNonNull(memoryId, "Memory ID cannot be null");
+        if (!active) {
+            store.deleteMessages(memoryId);
+            return;
+        }
+
+        String key = memoryId.toString();
+        Entry writing;
+        synchronized (entries) {
+            writing = Entry.writing(entries.get(key), null, System.nanoTime());
+            entries.put(key, writing);
+        }
+        try {
+            store.deleteMessages(memoryId);
+        } finally {
+            synchronized (entries) {
+                entries.remove(key, writing);
+            }
+        }
+    }
+
+    /**
+     * Drops the local copy of a conversation changed in the remote store, unless an invalidation of a write of this
+     * instance is expected, in which case it is taken to be that one.
+     *
+     * @param key the key of the conversation, i.e. its memory ID as a string
+     */
+    public void invalidate(String key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return;
+            }
+            if (entry.pending(System.nanoTime()) > 0) {
+                entry.pending--;
+            } else {
+                entries.remove(key);
+                invalidations.increment();
+            }
+        }
+    }
+
+    /**
+     * Drops all the local copies, for instance when the remote store was flushed.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            invalidations.add(entries.size());
+            entries.clear();
+        }
+    }
+
+    /**
+     * Stops keeping local copies, when the source of invalidations is no longer live.
+     */
+    public void suspend() {
+        active = false;
+        invalidateAll();
+    }
+
+    /**
+     * Starts keeping local copies again, once the source of invalidations is live.
+     */
+    public void resume() {
+        invalidateAll();
+        active = true;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    @Override
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int maxEntries() {
+        return maxEntries;
+    }
+
+    @Override
+    public long hits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns how many local copies were dropped to keep at most {@link #maxEntries()} of them.
+     */
+    @Override
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns how many local copies were dropped because their conversation changed in the remote store.
+     */
+    public long invalidations() {
+        return invalidations.sum();
+    }
+}
@@ -0,0 +1,119 @@
+package io.kaoto.forage.core.ai.routing;
+
+import dev.langchain4j.model.chat.ChatModel;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One of the models of a {@link RoutedChatModel}, with the latency and health observed when calling it.
+ *
+ * <p>The latency is tracked both as an exponentially weighted moving average, used to pick the backend, and as a
+ * window of the latest samples, used to compute the percentile after which a call is hedged.
+ */
+public class RoutedBackend {
+
+    private static final double EWMA_WEIGHT = 0.2;
+    private static final int SAMPLES = 128;
+    private static final int MIN_SAMPLES = 20;
+
+    private final String name;
+    private final ChatModel chatModel;
+
+    private final long[] samples = new long[SAMPLES];
+    private int sampleCount;
+    private int nextSample;
+    private double averageLatency;
+    private int consecutiveFailures;
+    private long ejectedUntil;
+    private boolean ejected;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder ejections = new LongAdder();
+
+    public RoutedBackend(String name, ChatModel chatModel) {
+        this.name = name;
+        this.chatModel = chatModel;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    ChatModel chatModel() {
+        return chatModel;
+    }
+
+    synchronized void success(long latencyNanos) {
+        calls.increment();
+        consecutiveFailures = 0;
+        ejected = false;
+        averageLatency =
+                sampleCount == 0 ? latencyNanos : EWMA_WEIGHT * latencyNanos + (1 - EWMA_WEIGHT) * averageLatency;
+        samples[nextSample] = latencyNanos;
+        nextSample = (nextSample + 1) % SAMPLES;
+        sampleCount = Math.min(sampleCount + 1, SAMPLES);
+    }
+
+    /**
+     * Records a failed call, ejecting the backend once it failed the given number of times in a row. A backend
+     * called again after its ejection is ejected again by its next failure.
+     *
+     * @return whether the backend was ejected by this failure
+     */
+    synchronized boolean failure(long now, int maxFailures, long ejectionNanos) {
+        calls.increment();
+        failures.increment();
+        consecutiveFailures++;
+        if (consecutiveFailures < maxFailures) {
+            return false;
+        }
+        ejectedUntil = now + ejectionNanos;
+        ejected = true;
+        ejections.increment();
+        return true;
+    }
+
+    synchronized boolean isAvailable(long now) {
+        return !ejected || now - ejectedUntil >= 0;
+    }
+
+    synchronized long ejectedUntil() {
+        return ejectedUntil;
+    }
+
+    /**
+     * Returns the average latency in nanoseconds, 0 while the backend has not been called successfully yet.
+     */
+    public synchronized double averageLatency() {
+        return averageLatency;
+    }
+
+    /**
+     * Returns the latency percentile in nanoseconds over the latest calls, or -1 while too few calls succeeded to
+     * estimate it.
+     *
+     * @param percentile the percentile (0-100)
+     */
+    public synchronized long latencyPercentile(double percentile) {
+        if (sampleCount < MIN_SAMPLES) {
+            return -1;
+        }
+        long[] sorted = Arrays.copyOf(samples, sampleCount);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100 * sampleCount) - 1;
+        return sorted[Math.max(0, Math.min(index, sampleCount - 1))];
+    }
+
+    public long calls() {
+        return calls.sum();
+    }
+
+    public long failures() {
+        return failures.sum();
+    }
+
+    public long ejections() {
+        return ejections.sum();
+    }
+}
@@ -0,0 +1,235 @@
+package io.kaoto.forage.core.ai.routing;
+
+import dev.langchain4j.exception.HttpException;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import io.kaoto.forage.core.exceptions.RuntimeForageException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link ChatModel} routing each call to one of a pool of backends, preferring the backend with the lowest
+ * observed latency.
+ *
+ * <ul>
+ *   <li>Backends are ordered by their average latency. Backends not called yet come first, in their configured
+ *       order, which also breaks ties.</li>
+ *   <li>A failed call fails over to the next backend. A backend failing several times in a row is ejected for a
+ *       while; if all the backends are ejected, the one ejected first is still tried.</li>
+ *   <li>With hedging, a call still running after the configured latency percentile of its backend is sent to the
+ *       next backend as well, and the first response wins. The slower call cannot be cancelled and is left to
+ *       complete on the executor.</li>
+ * </ul>
+ *
+ * <p>Client errors (HTTP 4xx other than 408 and 429) would fail on every backend, so they are thrown at once and do
+ * not count against the health of the backend.
+ */
+public class RoutedChatModel implements ChatModel {
+    private static final Logger LOG = LoggerFactory.getLogger(RoutedChatModel.class);
+
+    private final List<RoutedBackend> backends;
+    private final int maxFailures;
+    private final long ejectionNanos;
+    private final Double hedgePercentile;
+    private final Executor executor;
+
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder failovers = new LongAdder();
+
+    /**
+     * @param backends the backends, in order of preference
+     * @param maxFailures the number of failures in a row ejecting a backend
+     * @param ejectionTime how long a backend is ejected
+     * @param hedgePercentile the latency percentile (0-100) after which a call is hedged, or null to not hedge
+     * @param executor the executor running hedged calls, required if hedgePercentile is set
+     */
+    public RoutedChatModel(
+            List<RoutedBackend> backends,
+            int maxFailures,
+            Duration ejectionTime,
+            Double hedgePercentile,
+            Executor executor) {
+        if (backends.isEmpty()) {
+            throw new RuntimeForageException("A routed model needs at least one backend");
+        }
+        this.backends = List.copyOf(backends);
+        this.maxFailures = Math.max(1, maxFailures);
+        this.ejectionNanos = ejectionTime.toNanos();
+        this.hedgePercentile = executor != null ? hedgePercentile : null;
+        this.executor = executor;
+    }
+
+    @Override
+    public ChatResponse chat(ChatRequest chatRequest) {
+        List<RoutedBackend> candidates = candidates();
+        RuntimeException failure = null;
+        int next = 0;
+        while (next < candidates.size()) {
+            RoutedBackend backend = candidates.get(next++);
+            if (failure != null) {
+                failovers.increment();
+                LOG.debug("Failing over to model backend {}", backend.name());
+            }
+
+            long hedgeDelay = hedgePercentile != null && next < candidates.size()
+                    ? backend.latencyPercentile(hedgePercentile)
+                    : -1;
+            try {
+                if (hedgeDelay < 0) {
+                    return call(backend, chatRequest);
+                }
+                return callHedged(backend, candidates.get(next++), hedgeDelay, chatRequest);
+            } catch (RuntimeException e) {
+                if (!isBackendFailure(e)) {
+                    throw e;
+                }
+                if (failure != null) {
+                    e.addSuppressed(failure);
+                }
+                failure = e;
+            }
+        }
+        throw failure;
+    }
+
+    private List<RoutedBackend> candidates() {
+        long now = System.nanoTime();
+        List<RoutedBackend> available = new ArrayList<>(backends.size());
+        for (RoutedBackend backend : backends) {
+            if (backend.isAvailable(now)) {
+                available.add(backend);
+            }
+        }
+        if (available.isEmpty()) {
+            RoutedBackend first = backends.stream()
+                    .min(Comparator.comparingLong(b -> b.ejectedUntil() - now))
+                    .orElseThrow();
+            LOG.debug("All the model backends are ejected, trying {}", first.name());
+            return List.of(first);
+        }
+        // The sort is stable, so backends with the same latency keep their configured order
+        available.sort(Comparator.comparingDouble(RoutedBackend::averageLatency));
+        return available;
+    }
+
+    private ChatResponse call(RoutedBackend backend, ChatRequest chatRequest) {
+        long start = System.nanoTime();
+        try {
+            ChatResponse response = backend.chatModel().chat(chatRequest);
+            backend.success(System.nanoTime() - start);
+            return response;
+        } catch (RuntimeException e) {
+            if (isBackendFailure(e) && backend.failure(System.nanoTime(), maxFailures, ejectionNanos)) {
+                LOG.warn(
+                        "Ejecting model backend {} for {} ms after {} failures in a row: {}",
+                        backend.name(),
+                        TimeUnit.NANOSECONDS.toMillis(ejectionNanos),
+                        maxFailures,
+                        e.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    private ChatResponse callHedged(
+            RoutedBackend primary, RoutedBackend hedge, long hedgeDelay, ChatRequest chatRequest) {
+        CompletableFuture<ChatResponse> primaryCall =
+                CompletableFuture.supplyAsync(() -> call(primary, chatRequest), executor);
+        try {
+            return primaryCall.get(hedgeDelay, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            hedges.increment();
+            LOG.debug(
+                    "Hedging the call to model backend {} with {} after {} ms",
+                    primary.name(),
+                    hedge.name(),
+                    TimeUnit.NANOSECONDS.toMillis(hedgeDelay));
+        } catch (ExecutionException e) {
+            RuntimeException cause = unwrap(e.getCause());
+            if (!isBackendFailure(cause)) {
+                throw cause;
+            }
+            failovers.increment();
+            try {
+                return call(hedge, chatRequest);
+            } catch (RuntimeException hedgeFailure) {
+                hedgeFailure.addSuppressed(cause);
+                throw hedgeFailure;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeForageException("Interrupted while waiting for model backend " + primary.name(), e);
+        }
+
+        CompletableFuture<ChatResponse> hedgeCall =
+                CompletableFuture.supplyAsync(() -> call(hedge, chatRequest), executor);
+        CompletableFuture<ChatResponse> first = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(2);
+        BiConsumer<ChatResponse, Throwable> complete = (response, failure) -> {
+            if (failure == null) {
+                first.complete(response);
+            } else if (pending.decrementAndGet() == 0) {
+                first.completeExceptionally(failure);
+            }
+        };
+        primaryCall.whenComplete(complete);
+        hedgeCall.whenComplete(complete);
+        try {
+            return first.join();
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable failure) {
+        while (failure instanceof CompletionException && failure.getCause() != null) {
+            failure = failure.getCause();
+        }
+        if (failure instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (failure instanceof Error error) {
+            throw error;
+        }
+        return new RuntimeForageException("The model call failed", failure);
+    }
+
+    /**
+     * Returns whether the failure is caused by the backend rather than by the request itself.
+     */
+    static boolean isBackendFailure(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof HttpException httpException) {
+                int status = httpException.statusCode();
+                return status < 400 || status >= 500 || status == 408 || status == 429;
+            }
+        }
+        return true;
+    }
+
+    public List<RoutedBackend> backends() {
+        return backends;
+    }
+
+    public long hedges() {
+        return hedges.sum();
+    }
+
+    public long failovers() {
+        return failovers.sum();
+    }
+}
@@ -0,0 +1,188 @@
+package io.kaoto.forage.core.ai.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.store.embedding.inmemory.InMemoryEmbeddingStore;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class CachingChatModelTest {
+
+    private static final String OPENING_HOURS = "What are your opening hours?";
+
+    @Test
+    void answersARepeatedRequestFromTheCache() {
+        CountingChatModel model = new CountingChatModel();
+        CachingChatModel cachingModel = new CachingChatModel(model, 10, 0, null, false);
+
+        cachingModel.chat(request(OPENING_HOURS));
+        ChatResponse response = cachingModel.chat(request("  What are   your opening hours?\n"));
+
+        assertThat(response.aiMessage().text()).isEqualTo("Answer to " + OPENING_HOURS);
+        assertThat(model.calls.get()).isEqualTo(1);
+        assertThat(cachingModel.hits()).isEqualTo(1);
+        assertThat(cachingModel.misses()).isEqualTo(1);
+    }
+
+    @Test
+    void tellsPromptsDifferingByCaseApart() {
+        CountingChatModel model = new CountingChatModel();
+        CachingChatModel cachingModel = new CachingChatModel(model, 10, 0, null, false);
+
+        cachingModel.chat(request("Is US spelled us?"));
+        ChatResponse response = cachingModel.chat(request("is us spelled US?"));
+
+        assertThat(response.aiMessage().text()).isEqualTo("Answer to is us spelled US?");
+        assertThat(model.calls.get()).isEqualTo(2);
+        assertThat(cachingModel.hits()).isZero();
+    }
+
+    @Test
+    void foldsCaseWhenRequested() {
+        CountingChatModel model = new CountingChatModel();
+        CachingChatModel cachingModel = new CachingChatModel(model, 10, 0, null, true);
+
+        cachingModel.chat(request(OPENING_HOURS));
+        cachingModel.chat(request(OPENING_HOURS.toUpperCase()));
+
+        assertThat(model.calls.get()).isEqualTo(1);
+        assertThat(cachingModel.hits()).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotCacheToolExecutionRequests() {
+        CountingChatModel model = new CountingChatModel() {
+            @Override
+            public ChatResponse chat(ChatRequest chatRequest) {
+                calls.incrementAndGet();
+                return ChatResponse.builder()
+                        .aiMessage(AiMessage.from(ToolExecutionRequest.builder()
+                                .id("1")
+                                .name("openingHours")
+                                .arguments("{}")
+                                .build()))
+                        .build();
+            }
+        };
+        CachingChatModel cachingModel = new CachingChatModel(model, 10, 0, null, false);
+
+        cachingModel.chat(request(OPENING_HOURS));
+        cachingModel.chat(request(OPENING_HOURS));
+
+        assertThat(model.calls.get()).isEqualTo(2);
+        assertThat(cachingModel.size()).isZero();
+    }
+
+    @Test
+    void answersASimilarPromptFromTheCache() {
+        CountingChatModel model = new CountingChatModel();
+        SemanticResponseIndex index =
+                new SemanticResponseIndex(new TopicEmbeddingModel(), new InMemoryEmbeddingStore<>(), 0.9);
+        CachingChatModel cachingModel = new CachingChatModel(model, 10, 0, index, false);
+
+        cachingModel.chat(request(OPENING_HOURS));
+        ChatResponse response = cachingModel.chat(request("When are you open?"));
+        cachingModel.chat(request("Where are you?"));
+
+        assertThat(response.aiMessage().text()).isEqualTo("Answer to " + OPENING_HOURS);
+        assertThat(model.calls.get()).isEqualTo(2);
+        assertThat(cachingModel.semanticHits()).isEqualTo(1);
+        assertThat(cachingModel.misses()).isEqualTo(2);
+    }
+
+    @Test
+    void doesNotMatchASimilarPromptOnceItsResponseIsEvicted() {
+        CountingChatModel model = new CountingChatModel();
+        SemanticResponseIndex index =
+                new SemanticResponseIndex(new TopicEmbeddingModel(), new InMemoryEmbeddingStore<>(), 0.9);
+        CachingChatModel cachingModel = new CachingChatModel(model, 1, 0, index, false);
+
+        cachingModel.chat(request(OPENING_HOURS));
+        cachingModel.chat(request("Where are you?"));
+        cachingModel.chat(request("When are you open?"));
+
+        assertThat(model.calls.get()).isEqualTo(3);
+        assertThat(cachingModel.semanticHits()).isZero();
+        assertThat(cachingModel.evictions()).isEqualTo(2);
+    }
+
+    @Test
+    void reportsEvictionsWithoutHoldingTheLock() {
+        AtomicInteger reported = new AtomicInteger();
+        ResponseCache[] cache = new ResponseCache[1];
+        cache[0] = new ResponseCache(1, 0, key -> {
+            // Blocks if the eviction is reported while holding the lock
+            int size = CompletableFuture.supplyAsync(() -> cache[0].size())
+                    .orTimeout(5, TimeUnit.SECONDS)
+                    .join();
+            reported.addAndGet(size);
+        });
+
+        cache[0].put("first", response("first"));
+        cache[0].put("second", response("second"));
+        cache[0].clear();
+
+        assertThat(reported.get()).isEqualTo(1);
+        assertThat(cache[0].evictions()).isEqualTo(1);
+    }
+
+    @Test
+    void expiresResponses() throws InterruptedException {
+        ResponseCache cache = new ResponseCache(10, TimeUnit.MILLISECONDS.toNanos(10), key -> {});
+
+        cache.put("key", response("value"));
+        Thread.sleep(50);
+
+        assertThat(cache.get("key")).isNull();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.evictions()).isEqualTo(1);
+    }
+
+    private static ChatRequest request(String prompt) {
+        return ChatRequest.builder()
+                .messages(SystemMessage.from("You answer the questions of the customers"), UserMessage.from(prompt))
+                .build();
+    }
+
+    private static ChatResponse response(String text) {
+        return ChatResponse.builder().aiMessage(AiMessage.from(text)).build();
+    }
+
+    private static class CountingChatModel implements ChatModel {
+        final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public ChatResponse chat(ChatRequest chatRequest) {
+            calls.incrementAndGet();
+            return response("Answer to " + ((UserMessage) chatRequest.messages().get(1)).singleText());
+        }
+    }
+
+    /**
+     * Embeds the questions about the opening hours on one axis, and all the others on another.
+     */
+    private static class TopicEmbeddingModel implements EmbeddingModel {
+        @Override
+        public Response<List<Embedding>> embedAll(List<TextSegment> textSegments) {
+            return Response.from(textSegments.stream()
+                    .map(segment -> segment.text().contains("open")
+                            ? Embedding.from(new float[] {1, 0})
+                            : Embedding.from(new float[] {0, 1}))
+                    .toList());
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package io.kaoto.forage.core.ai.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import dev.langchain4j.http.client.HttpClient;
+import dev.langchain4j.http.client.HttpMethod;
+import dev.langchain4j.http.client.HttpRequest;
+import dev.langchain4j.http.client.SuccessfulHttpResponse;
+import dev.langchain4j.http.client.sse.ServerSentEventListener;
+import dev.langchain4j.http.client.sse.ServerSentEventParser;
+import io.kaoto.forage.core.exceptions.RuntimeForageException;
+import io.kaoto.forage.core.instrumentation.ForageInstrumentation;
+import io.kaoto.forage.core.instrumentation.HttpClientStatistics;
+import io.kaoto.forage.core.instrumentation.InstrumentationListener;
+import io.kaoto.forage.core.instrumentation.StepType;
+import java.net.http.HttpClient.Version;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class SharedHttpClientTest {
+
+    private static final HttpRequest REQUEST = HttpRequest.builder()
+            .method(HttpMethod.POST)
+            .url("https://models.example.com/chat")
+            .body("{}")
+            .build();
+
+    @Test
+    void sharesOneClientPerEndpointAndSettings() {
+        HttpClient client = build("https://keying.example.com", Version.HTTP_2, Duration.ofSeconds(10));
+
+        assertThat(build("https://keying.example.com", Version.HTTP_2, Duration.ofSeconds(10)))
+                .isSameAs(client);
+        assertThat(build("https://other.example.com", Version.HTTP_2, Duration.ofSeconds(10)))
+                .isNotSameAs(client);
+        assertThat(build("https://keying.example.com", Version.HTTP_1_1, Duration.ofSeconds(10)))
+                .isNotSameAs(client);
+        assertThat(build("https://keying.example.com", Version.HTTP_2, Duration.ofSeconds(30)))
+                .isNotSameAs(client);
+        assertThat(((SharedHttpClient) client).models()).isEqualTo(2);
+    }
+
+    @Test
+    void bindsModelsAskingForAnotherBoundToAnotherClient() {
+        SharedHttpClients.Key key = key(Duration.ofSeconds(10));
+        SharedHttpClients.Key unbounded = new SharedHttpClients.Key(
+                key.baseUrl(), key.version(), key.proxy(), key.connectTimeout(), key.readTimeout(), 0);
+
+        SharedHttpClient bounded = SharedHttpClients.get(key);
+
+        assertThat(SharedHttpClients.get(unbounded)).isNotSameAs(bounded);
+        assertThat(SharedHttpClients.get(key)).isSameAs(bounded);
+        assertThat(bounded.maxConnections()).isOne();
+    }
+
+    @Test
+    void registersTheSharedClientsWithTheInstrumentation() {
+        Map<String, HttpClientStatistics> registered = new ConcurrentHashMap<>();
+        InstrumentationListener listener = new InstrumentationListener() {
+            @Override
+            public Scope begin(StepType type, String name) {
+                return (durationNanos, failure) -> {};
+            }
+
+            @Override
+            public void httpClientRegistered(String endpoint, HttpClientStatistics statistics) {
+                registered.put(endpoint, statistics);
+            }
+        };
+        ForageInstrumentation.addListener(listener);
+        try {
+            HttpClient client = build("https://instrumented.example.com", Version.HTTP_2, Duration.ofSeconds(10));
+
+            assertThat(registered).containsEntry("https://instrumented.example.com", (SharedHttpClient) client);
+        } finally {
+            ForageInstrumentation.removeListener(listener);
+        }
+    }
+
+    @Test
+    void failsARequestWaitingLongerThanTheReadTimeout() throws Exception {
+        CountDownLatch responding = new CountDownLatch(1);
+        CountDownLatch respond = new CountDownLatch(1);
+        SharedHttpClient client = new SharedHttpClient(key(Duration.ofMillis(100)), new StubHttpClient() {
+            @Override
+            public SuccessfulHttpResponse execute(HttpRequest request) {
+                responding.countDown();
+                await(respond);
+                return super.execute(request);
+            }
+        });
+
+        CompletableFuture<SuccessfulHttpResponse> first = CompletableFuture.supplyAsync(() -> client.execute(REQUEST));
+        responding.await(5, TimeUnit.SECONDS);
+
+        assertThatThrownBy(() -> client.execute(REQUEST))
+                .isInstanceOf(RuntimeForageException.class)
+                .hasMessageContaining("Timed out after 100 ms waiting for one of the 1 connections");
+
+        respond.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS).statusCode()).isEqualTo(200);
+        assertThat(client.execute(REQUEST).statusCode()).isEqualTo(200);
+        assertThat(client.inFlight()).isZero();
+    }
+
+    @Test
+    void holdsThePermitOfAStreamingRequestUntilItsStreamIsClosed() {
+        AtomicReference<ServerSentEventListener> stream = new AtomicReference<>();
+        SharedHttpClient client = new SharedHttpClient(key(Duration.ofMillis(100)), new StubHttpClient() {
+            @Override
+            public void execute(HttpRequest request, ServerSentEventParser parser, ServerSentEventListener listener) {
+                stream.set(listener);
+            }
+        });
+
+        client.execute(REQUEST, null, error -> {});
+
+        assertThatThrownBy(() -> client.execute(REQUEST)).isInstanceOf(RuntimeForageException.class);
+
+        stream.get().onClose();
+        stream.get().onError(new IllegalStateException("Closed twice"));
+
+        assertThat(client.execute(REQUEST).statusCode()).isEqualTo(200);
+        assertThat(client.inFlight()).isZero();
+        assertThat(client.streamingRequests()).isEqualTo(1);
+    }
+
+    @Test
+    void releasesThePermitOfAStreamingRequestFailingToStart() {
+        SharedHttpClient client = new SharedHttpClient(key(Duration.ofMillis(100)), new StubHttpClient() {
+            @Override
+            public void execute(HttpRequest request, ServerSentEventParser parser, ServerSentEventListener listener) {
+                throw new IllegalStateException("Unreachable");
+            }
+        });
+
+        assertThatThrownBy(() -> client.execute(REQUEST, null, error -> {})).isInstanceOf(IllegalStateException.class);
+
+        assertThat(client.execute(REQUEST).statusCode()).isEqualTo(200);
+    }
+
+    private static HttpClient build(String baseUrl, Version version, Duration readTimeout) {
+        return SharedHttpClients.builder(baseUrl, version)
+                .connectTimeout(Duration.ofSeconds(5))
+                .readTimeout(readTimeout)
+                .build();
+    }
+
+    private static SharedHttpClients.Key key(Duration readTimeout) {
+        return new SharedHttpClients.Key(
+                "https://models.example.com", Version.HTTP_2, null, Duration.ofSeconds(5), readTimeout, 1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class StubHttpClient implements HttpClient {
+        @Override
+        public SuccessfulHttpResponse execute(HttpRequest request) {
+            return SuccessfulHttpResponse.builder().statusCode(200).body("{}").build();
+        }
+
+        @Override
+        public void execute(HttpRequest request, ServerSentEventParser parser, ServerSentEventListener listener) {
+            listener.onClose();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package io.kaoto.forage.core.ai.limit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.kaoto.forage.core.exceptions.RuntimeForageException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void growsAdditivelyUpToTheMaximum() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("model", 4, 0, 0);
+        assertThat(limiter.limit()).isEqualTo(2);
+
+        for (int round = 0; round < 100; round++) {
+            List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+            for (int i = 0; i < limiter.limit(); i++) {
+                permits.add(limiter.acquire());
+            }
+            permits.forEach(AdaptiveConcurrencyLimiter.Permit::success);
+        }
+
+        assertThat(limiter.limit()).isEqualTo(4);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    void doesNotGrowWhileTheLimitIsNotUsed() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("model", 4, 0, 0);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.acquire().success();
+        }
+
+        assertThat(limiter.limit()).isEqualTo(2);
+        assertThat(limiter.successes()).isEqualTo(100);
+    }
+
+    @Test
+    void halvesTheLimitWhenACallIsDropped() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("model", 8, 0, 0);
+        assertThat(limiter.limit()).isEqualTo(4);
+
+        limiter.acquire().dropped();
+        assertThat(limiter.limit()).isEqualTo(2);
+        limiter.acquire().dropped();
+        limiter.acquire().dropped();
+        assertThat(limiter.limit()).isEqualTo(1);
+        limiter.acquire().ignored();
+        assertThat(limiter.limit()).isEqualTo(1);
+        assertThat(limiter.drops()).isEqualTo(3);
+    }
+
+    @Test
+    void rejectsCallersWhenTheQueueIsFull() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("model", 2, 0, 0);
+        limiter.acquire();
+
+        assertThatThrownBy(limiter::acquire)
+                .isInstanceOf(RuntimeForageException.class)
+                .hasMessageContaining("Too many concurrent calls to model");
+        assertThat(limiter.rejections()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsCallersWaitingLongerThanTheTimeout() {
+        AdaptiveConcurrencyLimiter limiter =
+                new AdaptiveConcurrencyLimiter("model", 2, 1, TimeUnit.MILLISECONDS.toNanos(50));
+        limiter.acquire();
+
+        assertThatThrownBy(limiter::acquire)
+                .isInstanceOf(RuntimeForageException.class)
+                .hasMessageContaining("Timed out after 50 ms waiting to call model");
+        assertThat(limiter.queued()).isZero();
+        assertThat(limiter.rejections()).isEqualTo(1);
+    }
+
+    @Test
+    void handsThePermitToAWaitingCaller() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("model", 2, 1, TimeUnit.SECONDS.toNanos(5));
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire();
+
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> waiting = CompletableFuture.supplyAsync(limiter::acquire);
+        while (limiter.queued() == 0) {
+            Thread.onSpinWait();
+        }
+        permit.ignored();
+
+        waiting.get(5, TimeUnit.SECONDS).success();
+        assertThat(limiter.inFlight()).isZero();
+    }
+}
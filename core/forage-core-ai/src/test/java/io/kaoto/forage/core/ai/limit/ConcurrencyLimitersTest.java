@@ -0,0 +1,123 @@
+package io.kaoto.forage.core.ai.limit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import io.kaoto.forage.core.exceptions.RuntimeForageException;
+import io.kaoto.forage.core.instrumentation.ForageInstrumentation;
+import io.kaoto.forage.core.instrumentation.InstrumentationListener;
+import io.kaoto.forage.core.instrumentation.LimiterStatistics;
+import io.kaoto.forage.core.instrumentation.StepType;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class ConcurrencyLimitersTest {
+
+    private static final ChatRequest REQUEST =
+            ChatRequest.builder().messages(UserMessage.from("Hello")).build();
+    private static final ChatResponse RESPONSE =
+            ChatResponse.builder().aiMessage(AiMessage.from("Hi")).build();
+
+    private static final ChatModel MODEL = new ChatModel() {
+        @Override
+        public ChatResponse chat(ChatRequest chatRequest) {
+            return RESPONSE;
+        }
+    };
+
+    @Test
+    void sharesOneLimiterPerProviderEndpointAndModel() {
+        AdaptiveConcurrencyLimiter limiter = limiter("https://a.example.com", "model");
+
+        assertThat(limiter("https://a.example.com", "model")).isSameAs(limiter);
+        assertThat(limiter("https://b.example.com", "model")).isNotSameAs(limiter);
+        assertThat(limiter("https://a.example.com", "other-model")).isNotSameAs(limiter);
+        assertThat(limiter.name()).isEqualTo("keying@https://a.example.com/model");
+    }
+
+    @Test
+    void registersTheLimitersWithTheInstrumentation() {
+        Map<String, LimiterStatistics> registered = new ConcurrentHashMap<>();
+        InstrumentationListener listener = new InstrumentationListener() {
+            @Override
+            public Scope begin(StepType type, String name) {
+                return (durationNanos, failure) -> {};
+            }
+
+            @Override
+            public void limiterRegistered(String name, LimiterStatistics statistics) {
+                registered.put(name, statistics);
+            }
+        };
+        ForageInstrumentation.addListener(listener);
+        try {
+            AdaptiveConcurrencyLimiter limiter = limiter("https://instrumented.example.com", "model");
+
+            assertThat(registered).containsEntry("keying@https://instrumented.example.com/model", limiter);
+        } finally {
+            ForageInstrumentation.removeListener(listener);
+        }
+    }
+
+    @Test
+    void doesNotWrapTheModelsWithoutLimit() {
+        assertThat(ConcurrencyLimiters.limit(MODEL, "keying", null, "model", null, 0, Duration.ZERO))
+                .isSameAs(MODEL);
+    }
+
+    @Test
+    void holdsThePermitOfAStreamingCallUntilItsResponseIsComplete() {
+        AtomicReference<StreamingChatResponseHandler> stream = new AtomicReference<>();
+        StreamingChatModel streamingModel = ConcurrencyLimiters.limit(
+                new StreamingChatModel() {
+                    @Override
+                    public void chat(ChatRequest chatRequest, StreamingChatResponseHandler handler) {
+                        stream.set(handler);
+                    }
+                },
+                "streaming",
+                "https://a.example.com",
+                "model",
+                2,
+                0,
+                Duration.ZERO);
+        ChatModel chatModel =
+                ConcurrencyLimiters.limit(MODEL, "streaming", "https://a.example.com", "model", 2, 0, Duration.ZERO);
+
+        streamingModel.chat(REQUEST, new IgnoringHandler());
+
+        assertThatThrownBy(() -> chatModel.chat(REQUEST)).isInstanceOf(RuntimeForageException.class);
+
+        stream.get().onCompleteResponse(RESPONSE);
+        stream.get().onError(new IllegalStateException("Released twice"));
+
+        assertThat(chatModel.chat(REQUEST)).isSameAs(RESPONSE);
+        AdaptiveConcurrencyLimiter limiter = ((ConcurrencyLimitedChatModel) chatModel).limiter();
+        assertThat(limiter.inFlight()).isZero();
+        assertThat(limiter.successes()).isEqualTo(2);
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(String endpoint, String modelName) {
+        return ((ConcurrencyLimitedChatModel)
+                        ConcurrencyLimiters.limit(MODEL, "keying", endpoint, modelName, 4, 0, Duration.ZERO))
+                .limiter();
+    }
+
+    private static class IgnoringHandler implements StreamingChatResponseHandler {
+        @Override
+        public void onCompleteResponse(ChatResponse completeResponse) {}
+
+        @Override
+        public void onError(Throwable error) {}
+    }
+}
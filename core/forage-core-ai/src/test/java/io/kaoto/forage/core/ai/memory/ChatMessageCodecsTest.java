@@ -0,0 +1,91 @@
+package io.kaoto.forage.core.ai.memory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.ImageContent;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.TextContent;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.data.message.UserMessage;
+import io.kaoto.forage.core.exceptions.RuntimeForageException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ChatMessageCodecsTest {
+
+    private static final List<ChatMessage> CONVERSATION = List.of(
+            SystemMessage.from("You are a helpful assistant."),
+            UserMessage.from("What is the weather like in Brno? Odpověz česky."),
+            UserMessage.from("alice", "And in Paris?"),
+            AiMessage.from(ToolExecutionRequest.builder()
+                    .id("call-1")
+                    .name("weather")
+                    .arguments("{\"city\":\"Paris\"}")
+                    .build()),
+            ToolExecutionResultMessage.from("call-1", "weather", "sunny, 21 degrees"),
+            AiMessage.from("It is sunny in Paris."),
+            UserMessage.from(
+                    TextContent.from("What is on this picture?"), ImageContent.from("https://example.com/cat.png")));
+
+    @Test
+    void roundTripsConversationsAndMessages() {
+        for (String name : List.of("json", "binary")) {
+            for (String compression : List.of("none", "deflate")) {
+                ChatMessageCodec codec = ChatMessageCodecs.of(name, compression);
+
+                assertThat(codec.decode(codec.encode(CONVERSATION))).isEqualTo(CONVERSATION);
+                for (ChatMessage message : CONVERSATION) {
+                    assertThat(codec.decodeMessage(codec.encodeMessage(message)))
+                            .isEqualTo(message);
+                }
+            }
+        }
+    }
+
+    @Test
+    void decodesTheValuesOfTheOtherBuiltInCodecs() {
+        ChatMessageCodec json = ChatMessageCodecs.of("json", "none");
+        ChatMessageCodec binary = ChatMessageCodecs.of("binary", "deflate");
+
+        assertThat(binary.decode(json.encode(CONVERSATION))).isEqualTo(CONVERSATION);
+        assertThat(json.decode(binary.encode(CONVERSATION))).isEqualTo(CONVERSATION);
+        assertThat(json.decode("[]".getBytes())).isEmpty();
+    }
+
+    @Test
+    void binaryIsSmallerThanJson() {
+        byte[] json = ChatMessageCodecs.of("json", "none").encode(CONVERSATION);
+        byte[] binary = ChatMessageCodecs.of("binary", "none").encode(CONVERSATION);
+
+        assertThat(binary.length).isLessThan(json.length);
+    }
+
+    @Test
+    void rejectsCompressedValuesWithAnInvalidLength() {
+        ChatMessageCodec codec = new CompressingChatMessageCodec(ChatMessageCodecs.of("json", "none"), 1);
+        byte[] encoded = codec.encode(CONVERSATION);
+        assertThat(CompressingChatMessageCodec.isCompressed(encoded)).isTrue();
+
+        for (int length : List.of(-1, CompressingChatMessageCodec.MAX_UNCOMPRESSED_LENGTH + 1, encoded.length * 2000)) {
+            byte[] corrupted = encoded.clone();
+            corrupted[1] = (byte) (length >>> 24);
+            corrupted[2] = (byte) (length >>> 16);
+            corrupted[3] = (byte) (length >>> 8);
+            corrupted[4] = (byte) length;
+
+            assertThatThrownBy(() -> codec.decode(corrupted))
+                    .isInstanceOf(RuntimeForageException.class)
+                    .hasMessageContaining("Invalid length " + length);
+        }
+    }
+
+    @Test
+    void rejectsUnknownCodecsAndCompressions() {
+        assertThatThrownBy(() -> ChatMessageCodecs.of("unknown", "none")).isInstanceOf(RuntimeForageException.class);
+        assertThatThrownBy(() -> ChatMessageCodecs.of("binary", "lz4")).isInstanceOf(RuntimeForageException.class);
+    }
+}
@@ -0,0 +1,188 @@
+package io.kaoto.forage.core.ai.memory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class NearCacheChatMemoryStoreTest {
+
+    private static final List<ChatMessage> TURN = List.of(UserMessage.from("Hello"), AiMessage.from("Hi there"));
+    private static final List<ChatMessage> NEXT_TURN =
+            List.of(UserMessage.from("Hello"), AiMessage.from("Hi there"), UserMessage.from("How are you?"));
+
+    @Test
+    void readsLocallyAfterWritingThrough() {
+        CountingStore remote = new CountingStore();
+        NearCacheChatMemoryStore store = new NearCacheChatMemoryStore(remote, 10);
+        store.resume();
+
+        store.updateMessages("conversation", TURN);
+
+        assertThat(store.getMessages("conversation")).isEqualTo(TURN);
+        assertThat(remote.messages.get("conversation")).isEqualTo(TURN);
+        assertThat(remote.reads.get()).isZero();
+        assertThat(store.hits()).isEqualTo(1);
+    }
+
+    @Test
+    void ignoresTheInvalidationOfItsOwnWrite() {
+        CountingStore remote = new CountingStore();
+        NearCacheChatMemoryStore store = new NearCacheChatMemoryStore(remote, 10);
+        store.resume();
+
+        store.updateMessages("conversation", TURN);
+        store.invalidate("conversation");
+
+        assertThat(store.getMessages("conversation")).isEqualTo(TURN);
+        assertThat(remote.reads.get()).isZero();
+        assertThat(store.invalidations()).isZero();
+    }
+
+    @Test
+    void readsRemotelyAfterAnotherInstanceWroteRightAfterItsOwnWrite() {
+        CountingStore remote = new CountingStore();
+        NearCacheChatMemoryStore store = new NearCacheChatMemoryStore(remote, 10);
+        store.resume();
+
+        store.updateMessages("conversation", TURN);
+        store.invalidate("conversation");
+        remote.messages.put("conversation", NEXT_TURN);
+        store.invalidate("conversation");
+
+        assertThat(store.getMessages("conversation")).isEqualTo(NEXT_TURN);
+        assertThat(remote.reads.get()).isEqualTo(1);
+        assertThat(store.invalidations()).isEqualTo(1);
+    }
+
+    @Test
+    void expectsNoInvalidationOfAnUnchangedWrite() {
+        CountingStore remote = new CountingStore();
+        NearCacheChatMemoryStore store = new NearCacheChatMemoryStore(remote, 10);
+        store.resume();
+
+        store.updateMessages("conversation", TURN);
+        store.invalidate("conversation");
+        store.updateMessages("conversation", TURN);
+        remote.messages.put("conversation", NEXT_TURN);
+        store.invalidate("conversation");
+
+        assertThat(store.getMessages("conversation")).isEqualTo(NEXT_TURN);
+        assertThat(store.invalidations()).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotKeepAWriteInvalidatedByAnotherInstanceWhileInFlight() {
+        NearCacheChatMemoryStore[] store = new NearCacheChatMemoryStore[1];
+        CountingStore remote = new CountingStore() {
+            @Override
+            public void updateMessages(Object memoryId, List<ChatMessage> messages) {
+                super.updateMessages(memoryId, messages);
+                store[0].invalidate(memoryId.toString());
+                // Another instance writes right after this one
+                super.updateMessages(memoryId, NEXT_TURN);
+                store[0].invalidate(memoryId.toString());
+            }
+        };
+        store[0] = new NearCacheChatMemoryStore(remote, 10);
+        store[0].resume();
+
+        store[0].updateMessages("conversation", TURN);
+
+        assertThat(store[0].getMessages("conversation")).isEqualTo(NEXT_TURN);
+        assertThat(remote.reads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void readsRemotelyAfterAnotherInstanceWrote() {
+        CountingStore remote = new CountingStore();
+        NearCacheChatMemoryStore store = new NearCacheChatMemoryStore(remote, 10);
+        store.resume();
+
+        store.getMessages("conversation");
+        remote.messages.put("conversation", TURN);
+        store.invalidate("conversation");
+
+        assertThat(store.getMessages("conversation")).isEqualTo(TURN);
+        assertThat(remote.reads.get()).isEqualTo(2);
+        assertThat(store.invalidations()).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotKeepAReadInvalidatedWhileInFlight() {
+        NearCacheChatMemoryStore[] store = new NearCacheChatMemoryStore[1];
+        CountingStore remote = new CountingStore() {
+            @Override
+            public List<ChatMessage> getMessages(Object memoryId) {
+                List<ChatMessage> stale = super.getMessages(memoryId);
+                messages.put(memoryId.toString(), TURN);
+                store[0].invalidate(memoryId.toString());
+                return stale;
+            }
+        };
+        store[0] = new NearCacheChatMemoryStore(remote, 10);
+        store[0].resume();
+
+        assertThat(store[0].getMessages("conversation")).isEmpty();
+        assertThat(store[0].getMessages("conversation")).isEqualTo(TURN);
+    }
+
+    @Test
+    void goesToTheRemoteStoreWhileSuspended() {
+        CountingStore remote = new CountingStore();
+        NearCacheChatMemoryStore store = new NearCacheChatMemoryStore(remote, 10);
+
+        store.updateMessages("conversation", TURN);
+        store.getMessages("conversation");
+        store.getMessages("conversation");
+
+        assertThat(remote.reads.get()).isEqualTo(2);
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedConversation() {
+        CountingStore remote = new CountingStore();
+        NearCacheChatMemoryStore store = new NearCacheChatMemoryStore(remote, 2);
+        store.resume();
+
+        store.updateMessages("a", TURN);
+        store.updateMessages("b", TURN);
+        store.getMessages("a");
+        store.updateMessages("c", TURN);
+
+        assertThat(store.size()).isEqualTo(2);
+        store.getMessages("a");
+        store.getMessages("b");
+        assertThat(remote.reads.get()).isEqualTo(1);
+    }
+
+    private static class CountingStore implements ChatMemoryStore {
+        final Map<String, List<ChatMessage>> messages = new ConcurrentHashMap<>();
+        final AtomicInteger reads = new AtomicInteger();
+
+        @Override
+        public List<ChatMessage> getMessages(Object memoryId) {
+            reads.incrementAndGet();
+            return new ArrayList<>(messages.getOrDefault(memoryId.toString(), List.of()));
+        }
+
+        @Override
+        public void updateMessages(Object memoryId, List<ChatMessage> messages) {
+            this.messages.put(memoryId.toString(), List.copyOf(messages));
+        }
+
+        @Override
+        public void deleteMessages(Object memoryId) {
+            messages.remove(memoryId.toString());
+        }
+    }
+}
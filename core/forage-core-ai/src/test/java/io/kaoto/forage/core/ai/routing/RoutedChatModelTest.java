@@ -0,0 +1,242 @@
+package io.kaoto.forage.core.ai.routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.exception.HttpException;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class RoutedChatModelTest {
+
+    private static final ChatRequest REQUEST =
+            ChatRequest.builder().messages(UserMessage.from("Hello")).build();
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void prefersTheBackendWithTheLowestAverageLatency() {
+        StubChatModel slowModel = new StubChatModel("slow");
+        StubChatModel fastModel = new StubChatModel("fast");
+        RoutedBackend slow = new RoutedBackend("slow", slowModel);
+        RoutedBackend fast = new RoutedBackend("fast", fastModel);
+        slow.success(100 * MILLIS);
+        fast.success(10 * MILLIS);
+        RoutedChatModel model = new RoutedChatModel(List.of(slow, fast), 3, Duration.ofMinutes(1), null, null);
+
+        assertThat(text(model.chat(REQUEST))).isEqualTo("fast");
+        assertThat(slowModel.calls.get()).isZero();
+    }
+
+    @Test
+    void triesTheBackendsNotCalledYetFirst() {
+        RoutedBackend called = new RoutedBackend("called", new StubChatModel("called"));
+        RoutedBackend fresh = new RoutedBackend("fresh", new StubChatModel("fresh"));
+        called.success(MILLIS);
+        RoutedChatModel model = new RoutedChatModel(List.of(called, fresh), 3, Duration.ofMinutes(1), null, null);
+
+        assertThat(text(model.chat(REQUEST))).isEqualTo("fresh");
+    }
+
+    @Test
+    void followsTheAverageLatencyAsItChanges() {
+        RoutedBackend first = new RoutedBackend("first", new StubChatModel("first"));
+        RoutedBackend second = new RoutedBackend("second", new StubChatModel("second"));
+        first.success(10 * MILLIS);
+        second.success(20 * MILLIS);
+        RoutedChatModel model = new RoutedChatModel(List.of(first, second), 3, Duration.ofMinutes(1), null, null);
+        assertThat(text(model.chat(REQUEST))).isEqualTo("first");
+
+        // The moving average moves by a fifth of the difference on each sample
+        for (int i = 0; i < 10; i++) {
+            first.success(100 * MILLIS);
+        }
+
+        assertThat(first.averageLatency()).isGreaterThan(second.averageLatency());
+        assertThat(text(model.chat(REQUEST))).isEqualTo("second");
+    }
+
+    @Test
+    void failsOverToTheNextBackend() {
+        StubChatModel failing = new StubChatModel("failing");
+        failing.failure = new RuntimeException("Connection refused");
+        RoutedChatModel model = new RoutedChatModel(
+                List.of(new RoutedBackend("failing", failing), new RoutedBackend("healthy", new StubChatModel("ok"))),
+                3,
+                Duration.ofMinutes(1),
+                null,
+                null);
+
+        assertThat(text(model.chat(REQUEST))).isEqualTo("ok");
+        assertThat(model.failovers()).isOne();
+    }
+
+    @Test
+    void failsOverOnServerErrorsAndRateLimits() {
+        StubChatModel overloaded = new StubChatModel("overloaded");
+        overloaded.failure = new HttpException(429, "Too many requests");
+        RoutedChatModel model = new RoutedChatModel(
+                List.of(
+                        new RoutedBackend("overloaded", overloaded),
+                        new RoutedBackend("healthy", new StubChatModel("ok"))),
+                3,
+                Duration.ofMinutes(1),
+                null,
+                null);
+
+        assertThat(text(model.chat(REQUEST))).isEqualTo("ok");
+        overloaded.failure = new HttpException(503, "Unavailable");
+        assertThat(text(model.chat(REQUEST))).isEqualTo("ok");
+    }
+
+    @Test
+    void doesNotFailOverOnAClientError() {
+        StubChatModel rejecting = new StubChatModel("rejecting");
+        rejecting.failure = new HttpException(400, "Invalid request");
+        StubChatModel other = new StubChatModel("other");
+        RoutedBackend backend = new RoutedBackend("rejecting", rejecting);
+        RoutedChatModel model = new RoutedChatModel(
+                List.of(backend, new RoutedBackend("other", other)), 1, Duration.ofMinutes(1), null, null);
+
+        assertThatThrownBy(() -> model.chat(REQUEST)).isSameAs(rejecting.failure);
+        assertThat(other.calls.get()).isZero();
+        assertThat(backend.failures()).isZero();
+        assertThat(backend.ejections()).isZero();
+        assertThat(model.failovers()).isZero();
+    }
+
+    @Test
+    void ejectsABackendFailingInARowAndReadmitsItLater() throws InterruptedException {
+        StubChatModel flaky = new StubChatModel("flaky");
+        flaky.failure = new RuntimeException("Connection reset");
+        RoutedBackend backend = new RoutedBackend("flaky", flaky);
+        RoutedChatModel model = new RoutedChatModel(
+                List.of(backend, new RoutedBackend("healthy", new StubChatModel("ok"))),
+                2,
+                Duration.ofMillis(200),
+                null,
+                null);
+
+        model.chat(REQUEST);
+        model.chat(REQUEST);
+        assertThat(backend.ejections()).isOne();
+
+        model.chat(REQUEST);
+        assertThat(flaky.calls.get()).isEqualTo(2);
+
+        Thread.sleep(300);
+        flaky.failure = null;
+        // Not called successfully yet, the backend comes first again
+        assertThat(text(model.chat(REQUEST))).isEqualTo("flaky");
+        assertThat(flaky.calls.get()).isEqualTo(3);
+    }
+
+    @Test
+    void triesTheBackendEjectedFirstWhenAllAreEjected() {
+        StubChatModel first = new StubChatModel("first");
+        StubChatModel second = new StubChatModel("second");
+        first.failure = new RuntimeException("Down");
+        second.failure = new RuntimeException("Down");
+        RoutedChatModel model = new RoutedChatModel(
+                List.of(new RoutedBackend("first", first), new RoutedBackend("second", second)),
+                1,
+                Duration.ofMinutes(1),
+                null,
+                null);
+        assertThatThrownBy(() -> model.chat(REQUEST)).hasMessage("Down");
+
+        first.failure = null;
+
+        assertThat(text(model.chat(REQUEST))).isEqualTo("first");
+        assertThat(second.calls.get()).isOne();
+    }
+
+    @Test
+    void hedgesACallSlowerThanTheLatencyPercentile() {
+        StubChatModel slowModel = new StubChatModel("slow");
+        StubChatModel fastModel = new StubChatModel("fast");
+        RoutedBackend slow = new RoutedBackend("slow", slowModel);
+        RoutedBackend fast = new RoutedBackend("fast", fastModel);
+        for (int i = 0; i < 20; i++) {
+            slow.success(MILLIS);
+            fast.success(2 * MILLIS);
+        }
+        RoutedChatModel model = new RoutedChatModel(List.of(slow, fast), 3, Duration.ofMinutes(1), 95.0, executor);
+        slowModel.release = new CountDownLatch(1);
+        try {
+            assertThat(text(model.chat(REQUEST))).isEqualTo("fast");
+        } finally {
+            slowModel.release.countDown();
+        }
+
+        assertThat(model.hedges()).isOne();
+        assertThat(slowModel.calls.get()).isOne();
+    }
+
+    @Test
+    void doesNotHedgeBeforeEnoughCallsSucceeded() {
+        StubChatModel first = new StubChatModel("first");
+        StubChatModel second = new StubChatModel("second");
+        RoutedChatModel model = new RoutedChatModel(
+                List.of(new RoutedBackend("first", first), new RoutedBackend("second", second)),
+                3,
+                Duration.ofMinutes(1),
+                95.0,
+                executor);
+
+        assertThat(text(model.chat(REQUEST))).isEqualTo("first");
+        assertThat(model.hedges()).isZero();
+        assertThat(second.calls.get()).isZero();
+    }
+
+    private static String text(ChatResponse response) {
+        return response.aiMessage().text();
+    }
+
+    private static class StubChatModel implements ChatModel {
+        final String text;
+        final AtomicInteger calls = new AtomicInteger();
+        volatile RuntimeException failure;
+        volatile CountDownLatch release;
+
+        StubChatModel(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public ChatResponse chat(ChatRequest chatRequest) {
+            calls.incrementAndGet();
+            CountDownLatch latch = release;
+            if (latch != null) {
+                try {
+                    latch.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            RuntimeException current = failure;
+            if (current != null) {
+                throw current;
+            }
+            return ChatResponse.builder().aiMessage(AiMessage.from(text)).build();
+        }
+    }
+}
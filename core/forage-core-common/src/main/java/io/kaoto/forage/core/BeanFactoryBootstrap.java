@@ -0,0 +1,183 @@
+package io.kaoto.forage.core;
+
+import io.kaoto.forage.core.common.BeanFactory;
+import io.kaoto.forage.core.instrumentation.ForageInstrumentation;
+import io.kaoto.forage.core.instrumentation.Step;
+import io.kaoto.forage.core.instrumentation.StepType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.camel.CamelContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Configures a set of {@link BeanFactory} instances, either one after another or concurrently on a bounded pool.
+ *
+ * <p>In both modes the ordering declared through {@link BeanFactory#configureAfter()} is honored: a factory
+ * starts only once all the factories it depends on are done (successfully or not). Factories without
+ * dependencies between them keep the discovery order in sequential mode and run concurrently in parallel mode.
+ * If the declared ordering contains a cycle, the ordering is ignored and the factories are configured one
+ * after another in discovery order.
+ *
+ * <p>A failing factory never prevents the others from being configured. The outcome and duration of every
+ * factory are returned as {@link Result}s.
+ */
+final class BeanFactoryBootstrap {
+    private static final Logger LOG = LoggerFactory.getLogger(BeanFactoryBootstrap.class);
+
+    /**
+     * The outcome of configuring one bean factory.
+     *
+     * @param factory the bean factory class name
+     * @param durationMillis the time spent in {@link BeanFactory#configure()}
+     * @param failure the failure raised by the factory, or null if it was configured successfully
+     */
+    record Result(String factory, long durationMillis, Throwable failure) {
+        boolean failed() {
+            return failure != null;
+        }
+    }
+
+    private final CamelContext camelContext;
+
+    BeanFactoryBootstrap(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    /**
+     * Configures the factories one after another, in dependency order.
+     */
+    List<Result> sequential(List<BeanFactory> factories) {
+        List<BeanFactory> ordered = order(factories);
+        if (ordered == null) {
+            LOG.warn("Bean factories declare a cyclic ordering, configuring them in discovery order");
+            ordered = factories;
+        }
+
+        List<Result> results = new ArrayList<>(ordered.size());
+        for (BeanFactory factory : ordered) {
+            results.add(configure(factory));
+        }
+        return results;
+    }
+
+    /**
+     * Configures independent factories concurrently on a pool of at most {@code threads} threads, starting
+     * each factory once the factories it depends on are done.
+     */
+    List<Result> parallel(List<BeanFactory> factories, int threads) {
+        if (factories.size() <= 1 || threads <= 1) {
+            return sequential(factories);
+        }
+
+        List<BeanFactory> ordered = order(factories);
+        if (ordered == null) {
+            return sequential(factories);
+        }
+
+        ExecutorService executor = camelContext
+                .getExecutorServiceManager()
+                .newFixedThreadPool(this, "ForageBootstrap", Math.min(threads, factories.size()));
+        try {
+            Map<String, CompletableFuture<Result>> futures = new LinkedHashMap<>();
+            for (BeanFactory factory : ordered) {
+                CompletableFuture<?>[] dependencies = factory.configureAfter().stream()
+                        .map(futures::get)
+                        .filter(f -> f != null)
+                        .toArray(CompletableFuture[]::new);
+
+                // dependencies never complete exceptionally: failures are captured in their Result
+                CompletableFuture<Result> future =
+                        CompletableFuture.allOf(dependencies).thenApplyAsync(ignored -> configure(factory), executor);
+                futures.put(factory.getClass().getName(), future);
+            }
+
+            List<Result> results = new ArrayList<>(futures.size());
+            for (CompletableFuture<Result> future : futures.values()) {
+                results.add(future.join());
+            }
+            return results;
+        } finally {
+            camelContext.getExecutorServiceManager().shutdown(executor);
+        }
+    }
+
+    private Result configure(BeanFactory factory) {
+        final String name = factory.getClass().getName();
+        final long start = System.nanoTime();
+        Throwable failure = null;
+        try (Step step = ForageInstrumentation.begin(StepType.FACTORY_CONFIGURE, name)) {
+            try {
+                factory.setCamelContext(camelContext);
+                factory.configure();
+            } catch (Exception e) {
+                step.failed(e);
+                failure = e;
+            }
+        }
+        final long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        if (failure == null) {
+            LOG.debug("Successfully configured bean factory: {} in {} ms", name, duration);
+        } else {
+            LOG.warn("Failed to configure bean factory: {}", name, failure);
+        }
+        return new Result(name, duration, failure);
+    }
+
+    /**
+     * Sorts the factories so that every factory comes after the factories it depends on, keeping the discovery
+     * order otherwise. Returns the same list if no factory declares an ordering, and null if the declared
+     * ordering contains a cycle.
+     */
+    static List<BeanFactory> order(List<BeanFactory> factories) {
+        if (factories.stream().allMatch(f -> f.configureAfter().isEmpty())) {
+            return factories;
+        }
+
+        Map<String, BeanFactory> byName = new LinkedHashMap<>();
+        factories.forEach(f -> byName.put(f.getClass().getName(), f));
+
+        List<BeanFactory> ordered = new ArrayList<>(factories.size());
+        Map<String, Boolean> visiting = new HashMap<>();
+        for (BeanFactory factory : factories) {
+            if (!visit(factory, byName, visiting, ordered)) {
+                return null;
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * Depth-first visit for the topological sort. The visiting map holds {@code true} while a factory is on the
+     * current path and {@code false} once it has been added to the result.
+     */
+    private static boolean visit(
+            BeanFactory factory,
+            Map<String, BeanFactory> byName,
+            Map<String, Boolean> visiting,
+            List<BeanFactory> ordered) {
+        final String name = factory.getClass().getName();
+        Boolean state = visiting.get(name);
+        if (state != null) {
+            return !state;
+        }
+
+        visiting.put(name, Boolean.TRUE);
+        for (String dependency : factory.configureAfter()) {
+            BeanFactory dependencyFactory = byName.get(dependency);
+            if (dependencyFactory != null && !visit(dependencyFactory, byName, visiting, ordered)) {
+                return false;
+            }
+        }
+        visiting.put(name, Boolean.FALSE);
+        ordered.add(factory);
+        return true;
+    }
+}
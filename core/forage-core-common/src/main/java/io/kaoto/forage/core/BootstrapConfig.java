@@ -0,0 +1,73 @@
+package io.kaoto.forage.core;
+
+import static io.kaoto.forage.core.BootstrapConfigEntries.PARALLEL;
+import static io.kaoto.forage.core.BootstrapConfigEntries.THREADS;
+
+import io.kaoto.forage.core.util.config.Config;
+import io.kaoto.forage.core.util.config.ConfigModule;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import java.util.Optional;
+
+/**
+ * Configuration of the bean factory bootstrap performed by {@link ForageContextServicePlugin}.
+ *
+ * <p><strong>Configuration Parameters:</strong>
+ * <ul>
+ *   <li><strong>FORAGE_BOOTSTRAP_PARALLEL</strong> - Configure independent bean factories concurrently (default: false)</li>
+ *   <li><strong>FORAGE_BOOTSTRAP_THREADS</strong> - Maximum number of factories configured at the same time (default: 4)</li>
+ * </ul>
+ *
+ * <p>Parallel bootstrap is opt-in. When enabled, the startup time gets close to the one of the slowest
+ * factory instead of the sum of all of them, while factories still honor the ordering declared through
+ * {@link io.kaoto.forage.core.common.BeanFactory#configureAfter()}. The pool is created through the Camel
+ * {@link org.apache.camel.spi.ExecutorServiceManager}, so it runs on virtual threads when Camel is configured
+ * to use them ({@code camel.threads.virtual.enabled=true} on JDK 21+).
+ *
+ * @see ForageContextServicePlugin
+ */
+public class BootstrapConfig implements Config {
+
+    public BootstrapConfig() {
+        // Loads the configurations from the properties file associated with this Config module
+        ConfigStore.getInstance().load(BootstrapConfig.class, this, this::register);
+
+        // Lastly, load the overrides defined in system properties and environment variables
+        BootstrapConfigEntries.loadOverrides(null);
+    }
+
+    @Override
+    public void register(String name, String value) {
+        Optional<ConfigModule> config = BootstrapConfigEntries.find(null, name);
+
+        config.ifPresent(module -> ConfigStore.getInstance().set(module, value));
+    }
+
+    @Override
+    public String name() {
+        return "forage-bootstrap";
+    }
+
+    /**
+     * Returns whether bean factories are configured concurrently.
+     *
+     * @return true if parallel bootstrap is enabled, false otherwise (default)
+     */
+    public boolean parallel() {
+        return ConfigStore.getInstance()
+                .get(PARALLEL)
+                .map(Boolean::parseBoolean)
+                .orElse(Boolean.parseBoolean(PARALLEL.defaultValue()));
+    }
+
+    /**
+     * Returns the maximum number of bean factories configured at the same time in parallel bootstrap.
+     *
+     * @return the bootstrap pool size (default: 4)
+     */
+    public int threads() {
+        return ConfigStore.getInstance()
+                .get(THREADS)
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(THREADS.defaultValue()));
+    }
+}
@@ -0,0 +1,58 @@
+package io.kaoto.forage.core;
+
+import io.kaoto.forage.core.util.config.ConfigEntries;
+import io.kaoto.forage.core.util.config.ConfigEntry;
+import io.kaoto.forage.core.util.config.ConfigModule;
+import io.kaoto.forage.core.util.config.ConfigTag;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class BootstrapConfigEntries extends ConfigEntries {
+    public static final ConfigModule PARALLEL = ConfigModule.of(
+            BootstrapConfig.class,
+            "forage.bootstrap.parallel",
+            "Configure independent bean factories concurrently instead of one after another",
+            "Parallel Bootstrap",
+            "false",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule THREADS = ConfigModule.of(
+            BootstrapConfig.class,
+            "forage.bootstrap.threads",
+            "Maximum number of bean factories configured at the same time in parallel bootstrap",
+            "Bootstrap Threads",
+            "4",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    private static final Map<ConfigModule, ConfigEntry> CONFIG_MODULES = new ConcurrentHashMap<>();
+
+    static {
+        init();
+    }
+
+    static void init() {
+        CONFIG_MODULES.put(PARALLEL, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(THREADS, ConfigEntry.fromModule());
+    }
+
+    public static Map<ConfigModule, ConfigEntry> entries() {
+        return Collections.unmodifiableMap(CONFIG_MODULES);
+    }
+
+    public static Optional<ConfigModule> find(String prefix, String name) {
+        return find(CONFIG_MODULES, prefix, name);
+    }
+
+    /**
+     * Load override configurations (which are defined via environment variables and/or system properties)
+     * @param prefix and optional prefix to use
+     */
+    public static void loadOverrides(String prefix) {
+        load(CONFIG_MODULES, prefix);
+    }
+}
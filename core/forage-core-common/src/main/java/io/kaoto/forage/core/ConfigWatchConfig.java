@@ -0,0 +1,86 @@
+package io.kaoto.forage.core;
+
+import static io.kaoto.forage.core.ConfigWatchConfigEntries.DEBOUNCE;
+import static io.kaoto.forage.core.ConfigWatchConfigEntries.ENABLED;
+import static io.kaoto.forage.core.ConfigWatchConfigEntries.INTERVAL;
+
+import io.kaoto.forage.core.util.config.Config;
+import io.kaoto.forage.core.util.config.ConfigModule;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Configuration of the hot reload of the Forage configuration files.
+ *
+ * <p><strong>Configuration Parameters:</strong>
+ * <ul>
+ *   <li><strong>FORAGE_CONFIG_WATCH_ENABLED</strong> - Reload changed configuration files (default: false)</li>
+ *   <li><strong>FORAGE_CONFIG_WATCH_INTERVAL</strong> - How often the files are checked, in ms (default: 2000)</li>
+ *   <li><strong>FORAGE_CONFIG_WATCH_DEBOUNCE</strong> - How long a change is observed before reloading, in ms
+ *   (default: 500)</li>
+ * </ul>
+ *
+ * <p>When enabled, the changed values are published in the {@link ConfigStore} and the providers apply the
+ * changes that are safe at runtime, such as connection pool sizes. Other changes require a restart.
+ *
+ * @see ConfigStore#startWatching(Duration, Duration)
+ */
+public class ConfigWatchConfig implements Config {
+
+    public ConfigWatchConfig() {
+        // Loads the configurations from the properties file associated with this Config module
+        ConfigStore.getInstance().load(ConfigWatchConfig.class, this, this::register);
+
+        // Lastly, load the overrides defined in system properties and environment variables
+        ConfigWatchConfigEntries.loadOverrides(null);
+    }
+
+    @Override
+    public void register(String name, String value) {
+        Optional<ConfigModule> config = ConfigWatchConfigEntries.find(null, name);
+
+        config.ifPresent(module -> ConfigStore.getInstance().set(module, value));
+    }
+
+    @Override
+    public String name() {
+        return "forage-config-watch";
+    }
+
+    /**
+     * Returns whether the configuration files are reloaded when they change.
+     *
+     * @return true if hot reload is enabled, false otherwise (default)
+     */
+    public boolean enabled() {
+        return ConfigStore.getInstance()
+                .get(ENABLED)
+                .map(Boolean::parseBoolean)
+                .orElse(Boolean.parseBoolean(ENABLED.defaultValue()));
+    }
+
+    /**
+     * Returns how often the configuration files are checked for changes.
+     *
+     * @return the watch interval (default: 2 seconds)
+     */
+    public Duration interval() {
+        return Duration.ofMillis(ConfigStore.getInstance()
+                .get(INTERVAL)
+                .map(Long::parseLong)
+                .orElse(Long.parseLong(INTERVAL.defaultValue())));
+    }
+
+    /**
+     * Returns how long a change must be observed before the configuration files are reloaded.
+     *
+     * @return the debounce duration (default: 500 milliseconds)
+     */
+    public Duration debounce() {
+        return Duration.ofMillis(ConfigStore.getInstance()
+                .get(DEBOUNCE)
+                .map(Long::parseLong)
+                .orElse(Long.parseLong(DEBOUNCE.defaultValue())));
+    }
+}
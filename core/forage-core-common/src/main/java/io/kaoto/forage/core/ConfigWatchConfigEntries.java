@@ -0,0 +1,68 @@
+package io.kaoto.forage.core;
+
+import io.kaoto.forage.core.util.config.ConfigEntries;
+import io.kaoto.forage.core.util.config.ConfigEntry;
+import io.kaoto.forage.core.util.config.ConfigModule;
+import io.kaoto.forage.core.util.config.ConfigTag;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class ConfigWatchConfigEntries extends ConfigEntries {
+    public static final ConfigModule ENABLED = ConfigModule.of(
+            ConfigWatchConfig.class,
+            "forage.config.watch.enabled",
+            "Reload the Forage configuration files when they change, applying safe changes without a restart",
+            "Watch Configuration",
+            "false",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule INTERVAL = ConfigModule.of(
+            ConfigWatchConfig.class,
+            "forage.config.watch.interval",
+            "How often the configuration files are checked for changes, in milliseconds",
+            "Watch Interval",
+            "2000",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule DEBOUNCE = ConfigModule.of(
+            ConfigWatchConfig.class,
+            "forage.config.watch.debounce",
+            "How long a change must be observed before the configuration files are reloaded, in milliseconds",
+            "Watch Debounce",
+            "500",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    private static final Map<ConfigModule, ConfigEntry> CONFIG_MODULES = new ConcurrentHashMap<>();
+
+    static {
+        init();
+    }
+
+    static void init() {
+        CONFIG_MODULES.put(ENABLED, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(INTERVAL, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(DEBOUNCE, ConfigEntry.fromModule());
+    }
+
+    public static Map<ConfigModule, ConfigEntry> entries() {
+        return Collections.unmodifiableMap(CONFIG_MODULES);
+    }
+
+    public static Optional<ConfigModule> find(String prefix, String name) {
+        return find(CONFIG_MODULES, prefix, name);
+    }
+
+    /**
+     * Load override configurations (which are defined via environment variables and/or system properties)
+     * @param prefix and optional prefix to use
+     */
+    public static void loadOverrides(String prefix) {
+        load(CONFIG_MODULES, prefix);
+    }
+}
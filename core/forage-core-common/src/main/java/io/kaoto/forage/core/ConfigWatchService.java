@@ -0,0 +1,28 @@
+package io.kaoto.forage.core;
+
+import io.kaoto.forage.core.util.config.ConfigStore;
+import java.time.Duration;
+import org.apache.camel.support.service.ServiceSupport;
+
+/**
+ * Ties the watch of the Forage configuration files to the lifecycle of the Camel context.
+ */
+final class ConfigWatchService extends ServiceSupport {
+    private final Duration interval;
+    private final Duration debounce;
+
+    ConfigWatchService(Duration interval, Duration debounce) {
+        this.interval = interval;
+        this.debounce = debounce;
+    }
+
+    @Override
+    protected void doStart() {
+        ConfigStore.getInstance().startWatching(interval, debounce);
+    }
+
+    @Override
+    protected void doStop() {
+        ConfigStore.getInstance().stopWatching();
+    }
+}
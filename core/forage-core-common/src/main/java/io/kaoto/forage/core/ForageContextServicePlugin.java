@@ -1,6 +1,10 @@
 package io.kaoto.forage.core;
 
 import io.kaoto.forage.core.common.BeanFactory;
+import io.kaoto.forage.core.instrumentation.ForageInstrumentation;
+import io.kaoto.forage.core.instrumentation.MicrometerListener;
+import io.kaoto.forage.core.instrumentation.StartupStepRecorderListener;
+import java.util.List;
 import java.util.ServiceLoader;
 import org.apache.camel.CamelContext;
 import org.apache.camel.spi.ContextServicePlugin;
@@ -10,24 +14,62 @@ import org.slf4j.LoggerFactory;
 public class ForageContextServicePlugin implements ContextServicePlugin {
     private static final Logger LOG = LoggerFactory.getLogger(ForageContextServicePlugin.class);
 
+    private static final String MICROMETER_REGISTRY = "io.micrometer.core.instrument.MeterRegistry";
+
     @Override
     public void load(CamelContext camelContext) {
-        ServiceLoader<BeanFactory> loader =
-                ServiceLoader.load(BeanFactory.class, camelContext.getApplicationContextClassLoader());
+        if (isMicrometerPresent()) {
+            MicrometerListener.install(camelContext);
+        }
+
+        StartupStepRecorderListener startupListener = new StartupStepRecorderListener(
+                camelContext.getCamelContextExtension().getStartupStepRecorder());
+        ForageInstrumentation.addListener(startupListener);
+        try {
+            configureBeanFactories(camelContext);
+        } finally {
+            ForageInstrumentation.removeListener(startupListener);
+        }
 
-        loader.forEach(beanFactory -> {
+        ConfigWatchConfig watchConfig = new ConfigWatchConfig();
+        if (watchConfig.enabled()) {
             try {
-                beanFactory.setCamelContext(camelContext);
-                beanFactory.configure();
-                LOG.debug(
-                        "Successfully configured bean factory: {}",
-                        beanFactory.getClass().getName());
+                camelContext.addService(
+                        new ConfigWatchService(watchConfig.interval(), watchConfig.debounce()), true, true);
             } catch (Exception e) {
-                LOG.warn(
-                        "Failed to configure bean factory: {}",
-                        beanFactory.getClass().getName(),
-                        e);
+                LOG.warn("Unable to watch the Forage configuration files: {}", e.getMessage(), e);
             }
-        });
+        }
+    }
+
+    private static void configureBeanFactories(CamelContext camelContext) {
+        ServiceLoader<BeanFactory> loader =
+                ServiceLoader.load(BeanFactory.class, camelContext.getApplicationContextClassLoader());
+        List<BeanFactory> factories =
+                loader.stream().map(ServiceLoader.Provider::get).toList();
+
+        BootstrapConfig config = new BootstrapConfig();
+        BeanFactoryBootstrap bootstrap = new BeanFactoryBootstrap(camelContext);
+
+        final long start = System.nanoTime();
+        List<BeanFactoryBootstrap.Result> results =
+                config.parallel() ? bootstrap.parallel(factories, config.threads()) : bootstrap.sequential(factories);
+        final long elapsed = (System.nanoTime() - start) / 1_000_000;
+
+        LOG.info(
+                "Configured {} bean factories ({} failed) in {} ms{}",
+                results.size(),
+                results.stream().filter(BeanFactoryBootstrap.Result::failed).count(),
+                elapsed,
+                config.parallel() ? " using parallel bootstrap" : "");
+    }
+
+    private static boolean isMicrometerPresent() {
+        try {
+            Class.forName(MICROMETER_REGISTRY, false, ForageContextServicePlugin.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
     }
 }
@@ -1,8 +1,13 @@
 package io.kaoto.forage.core.common;
 
+import io.kaoto.forage.core.instrumentation.ForageInstrumentation;
+import io.kaoto.forage.core.instrumentation.StepType;
+import java.util.Collections;
 import java.util.List;
 import java.util.ServiceLoader;
+import java.util.Set;
 import org.apache.camel.CamelContextAware;
+import org.apache.camel.spi.Registry;
 
 /**
  * Factory interface for creating and configuring beans within the Forage ecosystem.
@@ -10,6 +15,12 @@ import org.apache.camel.CamelContextAware;
  * Implementations of this interface are automatically discovered via ServiceLoader mechanism
  * and are called during Camel context initialization to configure beans.
  * </p>
+ * <p>
+ * When parallel bootstrap is enabled ({@code forage.bootstrap.parallel=true}), independent factories are
+ * configured concurrently. Implementations should then access the Camel registry through
+ * {@link #bind(String, Object)} and {@link #lookup(String, Class)}, and declare the factories they rely on
+ * through {@link #configureAfter()}.
+ * </p>
  */
 public interface BeanFactory extends CamelContextAware {
 
@@ -20,16 +31,84 @@ public interface BeanFactory extends CamelContextAware {
     void configure();
 
     /**
-     * Utility method to find service providers of a specific type using ServiceLoader.
+     * Returns the fully qualified class names of the bean factories that must be configured before this one.
+     * Factories that are not present in the classpath are ignored.
+     *
+     * @return the names of the factories this factory depends on, empty by default
+     */
+    default Set<String> configureAfter() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * Binds a bean into the Camel registry. Bindings are serialized on the registry, so that factories
+     * configured concurrently do not corrupt it.
+     *
+     * @param name the name of the bean
+     * @param bean the bean to bind
+     */
+    default void bind(String name, Object bean) {
+        Registry registry = getCamelContext().getRegistry();
+        synchronized (registry) {
+            registry.bind(name, bean);
+        }
+    }
+
+    /**
+     * Looks up a bean from the Camel registry, serialized with {@link #bind(String, Object)}.
+     *
+     * @param name the name of the bean
+     * @param type the type of the bean
+     * @return the bean, or null if there is no bean with the given name and type
+     */
+    default <T> T lookup(String name, Class<T> type) {
+        Registry registry = getCamelContext().getRegistry();
+        synchronized (registry) {
+            return registry.lookupByNameAndType(name, type);
+        }
+    }
+
+    /**
+     * Utility method to find service providers of a specific type. Providers are resolved through the
+     * {@link ProviderRegistry}, from the build-time provider index when available, and cached per class loader.
      *
      * @param <K> the type of service to find
      * @param type the class type to search for
      * @return a list of ServiceLoader providers for the specified type
      */
     default <K> List<ServiceLoader.Provider<K>> findProviders(Class<K> type) {
-        ServiceLoader<K> modelLoader =
-                ServiceLoader.load(type, getCamelContext().getApplicationContextClassLoader());
+        return ForageInstrumentation.call(StepType.PROVIDER_LOOKUP, type.getName(), () -> providerRegistry()
+                .providers(type));
+    }
+
+    /**
+     * Utility method to find the service provider of a specific type by its fully qualified class name.
+     *
+     * @param <K> the type of service to find
+     * @param type the class type to search for
+     * @param className the fully qualified class name of the provider
+     * @return the provider, or null if there is no such provider in the classpath
+     */
+    default <K> ServiceLoader.Provider<K> findProvider(Class<K> type, String className) {
+        return ForageInstrumentation.call(StepType.PROVIDER_LOOKUP, type.getName(), () -> providerRegistry()
+                .findByClassName(type, className));
+    }
+
+    /**
+     * Utility method to find the service provider of a specific type by its kind, that is the value of its
+     * {@link io.kaoto.forage.core.annotations.ForageBean} annotation.
+     *
+     * @param <K> the type of service to find
+     * @param type the class type to search for
+     * @param kind the kind of the provider (i.e.: {@code openai})
+     * @return the provider, or null if there is no provider of that kind in the classpath
+     */
+    default <K> ServiceLoader.Provider<K> findProviderByKind(Class<K> type, String kind) {
+        return ForageInstrumentation.call(StepType.PROVIDER_LOOKUP, type.getName(), () -> providerRegistry()
+                .findByKind(type, kind));
+    }
 
-        return modelLoader.stream().toList();
+    private ProviderRegistry providerRegistry() {
+        return ProviderRegistry.of(getCamelContext().getApplicationContextClassLoader());
     }
 }
@@ -0,0 +1,352 @@
+package io.kaoto.forage.core.common;
+
+import io.kaoto.forage.core.annotations.ForageBean;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Resolves the service providers of the Forage SPIs without scanning the classpath on every lookup.
+ *
+ * <p>Forage artifacts built with the {@code generate-provider-index} goal of the Forage Maven catalog plugin ship a
+ * provider index at {@value #INDEX_RESOURCE}. Each entry maps a service interface to its implementations and their
+ * {@link ForageBean} names (the provider kinds), in the same order as the {@code META-INF/services} file:
+ *
+ * <pre>
+ * io.kaoto.forage.core.ai.ModelProvider=io.kaoto.forage.models.chat.openai.OpenAIProvider:openai
+ * </pre>
+ *
+ * <p>When every {@code META-INF/services} file declaring a service comes from an indexed artifact, the providers of
+ * that service are resolved from the index: only the selected provider class is loaded and no annotation is read.
+ * Otherwise (i.e.: a third party provider built without the plugin), the registry falls back to the
+ * {@link ServiceLoader}. In both cases the result is computed once per service and class loader.
+ *
+ * <p>Registries are kept as long as their class loader is reachable. They only hold their class loader and the
+ * provider classes weakly, so that caching them does not prevent the class loader (i.e.: of a redeployed
+ * application) from being collected.
+ */
+public final class ProviderRegistry {
+    private static final Logger LOG = LoggerFactory.getLogger(ProviderRegistry.class);
+
+    /**
+     * The location of the provider index in a Forage artifact.
+     */
+    public static final String INDEX_RESOURCE = "META-INF/forage/providers.properties";
+
+    private static final String SERVICES_DIRECTORY = "META-INF/services/";
+
+    private static final Map<ClassLoader, ProviderRegistry> REGISTRIES =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    // Weak, as the registry is the value of its class loader in REGISTRIES
+    private final WeakReference<ClassLoader> classLoader;
+    private final Map<Class<?>, Providers<?>> providers = new ConcurrentHashMap<>();
+    private volatile Index index;
+
+    private ProviderRegistry(ClassLoader classLoader) {
+        this.classLoader = new WeakReference<>(classLoader);
+    }
+
+    /**
+     * Gets the registry for the given class loader.
+     *
+     * @param classLoader the class loader used to resolve the providers, or null for the context class loader
+     * @return the registry bound to the class loader
+     */
+    public static ProviderRegistry of(ClassLoader classLoader) {
+        ClassLoader loader = classLoader != null ? classLoader : defaultClassLoader();
+        return REGISTRIES.computeIfAbsent(loader, ProviderRegistry::new);
+    }
+
+    /**
+     * Lists the providers of a service, in discovery order.
+     *
+     * @param type the service interface
+     * @return the providers of the service
+     */
+    public <T> List<ServiceLoader.Provider<T>> providers(Class<T> type) {
+        return providersOf(type).all;
+    }
+
+    /**
+     * Finds the provider of a service by its kind, that is the value of its {@link ForageBean} annotation.
+     *
+     * @param type the service interface
+     * @param kind the kind of the provider (i.e.: {@code openai}, {@code redis})
+     * @return the provider, or null if there is no provider of that kind
+     */
+    public <T> ServiceLoader.Provider<T> findByKind(Class<T> type, String kind) {
+        return providersOf(type).byKind.get(kind);
+    }
+
+    /**
+     * Finds the provider of a service by its fully qualified class name.
+     *
+     * @param type the service interface
+     * @param className the fully qualified class name of the provider
+     * @return the provider, or null if there is no provider with that class name
+     */
+    public <T> ServiceLoader.Provider<T> findByClassName(Class<T> type, String className) {
+        return providersOf(type).byClassName.get(className);
+    }
+
+    /**
+     * Drops the cached providers and index, so that they are resolved again on the next lookup.
+     */
+    public void invalidate() {
+        providers.clear();
+        index = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Providers<T> providersOf(Class<T> type) {
+        Providers<?> cached = providers.get(type);
+        if (cached == null) {
+            // Resolved outside computeIfAbsent: loading a provider may look up the providers of another service
+            Providers<T> resolved = resolve(type);
+            cached = providers.putIfAbsent(type, resolved);
+            if (cached == null) {
+                return resolved;
+            }
+        }
+        return (Providers<T>) cached;
+    }
+
+    private <T> Providers<T> resolve(Class<T> type) {
+        List<IndexEntry> entries = index().entries(type.getName(), this::servicesFiles);
+        if (entries != null) {
+            List<NamedProvider<T>> resolved = new ArrayList<>(entries.size());
+            for (IndexEntry entry : entries) {
+                resolved.add(new NamedProvider<>(type, classLoader, entry.className(), entry.kind(), null));
+            }
+            LOG.debug("Resolved {} providers of {} from the provider index", resolved.size(), type.getName());
+            return new Providers<>(resolved);
+        }
+
+        LOG.debug("No complete provider index for {}, falling back to the ServiceLoader", type.getName());
+        List<NamedProvider<T>> resolved = new ArrayList<>();
+        for (ServiceLoader.Provider<T> provider :
+                ServiceLoader.load(type, classLoader()).stream().toList()) {
+            ForageBean annotation = provider.type().getAnnotation(ForageBean.class);
+            resolved.add(new NamedProvider<>(
+                    type,
+                    classLoader,
+                    provider.type().getName(),
+                    annotation != null ? annotation.value() : null,
+                    provider.type()));
+        }
+        return new Providers<>(resolved);
+    }
+
+    private ClassLoader classLoader() {
+        ClassLoader loader = classLoader.get();
+        if (loader == null) {
+            // Only reachable through a registry kept after its class loader was collected
+            throw new IllegalStateException("The class loader of the provider registry was collected");
+        }
+        return loader;
+    }
+
+    private Index index() {
+        Index current = index;
+        if (current == null) {
+            current = Index.load(classLoader());
+            index = current;
+        }
+        return current;
+    }
+
+    private List<URL> servicesFiles(String service) {
+        try {
+            return Collections.list(classLoader().getResources(SERVICES_DIRECTORY + service));
+        } catch (IOException e) {
+            LOG.debug("Unable to list the service files of {}: {}", service, e.getMessage());
+            return null;
+        }
+    }
+
+    private static ClassLoader defaultClassLoader() {
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return contextClassLoader != null ? contextClassLoader : ProviderRegistry.class.getClassLoader();
+    }
+
+    /**
+     * The merged provider indexes found in the class loader, with the locations they were read from.
+     */
+    private record Index(Map<String, List<IndexEntry>> services, Set<String> roots) {
+
+        static Index load(ClassLoader classLoader) {
+            Map<String, List<IndexEntry>> services = new HashMap<>();
+            Set<String> roots = new HashSet<>();
+            try {
+                for (URL url : Collections.list(classLoader.getResources(INDEX_RESOURCE))) {
+                    Properties properties = new Properties();
+                    try (InputStream is = url.openStream()) {
+                        properties.load(is);
+                    }
+                    for (String service : properties.stringPropertyNames()) {
+                        List<IndexEntry> entries = services.computeIfAbsent(service, k -> new ArrayList<>());
+                        for (String value : properties.getProperty(service).split(",")) {
+                            IndexEntry entry = IndexEntry.parse(value);
+                            if (entry != null) {
+                                entries.add(entry);
+                            }
+                        }
+                    }
+                    roots.add(root(url, INDEX_RESOURCE));
+                }
+            } catch (IOException e) {
+                LOG.warn("Unable to read the Forage provider index, falling back to the ServiceLoader", e);
+                return new Index(Map.of(), Set.of());
+            }
+            return new Index(services, roots);
+        }
+
+        /**
+         * Returns the indexed entries of a service, or null if some {@code META-INF/services} file declaring it comes
+         * from an artifact without index.
+         */
+        List<IndexEntry> entries(String service, Function<String, List<URL>> servicesFiles) {
+            List<IndexEntry> entries = services.get(service);
+            if (entries == null) {
+                return null;
+            }
+            List<URL> files = servicesFiles.apply(service);
+            if (files == null) {
+                return null;
+            }
+            for (URL file : files) {
+                if (!roots.contains(root(file, SERVICES_DIRECTORY + service))) {
+                    return null;
+                }
+            }
+            return entries;
+        }
+
+        private static String root(URL url, String resource) {
+            String location = url.toExternalForm();
+            return location.endsWith(resource)
+                    ? location.substring(0, location.length() - resource.length())
+                    : location;
+        }
+    }
+
+    private record IndexEntry(String className, String kind) {
+
+        static IndexEntry parse(String value) {
+            String trimmed = value.trim();
+            if (trimmed.isEmpty()) {
+                return null;
+            }
+            int separator = trimmed.indexOf(':');
+            if (separator < 0) {
+                return new IndexEntry(trimmed, null);
+            }
+            String kind = trimmed.substring(separator + 1).trim();
+            return new IndexEntry(trimmed.substring(0, separator).trim(), kind.isEmpty() ? null : kind);
+        }
+    }
+
+    /**
+     * The providers of a service, indexed by kind and class name.
+     */
+    private static final class Providers<T> {
+        private final List<ServiceLoader.Provider<T>> all;
+        private final Map<String, ServiceLoader.Provider<T>> byKind = new HashMap<>();
+        private final Map<String, ServiceLoader.Provider<T>> byClassName = new HashMap<>();
+
+        Providers(List<NamedProvider<T>> providers) {
+            this.all = List.copyOf(providers);
+            for (NamedProvider<T> provider : providers) {
+                if (provider.kind() != null) {
+                    byKind.putIfAbsent(provider.kind(), provider);
+                }
+                byClassName.putIfAbsent(provider.className(), provider);
+            }
+        }
+    }
+
+    /**
+     * A provider known by its class name, read from the index or discovered through the {@link ServiceLoader}. Its
+     * class is loaded on first use, and a new instance is created on each {@link #get()} call, as the
+     * {@link ServiceLoader} does. The class loader and the provider class are held weakly.
+     */
+    private static final class NamedProvider<T> implements ServiceLoader.Provider<T> {
+        private final Class<T> service;
+        private final WeakReference<ClassLoader> classLoader;
+        private final String className;
+        private final String kind;
+        private volatile WeakReference<Class<? extends T>> type;
+
+        NamedProvider(
+                Class<T> service,
+                WeakReference<ClassLoader> classLoader,
+                String className,
+                String kind,
+                Class<? extends T> type) {
+            this.service = service;
+            this.classLoader = classLoader;
+            this.className = className;
+            this.kind = kind;
+            this.type = type != null ? new WeakReference<>(type) : null;
+        }
+
+        String className() {
+            return className;
+        }
+
+        String kind() {
+            return kind;
+        }
+
+        @Override
+        public Class<? extends T> type() {
+            WeakReference<Class<? extends T>> cached = type;
+            Class<? extends T> loaded = cached != null ? cached.get() : null;
+            if (loaded == null) {
+                ClassLoader loader = classLoader.get();
+                try {
+                    if (loader == null) {
+                        throw new ClassNotFoundException(className + " (the class loader was collected)");
+                    }
+                    loaded = Class.forName(className, false, loader).asSubclass(service);
+                } catch (ClassNotFoundException | ClassCastException e) {
+                    throw new ServiceConfigurationError(
+                            service.getName() + ": Provider " + className + " could not be loaded", e);
+                }
+                type = new WeakReference<>(loaded);
+            }
+            return loaded;
+        }
+
+        @Override
+        public T get() {
+            try {
+                return type().getConstructor().newInstance();
+            } catch (InvocationTargetException e) {
+                throw new ServiceConfigurationError(
+                        service.getName() + ": Provider " + className + " could not be instantiated", e.getCause());
+            } catch (ReflectiveOperationException e) {
+                throw new ServiceConfigurationError(
+                        service.getName() + ": Provider " + className + " could not be instantiated", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package io.kaoto.forage.core.instrumentation;
+
+/**
+ * The statistics of a cache kept by Forage, registered with
+ * {@link ForageInstrumentation#registerCache(String, String, CacheStatistics)} to be exposed by the listeners.
+ *
+ * <p>The methods are called by the listeners whenever they report the statistics, so they must be thread-safe and
+ * cheap.
+ */
+public interface CacheStatistics {
+
+    /**
+     * Returns how many lookups were answered from the cache.
+     */
+    long hits();
+
+    /**
+     * Returns how many lookups were not answered from the cache.
+     */
+    long misses();
+
+    /**
+     * Returns how many entries were removed by the cache itself to stay within its bounds, including, depending on the
+     * cache, the entries that expired.
+     */
+    long evictions();
+
+    /**
+     * Returns the number of entries held by the cache.
+     */
+    int size();
+
+    /**
+     * Returns the estimated size in bytes of the entries held by the cache.
+     *
+     * @return the size in bytes, or -1 if the cache does not estimate it
+     */
+    default long residentBytes() {
+        return -1;
+    }
+}
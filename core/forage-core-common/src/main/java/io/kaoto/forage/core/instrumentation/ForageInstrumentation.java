@@ -0,0 +1,165 @@
+package io.kaoto.forage.core.instrumentation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Entry point to instrument the work done by Forage factories and providers.
+ *
+ * <p>Steps such as configuration loading, prefix discovery, provider lookups and bean creation are reported to
+ * the registered {@link InstrumentationListener}s. Forage registers a listener forwarding the steps to the Camel
+ * {@link org.apache.camel.spi.StartupStepRecorder} while the bean factories are configured, and a listener
+ * recording Micrometer timers when Micrometer is in the classpath.
+ *
+ * <p>When no listener is registered, beginning a step costs a single volatile read and no allocation.
+ *
+ * <p>The caches kept by Forage, such as the chat memories or the response caches of the agents, register their
+ * {@link CacheStatistics}, the HTTP clients shared by the models their {@link HttpClientStatistics}, and the
+ * concurrency limiters of the models their {@link LimiterStatistics}; the listeners are told about those registered
+ * before and after them. They are held weakly, so registering one does not keep it from being collected.
+ *
+ * @see StepType
+ * @see InstrumentationListener
+ */
+public final class ForageInstrumentation {
+    private static final List<InstrumentationListener> LISTENERS = new CopyOnWriteArrayList<>();
+    // The registered caches, with their kind and name; guarded by itself, which also orders the listener additions
+    private static final Map<CacheStatistics, String[]> CACHES = new WeakHashMap<>();
+    // The registered HTTP clients, with their endpoint; guarded by CACHES
+    private static final Map<HttpClientStatistics, String> HTTP_CLIENTS = new WeakHashMap<>();
+    // The registered limiters, with their name; guarded by CACHES
+    private static final Map<LimiterStatistics, String> LIMITERS = new WeakHashMap<>();
+
+    private ForageInstrumentation() {}
+
+    /**
+     * Registers a listener.
+     *
+     * @param listener the listener to register
+     */
+    public static void addListener(InstrumentationListener listener) {
+        synchronized (CACHES) {
+            LISTENERS.add(listener);
+            CACHES.forEach((statistics, names) -> listener.cacheRegistered(names[0], names[1], statistics));
+            HTTP_CLIENTS.forEach((statistics, endpoint) -> listener.httpClientRegistered(endpoint, statistics));
+            LIMITERS.forEach((statistics, name) -> listener.limiterRegistered(name, statistics));
+        }
+    }
+
+    /**
+     * Removes a previously registered listener.
+     *
+     * @param listener the listener to remove
+     */
+    public static void removeListener(InstrumentationListener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    /**
+     * Registers a cache, whose statistics are reported by the listeners registered now and later.
+     *
+     * @param cache the kind of cache (i.e.: {@code chat-memory}, {@code chat-response})
+     * @param name the name of the cache, usually the name of the configuration or agent it belongs to
+     * @param statistics the statistics of the cache
+     */
+    public static void registerCache(String cache, String name, CacheStatistics statistics) {
+        String cacheName = name != null ? name : "default";
+        synchronized (CACHES) {
+            CACHES.put(statistics, new String[] {cache, cacheName});
+            for (InstrumentationListener listener : LISTENERS) {
+                listener.cacheRegistered(cache, cacheName, statistics);
+            }
+        }
+    }
+
+    /**
+     * Registers a shared HTTP client, whose statistics are reported by the listeners registered now and later.
+     *
+     * @param endpoint the base URL the client calls, or null for the default endpoint of the model
+     * @param statistics the statistics of the client
+     */
+    public static void registerHttpClient(String endpoint, HttpClientStatistics statistics) {
+        String endpointName = endpoint != null ? endpoint : "default";
+        synchronized (CACHES) {
+            HTTP_CLIENTS.put(statistics, endpointName);
+            for (InstrumentationListener listener : LISTENERS) {
+                listener.httpClientRegistered(endpointName, statistics);
+            }
+        }
+    }
+
+    /**
+     * Registers a concurrency limiter, whose statistics are reported by the listeners registered now and later.
+     *
+     * @param name the name of the limiter, usually the provider, endpoint and model it limits
+     * @param statistics the statistics of the limiter
+     */
+    public static void registerLimiter(String name, LimiterStatistics statistics) {
+        synchronized (CACHES) {
+            LIMITERS.put(statistics, name);
+            for (InstrumentationListener listener : LISTENERS) {
+                listener.limiterRegistered(name, statistics);
+            }
+        }
+    }
+
+    /**
+     * Begins a step. The returned step must be closed once the work is done.
+     *
+     * @param type the kind of step
+     * @param name the name of the step
+     * @return the step in progress
+     */
+    public static Step begin(StepType type, String name) {
+        if (LISTENERS.isEmpty()) {
+            return Step.NOOP;
+        }
+
+        List<InstrumentationListener.Scope> scopes = new ArrayList<>(LISTENERS.size());
+        for (InstrumentationListener listener : LISTENERS) {
+            scopes.add(listener.begin(type, name));
+        }
+        return new Step(scopes, System.nanoTime());
+    }
+
+    /**
+     * Runs the given action as a step.
+     *
+     * @param type the kind of step
+     * @param name the name of the step
+     * @param action the work to instrument
+     */
+    public static void run(StepType type, String name, Runnable action) {
+        try (Step step = begin(type, name)) {
+            try {
+                action.run();
+            } catch (RuntimeException | Error e) {
+                step.failed(e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Calls the given action as a step.
+     *
+     * @param type the kind of step
+     * @param name the name of the step
+     * @param action the work to instrument
+     * @return the result of the action
+     */
+    public static <T> T call(StepType type, String name, Supplier<T> action) {
+        try (Step step = begin(type, name)) {
+            try {
+                return action.get();
+            } catch (RuntimeException | Error e) {
+                step.failed(e);
+                throw e;
+            }
+        }
+    }
+}
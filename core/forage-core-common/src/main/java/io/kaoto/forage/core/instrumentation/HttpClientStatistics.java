@@ -0,0 +1,38 @@
+package io.kaoto.forage.core.instrumentation;
+
+/**
+ * The statistics of an HTTP client shared by Forage models, registered with
+ * {@link ForageInstrumentation#registerHttpClient(String, HttpClientStatistics)} to be exposed by the listeners.
+ *
+ * <p>The methods are called by the listeners whenever they report the statistics, so they must be thread-safe and
+ * cheap.
+ */
+public interface HttpClientStatistics {
+
+    /**
+     * Returns how many models were bound to the client: all but the first one reuse its connections.
+     */
+    long models();
+
+    /**
+     * Returns how many non-streaming requests were sent through the client.
+     */
+    long requests();
+
+    /**
+     * Returns how many streaming requests were sent through the client.
+     */
+    long streamingRequests();
+
+    /**
+     * Returns how many requests are being executed, streaming ones included.
+     */
+    long inFlight();
+
+    /**
+     * Returns the maximum number of requests executed at once.
+     *
+     * @return the maximum number of requests, or 0 if they are not bounded
+     */
+    int maxConnections();
+}
@@ -0,0 +1,60 @@
+package io.kaoto.forage.core.instrumentation;
+
+/**
+ * Receives the steps recorded through {@link ForageInstrumentation}.
+ *
+ * <p>Listeners are invoked on the thread doing the work, so they must be thread-safe and cheap.
+ */
+public interface InstrumentationListener {
+
+    /**
+     * Called when a step begins.
+     *
+     * @param type the kind of step
+     * @param name the name of the step (i.e.: the configuration, datasource, agent or provider name)
+     * @return the scope ended once the step is done, never null
+     */
+    Scope begin(StepType type, String name);
+
+    /**
+     * Called when a cache is registered, or when this listener is registered for the caches registered before.
+     *
+     * @param cache the kind of cache
+     * @param name the name of the cache
+     * @param statistics the statistics of the cache
+     */
+    default void cacheRegistered(String cache, String name, CacheStatistics statistics) {}
+
+    /**
+     * Called when a shared HTTP client is registered, or when this listener is registered for the clients registered
+     * before.
+     *
+     * @param endpoint the base URL the client calls
+     * @param statistics the statistics of the client
+     */
+    default void httpClientRegistered(String endpoint, HttpClientStatistics statistics) {}
+
+    /**
+     * Called when a concurrency limiter is registered, or when this listener is registered for the limiters
+     * registered before.
+     *
+     * @param name the name of the limiter
+     * @param statistics the statistics of the limiter
+     */
+    default void limiterRegistered(String name, LimiterStatistics statistics) {}
+
+    /**
+     * The listener-specific state of a step in progress.
+     */
+    @FunctionalInterface
+    interface Scope {
+
+        /**
+         * Called when the step is done.
+         *
+         * @param durationNanos the duration of the step
+         * @param failure the failure raised by the step, or null if it completed successfully
+         */
+        void end(long durationNanos, Throwable failure);
+    }
+}
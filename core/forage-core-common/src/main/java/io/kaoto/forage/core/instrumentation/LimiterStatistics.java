@@ -0,0 +1,41 @@
+package io.kaoto.forage.core.instrumentation;
+
+/**
+ * The statistics of a concurrency limiter of the models, registered with
+ * {@link ForageInstrumentation#registerLimiter(String, LimiterStatistics)} to be exposed by the listeners.
+ *
+ * <p>The methods are called by the listeners whenever they report the statistics, so they must be thread-safe and
+ * cheap.
+ */
+public interface LimiterStatistics {
+
+    /**
+     * Returns the current number of concurrent calls allowed.
+     */
+    int limit();
+
+    /**
+     * Returns the number of calls being executed.
+     */
+    int inFlight();
+
+    /**
+     * Returns the number of callers waiting for a permit.
+     */
+    int queued();
+
+    /**
+     * Returns how many calls completed successfully.
+     */
+    long successes();
+
+    /**
+     * Returns how many calls were rejected by the provider because of rate limiting or overload.
+     */
+    long drops();
+
+    /**
+     * Returns how many callers were rejected without calling the model.
+     */
+    long rejections();
+}
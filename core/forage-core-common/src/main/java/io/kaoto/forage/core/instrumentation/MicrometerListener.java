@@ -0,0 +1,273 @@
+package io.kaoto.forage.core.instrumentation;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.camel.CamelContext;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.support.service.ServiceSupport;
+
+/**
+ * Records every Forage step as a Micrometer {@link Timer} named {@code forage.step}, tagged with the step
+ * {@code type}, {@code name} and {@code outcome} ({@code success} or {@code failure}).
+ *
+ * <p>The statistics of the registered caches are exposed as meters tagged with the {@code cache} kind and
+ * {@code name}: the {@code forage.cache.gets} counter, tagged with a {@code result} ({@code hit} or {@code miss}),
+ * the {@code forage.cache.evictions} counter, and the {@code forage.cache.size} and
+ * {@code forage.cache.resident.bytes} gauges. The meters hold the caches weakly; a cache registered again with the
+ * same kind and name replaces the meters of the previous one.
+ *
+ * <p>The statistics of the shared HTTP clients are exposed as meters tagged with their {@code endpoint}: the
+ * {@code forage.http.client.models} gauge, counting the models bound to the client, all but the first one reusing its
+ * connections, the {@code forage.http.client.requests} counter, tagged with a {@code type} ({@code blocking} or
+ * {@code streaming}), the {@code forage.http.client.in.flight} gauge and, when requests are bounded, the
+ * {@code forage.http.client.max.connections} gauge. A client registered for the same endpoint replaces the meters of
+ * the previous one.
+ *
+ * <p>The statistics of the concurrency limiters of the models are exposed as meters tagged with their {@code name}:
+ * the {@code forage.limiter.limit}, {@code forage.limiter.in.flight} and {@code forage.limiter.queued} gauges, and
+ * the {@code forage.limiter.calls} counter, tagged with an {@code outcome}: {@code success}, {@code dropped} when the
+ * provider rejected the call because of rate limiting or overload, or {@code rejected} when the limiter rejected the
+ * caller without calling the model.
+ *
+ * <p>Micrometer is an optional dependency: this class must only be loaded after checking that Micrometer is
+ * in the classpath.
+ */
+public class MicrometerListener implements InstrumentationListener {
+    static final String METER_NAME = "forage.step";
+    static final String CACHE_GETS = "forage.cache.gets";
+    static final String CACHE_EVICTIONS = "forage.cache.evictions";
+    static final String CACHE_SIZE = "forage.cache.size";
+    static final String CACHE_RESIDENT_BYTES = "forage.cache.resident.bytes";
+    static final String HTTP_CLIENT_MODELS = "forage.http.client.models";
+    static final String HTTP_CLIENT_REQUESTS = "forage.http.client.requests";
+    static final String HTTP_CLIENT_IN_FLIGHT = "forage.http.client.in.flight";
+    static final String HTTP_CLIENT_MAX_CONNECTIONS = "forage.http.client.max.connections";
+    static final String LIMITER_LIMIT = "forage.limiter.limit";
+    static final String LIMITER_IN_FLIGHT = "forage.limiter.in.flight";
+    static final String LIMITER_QUEUED = "forage.limiter.queued";
+    static final String LIMITER_CALLS = "forage.limiter.calls";
+
+    // The installed listeners, keyed by registry, with the number of Camel contexts using each of them
+    private static final Map<MeterRegistry, Installation> INSTALLED = new IdentityHashMap<>();
+
+    private final MeterRegistry registry;
+
+    public MicrometerListener(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Registers a listener recording into the {@link MeterRegistry} bound in the Camel registry, or into the
+     * Micrometer global registry if there is none. The listener is removed once the Camel context is stopped;
+     * Camel contexts sharing a meter registry share its listener.
+     *
+     * @param camelContext the Camel context to look the meter registry up from
+     */
+    public static void install(CamelContext camelContext) {
+        MeterRegistry found = camelContext.getRegistry().findSingleByType(MeterRegistry.class);
+        MeterRegistry registry = found != null ? found : Metrics.globalRegistry;
+
+        acquire(registry);
+        try {
+            camelContext.addService(new Registration(registry), true, true);
+        } catch (Exception e) {
+            release(registry);
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+    }
+
+    private static void acquire(MeterRegistry registry) {
+        synchronized (INSTALLED) {
+            INSTALLED.computeIfAbsent(registry, r -> {
+                        MicrometerListener listener = new MicrometerListener(r);
+                        ForageInstrumentation.addListener(listener);
+                        return new Installation(listener);
+                    })
+                    .contexts++;
+        }
+    }
+
+    private static void release(MeterRegistry registry) {
+        synchronized (INSTALLED) {
+            Installation installation = INSTALLED.get(registry);
+            if (installation != null && --installation.contexts == 0) {
+                INSTALLED.remove(registry);
+                ForageInstrumentation.removeListener(installation.listener);
+            }
+        }
+    }
+
+    @Override
+    public Scope begin(StepType type, String name) {
+        return (durationNanos, failure) -> Timer.builder(METER_NAME)
+                .description("Time spent by Forage configuring and creating beans")
+                .tag("type", type.label())
+                .tag("name", name != null ? name : "default")
+                .tag("outcome", failure == null ? "success" : "failure")
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void cacheRegistered(String cache, String name, CacheStatistics statistics) {
+        Tags tags = Tags.of("cache", cache, "name", name);
+        Tags hit = tags.and("result", "hit");
+        removePrevious(CACHE_GETS, hit);
+        FunctionCounter.builder(CACHE_GETS, statistics, CacheStatistics::hits)
+                .description("Lookups answered from a Forage cache")
+                .tags(hit)
+                .register(registry);
+        Tags miss = tags.and("result", "miss");
+        removePrevious(CACHE_GETS, miss);
+        FunctionCounter.builder(CACHE_GETS, statistics, CacheStatistics::misses)
+                .description("Lookups not answered from a Forage cache")
+                .tags(miss)
+                .register(registry);
+        removePrevious(CACHE_EVICTIONS, tags);
+        FunctionCounter.builder(CACHE_EVICTIONS, statistics, CacheStatistics::evictions)
+                .description("Entries removed by a Forage cache to stay within its bounds")
+                .tags(tags)
+                .register(registry);
+        removePrevious(CACHE_SIZE, tags);
+        Gauge.builder(CACHE_SIZE, statistics, CacheStatistics::size)
+                .description("Entries held by a Forage cache")
+                .tags(tags)
+                .register(registry);
+        removePrevious(CACHE_RESIDENT_BYTES, tags);
+        if (statistics.residentBytes() >= 0) {
+            Gauge.builder(CACHE_RESIDENT_BYTES, statistics, CacheStatistics::residentBytes)
+                    .description("Estimated size of the entries held by a Forage cache")
+                    .baseUnit("bytes")
+                    .tags(tags)
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public void httpClientRegistered(String endpoint, HttpClientStatistics statistics) {
+        Tags tags = Tags.of("endpoint", endpoint);
+        removePrevious(HTTP_CLIENT_MODELS, tags);
+        Gauge.builder(HTTP_CLIENT_MODELS, statistics, HttpClientStatistics::models)
+                .description("Models bound to a shared HTTP client, all but the first reusing its connections")
+                .tags(tags)
+                .register(registry);
+        Tags blocking = tags.and("type", "blocking");
+        removePrevious(HTTP_CLIENT_REQUESTS, blocking);
+        FunctionCounter.builder(HTTP_CLIENT_REQUESTS, statistics, HttpClientStatistics::requests)
+                .description("Requests sent through a shared HTTP client")
+                .tags(blocking)
+                .register(registry);
+        Tags streaming = tags.and("type", "streaming");
+        removePrevious(HTTP_CLIENT_REQUESTS, streaming);
+        FunctionCounter.builder(HTTP_CLIENT_REQUESTS, statistics, HttpClientStatistics::streamingRequests)
+                .description("Streaming requests sent through a shared HTTP client")
+                .tags(streaming)
+                .register(registry);
+        removePrevious(HTTP_CLIENT_IN_FLIGHT, tags);
+        Gauge.builder(HTTP_CLIENT_IN_FLIGHT, statistics, HttpClientStatistics::inFlight)
+                .description("Requests being executed by a shared HTTP client, streaming ones included")
+                .tags(tags)
+                .register(registry);
+        removePrevious(HTTP_CLIENT_MAX_CONNECTIONS, tags);
+        if (statistics.maxConnections() > 0) {
+            Gauge.builder(HTTP_CLIENT_MAX_CONNECTIONS, statistics, HttpClientStatistics::maxConnections)
+                    .description("Maximum number of requests executed at once by a shared HTTP client")
+                    .tags(tags)
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public void limiterRegistered(String name, LimiterStatistics statistics) {
+        Tags tags = Tags.of("name", name);
+        removePrevious(LIMITER_LIMIT, tags);
+        Gauge.builder(LIMITER_LIMIT, statistics, LimiterStatistics::limit)
+                .description("Concurrent calls to a model currently allowed by its limiter")
+                .tags(tags)
+                .register(registry);
+        removePrevious(LIMITER_IN_FLIGHT, tags);
+        Gauge.builder(LIMITER_IN_FLIGHT, statistics, LimiterStatistics::inFlight)
+                .description("Calls to a model being executed")
+                .tags(tags)
+                .register(registry);
+        removePrevious(LIMITER_QUEUED, tags);
+        Gauge.builder(LIMITER_QUEUED, statistics, LimiterStatistics::queued)
+                .description("Callers waiting for a permit to call a model")
+                .tags(tags)
+                .register(registry);
+        Tags success = tags.and("outcome", "success");
+        removePrevious(LIMITER_CALLS, success);
+        FunctionCounter.builder(LIMITER_CALLS, statistics, LimiterStatistics::successes)
+                .description("Calls to a model that completed successfully")
+                .tags(success)
+                .register(registry);
+        Tags dropped = tags.and("outcome", "dropped");
+        removePrevious(LIMITER_CALLS, dropped);
+        FunctionCounter.builder(LIMITER_CALLS, statistics, LimiterStatistics::drops)
+                .description("Calls rejected by the model provider because of rate limiting or overload")
+                .tags(dropped)
+                .register(registry);
+        Tags rejected = tags.and("outcome", "rejected");
+        removePrevious(LIMITER_CALLS, rejected);
+        FunctionCounter.builder(LIMITER_CALLS, statistics, LimiterStatistics::rejections)
+                .description("Callers rejected by the limiter without calling the model")
+                .tags(rejected)
+                .register(registry);
+    }
+
+    // Micrometer returns the meter already registered with the same identifier, which reports the previous cache or
+    // client
+    private void removePrevious(String meterName, Tags tags) {
+        Meter previous = registry.find(meterName).tags(tags).meter();
+        if (previous != null) {
+            registry.remove(previous);
+        }
+    }
+
+    private static final class Installation {
+        private final MicrometerListener listener;
+        private int contexts;
+
+        private Installation(MicrometerListener listener) {
+            this.listener = listener;
+        }
+    }
+
+    /**
+     * Ties the listener of a Camel context to its lifecycle: the listener is removed when the context is stopped,
+     * and registered again if the context is started again.
+     */
+    private static final class Registration extends ServiceSupport {
+        private final MeterRegistry registry;
+        // The listener is registered by install(), before the service is started
+        private boolean installed = true;
+
+        private Registration(MeterRegistry registry) {
+            this.registry = registry;
+        }
+
+        @Override
+        protected void doStart() {
+            if (!installed) {
+                acquire(registry);
+                installed = true;
+            }
+        }
+
+        @Override
+        protected void doStop() {
+            if (installed) {
+                release(registry);
+                installed = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package io.kaoto.forage.core.instrumentation;
+
+import org.apache.camel.StartupStep;
+import org.apache.camel.spi.StartupStepRecorder;
+
+/**
+ * Forwards Forage steps to the Camel {@link StartupStepRecorder}, so that they show up alongside the Camel startup
+ * steps (i.e.: with {@code camel.main.startup-recorder=logging} or {@code jfr}).
+ *
+ * <p>The recorder is not thread-safe, so only the steps of the thread that created the listener, the one
+ * coordinating the bootstrap, are forwarded. The steps done on the threads of a parallel bootstrap are left out.
+ */
+public class StartupStepRecorderListener implements InstrumentationListener {
+    private static final Scope NOT_RECORDED = (durationNanos, failure) -> {};
+
+    private final StartupStepRecorder recorder;
+    private final Thread coordinator;
+
+    public StartupStepRecorderListener(StartupStepRecorder recorder) {
+        this.recorder = recorder;
+        this.coordinator = Thread.currentThread();
+    }
+
+    @Override
+    public Scope begin(StepType type, String name) {
+        if (Thread.currentThread() != coordinator) {
+            return NOT_RECORDED;
+        }
+
+        final StartupStep step = recorder.beginStep(ForageInstrumentation.class, name, "Forage " + type.label());
+        return (durationNanos, failure) -> recorder.endStep(step);
+    }
+}
@@ -0,0 +1,52 @@
+package io.kaoto.forage.core.instrumentation;
+
+import java.util.List;
+
+/**
+ * A step in progress, returned by {@link ForageInstrumentation#begin(StepType, String)}.
+ *
+ * <p>Use it with try-with-resources, calling {@link #failed(Throwable)} before rethrowing a failure:
+ * <pre>{@code
+ * try (Step step = ForageInstrumentation.begin(StepType.BEAN_CREATE, name)) {
+ *     return provider.create(name);
+ * } catch (RuntimeException e) {
+ *     step.failed(e);
+ *     throw e;
+ * }
+ * }</pre>
+ */
+public final class Step implements AutoCloseable {
+    static final Step NOOP = new Step(List.of(), 0L);
+
+    private final List<InstrumentationListener.Scope> scopes;
+    private final long start;
+    private Throwable failure;
+
+    Step(List<InstrumentationListener.Scope> scopes, long start) {
+        this.scopes = scopes;
+        this.start = start;
+    }
+
+    /**
+     * Marks the step as failed.
+     *
+     * @param failure the failure raised by the step
+     */
+    public void failed(Throwable failure) {
+        if (this != NOOP) {
+            this.failure = failure;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (scopes.isEmpty()) {
+            return;
+        }
+
+        final long duration = System.nanoTime() - start;
+        for (InstrumentationListener.Scope scope : scopes) {
+            scope.end(duration, failure);
+        }
+    }
+}
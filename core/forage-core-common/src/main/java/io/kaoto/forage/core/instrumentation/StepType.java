@@ -0,0 +1,42 @@
+package io.kaoto.forage.core.instrumentation;
+
+/**
+ * The kinds of work instrumented by {@link ForageInstrumentation}.
+ */
+public enum StepType {
+    /**
+     * Loading a {@link io.kaoto.forage.core.util.config.Config} from its properties file and overrides.
+     */
+    CONFIG_LOAD("config-load"),
+    /**
+     * Discovering the named prefixes of a kind of configuration (i.e.: {@code jdbc}, {@code agent}).
+     */
+    PREFIX_DISCOVERY("prefix-discovery"),
+    /**
+     * Looking up the providers of a service through the {@link java.util.ServiceLoader}.
+     */
+    PROVIDER_LOOKUP("provider-lookup"),
+    /**
+     * Creating a bean through {@link io.kaoto.forage.core.common.BeanProvider#create(String)}.
+     */
+    BEAN_CREATE("bean-create"),
+    /**
+     * Configuring a {@link io.kaoto.forage.core.common.BeanFactory}.
+     */
+    FACTORY_CONFIGURE("factory-configure");
+
+    private final String label;
+
+    StepType(String label) {
+        this.label = label;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,11 @@
+package io.kaoto.forage.core.util.config;
+
+/**
+ * The change of a {@link ConfigModule} value applied when a properties file is reloaded.
+ *
+ * @param module the configuration module whose value changed
+ * @param oldValue the previous value, or null if the module had no value
+ * @param newValue the new value, or null if the property was removed from the file
+ * @see ConfigStore#reload()
+ */
+public record ConfigChange(ConfigModule module, String oldValue, String newValue) {}
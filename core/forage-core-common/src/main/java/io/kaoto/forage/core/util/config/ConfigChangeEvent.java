@@ -0,0 +1,47 @@
+package io.kaoto.forage.core.util.config;
+
+import java.util.List;
+
+/**
+ * The changes applied by a single reload of the properties files. All the changes of an event are already visible
+ * through {@link ConfigStore#get(ConfigModule)} when listeners are notified.
+ *
+ * @param changes the applied changes
+ * @see ConfigChangeListener
+ */
+public record ConfigChangeEvent(List<ConfigChange> changes) {
+
+    public ConfigChangeEvent {
+        changes = List.copyOf(changes);
+    }
+
+    /**
+     * Checks whether the value of the given module changed.
+     *
+     * @param module the configuration module, named with the same prefix it was registered with
+     * @return true if the module is part of the changes
+     */
+    public boolean changed(ConfigModule module) {
+        for (ConfigChange change : changes) {
+            if (change.module().equals(module)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the value of any of the given modules changed.
+     *
+     * @param modules the configuration modules, named with the same prefix they were registered with
+     * @return true if at least one of the modules is part of the changes
+     */
+    public boolean changedAny(ConfigModule... modules) {
+        for (ConfigModule module : modules) {
+            if (changed(module)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
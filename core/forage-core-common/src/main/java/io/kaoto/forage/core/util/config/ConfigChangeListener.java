@@ -0,0 +1,21 @@
+package io.kaoto.forage.core.util.config;
+
+/**
+ * Receives the configuration changes applied when properties files are reloaded.
+ *
+ * <p>Listeners are invoked on the thread performing the reload, typically the {@link ConfigWatcher} thread.
+ * They should only apply changes that are safe at runtime (i.e.: pool sizes, timeouts) and leave the others
+ * to the next restart.
+ *
+ * @see ConfigStore#addChangeListener(ConfigChangeListener)
+ */
+@FunctionalInterface
+public interface ConfigChangeListener {
+
+    /**
+     * Called once the changed values are published in the {@link ConfigStore}.
+     *
+     * @param event the applied changes
+     */
+    void onChange(ConfigChangeEvent event);
+}
@@ -1,16 +1,38 @@
 package io.kaoto.forage.core.util.config;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Base class of the static registries of configuration modules ({@code *ConfigEntries}).
+ *
+ * <p>Each subclass keeps its modules in a {@code CONFIG_MODULES} map, which grows as named configurations are
+ * registered. The lookups are answered from an index built per map, holding the modules by qualified name and the
+ * named variants of the modules per prefix, so that neither {@link #find(Map, String, String)} nor
+ * {@link #load(Map, String)} scan the map.
+ */
 public abstract class ConfigEntries {
 
+    // The maps of the subclasses are static and compared by identity, as their content changes over time
+    private static final Map<IdentityKey, ModuleIndex> INDEXES = new ConcurrentHashMap<>();
+
     protected static Optional<ConfigModule> find(
             Map<ConfigModule, ConfigEntry> configModules, String prefix, String name) {
-        return configModules.entrySet().stream()
-                .filter(e -> e.getKey().match(name))
-                .findFirst()
-                .map(c -> c.getKey());
+        return Optional.ofNullable(index(configModules).find(name));
+    }
+
+    /**
+     * Registers the named variants of the configuration modules for the given prefix
+     * @param configModules the configuration modules to register the named variants into
+     * @param prefix the prefix to register, ignored if null
+     */
+    protected static void register(Map<ConfigModule, ConfigEntry> configModules, String prefix) {
+        if (prefix != null) {
+            index(configModules).register(prefix);
+        }
     }
 
     /**
@@ -19,6 +41,108 @@ public abstract class ConfigEntries {
      * @param prefix an optional prefix for the configuration
      */
     protected static void load(Map<ConfigModule, ConfigEntry> configModules, String prefix) {
-        configModules.forEach((k, v) -> ConfigStore.getInstance().load(k.asNamed(prefix)));
+        ConfigStore.getInstance().loadAll(index(configModules).named(prefix));
+    }
+
+    private static ModuleIndex index(Map<ConfigModule, ConfigEntry> configModules) {
+        return INDEXES.computeIfAbsent(new IdentityKey(configModules), key -> new ModuleIndex(configModules));
+    }
+
+    /**
+     * The modules of a {@code CONFIG_MODULES} map by qualified name, along with the named variants of the default
+     * modules per prefix. The maps only ever grow, so the index is brought up to date when their size changes.
+     */
+    private static final class ModuleIndex {
+        private final Map<ConfigModule, ConfigEntry> configModules;
+        private final Map<String, ConfigModule> byName = new ConcurrentHashMap<>();
+        private final Map<String, List<ConfigModule>> namedByPrefix = new ConcurrentHashMap<>();
+        private volatile List<ConfigModule> defaults = List.of();
+        private volatile int indexed = -1;
+
+        private ModuleIndex(Map<ConfigModule, ConfigEntry> configModules) {
+            this.configModules = configModules;
+        }
+
+        ConfigModule find(String name) {
+            refresh();
+            return byName.get(name);
+        }
+
+        List<ConfigModule> named(String prefix) {
+            refresh();
+            if (prefix == null) {
+                return defaults;
+            }
+            return namedByPrefix.computeIfAbsent(prefix, p -> {
+                final List<ConfigModule> named = new ArrayList<>(defaults.size());
+                for (ConfigModule module : defaults) {
+                    named.add(module.asNamed(p));
+                }
+                return List.copyOf(named);
+            });
+        }
+
+        /**
+         * Adds the named variants of the prefix to the map, indexing them on the way rather than on the next lookup.
+         */
+        synchronized void register(String prefix) {
+            refresh();
+            int added = 0;
+            for (ConfigModule module : named(prefix)) {
+                if (configModules.putIfAbsent(module, ConfigEntry.fromModule()) == null) {
+                    indexName(module);
+                    added++;
+                }
+            }
+            if (indexed + added == configModules.size()) {
+                indexed += added;
+            }
+        }
+
+        private void refresh() {
+            if (indexed != configModules.size()) {
+                synchronized (this) {
+                    final int size = configModules.size();
+                    if (indexed != size) {
+                        reindex(size);
+                    }
+                }
+            }
+        }
+
+        private void reindex(int size) {
+            final List<ConfigModule> found = new ArrayList<>();
+            for (ConfigModule module : configModules.keySet()) {
+                indexName(module);
+                if (module.prefix() == null) {
+                    found.add(module);
+                }
+            }
+
+            if (found.size() != defaults.size()) {
+                // A default module was added, so the named variants are computed again
+                defaults = List.copyOf(found);
+                namedByPrefix.clear();
+            }
+            indexed = size;
+        }
+
+        private void indexName(ConfigModule module) {
+            if (module.name() != null) {
+                byName.putIfAbsent(module.name(), module);
+            }
+        }
+    }
+
+    private record IdentityKey(Map<ConfigModule, ConfigEntry> configModules) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof IdentityKey other && other.configModules == configModules;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(configModules);
+        }
     }
 }
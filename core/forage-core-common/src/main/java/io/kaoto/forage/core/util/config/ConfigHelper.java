@@ -1,15 +1,11 @@
 package io.kaoto.forage.core.util.config;
 
 import io.kaoto.forage.core.common.RuntimeType;
-import io.smallrye.config.SmallRyeConfig;
-import java.io.IOException;
-import java.io.InputStream;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.Properties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -63,58 +59,64 @@ public final class ConfigHelper {
      */
     private ConfigHelper() {}
 
-    private static RuntimeType runtime = null;
-    private static SmallRyeConfig quarkusConfig = null;
-    private static Properties springBootConfig = null;
-    private static Properties camelConfig = null;
-
+    /**
+     * Returns the detected runtime. The detection is done once, when the {@link ConfigSourceChain} is resolved.
+     */
     public static RuntimeType getRuntime() {
-        if (runtime == null) {
-            if (isRuntimeSpringBoot()) {
-                runtime = RuntimeType.springBoot;
-            } else if (isRuntimeQuarkus()) {
-                runtime = RuntimeType.quarkus;
-            } else {
-                runtime = RuntimeType.main;
-            }
-        }
-        return runtime;
+        return ConfigSourceChain.getInstance().runtime();
     }
 
+    /**
+     * Reads a property from the Spring Boot {@code application.properties}.
+     *
+     * @param propertyName the name of the property
+     * @return the value of the property, or an empty Optional if it is not defined or the runtime is not Spring Boot
+     *         nor Camel Main
+     * @deprecated the runtime configuration is read through {@link ConfigSourceChain#readRuntime(String)}
+     */
+    @Deprecated
     public static Optional<String> getSpringBootProperty(String propertyName) {
-        Properties springBootProps = ConfigHelper.getSpringBootConfig();
-        if (springBootProps != null) {
-            LOG.info("Loading {} from Spring Boot", propertyName);
-            String propertyValue = (String) springBootProps.get(propertyName);
-            if (propertyValue != null) {
-                return Optional.of(propertyValue);
-            }
-        }
-        return null;
+        return readRuntime(propertyName, RuntimeType.springBoot, RuntimeType.main);
     }
 
+    /**
+     * Reads a property from the Quarkus (SmallRye) configuration.
+     *
+     * @param propertyName the name of the property
+     * @return the value of the property, or an empty Optional if it is not defined or the runtime is not Quarkus
+     * @deprecated the runtime configuration is read through {@link ConfigSourceChain#readRuntime(String)}
+     */
+    @Deprecated
     public static Optional<String> getQuarkusProperty(String propertyName) {
-        SmallRyeConfig config = ConfigHelper.getQuarkusConfig();
-        if (config != null) {
-            LOG.info("Loading {} from Quarkus", propertyName);
-            Optional<String> quarkusValue = config.getOptionalValue(propertyName, String.class);
-            if (quarkusValue != null) {
-                return quarkusValue;
-            }
-        }
-        return null;
+        return readRuntime(propertyName, RuntimeType.quarkus);
     }
 
+    /**
+     * Reads a property from the Camel Main {@code application.properties}.
+     *
+     * @param propertyName the name of the property
+     * @return the value of the property, or an empty Optional if it is not defined or the runtime is not Camel Main
+     *         nor Spring Boot
+     * @deprecated the runtime configuration is read through {@link ConfigSourceChain#readRuntime(String)}
+     */
+    @Deprecated
     public static Optional<String> getCamelMainProperty(String propertyName) {
-        Properties camelMainProps = ConfigHelper.getCamelMainConfig();
-        if (camelMainProps != null) {
-            LOG.info("Loading {} from Camel main", propertyName);
-            String mainPropertyValue = (String) camelMainProps.get(propertyName);
-            if (mainPropertyValue != null) {
-                return Optional.of(mainPropertyValue);
-            }
+        return readRuntime(propertyName, RuntimeType.main, RuntimeType.springBoot);
+    }
+
+    private static Optional<String> readRuntime(String propertyName, RuntimeType... runtimes) {
+        final ConfigSourceChain chain = ConfigSourceChain.getInstance();
+        // Spring Boot and Camel Main both read the application.properties
+        return Arrays.asList(runtimes).contains(chain.runtime()) ? chain.readRuntime(propertyName) : Optional.empty();
+    }
+
+    static RuntimeType detectRuntime() {
+        if (isRuntimeSpringBoot()) {
+            return RuntimeType.springBoot;
+        } else if (isRuntimeQuarkus()) {
+            return RuntimeType.quarkus;
         }
-        return null;
+        return RuntimeType.main;
     }
 
     private static boolean classExists(String className) {
@@ -165,108 +167,6 @@ public final class ConfigHelper {
         return false;
     }
 
-    private static SmallRyeConfig getQuarkusConfig() {
-        if (quarkusConfig != null) {
-            return quarkusConfig;
-        } else {
-            quarkusConfig = (SmallRyeConfig)
-                    org.eclipse.microprofile.config.ConfigProvider.getConfig().unwrap(SmallRyeConfig.class);
-            return quarkusConfig;
-        }
-    }
-
-    private static Properties getSpringBootConfig() {
-        if (springBootConfig != null) {
-            return springBootConfig;
-        } else {
-            InputStream input = null;
-
-            // Try loading from working directory first
-            try {
-                java.io.File file = java.nio.file.Paths.get("", "application.properties")
-                        .toAbsolutePath()
-                        .toFile();
-                if (file.exists()) {
-                    LOG.info("Loading application.properties from working directory: {}", file.getAbsolutePath());
-                    input = new java.io.FileInputStream(file);
-                }
-            } catch (IOException ex) {
-                LOG.debug("Failed to load application.properties from working directory", ex);
-            }
-
-            // Fallback to classpath
-            if (input == null) {
-                input = ConfigHelper.class.getClassLoader().getResourceAsStream("application.properties");
-                if (input != null) {
-                    LOG.info("Loading application.properties from classpath");
-                }
-            }
-
-            if (input != null) {
-                try {
-                    springBootConfig = new Properties();
-                    springBootConfig.load(input);
-                } catch (IOException ex) {
-                    LOG.error("Failed to load application.properties", ex);
-                } finally {
-                    try {
-                        input.close();
-                    } catch (IOException ex) {
-                        // Ignore
-                    }
-                }
-            }
-
-            return springBootConfig;
-        }
-    }
-
-    private static Properties getCamelMainConfig() {
-        if (camelConfig != null) {
-            return camelConfig;
-        } else {
-            InputStream input = null;
-
-            // Try loading from working directory first
-            try {
-                java.io.File file = java.nio.file.Paths.get("", "application.properties")
-                        .toAbsolutePath()
-                        .toFile();
-                if (file.exists()) {
-                    LOG.info("Loading application.properties from working directory: {}", file.getAbsolutePath());
-                    input = new java.io.FileInputStream(file);
-                }
-            } catch (IOException ex) {
-                LOG.debug("Failed to load application.properties from working directory", ex);
-            }
-
-            // Fallback to classpath
-            if (input == null) {
-                input = ConfigHelper.class.getClassLoader().getResourceAsStream("application.properties");
-                if (input != null) {
-                    LOG.info("Loading application.properties from classpath");
-                }
-            }
-
-            if (input != null) {
-                try {
-                    camelConfig = new Properties();
-                    camelConfig.load(input);
-                } catch (IOException ex) {
-                    LOG.error("Failed to load application.properties", ex);
-                } finally {
-                    try {
-                        input.close();
-                    } catch (IOException ex) {
-                        // Ignore
-                    }
-                }
-            }
-
-            return camelConfig;
-        }
-    }
-
     /**
      * Reads a configuration value as a list of strings by splitting on commas.
      *
@@ -53,6 +53,11 @@ public class ConfigModule {
     private final String type;
     private final boolean required;
     private final ConfigTag configTag;
+    // ConfigModule is the key of every ConfigStore lookup, so the hash and the names are computed only once
+    private final int hash;
+    private final String qualifiedName;
+    private final String envName;
+    private final String propertyName;
 
     public ConfigModule(Class<? extends Config> config, String name, String prefix) {
         this.config = config;
@@ -64,6 +69,10 @@ public class ConfigModule {
         this.type = null;
         this.required = false;
         this.configTag = null;
+        this.hash = Objects.hash(config, name, prefix);
+        this.qualifiedName = qualifiedName(name, prefix);
+        this.envName = toEnvName(qualifiedName);
+        this.propertyName = toPropertyName(qualifiedName);
     }
 
     public ConfigModule(
@@ -85,6 +94,10 @@ public class ConfigModule {
         this.type = type;
         this.required = required;
         this.configTag = configTag;
+        this.hash = Objects.hash(config, name, prefix);
+        this.qualifiedName = qualifiedName(name, prefix);
+        this.envName = toEnvName(qualifiedName);
+        this.propertyName = toPropertyName(qualifiedName);
     }
 
     /**
@@ -139,23 +152,7 @@ public class ConfigModule {
      * @return the environment variable name, never null
      */
     public String envName() {
-        String envName;
-        if (prefix == null) {
-            envName = name;
-        } else {
-            // Insert prefix after "forage." if the name starts with it
-            if (name.startsWith("forage.")) {
-                envName = "forage." + prefix + "." + name.substring(7);
-            } else {
-                envName = prefix + "." + name;
-            }
-        }
-
-        if (envName != null && !envName.isEmpty()) {
-            return envName.replace(".", "_").toUpperCase();
-        }
-
-        return null;
+        return envName;
     }
 
     /**
@@ -168,55 +165,58 @@ public class ConfigModule {
      * @return the system property name, never null
      */
     public String propertyName() {
-        String propertyName;
-        if (prefix == null) {
-            propertyName = name;
-        } else {
-            // Insert prefix after "forage." if the name starts with it
-            if (name.startsWith("forage.")) {
-                propertyName = "forage." + prefix + "." + name.substring(7);
-            } else {
-                propertyName = prefix + "." + name;
-            }
+        return propertyName;
+    }
+
+    private static String qualifiedName(String name, String prefix) {
+        if (prefix == null || name == null) {
+            return name;
+        }
+
+        // Insert prefix after "forage." if the name starts with it
+        if (name.startsWith("forage.")) {
+            return "forage." + prefix + "." + name.substring(7);
         }
+        return prefix + "." + name;
+    }
 
-        if (propertyName != null && !propertyName.isEmpty()) {
-            return propertyName.replace("_", ".").toLowerCase();
+    private static String toEnvName(String qualifiedName) {
+        if (qualifiedName != null && !qualifiedName.isEmpty()) {
+            return qualifiedName.replace(".", "_").toUpperCase();
         }
 
         return null;
     }
 
-    public boolean match(String value) {
-        if (prefix == null) {
-            if (value.equals(name)) {
-                return true;
-            }
-        } else {
-            // Insert prefix after "forage." if the name starts with it
-            String expectedName;
-            if (name.startsWith("forage.")) {
-                expectedName = "forage." + prefix + "." + name.substring(7);
-            } else {
-                expectedName = prefix + "." + name;
-            }
-            return value.equals(expectedName);
+    private static String toPropertyName(String qualifiedName) {
+        if (qualifiedName != null && !qualifiedName.isEmpty()) {
+            return qualifiedName.replace("_", ".").toLowerCase();
         }
 
-        return false;
+        return null;
     }
 
+    public boolean match(String value) {
+        return value.equals(qualifiedName);
+    }
+
+    /**
+     * Returns the name of the configuration entry, including its prefix when the module is named.
+     *
+     * @return the qualified name (i.e.: {@code forage.ds1.jdbc.url} for the {@code ds1} prefix)
+     */
     public String name() {
-        if (prefix == null) {
-            return name;
-        } else {
-            // Insert prefix after "forage." if the name starts with it
-            if (name.startsWith("forage.")) {
-                return "forage." + prefix + "." + name.substring(7);
-            } else {
-                return prefix + "." + name;
-            }
-        }
+        return qualifiedName;
+    }
+
+    /**
+     * Returns the prefix of a named module.
+     *
+     * @return the prefix, or null if the module is not named
+     * @see #asNamed(String)
+     */
+    public String prefix() {
+        return prefix;
     }
 
     public Class<? extends Config> config() {
@@ -249,17 +249,21 @@ public class ConfigModule {
 
     @Override
     public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
         if (o == null || getClass() != o.getClass()) {
             return false;
         }
         ConfigModule that = (ConfigModule) o;
-        return Objects.equals(config, that.config)
+        return hash == that.hash
+                && Objects.equals(config, that.config)
                 && Objects.equals(name, that.name)
                 && Objects.equals(prefix, that.prefix);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(config, name, prefix);
+        return hash;
     }
 }
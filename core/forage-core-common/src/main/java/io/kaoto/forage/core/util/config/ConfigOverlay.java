@@ -0,0 +1,116 @@
+package io.kaoto.forage.core.util.config;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * An in-memory set of configuration values, keyed by property name, that takes precedence over the system
+ * properties and the runtime configuration while it is applied.
+ *
+ * <p>An overlay hands configuration values to a component that reads its own {@link Config}, such as a bean
+ * provider, without publishing them as system properties: the values are only visible to the
+ * {@link ConfigSourceChain} and the {@link ConfigStore#get(ConfigModule)} of the current thread, during
+ * {@link #apply(Supplier)}. They are never stored in the {@link ConfigStore}, so they do not outlive the overlay.
+ * Environment variables still take precedence over the overlay.
+ *
+ * <pre>{@code
+ * ConfigOverlay overlay = ConfigOverlay.builder()
+ *         .set("forage.agent1.ollama.model.name", "granite3.3:8b")
+ *         .build();
+ * ChatModel model = overlay.apply(() -> provider.create("agent1"));
+ * }</pre>
+ */
+public final class ConfigOverlay {
+
+    private static final ConfigOverlay EMPTY = new ConfigOverlay(Collections.emptyMap());
+    private static final ThreadLocal<ConfigOverlay> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, String> values;
+
+    private ConfigOverlay(Map<String, String> values) {
+        this.values = values;
+    }
+
+    public static ConfigOverlay empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the overlay applied on the current thread, or null if none is applied.
+     */
+    static ConfigOverlay current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Reads the value of a configuration module from the overlay.
+     *
+     * @param module the configuration module to read
+     * @return the value of the module, or an empty Optional if the overlay does not define it
+     */
+    public Optional<String> read(ConfigModule module) {
+        String propertyName = module.propertyName();
+        return propertyName != null ? Optional.ofNullable(values.get(propertyName)) : Optional.empty();
+    }
+
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    /**
+     * Runs the supplier with this overlay applied to the configuration read on the current thread. Overlays applied
+     * within the supplier replace this one until they return.
+     *
+     * @param supplier the code reading the configuration
+     * @return the result of the supplier
+     * @param <T> the type of the result
+     */
+    public <T> T apply(Supplier<T> supplier) {
+        if (values.isEmpty()) {
+            return supplier.get();
+        }
+
+        final ConfigOverlay previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return supplier.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public static final class Builder {
+        private final Map<String, String> values = new HashMap<>();
+
+        private Builder() {}
+
+        /**
+         * Sets the value of a property, ignored if the value is null.
+         *
+         * @param propertyName the property name (i.e.: {@code forage.agent1.ollama.model.name})
+         * @param value the value, converted with {@link String#valueOf(Object)}
+         * @return this builder
+         */
+        public Builder set(String propertyName, Object value) {
+            if (value != null) {
+                values.put(propertyName, String.valueOf(value));
+            }
+            return this;
+        }
+
+        public ConfigOverlay build() {
+            return values.isEmpty() ? EMPTY : new ConfigOverlay(Map.copyOf(values));
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package io.kaoto.forage.core.util.config;
+
+import io.kaoto.forage.core.common.RuntimeType;
+import io.smallrye.config.SmallRyeConfig;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The resolved chain of sources a {@link ConfigModule} value is read from, in order of precedence:
+ * <ol>
+ *   <li>Environment variables, using {@link ConfigModule#envName()}</li>
+ *   <li>The {@link ConfigOverlay} applied on the current thread, if any, using {@link ConfigModule#propertyName()}</li>
+ *   <li>System properties, using {@link ConfigModule#propertyName()}</li>
+ *   <li>The runtime configuration, using {@link ConfigModule#propertyName()}: the Quarkus (SmallRye) config, or the
+ *   {@code application.properties} of Spring Boot and Camel Main</li>
+ * </ol>
+ *
+ * <p>The runtime is detected and its configuration is resolved once, when the chain is first used. The chain is
+ * immutable afterward, so lookups can be done concurrently and involve neither reflection nor logging.
+ *
+ * @see ConfigStore
+ */
+public final class ConfigSourceChain {
+    private static final Logger LOG = LoggerFactory.getLogger(ConfigSourceChain.class);
+
+    private static volatile ConfigSourceChain instance;
+
+    private final RuntimeType runtime;
+    private final Function<String, String> runtimeSource;
+
+    private ConfigSourceChain(RuntimeType runtime, Function<String, String> runtimeSource) {
+        this.runtime = runtime;
+        this.runtimeSource = runtimeSource;
+    }
+
+    /**
+     * Returns the chain of the current runtime, resolving it on first use.
+     *
+     * @return the resolved chain
+     */
+    public static ConfigSourceChain getInstance() {
+        ConfigSourceChain chain = instance;
+        if (chain == null) {
+            synchronized (ConfigSourceChain.class) {
+                chain = instance;
+                if (chain == null) {
+                    chain = resolve();
+                    instance = chain;
+                }
+            }
+        }
+        return chain;
+    }
+
+    /**
+     * Drops the resolved chain, so that the runtime configuration is read again on next use.
+     */
+    public static void invalidate() {
+        instance = null;
+    }
+
+    /**
+     * Returns the detected runtime.
+     *
+     * @return the runtime the chain was resolved for
+     */
+    public RuntimeType runtime() {
+        return runtime;
+    }
+
+    /**
+     * Reads the value of a configuration module from the chain.
+     *
+     * @param module the configuration module to read
+     * @return the first non-empty value found, or an empty Optional if no source defines it
+     */
+    public Optional<String> read(ConfigModule module) {
+        final String environmentValue = readEnvironment(module.envName());
+        if (environmentValue != null) {
+            return Optional.of(environmentValue);
+        }
+
+        final ConfigOverlay overlay = ConfigOverlay.current();
+        if (overlay != null) {
+            final Optional<String> overlayValue = overlay.read(module);
+            if (overlayValue.isPresent()) {
+                return overlayValue;
+            }
+        }
+
+        return readProperty(module.propertyName());
+    }
+
+    /**
+     * Reads the value of a configuration module from the sources shared by the whole JVM, ignoring the
+     * {@link ConfigOverlay} applied on the current thread. The {@link ConfigStore} publishes these values only, so
+     * that the values of an overlay never outlive it.
+     *
+     * @param module the configuration module to read
+     * @return the first non-empty value found, or an empty Optional if no shared source defines it
+     */
+    Optional<String> readShared(ConfigModule module) {
+        final String environmentValue = readEnvironment(module.envName());
+        if (environmentValue != null) {
+            return Optional.of(environmentValue);
+        }
+
+        return readProperty(module.propertyName());
+    }
+
+    /**
+     * Reads a property from the runtime configuration only.
+     *
+     * @param propertyName the name of the property
+     * @return the value of the property, or an empty Optional if the runtime configuration does not define it
+     */
+    public Optional<String> readRuntime(String propertyName) {
+        if (propertyName == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(runtimeSource.apply(propertyName));
+    }
+
+    private Optional<String> readProperty(String propertyName) {
+        final String propertyValue = readSystemProperty(propertyName);
+        if (propertyValue != null) {
+            return Optional.of(propertyValue);
+        }
+
+        return readRuntime(propertyName);
+    }
+
+    private static String readEnvironment(String envName) {
+        return envName != null ? System.getenv(envName) : null;
+    }
+
+    private static String readSystemProperty(String propertyName) {
+        return propertyName != null ? System.getProperty(propertyName) : null;
+    }
+
+    private static ConfigSourceChain resolve() {
+        final RuntimeType runtime = ConfigHelper.detectRuntime();
+        LOG.debug("Resolving the configuration sources for the {} runtime", runtime);
+
+        return switch (runtime) {
+            case quarkus -> new ConfigSourceChain(runtime, quarkusSource());
+            case springBoot, main -> new ConfigSourceChain(runtime, propertiesSource(loadApplicationProperties()));
+        };
+    }
+
+    private static Function<String, String> quarkusSource() {
+        final SmallRyeConfig config =
+                org.eclipse.microprofile.config.ConfigProvider.getConfig().unwrap(SmallRyeConfig.class);
+        return propertyName ->
+                config.getOptionalValue(propertyName, String.class).orElse(null);
+    }
+
+    private static Function<String, String> propertiesSource(Map<String, String> properties) {
+        return properties::get;
+    }
+
+    /**
+     * Loads the application.properties from the working directory, falling back to the classpath.
+     */
+    private static Map<String, String> loadApplicationProperties() {
+        Properties properties = new Properties();
+        try (InputStream input = openApplicationProperties()) {
+            if (input != null) {
+                properties.load(input);
+            }
+        } catch (IOException ex) {
+            LOG.error("Failed to load application.properties", ex);
+        }
+
+        Map<String, String> values = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            values.put(name, properties.getProperty(name));
+        }
+        return Map.copyOf(values);
+    }
+
+    private static InputStream openApplicationProperties() throws IOException {
+        // Try loading from working directory first
+        File file = Paths.get("", "application.properties").toAbsolutePath().toFile();
+        if (file.exists()) {
+            LOG.info("Loading application.properties from working directory: {}", file.getAbsolutePath());
+            return new FileInputStream(file);
+        }
+
+        // Fallback to classpath
+        InputStream input = ConfigSourceChain.class.getClassLoader().getResourceAsStream("application.properties");
+        if (input != null) {
+            LOG.info("Loading application.properties from classpath");
+        }
+        return input;
+    }
+}
@@ -1,5 +1,7 @@
 package io.kaoto.forage.core.util.config;
 
+import io.kaoto.forage.core.instrumentation.ForageInstrumentation;
+import io.kaoto.forage.core.instrumentation.StepType;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -7,11 +9,21 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.BiConsumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -51,9 +63,18 @@ import org.slf4j.LoggerFactory;
  * }</pre>
  *
  * <p><strong>Thread Safety:</strong>
- * This class is thread-safe for concurrent reads after initialization. However, configuration
- * registration (add methods) should typically be performed during application startup before
- * concurrent access begins.
+ * All values are kept in an immutable snapshot published through a volatile reference. Reads never
+ * lock: {@link #get(ConfigModule)} is a single hash lookup against the current snapshot. Writers
+ * serialize on an internal lock, copy the snapshot, apply their change and publish the new snapshot,
+ * so readers either observe the complete change or none of it. Use {@link #setAll(Map)} to publish
+ * several values atomically.
+ *
+ * <p><strong>Hot Reload:</strong>
+ * The store remembers which {@link ConfigModule}s each property of a properties file was registered to.
+ * {@link #reload()} (or a {@link ConfigWatcher} started through {@link #startWatching(Duration, Duration)})
+ * reads the modified files again, publishes the new values of those modules in one snapshot and notifies the
+ * {@link ConfigChangeListener}s, so that providers can apply safe changes in place. Values overridden through
+ * environment variables, system properties or the runtime configuration keep precedence over the file.
  *
  * @see Config
  * @see ConfigModule
@@ -63,30 +84,40 @@ import org.slf4j.LoggerFactory;
 public final class ConfigStore {
     private static final Logger LOG = LoggerFactory.getLogger(ConfigStore.class);
 
-    private static ConfigStore INSTANCE;
-    private final Properties properties = new Properties();
-    private ClassLoader classLoader;
+    private final Object writeLock = new Object();
+    private volatile Map<Object, String> snapshot = Collections.emptyMap();
+    private volatile ClassLoader classLoader;
+    // Properties files keyed by their classpath location, read once and reused until the file changes
+    private final Map<String, PropertiesSource> sources = new ConcurrentHashMap<>();
+    // The content of the properties files last reported to the listeners, for the files read again since then
+    private final Map<String, PropertiesSource> unreported = new ConcurrentHashMap<>();
+    // The modules each property of a properties file was registered to, keyed like the sources
+    private final Map<String, Map<String, Set<ConfigModule>>> bindings = new ConcurrentHashMap<>();
+    // The properties file being registered by the current thread, if any
+    private final ThreadLocal<Registration> registering = new ThreadLocal<>();
+    private final List<ConfigChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private ConfigWatcher watcher;
 
     /**
      * Private constructor to enforce singleton pattern.
      */
     private ConfigStore() {}
 
+    private static final class Holder {
+        private static final ConfigStore INSTANCE = new ConfigStore();
+    }
+
     /**
      * Returns the singleton instance of the ConfigStore.
      *
-     * <p>This method is thread-safe and implements lazy initialization. The same instance
-     * will be returned for all calls within the same JVM.
+     * <p>This method is thread-safe and implements lazy initialization through the holder idiom,
+     * so it does not acquire any lock. The same instance will be returned for all calls within
+     * the same JVM.
      *
      * @return the singleton ConfigStore instance
      */
-    public static synchronized ConfigStore getInstance() {
-        if (INSTANCE != null) {
-            return INSTANCE;
-        }
-
-        INSTANCE = new ConfigStore();
-        return INSTANCE;
+    public static ConfigStore getInstance() {
+        return Holder.INSTANCE;
     }
 
     /**
@@ -94,7 +125,7 @@ public final class ConfigStore {
      *
      * <p>This method attempts to resolve a value for the given ConfigEntry by checking
      * environment variables and system properties in order of precedence. If a value
-     * is found, it is stored in the internal properties using the ConfigModule as the key.
+     * is found, it is stored in the current snapshot using the ConfigModule as the key.
      *
      * <p>If no value is found from any source, nothing is stored, and subsequent calls
      * to {@link #get(ConfigModule)} will return an empty Optional.
@@ -104,7 +135,24 @@ public final class ConfigStore {
     public void load(ConfigModule module) {
         final Optional<String> read = tryRead(module);
 
-        read.ifPresent(s -> properties.put(module, s));
+        read.ifPresent(s -> put(module, s));
+    }
+
+    /**
+     * Loads the configuration of several modules at once.
+     *
+     * <p>Equivalent to calling {@link #load(ConfigModule)} for each module, but the values found are published in
+     * a single snapshot, rather than copying the snapshot once per value.
+     *
+     * @param modules the configuration modules to try loading
+     */
+    public void loadAll(Collection<ConfigModule> modules) {
+        final ConfigSourceChain chain = ConfigSourceChain.getInstance();
+        final Map<ConfigModule, String> values = new HashMap<>();
+        for (ConfigModule module : modules) {
+            chain.readShared(module).ifPresent(value -> values.put(module, value));
+        }
+        setAll(values);
     }
 
     /**
@@ -112,7 +160,8 @@ public final class ConfigStore {
      *
      * <p>This method looks for a properties file named after the configuration instance's
      * {@link Config#name()} method in the same package as the configuration class. If found,
-     * the properties are loaded and added to the store.
+     * the properties are loaded and added to the store. The values set by the register function are published in
+     * a single snapshot once the whole file is registered.
      *
      * <p>For example, if the config name is "my-module", it will look for "my-module.properties"
      * in the classpath relative to the configuration class.
@@ -125,11 +174,21 @@ public final class ConfigStore {
         final String fileName = asProperties(instance);
         LOG.info("Adding {} to {}", clazz, fileName);
 
-        loadProperties(registerFunction, loadPropertiesWithPriority(instance, fileName));
-    }
-
-    private static void loadProperties(BiConsumer<String, String> registerFunction, Properties props) {
-        props.forEach((k, v) -> registerFunction.accept((String) k, (String) v));
+        ForageInstrumentation.run(StepType.CONFIG_LOAD, instance.name(), () -> {
+            final PropertiesSource source = source(instance);
+            final Registration registration = new Registration(source.key());
+            registering.set(registration);
+            try {
+                source.values().forEach((name, value) -> {
+                    registration.property = name;
+                    registerFunction.accept(name, value);
+                });
+            } finally {
+                registering.remove();
+            }
+            // The values set by the register function are published at once, rather than one snapshot per value
+            publish(registration.values);
+        });
     }
 
     /**
@@ -146,30 +205,247 @@ public final class ConfigStore {
      *      </p>
      * </p>
      *
+     * <p>The properties file is read once and the result is cached per regexp until the file changes. Prefer
+     * {@link #readNamedPrefixes(Config, String)} and {@link #readDefaultPrefixes(Config, String)} for the
+     * regexps produced by {@link ConfigHelper}, which are answered from a prefix index built in a single pass.</p>
+     *
      * @return If there is no group extracted in the whole properties file, null is return. Else prefixes defined by
      * the regexp in a set.
      */
     public <T extends Config> Set<String> readPrefixes(T instance, String regexp) {
-        final String fileName = asProperties(instance);
+        return ForageInstrumentation.call(StepType.PREFIX_DISCOVERY, instance.name(), () -> source(instance)
+                .prefixes(regexp));
+    }
+
+    /**
+     * Reads the named prefixes of the given kind from the {@link Config} properties file.
+     *
+     * <p>Equivalent to {@code readPrefixes(instance, ConfigHelper.getNamedPropertyRegexp(kind))}, but answered
+     * from the {@link PrefixIndex} of the file, which is built once and shared by every caller.</p>
+     *
+     * @param instance the configuration whose properties file is inspected
+     * @param kind the kind of configuration (i.e.: {@code jdbc}, {@code jms}, {@code agent})
+     * @return the named prefixes, or an empty set if there are none
+     */
+    public <T extends Config> Set<String> readNamedPrefixes(T instance, String kind) {
+        return ForageInstrumentation.call(
+                StepType.PREFIX_DISCOVERY, kind, () -> source(instance).index().named(kind));
+    }
+
+    /**
+     * Reads the default prefix of the given kind from the {@link Config} properties file.
+     *
+     * <p>Equivalent to {@code readPrefixes(instance, ConfigHelper.getDefaultPropertyRegexp(kind))}, but answered
+     * from the {@link PrefixIndex} of the file, which is built once and shared by every caller.</p>
+     *
+     * @param instance the configuration whose properties file is inspected
+     * @param kind the kind of configuration (i.e.: {@code jdbc}, {@code jms}, {@code agent})
+     * @return a set containing the kind if there is a default configuration for it, otherwise an empty set
+     */
+    public <T extends Config> Set<String> readDefaultPrefixes(T instance, String kind) {
+        return ForageInstrumentation.call(
+                StepType.PREFIX_DISCOVERY,
+                kind,
+                () -> source(instance).index().hasDefault(kind) ? Set.of(kind) : Collections.<String>emptySet());
+    }
 
-        return readPrefixes(loadPropertiesWithPriority(instance, fileName), regexp);
+    /**
+     * Drops every cached properties file and the resolved {@link ConfigSourceChain}, so that the next access reads
+     * them again.
+     */
+    public void invalidate() {
+        sources.clear();
+        unreported.clear();
+        ConfigSourceChain.invalidate();
     }
 
     /**
-     * Method for loading properties from different sources in proper order, defaulting to 'default' properties.
+     * Registers a listener notified when properties files are reloaded.
+     *
+     * @param listener the listener to register
+     */
+    public void addChangeListener(ConfigChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a previously registered change listener.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeChangeListener(ConfigChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Checks whether a properties file read by the store changed (appeared, disappeared, or was modified) since
+     * the changes were last reported to the listeners.
+     *
+     * @return true if {@link #reload()} would report the changes of at least one file
+     */
+    public boolean hasPendingChanges() {
+        if (!unreported.isEmpty()) {
+            return true;
+        }
+        for (PropertiesSource source : sources.values()) {
+            if (!source.isCurrent(resolveFile(source.fileName()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the properties files that changed since they were last read again, and publishes the new values of
+     * the modules registered from them in a single snapshot.
+     *
+     * <p>Only the modules that were registered from a file are updated: a property added to a file is picked up
+     * the next time its {@link Config} is created. Modules overridden through environment variables, system
+     * properties or the runtime configuration are left untouched. The registered {@link ConfigChangeListener}s
+     * are notified once all the values are published.
+     *
+     * <p>Only this method, called by the {@link ConfigWatcher} or explicitly, notifies the listeners: a file that
+     * changed is read again when a {@link Config} is created, but its changes are reported on the next reload.
+     *
+     * @return the applied changes, empty if nothing changed
+     */
+    public List<ConfigChange> reload() {
+        final List<ConfigChange> changes = new ArrayList<>();
+        final Map<ConfigModule, String> updates = new HashMap<>();
+
+        synchronized (sources) {
+            for (PropertiesSource cached : List.copyOf(sources.values())) {
+                final File file = resolveFile(cached.fileName());
+                PropertiesSource loaded = cached;
+                if (!cached.isCurrent(file)) {
+                    loaded = read(cached.key(), cached.fileName(), cached.name(), file);
+                    sources.put(cached.key(), loaded);
+                    LOG.info("Reloaded {}", file != null ? file.getAbsolutePath() : cached.fileName());
+                }
+
+                final PropertiesSource reported = unreported.remove(cached.key());
+                collectChanges(reported != null ? reported : cached, loaded, updates, changes);
+            }
+            setAll(updates);
+        }
+
+        if (!changes.isEmpty()) {
+            ConfigChangeEvent event = new ConfigChangeEvent(changes);
+            for (ConfigChangeListener listener : listeners) {
+                try {
+                    listener.onChange(event);
+                } catch (RuntimeException e) {
+                    LOG.warn("Configuration change listener {} failed: {}", listener, e.getMessage(), e);
+                }
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Starts watching the properties files read by the store, reloading them when they change.
+     * Does nothing if the store is already watched.
+     *
+     * @param interval how often the files are checked
+     * @param debounce how long a change must be observed before it is reloaded, so that files being written
+     *                 are not read half way
+     */
+    public synchronized void startWatching(Duration interval, Duration debounce) {
+        if (watcher == null) {
+            watcher = new ConfigWatcher(this, interval, debounce);
+            watcher.start();
+        }
+    }
+
+    /**
+     * Stops watching the properties files.
+     */
+    public synchronized void stopWatching() {
+        if (watcher != null) {
+            watcher.close();
+            watcher = null;
+        }
+    }
+
+    private void collectChanges(
+            PropertiesSource previous,
+            PropertiesSource current,
+            Map<ConfigModule, String> updates,
+            List<ConfigChange> changes) {
+        if (previous == current) {
+            return;
+        }
+
+        final Map<String, Set<ConfigModule>> bound = bindings.getOrDefault(previous.key(), Collections.emptyMap());
+        final Set<String> names = new HashSet<>(previous.values().keySet());
+        names.addAll(current.values().keySet());
+
+        for (String name : names) {
+            final String oldValue = previous.values().get(name);
+            final String value = current.values().get(name);
+            if (Objects.equals(oldValue, value)) {
+                continue;
+            }
+
+            for (ConfigModule module : bound.getOrDefault(name, Collections.emptySet())) {
+                if (ConfigSourceChain.getInstance().readShared(module).isPresent()) {
+                    // Overrides keep precedence over the properties file
+                    continue;
+                }
+
+                // The value may be published already, by a Config created since the file was read again
+                updates.put(module, value);
+                changes.add(new ConfigChange(module, oldValue, value));
+            }
+        }
+    }
+
+    /**
+     * Returns the cached properties of the given configuration, reading the file again only when the resolved
+     * file changed (appeared, disappeared, or was modified) since it was last read. The listeners are not notified
+     * from here, but by the next {@link #reload()}, which compares the file with the content last reported.
+     */
+    private <T extends Config> PropertiesSource source(T instance) {
+        final String key = asClasspathPath(instance);
+        final File file = resolveFile(asProperties(instance));
+
+        final PropertiesSource cached = sources.get(key);
+        if (cached != null && cached.isCurrent(file)) {
+            return cached;
+        }
+
+        synchronized (sources) {
+            final PropertiesSource current = sources.get(key);
+            if (current != null && current.isCurrent(file)) {
+                return current;
+            }
+
+            final PropertiesSource loaded = read(key, asProperties(instance), instance.name(), file);
+            if (current != null) {
+                unreported.putIfAbsent(key, current);
+            }
+            sources.put(key, loaded);
+            return loaded;
+        }
+    }
+
+    private PropertiesSource read(String key, String fileName, String name, File file) {
+        // Read the modification stamp before the content, so a concurrent change is picked up on the next access
+        final long lastModified = file != null ? file.lastModified() : 0L;
+        final long length = file != null ? file.length() : 0L;
+        return new PropertiesSource(
+                key, fileName, name, file, lastModified, length, loadPropertiesWithPriority(key, fileName, name, file));
+    }
+
+    /**
+     * Resolves the properties file from the file system, if any.
      *
      * <ul>
-     *     <li>File from a directory defined via properties `forage.config.dir` or `FORAGE_CONFIG_DIR`</li>
      *     <li>File in the working directory</li>
-     *     <li>Properties read via specific classloader</li>
-     *     <li>Properties loaded by a default classloader</li>
+     *     <li>File from a directory defined via properties `forage.config.dir` or `FORAGE_CONFIG_DIR`</li>
      * </ul>
-     *
-     * <p>Be aware, that <pre>Thread.currentThread().getContextClassLoader()</pre> has to be used as default classloader
-     * (to work as expected in Quarkus runtime)</p>
      */
-    private <T extends Config> Properties loadPropertiesWithPriority(T instance, String fileName) {
-        InputStream is = null;
+    private static File resolveFile(String fileName) {
         File file = Paths.get("", fileName).toAbsolutePath().toFile();
         if (!file.exists()) {
             final String property = System.getProperty("forage.config.dir");
@@ -183,7 +459,24 @@ public final class ConfigStore {
             }
         }
 
-        if (file.exists()) {
+        return file.exists() ? file : null;
+    }
+
+    /**
+     * Method for loading properties from different sources in proper order, defaulting to 'default' properties.
+     *
+     * <ul>
+     *     <li>File resolved by {@link #resolveFile(String)}</li>
+     *     <li>Properties read via specific classloader</li>
+     *     <li>Properties loaded by a default classloader</li>
+     * </ul>
+     *
+     * <p>Be aware, that <pre>Thread.currentThread().getContextClassLoader()</pre> has to be used as default classloader
+     * (to work as expected in Quarkus runtime)</p>
+     */
+    private Properties loadPropertiesWithPriority(String classpathPath, String fileName, String name, File file) {
+        InputStream is = null;
+        if (file != null) {
             try {
                 is = new FileInputStream(file);
             } catch (FileNotFoundException e) {
@@ -192,8 +485,8 @@ public final class ConfigStore {
         }
 
         if (is == null && classLoader != null) {
-            LOG.info("Trying to use the classloader to read {}", file);
-            final URL resource = classLoader.getResource(asClasspathPath(instance));
+            LOG.info("Trying to use the classloader to read {}", fileName);
+            final URL resource = classLoader.getResource(classpathPath);
             if (resource != null) {
                 try {
                     is = resource.openStream();
@@ -206,8 +499,8 @@ public final class ConfigStore {
         if (is == null) {
             LOG.info("Loading defaults from the forage component");
             is = classLoader == null
-                    ? ConfigStore.class.getResourceAsStream("/" + instance.name() + ".properties")
-                    : classLoader.getResourceAsStream("/" + instance.name() + ".properties");
+                    ? ConfigStore.class.getResourceAsStream("/" + name + ".properties")
+                    : classLoader.getResourceAsStream("/" + name + ".properties");
         }
 
         try {
@@ -230,12 +523,12 @@ public final class ConfigStore {
         }
     }
 
-    private static Set<String> readPrefixes(Properties props, String regexp) {
+    private static Set<String> readPrefixes(Collection<String> keys, String regexp) {
         Pattern pattern = Pattern.compile(regexp);
 
-        return Collections.list(props.keys()).stream()
+        return keys.stream()
                 .map((key) -> {
-                    Matcher m = pattern.matcher((String) key);
+                    Matcher m = pattern.matcher(key);
                     if (m.find()) {
                         return m.group(1);
                     } else {
@@ -243,7 +536,88 @@ public final class ConfigStore {
                     }
                 })
                 .filter(prefix -> prefix != null)
-                .collect(Collectors.toSet());
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Immutable view of a loaded properties file, along with the prefixes discovered from it.
+     */
+    private static final class PropertiesSource {
+        private final String key;
+        private final String fileName;
+        private final String name;
+        private final File file;
+        private final long lastModified;
+        private final long length;
+        private final Map<String, String> values;
+        private final Map<String, Set<String>> prefixesByRegexp = new ConcurrentHashMap<>();
+        private volatile PrefixIndex index;
+
+        PropertiesSource(
+                String key, String fileName, String name, File file, long lastModified, long length, Properties props) {
+            this.key = key;
+            this.fileName = fileName;
+            this.name = name;
+            this.file = file;
+            this.lastModified = lastModified;
+            this.length = length;
+
+            Map<String, String> values = new HashMap<>();
+            for (String propertyName : props.stringPropertyNames()) {
+                values.put(propertyName, props.getProperty(propertyName));
+            }
+            this.values = Collections.unmodifiableMap(values);
+        }
+
+        boolean isCurrent(File resolved) {
+            if (!Objects.equals(file, resolved)) {
+                return false;
+            }
+            return file == null || (file.lastModified() == lastModified && file.length() == length);
+        }
+
+        String key() {
+            return key;
+        }
+
+        String fileName() {
+            return fileName;
+        }
+
+        String name() {
+            return name;
+        }
+
+        Map<String, String> values() {
+            return values;
+        }
+
+        Set<String> prefixes(String regexp) {
+            return prefixesByRegexp.computeIfAbsent(regexp, r -> readPrefixes(values.keySet(), r));
+        }
+
+        PrefixIndex index() {
+            PrefixIndex current = index;
+            if (current == null) {
+                current = PrefixIndex.of(values.keySet());
+                index = current;
+            }
+            return current;
+        }
+    }
+
+    /**
+     * A properties file being registered to the store: the values set so far, and the property being registered.
+     */
+    private static final class Registration {
+        private final String sourceKey;
+        // Insertion ordered, null values remove the configuration like in set(ConfigModule, String)
+        private final Map<Object, String> values = new LinkedHashMap<>();
+        private String property;
+
+        private Registration(String sourceKey) {
+            this.sourceKey = sourceKey;
+        }
     }
 
     private static <T extends Config> String asClasspathPath(T instance) {
@@ -261,42 +635,18 @@ public final class ConfigStore {
      * <ol>
      *   <li>Environment variables (via {@link System#getenv(String)})</li>
      *   <li>System properties (via {@link System#getProperty(String)})</li>
+     *   <li>The runtime configuration (Quarkus, Spring Boot or Camel Main)</li>
      * </ol>
      *
      * <p>The first non-null value found is returned. If no value is found from any source,
-     * an empty Optional is returned.
+     * an empty Optional is returned. The {@link ConfigOverlay} applied on the current thread is not read, as the
+     * value is published to every thread: its values are answered by {@link #get(ConfigModule)} instead.
      *
      * @return an Optional containing the configuration value, or empty if not found
+     * @see ConfigSourceChain
      */
     private Optional<String> tryRead(ConfigModule module) {
-        final String environmentValue = System.getenv(module.envName());
-        if (environmentValue != null) {
-            return Optional.of(environmentValue);
-        }
-
-        final String propertyValue = System.getProperty(module.propertyName());
-        if (propertyValue != null) {
-            return Optional.of(propertyValue);
-        }
-
-        Optional<String> value = null;
-        switch (ConfigHelper.getRuntime()) {
-            case springBoot:
-                value = ConfigHelper.getSpringBootProperty(module.propertyName());
-                break;
-            case quarkus:
-                value = ConfigHelper.getQuarkusProperty(module.propertyName());
-                break;
-            case main:
-                value = ConfigHelper.getCamelMainProperty(module.propertyName());
-                break;
-        }
-
-        if (value != null && (!value.isEmpty())) {
-            return value;
-        }
-
-        return Optional.empty();
+        return ConfigSourceChain.getInstance().readShared(module);
     }
 
     /**
@@ -309,11 +659,19 @@ public final class ConfigStore {
      * <p>If no value was found during registration or if the ConfigModule was never registered,
      * an empty Optional is returned.
      *
+     * <p>While a {@link ConfigOverlay} is applied on the current thread, the values it defines take precedence over
+     * the stored ones, except for the values set through environment variables. They are never stored, so they are
+     * not visible to other threads nor once the overlay returns.
+     *
      * @param entry the configuration module to look up
      * @return an Optional containing the configuration value, or empty if not found
      */
     public Optional<String> get(ConfigModule entry) {
-        return Optional.ofNullable((String) properties.get(entry));
+        final ConfigOverlay overlay = ConfigOverlay.current();
+        if (overlay != null && overlay.read(entry).isPresent()) {
+            return ConfigSourceChain.getInstance().read(entry);
+        }
+        return Optional.ofNullable(snapshot.get(entry));
     }
 
     /**
@@ -321,7 +679,7 @@ public final class ConfigStore {
      *
      * <p>This method allows direct assignment of configuration values, bypassing the normal
      * configuration source resolution process. It immediately stores the provided value in
-     * the internal properties store, overriding any previously stored value for the same
+     * the configuration snapshot, overriding any previously stored value for the same
      * ConfigModule.
      *
      * <p>This method is primarily used by:
@@ -354,9 +712,8 @@ public final class ConfigStore {
      * Subsequent calls to {@link #get(ConfigModule)} will return the value set by this method.
      *
      * <p><strong>Thread Safety:</strong>
-     * This method is not thread-safe. If concurrent access is required, external synchronization
-     * should be used. In typical usage, configuration values are set during application startup
-     * before concurrent access begins.
+     * This method is thread-safe. The new value becomes visible to readers once the updated
+     * snapshot is published; concurrent readers are never blocked.
      *
      * @param module the configuration module that serves as the key for storing the value
      * @param value the configuration value to store; may be {@code null} to remove the configuration
@@ -366,14 +723,28 @@ public final class ConfigStore {
      * @since 1.0
      */
     public void set(ConfigModule module, String value) {
-        properties.put(module, value);
+        put(module, value);
+    }
+
+    /**
+     * Sets several configuration values in a single atomic update.
+     *
+     * <p>All the values are published in one new snapshot, so concurrent readers either observe
+     * every value of the batch or none of them. A {@code null} value removes the corresponding
+     * configuration.
+     *
+     * @param values the configuration values to store, keyed by configuration module
+     * @see #set(ConfigModule, String)
+     */
+    public void setAll(Map<ConfigModule, String> values) {
+        publish(values);
     }
 
     /**
      * Sets a configuration value directly by string key.
      *
      * <p>This method bypasses the ConfigModule lookup and stores the value directly
-     * in the internal properties using the provided key. This is useful when mapping
+     * in the configuration snapshot using the provided key. This is useful when mapping
      * configuration values between different namespaces.
      *
      * @param key the configuration key (e.g., "google.api.key")
@@ -381,21 +752,21 @@ public final class ConfigStore {
      * @since 1.0
      */
     public void setDirect(String key, String value) {
-        properties.put(key, value);
+        put(key, value);
     }
 
     /**
      * Gets a configuration value directly by string key.
      *
      * <p>This method bypasses the ConfigModule lookup and retrieves the value directly
-     * from the internal properties using the provided key.
+     * from the configuration snapshot using the provided key.
      *
      * @param key the configuration key (e.g., "google.api.key")
      * @return an Optional containing the value if present, or empty if not found
      * @since 1.0
      */
     public Optional<String> getDirect(String key) {
-        return Optional.ofNullable((String) properties.get(key));
+        return Optional.ofNullable(snapshot.get(key));
     }
 
     public ClassLoader getClassLoader() {
@@ -403,14 +774,55 @@ public final class ConfigStore {
     }
 
     public void setClassLoader(ClassLoader classLoader) {
-        this.classLoader = classLoader;
+        if (this.classLoader != classLoader) {
+            // The classpath fallback depends on the classloader, so the cached files may no longer apply
+            this.classLoader = classLoader;
+            invalidate();
+        }
     }
 
     /**
      * Gets all the configuration entries stored/set
-     * @return A Set of all the entries
+     * @return A Set of all the entries, taken from the current snapshot
      */
+    @SuppressWarnings("unchecked")
     public Set<Map.Entry<Object, Object>> entries() {
-        return properties.entrySet();
+        // The snapshot is unmodifiable, so its entries can safely be viewed with Object values
+        return (Set<Map.Entry<Object, Object>>) (Set<?>) snapshot.entrySet();
+    }
+
+    private void put(Object key, String value) {
+        final Registration registration = registering.get();
+        if (registration == null) {
+            publish(Collections.singletonMap(key, value));
+            return;
+        }
+
+        registration.values.put(key, value);
+        if (key instanceof ConfigModule module) {
+            bindings.computeIfAbsent(registration.sourceKey, k -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(registration.property, k -> ConcurrentHashMap.newKeySet())
+                    .add(module);
+        }
+    }
+
+    private void publish(Map<?, String> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+
+        synchronized (writeLock) {
+            Map<Object, String> next = new HashMap<>(snapshot);
+            values.forEach((key, value) -> apply(next, key, value));
+            snapshot = Collections.unmodifiableMap(next);
+        }
+    }
+
+    private static void apply(Map<Object, String> target, Object key, String value) {
+        if (value == null) {
+            target.remove(key);
+        } else {
+            target.put(key, value);
+        }
     }
 }
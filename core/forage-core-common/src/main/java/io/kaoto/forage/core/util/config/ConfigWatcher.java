@@ -0,0 +1,73 @@
+package io.kaoto.forage.core.util.config;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Polls the properties files read by a {@link ConfigStore}, including those from {@code forage.config.dir} /
+ * {@code FORAGE_CONFIG_DIR}, and reloads them when they change.
+ *
+ * <p>Polling is used rather than a {@link java.nio.file.WatchService}, as the latter misses the symbolic link
+ * swaps used to update mounted Kubernetes ConfigMaps and Secrets. A change is reloaded once it has been observed
+ * for the debounce duration, so that files are not read while they are being written.
+ *
+ * @see ConfigStore#startWatching(Duration, Duration)
+ */
+final class ConfigWatcher implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(ConfigWatcher.class);
+
+    private final ConfigStore store;
+    private final Duration interval;
+    private final long debounceNanos;
+    private ScheduledExecutorService executor;
+    // Only accessed from the watcher thread
+    private long pendingSince = -1;
+
+    ConfigWatcher(ConfigStore store, Duration interval, Duration debounce) {
+        this.store = store;
+        this.interval = interval;
+        this.debounceNanos = debounce.toNanos();
+    }
+
+    void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "ForageConfigWatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::poll, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        LOG.info("Watching Forage configuration files every {} ms", interval.toMillis());
+    }
+
+    void poll() {
+        try {
+            if (!store.hasPendingChanges()) {
+                pendingSince = -1;
+                return;
+            }
+
+            final long now = System.nanoTime();
+            if (pendingSince < 0) {
+                pendingSince = now;
+            }
+            if (now - pendingSince >= debounceNanos) {
+                pendingSince = -1;
+                store.reload();
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("Failed to reload the Forage configuration: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package io.kaoto.forage.core.util.config;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of the configuration prefixes found in a single configuration source, grouped by kind.
+ *
+ * <p>The index is built in a single pass over the keys of the source. For every key of the form
+ * {@code forage.<prefix>.<kind>.<property>} the {@code <prefix>} is recorded as a named prefix of
+ * {@code <kind>}, and for every key of the form {@code forage.<kind>.<property>} the {@code <kind>}
+ * is recorded as having a default (unnamed) configuration. For instance, from:
+ * <pre>
+ *     forage.jdbc.url=jdbc:h2:mem:test
+ *     forage.ds1.jdbc.url=jdbc:postgresql://localhost:5432/postgres
+ *     forage.ds2.jdbc.url=jdbc:mysql://localhost:3306/test
+ * </pre>
+ * {@code named("jdbc")} returns <strong>ds1, ds2</strong> and {@code hasDefault("jdbc")} returns {@code true}.
+ *
+ * <p>This gives the same results as scanning the keys with
+ * {@link ConfigHelper#getNamedPropertyRegexp(String)} and {@link ConfigHelper#getDefaultPropertyRegexp(String)},
+ * without compiling and running a pattern for every kind and every lookup.
+ *
+ * <p>Instances are immutable and thread-safe.
+ *
+ * @see ConfigStore#readNamedPrefixes(Config, String)
+ * @see ConfigStore#readDefaultPrefixes(Config, String)
+ */
+public final class PrefixIndex {
+    private static final String FORAGE_PREFIX = "forage.";
+
+    static final PrefixIndex EMPTY = new PrefixIndex(Collections.emptyMap(), Collections.emptySet());
+
+    private final Map<String, Set<String>> named;
+    private final Set<String> defaults;
+
+    private PrefixIndex(Map<String, Set<String>> named, Set<String> defaults) {
+        this.named = named;
+        this.defaults = defaults;
+    }
+
+    /**
+     * Builds the index from the given configuration keys.
+     *
+     * @param keys the configuration keys of a source
+     * @return the index of the prefixes found in the keys
+     */
+    public static PrefixIndex of(Iterable<String> keys) {
+        Map<String, Set<String>> named = new HashMap<>();
+        Set<String> defaults = new HashSet<>();
+
+        for (String key : keys) {
+            if (!key.startsWith(FORAGE_PREFIX)) {
+                continue;
+            }
+
+            final String[] segments = key.substring(FORAGE_PREFIX.length()).split("\\.");
+            if (segments.length < 2) {
+                continue;
+            }
+
+            defaults.add(segments[0]);
+
+            // the prefix is greedy, so when a kind appears more than once only the last occurrence counts
+            Set<String> seen = new HashSet<>();
+            for (int i = segments.length - 2; i >= 1; i--) {
+                if (seen.add(segments[i])) {
+                    named.computeIfAbsent(segments[i], k -> new HashSet<>())
+                            .add(String.join(".", Arrays.copyOfRange(segments, 0, i)));
+                }
+            }
+        }
+
+        Map<String, Set<String>> frozen = new HashMap<>();
+        named.forEach((kind, prefixes) -> frozen.put(kind, Set.copyOf(prefixes)));
+        return new PrefixIndex(Collections.unmodifiableMap(frozen), Set.copyOf(defaults));
+    }
+
+    /**
+     * Returns the named prefixes configured for the given kind.
+     *
+     * @param kind the kind of configuration (i.e.: {@code jdbc}, {@code jms}, {@code agent})
+     * @return the named prefixes, or an empty set if there are none
+     */
+    public Set<String> named(String kind) {
+        return named.getOrDefault(kind, Collections.emptySet());
+    }
+
+    /**
+     * Returns whether the source contains a default (unnamed) configuration for the given kind.
+     *
+     * @param kind the kind of configuration (i.e.: {@code jdbc}, {@code jms}, {@code agent})
+     * @return true if there is at least one {@code forage.<kind>.*} key
+     */
+    public boolean hasDefault(String kind) {
+        return defaults.contains(kind);
+    }
+}
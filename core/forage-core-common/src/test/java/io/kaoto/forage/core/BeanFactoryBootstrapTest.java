@@ -0,0 +1,143 @@
+package io.kaoto.forage.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.kaoto.forage.core.common.BeanFactory;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BeanFactoryBootstrapTest {
+
+    private static final List<String> CONFIGURED = new CopyOnWriteArrayList<>();
+
+    private CamelContext camelContext;
+
+    @BeforeEach
+    void setUp() {
+        CONFIGURED.clear();
+        camelContext = new DefaultCamelContext();
+    }
+
+    @AfterEach
+    void tearDown() {
+        camelContext.stop();
+    }
+
+    abstract static class RecordingFactory implements BeanFactory {
+        private CamelContext camelContext;
+
+        @Override
+        public void configure() {
+            CONFIGURED.add(getClass().getSimpleName());
+        }
+
+        @Override
+        public void setCamelContext(CamelContext camelContext) {
+            this.camelContext = camelContext;
+        }
+
+        @Override
+        public CamelContext getCamelContext() {
+            return camelContext;
+        }
+    }
+
+    static class MemoryFactory extends RecordingFactory {}
+
+    static class AgentFactory extends RecordingFactory {
+        @Override
+        public Set<String> configureAfter() {
+            return Set.of(MemoryFactory.class.getName());
+        }
+    }
+
+    static class FailingFactory extends RecordingFactory {
+        @Override
+        public void configure() {
+            throw new IllegalStateException("boom");
+        }
+    }
+
+    static class CyclicA extends RecordingFactory {
+        @Override
+        public Set<String> configureAfter() {
+            return Set.of(CyclicB.class.getName());
+        }
+    }
+
+    static class CyclicB extends RecordingFactory {
+        @Override
+        public Set<String> configureAfter() {
+            return Set.of(CyclicA.class.getName());
+        }
+    }
+
+    @Test
+    void sequentialHonorsDeclaredOrdering() {
+        List<BeanFactoryBootstrap.Result> results =
+                new BeanFactoryBootstrap(camelContext).sequential(List.of(new AgentFactory(), new MemoryFactory()));
+
+        assertThat(CONFIGURED).containsExactly("MemoryFactory", "AgentFactory");
+        assertThat(results).noneMatch(BeanFactoryBootstrap.Result::failed);
+    }
+
+    @Test
+    void parallelHonorsDeclaredOrdering() {
+        new BeanFactoryBootstrap(camelContext).parallel(List.of(new AgentFactory(), new MemoryFactory()), 4);
+
+        assertThat(CONFIGURED).containsExactly("MemoryFactory", "AgentFactory");
+    }
+
+    @Test
+    void failuresAreCollected() {
+        List<BeanFactoryBootstrap.Result> results =
+                new BeanFactoryBootstrap(camelContext).parallel(List.of(new FailingFactory(), new MemoryFactory()), 4);
+
+        assertThat(CONFIGURED).containsExactly("MemoryFactory");
+        assertThat(results)
+                .filteredOn(BeanFactoryBootstrap.Result::failed)
+                .singleElement()
+                .satisfies(r -> {
+                    assertThat(r.factory()).isEqualTo(FailingFactory.class.getName());
+                    assertThat(r.failure()).isInstanceOf(IllegalStateException.class);
+                });
+    }
+
+    @Test
+    void cyclicOrderingFallsBackToDiscoveryOrder() {
+        new BeanFactoryBootstrap(camelContext).parallel(List.of(new CyclicA(), new CyclicB()), 4);
+
+        assertThat(CONFIGURED).containsExactly("CyclicA", "CyclicB");
+    }
+
+    @Test
+    void independentFactoriesRunConcurrently() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        List<Boolean> overlapped = new CopyOnWriteArrayList<>();
+
+        class WaitingFactory extends RecordingFactory {
+            @Override
+            public void configure() {
+                bothStarted.countDown();
+                try {
+                    overlapped.add(bothStarted.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+        class OtherWaitingFactory extends WaitingFactory {}
+
+        new BeanFactoryBootstrap(camelContext).parallel(List.of(new WaitingFactory(), new OtherWaitingFactory()), 2);
+
+        assertThat(overlapped).containsExactly(true, true);
+    }
+}
@@ -0,0 +1,189 @@
+package io.kaoto.forage.core.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.kaoto.forage.core.annotations.ForageBean;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Enumeration;
+import java.util.ServiceLoader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ProviderRegistryTest {
+
+    public interface Greeter {
+        String greet();
+    }
+
+    @ForageBean("hello")
+    public static class HelloGreeter implements Greeter {
+        @Override
+        public String greet() {
+            return "hello";
+        }
+    }
+
+    @ForageBean("hi")
+    public static class HiGreeter implements Greeter {
+        @Override
+        public String greet() {
+            return "hi";
+        }
+    }
+
+    @TempDir
+    Path indexed;
+
+    @TempDir
+    Path notIndexed;
+
+    @Test
+    void resolvesProvidersFromTheIndex() throws IOException {
+        writeServices(indexed, HelloGreeter.class, HiGreeter.class);
+        // The index is trusted over the annotations
+        Files.createDirectories(indexed.resolve("META-INF/forage"));
+        Files.writeString(
+                indexed.resolve(ProviderRegistry.INDEX_RESOURCE),
+                Greeter.class.getName() + "=" + HelloGreeter.class.getName() + ":indexed-hello,"
+                        + HiGreeter.class.getName() + "\n");
+
+        ProviderRegistry registry = ProviderRegistry.of(classLoader(indexed));
+
+        assertThat(registry.providers(Greeter.class))
+                .extracting(ServiceLoader.Provider::type)
+                .containsExactly(HelloGreeter.class, HiGreeter.class);
+        assertThat(registry.findByKind(Greeter.class, "indexed-hello").get().greet())
+                .isEqualTo("hello");
+        assertThat(registry.findByKind(Greeter.class, "hi")).isNull();
+        assertThat(registry.findByClassName(Greeter.class, HiGreeter.class.getName())
+                        .get()
+                        .greet())
+                .isEqualTo("hi");
+    }
+
+    @Test
+    void fallsBackToTheServiceLoaderWhenAnArtifactIsNotIndexed() throws IOException {
+        writeServices(indexed, HelloGreeter.class);
+        Files.createDirectories(indexed.resolve("META-INF/forage"));
+        Files.writeString(
+                indexed.resolve(ProviderRegistry.INDEX_RESOURCE),
+                Greeter.class.getName() + "=" + HelloGreeter.class.getName() + ":hello\n");
+        writeServices(notIndexed, HiGreeter.class);
+
+        ProviderRegistry registry = ProviderRegistry.of(classLoader(indexed, notIndexed));
+
+        assertThat(registry.providers(Greeter.class))
+                .extracting(ServiceLoader.Provider::type)
+                .containsExactlyInAnyOrder(HelloGreeter.class, HiGreeter.class);
+        assertThat(registry.findByKind(Greeter.class, "hi").get().greet()).isEqualTo("hi");
+    }
+
+    @Test
+    void returnsNoProviderForAnUnknownService() throws IOException {
+        ProviderRegistry registry = ProviderRegistry.of(classLoader(indexed));
+
+        assertThat(registry.providers(Greeter.class)).isEmpty();
+        assertThat(registry.findByClassName(Greeter.class, HelloGreeter.class.getName()))
+                .isNull();
+    }
+
+    @Test
+    void cachesTheRegistryPerClassLoader() throws IOException {
+        ClassLoader classLoader = classLoader(indexed);
+
+        assertThat(ProviderRegistry.of(classLoader)).isSameAs(ProviderRegistry.of(classLoader));
+    }
+
+    @Test
+    void doesNotKeepTheClassLoaderReachable() throws Exception {
+        writeServices(indexed, HelloGreeter.class);
+        Files.createDirectories(indexed.resolve("META-INF/forage"));
+        Files.writeString(
+                indexed.resolve(ProviderRegistry.INDEX_RESOURCE),
+                Greeter.class.getName() + "=" + HelloGreeter.class.getName() + ":hello\n");
+        writeServices(notIndexed, HelloGreeter.class);
+
+        WeakReference<ClassLoader> withIndex = lookUpGreeterThroughAnUnreachableClassLoader(indexed);
+        WeakReference<ClassLoader> withoutIndex = lookUpGreeterThroughAnUnreachableClassLoader(notIndexed);
+
+        for (int i = 0; i < 50 && (withIndex.get() != null || withoutIndex.get() != null); i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertThat(withIndex.get()).isNull();
+        assertThat(withoutIndex.get()).isNull();
+    }
+
+    /**
+     * Resolves and instantiates the greeter through a registry of a new class loader, defining the greeter class
+     * itself like an application class loader does, and returns a weak reference to that class loader.
+     */
+    private WeakReference<ClassLoader> lookUpGreeterThroughAnUnreachableClassLoader(Path root) throws IOException {
+        String classFile = HelloGreeter.class.getName().replace('.', '/') + ".class";
+        Path target = root.resolve(classFile);
+        Files.createDirectories(target.getParent());
+        try (InputStream is = getClass().getClassLoader().getResourceAsStream(classFile)) {
+            Files.copy(is, target);
+        }
+
+        ClassLoader classLoader =
+                new URLClassLoader(new URL[] {root.toUri().toURL()}, getClass().getClassLoader()) {
+                    @Override
+                    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+                        if (!HelloGreeter.class.getName().equals(name)) {
+                            return super.loadClass(name, resolve);
+                        }
+                        synchronized (getClassLoadingLock(name)) {
+                            Class<?> loaded = findLoadedClass(name);
+                            return loaded != null ? loaded : findClass(name);
+                        }
+                    }
+
+                    @Override
+                    public Enumeration<URL> getResources(String name) throws IOException {
+                        return findResources(name);
+                    }
+                };
+
+        ServiceLoader.Provider<Greeter> provider =
+                ProviderRegistry.of(classLoader).providers(Greeter.class).get(0);
+        assertThat(provider.type().getClassLoader()).isSameAs(classLoader);
+        assertThat(provider.get().greet()).isEqualTo("hello");
+        return new WeakReference<>(classLoader);
+    }
+
+    private static void writeServices(Path root, Class<?>... implementations) throws IOException {
+        Path services = root.resolve("META-INF/services");
+        Files.createDirectories(services);
+        StringBuilder content = new StringBuilder();
+        for (Class<?> implementation : implementations) {
+            content.append(implementation.getName()).append('\n');
+        }
+        Files.writeString(services.resolve(Greeter.class.getName()), content);
+    }
+
+    private ClassLoader classLoader(Path... roots) throws IOException {
+        URL[] urls = new URL[roots.length];
+        for (int i = 0; i < roots.length; i++) {
+            urls[i] = roots[i].toUri().toURL();
+        }
+        // Isolated from the test class path services, while still seeing the test classes
+        return new URLClassLoader(urls, getClass().getClassLoader()) {
+            @Override
+            public URL getResource(String name) {
+                return findResource(name);
+            }
+
+            @Override
+            public Enumeration<URL> getResources(String name) throws IOException {
+                return findResources(name);
+            }
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package io.kaoto.forage.core.instrumentation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ForageInstrumentationTest {
+
+    private final List<String> events = new CopyOnWriteArrayList<>();
+    private final InstrumentationListener listener = (type, name) -> {
+        events.add("begin " + type + " " + name);
+        return (durationNanos, failure) -> events.add("end " + type + " " + name + (failure != null ? " failed" : ""));
+    };
+
+    @BeforeEach
+    void setUp() {
+        ForageInstrumentation.addListener(listener);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ForageInstrumentation.removeListener(listener);
+    }
+
+    @Test
+    void recordsSuccessfulStep() {
+        String result = ForageInstrumentation.call(StepType.BEAN_CREATE, "ds1", () -> "created");
+
+        assertThat(result).isEqualTo("created");
+        assertThat(events).containsExactly("begin bean-create ds1", "end bean-create ds1");
+    }
+
+    @Test
+    void recordsFailedStep() {
+        assertThatThrownBy(() -> ForageInstrumentation.run(StepType.PROVIDER_LOOKUP, "jdbc", () -> {
+                    throw new IllegalStateException("boom");
+                }))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(events).containsExactly("begin provider-lookup jdbc", "end provider-lookup jdbc failed");
+    }
+
+    @Test
+    void removedListenerIsNotNotified() {
+        ForageInstrumentation.removeListener(listener);
+
+        ForageInstrumentation.run(StepType.CONFIG_LOAD, "forage-jdbc", () -> {});
+
+        assertThat(events).isEmpty();
+    }
+}
@@ -0,0 +1,330 @@
+package io.kaoto.forage.core.instrumentation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.jupiter.api.Test;
+
+class MicrometerListenerTest {
+
+    @Test
+    void recordsIntoTheRegistryOfEachContext() {
+        SimpleMeterRegistry first = new SimpleMeterRegistry();
+        SimpleMeterRegistry second = new SimpleMeterRegistry();
+        CamelContext firstContext = contextWith(first);
+        CamelContext secondContext = contextWith(second);
+        try {
+            MicrometerListener.install(firstContext);
+            MicrometerListener.install(secondContext);
+
+            ForageInstrumentation.run(StepType.BEAN_CREATE, "ds1", () -> {});
+
+            assertThat(first.find(MicrometerListener.METER_NAME).timer()).isNotNull();
+            assertThat(second.find(MicrometerListener.METER_NAME).timer()).isNotNull();
+        } finally {
+            firstContext.stop();
+            secondContext.stop();
+        }
+    }
+
+    @Test
+    void stopsRecordingOnceTheContextIsStopped() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CamelContext camelContext = contextWith(registry);
+        MicrometerListener.install(camelContext);
+
+        camelContext.stop();
+        ForageInstrumentation.run(StepType.BEAN_CREATE, "ds1", () -> {});
+
+        assertThat(registry.find(MicrometerListener.METER_NAME).timer()).isNull();
+    }
+
+    @Test
+    void contextsSharingARegistryShareItsListener() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CamelContext firstContext = contextWith(registry);
+        CamelContext secondContext = contextWith(registry);
+        try {
+            MicrometerListener.install(firstContext);
+            MicrometerListener.install(secondContext);
+
+            ForageInstrumentation.run(StepType.BEAN_CREATE, "ds1", () -> {});
+            assertThat(registry.find(MicrometerListener.METER_NAME).timer().count())
+                    .isOne();
+
+            firstContext.stop();
+            ForageInstrumentation.run(StepType.BEAN_CREATE, "ds1", () -> {});
+            assertThat(registry.find(MicrometerListener.METER_NAME).timer().count())
+                    .isEqualTo(2);
+        } finally {
+            firstContext.stop();
+            secondContext.stop();
+        }
+    }
+
+    @Test
+    void exposesTheStatisticsOfTheCaches() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CamelContext camelContext = contextWith(registry);
+        FixedStatistics statistics = new FixedStatistics(7, 3, 2, 5, 1024);
+        try {
+            MicrometerListener.install(camelContext);
+            ForageInstrumentation.registerCache("test-cache", "exposed", statistics);
+
+            assertThat(cacheGets(registry, "exposed", "hit")).isEqualTo(7);
+            assertThat(cacheGets(registry, "exposed", "miss")).isEqualTo(3);
+            assertThat(registry.get(MicrometerListener.CACHE_EVICTIONS)
+                            .tag("name", "exposed")
+                            .functionCounter()
+                            .count())
+                    .isEqualTo(2);
+            assertThat(registry.get(MicrometerListener.CACHE_SIZE)
+                            .tag("name", "exposed")
+                            .gauge()
+                            .value())
+                    .isEqualTo(5);
+            assertThat(registry.get(MicrometerListener.CACHE_RESIDENT_BYTES)
+                            .tag("name", "exposed")
+                            .gauge()
+                            .value())
+                    .isEqualTo(1024);
+
+            statistics.hits = 8;
+            assertThat(cacheGets(registry, "exposed", "hit")).isEqualTo(8);
+        } finally {
+            camelContext.stop();
+        }
+    }
+
+    @Test
+    void exposesTheCachesRegisteredBeforeTheListener() {
+        FixedStatistics statistics = new FixedStatistics(4, 1, 0, 1, -1);
+        ForageInstrumentation.registerCache("test-cache", "earlier", statistics);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CamelContext camelContext = contextWith(registry);
+        try {
+            MicrometerListener.install(camelContext);
+
+            assertThat(cacheGets(registry, "earlier", "hit")).isEqualTo(4);
+            assertThat(registry.find(MicrometerListener.CACHE_RESIDENT_BYTES)
+                            .tag("name", "earlier")
+                            .gauge())
+                    .isNull();
+        } finally {
+            camelContext.stop();
+        }
+    }
+
+    @Test
+    void replacesTheMetersOfACacheRegisteredAgain() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CamelContext camelContext = contextWith(registry);
+        FixedStatistics previous = new FixedStatistics(10, 0, 0, 1, -1);
+        FixedStatistics current = new FixedStatistics(1, 0, 0, 1, -1);
+        try {
+            MicrometerListener.install(camelContext);
+            ForageInstrumentation.registerCache("test-cache", "replaced", previous);
+            ForageInstrumentation.registerCache("test-cache", "replaced", current);
+
+            assertThat(cacheGets(registry, "replaced", "hit")).isEqualTo(1);
+        } finally {
+            camelContext.stop();
+        }
+    }
+
+    @Test
+    void exposesTheStatisticsOfTheHttpClients() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CamelContext camelContext = contextWith(registry);
+        FixedHttpClientStatistics statistics = new FixedHttpClientStatistics();
+        try {
+            MicrometerListener.install(camelContext);
+            ForageInstrumentation.registerHttpClient("https://models.example.com", statistics);
+
+            assertThat(httpClientGauge(registry, MicrometerListener.HTTP_CLIENT_MODELS))
+                    .isEqualTo(3);
+            assertThat(httpClientGauge(registry, MicrometerListener.HTTP_CLIENT_IN_FLIGHT))
+                    .isEqualTo(2);
+            assertThat(httpClientGauge(registry, MicrometerListener.HTTP_CLIENT_MAX_CONNECTIONS))
+                    .isEqualTo(8);
+            assertThat(registry.get(MicrometerListener.HTTP_CLIENT_REQUESTS)
+                            .tag("endpoint", "https://models.example.com")
+                            .tag("type", "streaming")
+                            .functionCounter()
+                            .count())
+                    .isEqualTo(5);
+
+            statistics.inFlight = 0;
+            assertThat(httpClientGauge(registry, MicrometerListener.HTTP_CLIENT_IN_FLIGHT))
+                    .isZero();
+        } finally {
+            camelContext.stop();
+        }
+    }
+
+    @Test
+    void exposesTheStatisticsOfTheLimiters() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CamelContext camelContext = contextWith(registry);
+        FixedLimiterStatistics statistics = new FixedLimiterStatistics();
+        try {
+            MicrometerListener.install(camelContext);
+            ForageInstrumentation.registerLimiter("openai/gpt", statistics);
+
+            assertThat(limiterGauge(registry, MicrometerListener.LIMITER_LIMIT)).isEqualTo(4);
+            assertThat(limiterGauge(registry, MicrometerListener.LIMITER_IN_FLIGHT))
+                    .isEqualTo(3);
+            assertThat(limiterGauge(registry, MicrometerListener.LIMITER_QUEUED))
+                    .isEqualTo(1);
+            assertThat(limiterCalls(registry, "success")).isEqualTo(20);
+            assertThat(limiterCalls(registry, "dropped")).isEqualTo(2);
+            assertThat(limiterCalls(registry, "rejected")).isEqualTo(5);
+
+            statistics.limit = 2;
+            assertThat(limiterGauge(registry, MicrometerListener.LIMITER_LIMIT)).isEqualTo(2);
+        } finally {
+            camelContext.stop();
+        }
+    }
+
+    private static double limiterGauge(SimpleMeterRegistry registry, String meterName) {
+        return registry.get(meterName).tag("name", "openai/gpt").gauge().value();
+    }
+
+    private static double limiterCalls(SimpleMeterRegistry registry, String outcome) {
+        return registry.get(MicrometerListener.LIMITER_CALLS)
+                .tag("name", "openai/gpt")
+                .tag("outcome", outcome)
+                .functionCounter()
+                .count();
+    }
+
+    private static double httpClientGauge(SimpleMeterRegistry registry, String meterName) {
+        return registry.get(meterName)
+                .tag("endpoint", "https://models.example.com")
+                .gauge()
+                .value();
+    }
+
+    private static double cacheGets(SimpleMeterRegistry registry, String name, String result) {
+        return registry.get(MicrometerListener.CACHE_GETS)
+                .tag("cache", "test-cache")
+                .tag("name", name)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
+    private static CamelContext contextWith(SimpleMeterRegistry registry) {
+        CamelContext camelContext = new DefaultCamelContext();
+        camelContext.getRegistry().bind("meterRegistry", registry);
+        camelContext.start();
+        return camelContext;
+    }
+
+    private static final class FixedStatistics implements CacheStatistics {
+        private volatile long hits;
+        private final long misses;
+        private final long evictions;
+        private final int size;
+        private final long residentBytes;
+
+        private FixedStatistics(long hits, long misses, long evictions, int size, long residentBytes) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.size = size;
+            this.residentBytes = residentBytes;
+        }
+
+        @Override
+        public long hits() {
+            return hits;
+        }
+
+        @Override
+        public long misses() {
+            return misses;
+        }
+
+        @Override
+        public long evictions() {
+            return evictions;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public long residentBytes() {
+            return residentBytes;
+        }
+    }
+
+    private static final class FixedHttpClientStatistics implements HttpClientStatistics {
+        private volatile long inFlight = 2;
+
+        @Override
+        public long models() {
+            return 3;
+        }
+
+        @Override
+        public long requests() {
+            return 10;
+        }
+
+        @Override
+        public long streamingRequests() {
+            return 5;
+        }
+
+        @Override
+        public long inFlight() {
+            return inFlight;
+        }
+
+        @Override
+        public int maxConnections() {
+            return 8;
+        }
+    }
+
+    private static final class FixedLimiterStatistics implements LimiterStatistics {
+        private volatile int limit = 4;
+
+        @Override
+        public int limit() {
+            return limit;
+        }
+
+        @Override
+        public int inFlight() {
+            return 3;
+        }
+
+        @Override
+        public int queued() {
+            return 1;
+        }
+
+        @Override
+        public long successes() {
+            return 20;
+        }
+
+        @Override
+        public long drops() {
+            return 2;
+        }
+
+        @Override
+        public long rejections() {
+            return 5;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package io.kaoto.forage.core.instrumentation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.apache.camel.StartupStep;
+import org.apache.camel.support.startup.DefaultStartupStepRecorder;
+import org.junit.jupiter.api.Test;
+
+class StartupStepRecorderListenerTest {
+
+    private final List<String> recorded = new CopyOnWriteArrayList<>();
+    private final DefaultStartupStepRecorder recorder = new DefaultStartupStepRecorder() {
+        @Override
+        public StartupStep beginStep(Class<?> type, String id, String description) {
+            recorded.add(id);
+            return super.beginStep(type, id, description);
+        }
+    };
+
+    @Test
+    void forwardsTheStepsOfTheCoordinatingThread() {
+        StartupStepRecorderListener listener = new StartupStepRecorderListener(recorder);
+
+        listener.begin(StepType.FACTORY_CONFIGURE, "coordinator").end(0, null);
+
+        assertThat(recorded).containsExactly("coordinator");
+    }
+
+    @Test
+    void leavesOutTheStepsOfOtherThreads() {
+        StartupStepRecorderListener listener = new StartupStepRecorderListener(recorder);
+
+        CompletableFuture.runAsync(() ->
+                        listener.begin(StepType.FACTORY_CONFIGURE, "worker").end(0, null))
+                .join();
+
+        assertThat(recorded).isEmpty();
+    }
+}
@@ -0,0 +1,98 @@
+package io.kaoto.forage.core.util.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ConfigEntriesTest {
+
+    private static class TestConfig implements Config {
+
+        @Override
+        public String name() {
+            return "config-entries-test";
+        }
+
+        @Override
+        public void register(String name, String value) {
+            // NO-OP
+        }
+    }
+
+    private static final class TestConfigEntries extends ConfigEntries {
+        static final ConfigModule URL = ConfigModule.of(TestConfig.class, "forage.entries.test.url");
+        static final ConfigModule SIZE = ConfigModule.of(TestConfig.class, "forage.entries.test.size");
+
+        private static final Map<ConfigModule, ConfigEntry> CONFIG_MODULES = new ConcurrentHashMap<>();
+
+        static {
+            CONFIG_MODULES.put(URL, ConfigEntry.fromModule());
+            CONFIG_MODULES.put(SIZE, ConfigEntry.fromModule());
+        }
+
+        static Map<ConfigModule, ConfigEntry> entries() {
+            return Collections.unmodifiableMap(CONFIG_MODULES);
+        }
+
+        static Optional<ConfigModule> find(String prefix, String name) {
+            return find(CONFIG_MODULES, prefix, name);
+        }
+
+        static void register(String prefix) {
+            register(CONFIG_MODULES, prefix);
+        }
+
+        static void loadOverrides(String prefix) {
+            load(CONFIG_MODULES, prefix);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty("forage.entries.test.size");
+        System.clearProperty("forage.ds1.entries.test.size");
+        ConfigStore.getInstance().set(TestConfigEntries.SIZE, null);
+        ConfigStore.getInstance().set(TestConfigEntries.SIZE.asNamed("ds1"), null);
+    }
+
+    @Test
+    void findsDefaultModulesByName() {
+        assertThat(TestConfigEntries.find(null, "forage.entries.test.url")).hasValue(TestConfigEntries.URL);
+        assertThat(TestConfigEntries.find(null, "forage.entries.test.unknown")).isEmpty();
+    }
+
+    @Test
+    void findsNamedModulesOnceRegistered() {
+        assertThat(TestConfigEntries.find("ds2", "forage.ds2.entries.test.url")).isEmpty();
+
+        TestConfigEntries.register("ds2");
+        TestConfigEntries.register("ds2");
+
+        assertThat(TestConfigEntries.find("ds2", "forage.ds2.entries.test.url"))
+                .hasValue(TestConfigEntries.URL.asNamed("ds2"));
+        assertThat(TestConfigEntries.entries())
+                .containsKeys(TestConfigEntries.URL.asNamed("ds2"), TestConfigEntries.SIZE.asNamed("ds2"));
+    }
+
+    @Test
+    void loadsTheOverridesOfThePrefixOnly() {
+        TestConfigEntries.register("ds1");
+        System.setProperty("forage.entries.test.size", "5");
+        System.setProperty("forage.ds1.entries.test.size", "10");
+
+        TestConfigEntries.loadOverrides("ds1");
+
+        assertThat(ConfigStore.getInstance().get(TestConfigEntries.SIZE.asNamed("ds1")))
+                .hasValue("10");
+        assertThat(ConfigStore.getInstance().get(TestConfigEntries.SIZE)).isEmpty();
+
+        TestConfigEntries.loadOverrides(null);
+
+        assertThat(ConfigStore.getInstance().get(TestConfigEntries.SIZE)).hasValue("5");
+    }
+}
@@ -44,4 +44,15 @@ class ConfigModuleTest {
         assertFalse(configModulePrefixed2.match("test.config"));
         assertTrue(configModulePrefixed2.match("prefix2.test.config"));
     }
+
+    @Test
+    void names() {
+        final ConfigModule configModule = ConfigModule.of(TestConfig.class, "forage.test.config");
+        assertEquals("FORAGE_TEST_CONFIG", configModule.envName());
+        assertEquals("forage.test.config", configModule.propertyName());
+
+        final ConfigModule configModulePrefixed = configModule.asNamed("my_prefix");
+        assertEquals("FORAGE_MY_PREFIX_TEST_CONFIG", configModulePrefixed.envName());
+        assertEquals("forage.my.prefix.test.config", configModulePrefixed.propertyName());
+    }
 }
@@ -0,0 +1,98 @@
+package io.kaoto.forage.core.util.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ConfigOverlayTest {
+
+    private static final ConfigModule VALUE = ConfigModule.of(TestConfig.class, "forage.overlay.test.value");
+
+    private static class TestConfig implements Config {
+
+        @Override
+        public String name() {
+            return "overlay-test";
+        }
+
+        @Override
+        public void register(String name, String value) {
+            // NO-OP
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(VALUE.propertyName());
+        ConfigSourceChain.invalidate();
+        ConfigStore.getInstance().set(VALUE, null);
+        ConfigStore.getInstance().set(VALUE.asNamed("named"), null);
+    }
+
+    @Test
+    void takesPrecedenceOverSystemPropertiesWhileApplied() {
+        System.setProperty("forage.overlay.test.value", "property");
+        ConfigOverlay overlay = ConfigOverlay.builder()
+                .set("forage.overlay.test.value", "overlay")
+                .set("forage.named.overlay.test.value", 42)
+                .build();
+
+        assertThat(overlay.apply(() -> ConfigSourceChain.getInstance().read(VALUE)))
+                .hasValue("overlay");
+        assertThat(overlay.apply(() -> ConfigSourceChain.getInstance().read(VALUE.asNamed("named"))))
+                .hasValue("42");
+        assertThat(ConfigSourceChain.getInstance().read(VALUE)).hasValue("property");
+        assertThat(ConfigOverlay.current()).isNull();
+    }
+
+    @Test
+    void restoresTheEnclosingOverlay() {
+        ConfigOverlay outer = ConfigOverlay.builder()
+                .set("forage.overlay.test.value", "outer")
+                .build();
+        ConfigOverlay inner = ConfigOverlay.builder()
+                .set("forage.overlay.test.value", "inner")
+                .build();
+
+        String read = outer.apply(() -> {
+            assertThat(inner.apply(() -> ConfigSourceChain.getInstance().read(VALUE)))
+                    .hasValue("inner");
+            return ConfigSourceChain.getInstance().read(VALUE).orElse(null);
+        });
+
+        assertThat(read).isEqualTo("outer");
+    }
+
+    @Test
+    void leavesTheStoreUnchangedOnceApplied() {
+        ConfigStore store = ConfigStore.getInstance();
+        System.setProperty("forage.overlay.test.value", "property");
+        ConfigOverlay overlay = ConfigOverlay.builder()
+                .set("forage.overlay.test.value", "overlay")
+                .set("forage.named.overlay.test.value", "named")
+                .build();
+
+        overlay.apply(() -> {
+            store.loadAll(List.of(VALUE, VALUE.asNamed("named")));
+            store.load(VALUE);
+            assertThat(store.get(VALUE)).hasValue("overlay");
+            assertThat(store.get(VALUE.asNamed("named"))).hasValue("named");
+            return null;
+        });
+
+        // Only the values of the shared sources were stored
+        assertThat(store.get(VALUE)).hasValue("property");
+        assertThat(store.get(VALUE.asNamed("named"))).isEmpty();
+    }
+
+    @Test
+    void ignoresNullValues() {
+        ConfigOverlay overlay =
+                ConfigOverlay.builder().set("forage.overlay.test.value", null).build();
+
+        assertThat(overlay.isEmpty()).isTrue();
+        assertThat(overlay).isSameAs(ConfigOverlay.empty());
+    }
+}
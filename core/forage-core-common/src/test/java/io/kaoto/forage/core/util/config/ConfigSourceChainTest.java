@@ -0,0 +1,74 @@
+package io.kaoto.forage.core.util.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.kaoto.forage.core.common.RuntimeType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ConfigSourceChainTest {
+
+    private static final ConfigModule VALUE = ConfigModule.of(TestConfig.class, "forage.chain.test.value");
+
+    private static class TestConfig implements Config {
+
+        @Override
+        public String name() {
+            return "chain-test";
+        }
+
+        @Override
+        public void register(String name, String value) {
+            // NO-OP
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(VALUE.propertyName());
+        System.clearProperty(VALUE.asNamed("named").propertyName());
+        ConfigSourceChain.invalidate();
+    }
+
+    @Test
+    void resolvesTheChainOnce() {
+        ConfigSourceChain chain = ConfigSourceChain.getInstance();
+
+        assertThat(ConfigSourceChain.getInstance()).isSameAs(chain);
+        assertThat(chain.runtime()).isEqualTo(RuntimeType.main);
+        assertThat(ConfigHelper.getRuntime()).isEqualTo(RuntimeType.main);
+    }
+
+    @Test
+    void readsSystemProperties() {
+        ConfigSourceChain chain = ConfigSourceChain.getInstance();
+        assertThat(chain.read(VALUE)).isEmpty();
+
+        System.setProperty("forage.chain.test.value", "default");
+        System.setProperty("forage.named.chain.test.value", "named");
+
+        assertThat(chain.read(VALUE)).hasValue("default");
+        assertThat(chain.read(VALUE.asNamed("named"))).hasValue("named");
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void deprecatedGettersReadTheRuntimeConfigurationOnly() {
+        System.setProperty("forage.chain.test.value", "default");
+
+        // The system properties are not part of the runtime configuration
+        assertThat(ConfigHelper.getCamelMainProperty("forage.chain.test.value")).isEmpty();
+        assertThat(ConfigHelper.getSpringBootProperty("forage.chain.test.value"))
+                .isEmpty();
+        assertThat(ConfigHelper.getQuarkusProperty("forage.chain.test.value")).isEmpty();
+    }
+
+    @Test
+    void invalidateResolvesTheChainAgain() {
+        ConfigSourceChain chain = ConfigSourceChain.getInstance();
+
+        ConfigSourceChain.invalidate();
+
+        assertThat(ConfigSourceChain.getInstance()).isNotSameAs(chain);
+    }
+}
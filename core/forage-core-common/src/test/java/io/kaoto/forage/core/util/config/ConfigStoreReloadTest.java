@@ -0,0 +1,112 @@
+package io.kaoto.forage.core.util.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ConfigStoreReloadTest {
+
+    private static final ConfigModule POOL_SIZE = ConfigModule.of(ReloadConfig.class, "forage.reload.test.pool.size");
+
+    private static class ReloadConfig implements Config {
+
+        ReloadConfig() {
+            ConfigStore.getInstance().load(ReloadConfig.class, this, this::register);
+        }
+
+        @Override
+        public String name() {
+            return "forage-config-reload-test";
+        }
+
+        @Override
+        public void register(String name, String value) {
+            if (POOL_SIZE.name().equals(name)) {
+                ConfigStore.getInstance().set(POOL_SIZE, value);
+            }
+        }
+    }
+
+    @TempDir
+    Path configDir;
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        System.setProperty("forage.config.dir", configDir.toString());
+        ConfigStore.getInstance().invalidate();
+        file = configDir.resolve("forage-config-reload-test.properties");
+        Files.writeString(file, "forage.reload.test.pool.size=5\n");
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty("forage.config.dir");
+        ConfigStore.getInstance().set(POOL_SIZE, null);
+        ConfigStore.getInstance().invalidate();
+    }
+
+    @Test
+    void reloadPublishesChangedValuesAndNotifiesListeners() throws Exception {
+        new ReloadConfig();
+        assertThat(ConfigStore.getInstance().get(POOL_SIZE)).hasValue("5");
+
+        List<ConfigChangeEvent> events = new ArrayList<>();
+        ConfigChangeListener listener = events::add;
+        ConfigStore.getInstance().addChangeListener(listener);
+        try {
+            Files.writeString(file, "forage.reload.test.pool.size=10\n");
+            file.toFile().setLastModified(file.toFile().lastModified() + 2000);
+
+            assertThat(ConfigStore.getInstance().hasPendingChanges()).isTrue();
+            assertThat(ConfigStore.getInstance().reload()).containsExactly(new ConfigChange(POOL_SIZE, "5", "10"));
+            assertThat(ConfigStore.getInstance().get(POOL_SIZE)).hasValue("10");
+            assertThat(events).singleElement().satisfies(event -> assertThat(event.changed(POOL_SIZE))
+                    .isTrue());
+        } finally {
+            ConfigStore.getInstance().removeChangeListener(listener);
+        }
+    }
+
+    @Test
+    void readingAChangedFileLeavesTheNotificationToTheReload() throws Exception {
+        new ReloadConfig();
+
+        List<ConfigChangeEvent> events = new ArrayList<>();
+        ConfigChangeListener listener = events::add;
+        ConfigStore.getInstance().addChangeListener(listener);
+        try {
+            Files.writeString(file, "forage.reload.test.pool.size=10\n");
+            file.toFile().setLastModified(file.toFile().lastModified() + 2000);
+
+            // Creating a Config reads the changed file on the creating thread, without notifying the listeners
+            new ReloadConfig();
+            assertThat(ConfigStore.getInstance().get(POOL_SIZE)).hasValue("10");
+            assertThat(events).isEmpty();
+
+            assertThat(ConfigStore.getInstance().hasPendingChanges()).isTrue();
+            assertThat(ConfigStore.getInstance().reload()).containsExactly(new ConfigChange(POOL_SIZE, "5", "10"));
+            assertThat(events).hasSize(1);
+            assertThat(ConfigStore.getInstance().hasPendingChanges()).isFalse();
+        } finally {
+            ConfigStore.getInstance().removeChangeListener(listener);
+        }
+    }
+
+    @Test
+    void reloadWithoutChangesDoesNothing() {
+        new ReloadConfig();
+
+        assertThat(ConfigStore.getInstance().hasPendingChanges()).isFalse();
+        assertThat(ConfigStore.getInstance().reload()).isEmpty();
+        assertThat(ConfigStore.getInstance().get(POOL_SIZE)).hasValue("5");
+    }
+}
@@ -0,0 +1,114 @@
+package io.kaoto.forage.core.util.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ConfigStoreTest {
+
+    private static class TestConfig implements Config {
+
+        @Override
+        public String name() {
+            return "config-store-test";
+        }
+
+        @Override
+        public void register(String name, String value) {
+            // NO-OP
+        }
+    }
+
+    @Test
+    void setAndGet() {
+        final ConfigModule module = ConfigModule.of(TestConfig.class, "forage.store.test.set");
+        ConfigStore.getInstance().set(module, "value");
+
+        assertThat(ConfigStore.getInstance().get(module)).hasValue("value");
+        assertThat(ConfigStore.getInstance().get(ConfigModule.of(TestConfig.class, "forage.store.test.set")))
+                .hasValue("value");
+    }
+
+    @Test
+    void setNullRemovesValue() {
+        final ConfigModule module = ConfigModule.of(TestConfig.class, "forage.store.test.remove");
+        ConfigStore.getInstance().set(module, "value");
+        ConfigStore.getInstance().set(module, null);
+
+        assertThat(ConfigStore.getInstance().get(module)).isEmpty();
+    }
+
+    @Test
+    void namedModulesAreDistinctKeys() {
+        final ConfigModule module = ConfigModule.of(TestConfig.class, "forage.store.test.named");
+        ConfigStore.getInstance().set(module, "default");
+        ConfigStore.getInstance().set(module.asNamed("ds1"), "named");
+
+        assertThat(ConfigStore.getInstance().get(module)).hasValue("default");
+        assertThat(ConfigStore.getInstance().get(module.asNamed("ds1"))).hasValue("named");
+    }
+
+    @Test
+    void setAllPublishesEveryValue() {
+        final ConfigModule first = ConfigModule.of(TestConfig.class, "forage.store.test.batch.first");
+        final ConfigModule second = ConfigModule.of(TestConfig.class, "forage.store.test.batch.second");
+
+        Map<ConfigModule, String> values = new HashMap<>();
+        values.put(first, "1");
+        values.put(second, "2");
+        ConfigStore.getInstance().setAll(values);
+
+        assertThat(ConfigStore.getInstance().get(first)).hasValue("1");
+        assertThat(ConfigStore.getInstance().get(second)).hasValue("2");
+    }
+
+    @Test
+    void entriesAreASnapshot() {
+        final ConfigModule module = ConfigModule.of(TestConfig.class, "forage.store.test.snapshot");
+        final Set<Map.Entry<Object, Object>> before = ConfigStore.getInstance().entries();
+
+        ConfigStore.getInstance().set(module, "value");
+
+        assertThat(before).noneMatch(e -> module.equals(e.getKey()));
+        assertThat(ConfigStore.getInstance().entries()).anyMatch(e -> module.equals(e.getKey()));
+    }
+
+    @Test
+    void loadPublishesTheRegisteredValuesOnceTheFileIsRegistered(@TempDir Path configDir) throws Exception {
+        final ConfigModule first = ConfigModule.of(TestConfig.class, "forage.store.test.load.first");
+        final ConfigModule second = ConfigModule.of(TestConfig.class, "forage.store.test.load.second");
+        Files.writeString(
+                configDir.resolve("config-store-test.properties"),
+                "forage.store.test.load.first=1\nforage.store.test.load.second=2\n");
+
+        System.setProperty("forage.config.dir", configDir.toString());
+        ConfigStore.getInstance().invalidate();
+        try {
+            final List<Map.Entry<Object, Object>> visible = new ArrayList<>();
+            final TestConfig config = new TestConfig();
+            ConfigStore.getInstance().load(TestConfig.class, config, (name, value) -> {
+                ConfigStore.getInstance().set(ConfigModule.of(TestConfig.class, name), value);
+                ConfigStore.getInstance().entries().stream()
+                        .filter(e -> first.equals(e.getKey()) || second.equals(e.getKey()))
+                        .forEach(visible::add);
+            });
+
+            assertThat(visible).isEmpty();
+            assertThat(ConfigStore.getInstance().get(first)).hasValue("1");
+            assertThat(ConfigStore.getInstance().get(second)).hasValue("2");
+        } finally {
+            System.clearProperty("forage.config.dir");
+            ConfigStore.getInstance().set(first, null);
+            ConfigStore.getInstance().set(second, null);
+            ConfigStore.getInstance().invalidate();
+        }
+    }
+}
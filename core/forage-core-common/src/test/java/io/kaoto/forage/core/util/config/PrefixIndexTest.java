@@ -0,0 +1,61 @@
+package io.kaoto.forage.core.util.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class PrefixIndexTest {
+
+    private static final List<String> KEYS = List.of(
+            "forage.jdbc.url",
+            "forage.ds1.jdbc.url",
+            "forage.ds1.jdbc.username",
+            "forage.ds2.jdbc.url",
+            "forage.broker.jms.broker.url",
+            "forage.myAgent.agent.model.kind",
+            "forage.other.agent.features",
+            "unrelated.ds3.jdbc.url");
+
+    @Test
+    void named() {
+        final PrefixIndex index = PrefixIndex.of(KEYS);
+
+        assertThat(index.named("jdbc")).containsExactlyInAnyOrder("ds1", "ds2");
+        assertThat(index.named("jms")).containsExactly("broker");
+        assertThat(index.named("agent")).containsExactlyInAnyOrder("myAgent", "other");
+        assertThat(index.named("vertx")).isEmpty();
+    }
+
+    @Test
+    void defaults() {
+        final PrefixIndex index = PrefixIndex.of(KEYS);
+
+        assertThat(index.hasDefault("jdbc")).isTrue();
+        assertThat(index.hasDefault("jms")).isFalse();
+        assertThat(index.hasDefault("agent")).isFalse();
+    }
+
+    @Test
+    void matchesRegexpPrefixes() {
+        final PrefixIndex index = PrefixIndex.of(KEYS);
+
+        for (String kind : List.of("jdbc", "jms", "agent")) {
+            assertThat(index.named(kind)).isEqualTo(scan(ConfigHelper.getNamedPropertyRegexp(kind)));
+        }
+    }
+
+    private static Set<String> scan(String regexp) {
+        final Pattern pattern = Pattern.compile(regexp);
+
+        return KEYS.stream()
+                .map(pattern::matcher)
+                .filter(Matcher::find)
+                .map(m -> m.group(1))
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,149 @@
+package io.kaoto.forage.agent.factory;
+
+import io.kaoto.forage.core.exceptions.RuntimeForageException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.apache.camel.CamelContext;
+import org.apache.camel.support.service.ServiceSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates and owns the executors running the model calls of asynchronous agents, shared by all the agents of a
+ * factory.
+ *
+ * <p>Two executors may be created, lazily:
+ * <ul>
+ *   <li>a virtual thread per task executor, when virtual threads are requested and the JDK provides them (21+).
+ *   Thousands of in-flight conversations then cost a few MB of stack rather than thousands of platform threads.</li>
+ *   <li>otherwise, a thread pool created through the Camel {@link org.apache.camel.spi.ExecutorServiceManager}
+ *   from its default profile, which bounds its threads and queue ({@code camel.threadpool.*}), manages its lifecycle
+ *   and uses virtual threads when Camel is configured to ({@code camel.threads.virtual.enabled=true}). When the pool
+ *   is saturated, the calls run on the caller thread.</li>
+ * </ul>
+ *
+ * <p>Both are shut down when the CamelContext stops, and created again on the next use if it starts again.
+ */
+public final class AgentExecutors {
+    private static final Logger LOG = LoggerFactory.getLogger(AgentExecutors.class);
+
+    private static final String THREAD_NAME = "ForageAgent";
+
+    private final Object source;
+    private volatile ExecutorService pooled;
+    private volatile ExecutorService virtual;
+
+    /**
+     * @param source the owner of the executors, usually the agent factory
+     */
+    public AgentExecutors(Object source) {
+        this.source = source;
+    }
+
+    /**
+     * Returns the executor for the model calls, creating it on first use.
+     *
+     * @param camelContext the CamelContext whose lifecycle bounds the executor
+     * @param virtualThreads whether to run the model calls on virtual threads, when available
+     * @return the executor
+     */
+    public ExecutorService executor(CamelContext camelContext, boolean virtualThreads) {
+        if (virtualThreads && VirtualThreads.FACTORY != null) {
+            ExecutorService executor = virtual;
+            if (executor == null) {
+                executor = createVirtual(camelContext);
+            }
+            if (executor != null) {
+                return executor;
+            }
+        }
+
+        ExecutorService executor = pooled;
+        if (executor == null) {
+            executor = createPooled(camelContext);
+        }
+        return executor;
+    }
+
+    private synchronized ExecutorService createPooled(CamelContext camelContext) {
+        if (pooled == null) {
+            bind(camelContext);
+            pooled = camelContext.getExecutorServiceManager().newDefaultThreadPool(source, THREAD_NAME);
+        }
+        return pooled;
+    }
+
+    private synchronized ExecutorService createVirtual(CamelContext camelContext) {
+        if (virtual == null) {
+            ExecutorService executor = newVirtualThreadPerTaskExecutor();
+            if (executor == null) {
+                return null;
+            }
+            try {
+                bind(camelContext);
+            } catch (RuntimeException e) {
+                executor.shutdown();
+                throw e;
+            }
+            virtual = executor;
+        }
+        return virtual;
+    }
+
+    /**
+     * Releases the executors when the CamelContext stops, so that new ones are created if it starts again. Called
+     * before the first executor since the context started is created.
+     */
+    private void bind(CamelContext camelContext) {
+        if (pooled == null && virtual == null) {
+            try {
+                camelContext.addService(new ExecutorShutdown(), true, true);
+            } catch (Exception e) {
+                throw new RuntimeForageException("Unable to bind the agent executor to the CamelContext", e);
+            }
+        }
+    }
+
+    private synchronized void release() {
+        if (virtual != null) {
+            virtual.shutdown();
+            virtual = null;
+        }
+        // The pool is shut down by the ExecutorServiceManager of the CamelContext
+        pooled = null;
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) VirtualThreads.FACTORY.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            LOG.warn("Unable to create a virtual thread executor, running the model calls on a thread pool instead", e);
+        }
+        return null;
+    }
+
+    /**
+     * Forage is built for Java 17, so virtual threads are looked up reflectively, once: the factory is {@code null}
+     * when the JDK does not provide them.
+     */
+    private static final class VirtualThreads {
+        static final Method FACTORY = lookup();
+
+        private static Method lookup() {
+            try {
+                return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            } catch (NoSuchMethodException e) {
+                LOG.warn("Virtual threads require Java 21 or newer, running the model calls on a thread pool instead");
+                return null;
+            }
+        }
+    }
+
+    private final class ExecutorShutdown extends ServiceSupport {
+        @Override
+        protected void doStop() {
+            release();
+        }
+    }
+}
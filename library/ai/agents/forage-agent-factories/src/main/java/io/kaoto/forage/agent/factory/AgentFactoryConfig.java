@@ -4,6 +4,7 @@ import static io.kaoto.forage.agent.factory.AgentFactoryConfigEntries.GUARDRAILS
 import static io.kaoto.forage.agent.factory.AgentFactoryConfigEntries.GUARDRAILS_OUTPUT_CLASSES;
 import static io.kaoto.forage.agent.factory.AgentFactoryConfigEntries.PROVIDER_AGENT_CLASS;
 import static io.kaoto.forage.agent.factory.AgentFactoryConfigEntries.PROVIDER_FEATURES;
+import static io.kaoto.forage.agent.factory.AgentFactoryConfigEntries.PROVIDER_FEATURES_ASYNC_VIRTUAL_THREADS;
 import static io.kaoto.forage.agent.factory.AgentFactoryConfigEntries.PROVIDER_FEATURES_MEMORY_FACTORY_CLASS;
 import static io.kaoto.forage.agent.factory.AgentFactoryConfigEntries.PROVIDER_MODEL_FACTORY_CLASS;
 
@@ -73,6 +74,13 @@ public class AgentFactoryConfig implements Config {
                 .orElse(null);
     }
 
+    public boolean providerFeaturesAsyncVirtualThreads() {
+        return ConfigStore.getInstance()
+                .get(PROVIDER_FEATURES_ASYNC_VIRTUAL_THREADS.asNamed(prefix))
+                .map(Boolean::parseBoolean)
+                .orElse(false);
+    }
+
     public String providerAgentClass() {
         return ConfigStore.getInstance()
                 .get(PROVIDER_AGENT_CLASS.asNamed(prefix))
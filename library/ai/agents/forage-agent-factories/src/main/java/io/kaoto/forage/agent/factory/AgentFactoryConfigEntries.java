@@ -20,12 +20,16 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public final class AgentFactoryConfigEntries extends ConfigEntries {
     public static final String FEATURE_MEMORY = "memory";
+    public static final String FEATURE_STREAMING = "streaming";
+    public static final String FEATURE_ASYNC = "async";
     public static final ConfigModule PROVIDER_MODEL_FACTORY_CLASS =
             ConfigModule.of(AgentFactoryConfig.class, "forage.provider.model.factory.class");
     public static final ConfigModule PROVIDER_FEATURES =
             ConfigModule.of(AgentFactoryConfig.class, "forage.provider.features");
     public static final ConfigModule PROVIDER_FEATURES_MEMORY_FACTORY_CLASS =
             ConfigModule.of(AgentFactoryConfig.class, "forage.provider.features.memory.factory.class");
+    public static final ConfigModule PROVIDER_FEATURES_ASYNC_VIRTUAL_THREADS =
+            ConfigModule.of(AgentFactoryConfig.class, "forage.provider.features.async.virtual.threads");
     public static final ConfigModule PROVIDER_AGENT_CLASS =
             ConfigModule.of(AgentFactoryConfig.class, "forage.provider.agent.class");
     public static final ConfigModule GUARDRAILS_INPUT_CLASSES =
@@ -43,6 +47,7 @@ public final class AgentFactoryConfigEntries extends ConfigEntries {
         CONFIG_MODULES.put(PROVIDER_MODEL_FACTORY_CLASS, ConfigEntry.fromModule());
         CONFIG_MODULES.put(PROVIDER_FEATURES, ConfigEntry.fromModule());
         CONFIG_MODULES.put(PROVIDER_FEATURES_MEMORY_FACTORY_CLASS, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(PROVIDER_FEATURES_ASYNC_VIRTUAL_THREADS, ConfigEntry.fromModule());
         CONFIG_MODULES.put(PROVIDER_AGENT_CLASS, ConfigEntry.fromModule());
         CONFIG_MODULES.put(GUARDRAILS_INPUT_CLASSES, ConfigEntry.fromModule());
         CONFIG_MODULES.put(GUARDRAILS_OUTPUT_CLASSES, ConfigEntry.fromModule());
@@ -61,12 +66,7 @@ public final class AgentFactoryConfigEntries extends ConfigEntries {
      * @param prefix the prefix to register
      */
     public static void register(String prefix) {
-        if (prefix != null) {
-            for (Map.Entry<ConfigModule, ConfigEntry> entry : entries().entrySet()) {
-                ConfigModule configModule = entry.getKey().asNamed(prefix);
-                CONFIG_MODULES.put(configModule, ConfigEntry.fromModule());
-            }
-        }
+        register(CONFIG_MODULES, prefix);
     }
 
     /**
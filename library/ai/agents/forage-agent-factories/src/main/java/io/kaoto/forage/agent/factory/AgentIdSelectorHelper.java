@@ -15,11 +15,14 @@ public class AgentIdSelectorHelper {
     /**
      * Creates an AgentIdSource implementation based on the specified source type.
      *
+     * <p>The selector only depends on the configuration, so it is meant to be created once and reused for every
+     * exchange, rather than created per exchange.
+     *
      * @param config The MultiAgentConfig containing configuration for the source
      * @return An appropriate AgentIdSource implementation
      * @throws IllegalArgumentException if the source type is unknown or unsupported
      */
-    private static AgentSelector create(MultiAgentConfig config) {
+    public static AgentSelector create(MultiAgentConfig config) {
         String sourceType = config.multiAgentIdSource();
 
         switch (sourceType.toLowerCase()) {
@@ -106,10 +109,30 @@ public class AgentIdSelectorHelper {
         }
     }
 
+    /**
+     * Selects the agent ID of an exchange, creating the selector from the configuration first.
+     *
+     * @param config The MultiAgentConfig containing configuration for the source
+     * @param exchange The Exchange from which to extract the agent ID
+     * @return the agent ID
+     * @see #select(AgentSelector, Exchange)
+     */
     public static String select(MultiAgentConfig config, Exchange exchange) {
-        AgentSelector agentSelector = AgentIdSelectorHelper.create(config);
+        return select(create(config), exchange);
+    }
+
+    /**
+     * Selects the agent ID of an exchange with a selector created by {@link #create(MultiAgentConfig)}.
+     *
+     * @param agentSelector the selector extracting the agent ID
+     * @param exchange The Exchange from which to extract the agent ID
+     * @return the agent ID
+     */
+    public static String select(AgentSelector agentSelector, Exchange exchange) {
         String agentId = agentSelector.select(exchange);
-        LOG.info("Creating Agent for {} using ID {}", exchange.getExchangeId(), agentId);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Selected Agent ID {} for {}", agentId, exchange.getExchangeId());
+        }
         return agentId;
     }
 }
@@ -0,0 +1,12 @@
+package io.kaoto.forage.agent.factory;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Implemented by agents that can be invoked asynchronously, when the {@code async} feature is enabled. The executor
+ * runs the blocking model calls, so that the Camel consumer threads are released during the model round trip.
+ */
+public interface AsyncConfigurationAware {
+
+    void configureAsync(Executor executor);
+}
@@ -0,0 +1,30 @@
+package io.kaoto.forage.agent.factory;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Implemented by agents that can batch the prompts submitted asynchronously, when the {@code batch} feature is
+ * enabled. Prompts arriving within a time window, or until the batch is full, are dispatched together on the
+ * executor, with at most {@code parallelism} model calls in flight. At most {@code maxQueued} prompts wait for a model
+ * call, the prompts submitted beyond being rejected.
+ */
+public interface BatchingConfigurationAware {
+
+    /**
+     * @param maxBatchSize the number of prompts dispatching the batch before the end of the window
+     * @param window how long the first prompt of a batch waits for others
+     * @param parallelism the maximum number of model calls in flight
+     * @param maxQueued the maximum number of prompts waiting for a model call
+     * @param scheduler the scheduler ending the windows
+     * @param executor the executor running the model calls
+     */
+    void configureBatching(
+            int maxBatchSize,
+            Duration window,
+            int parallelism,
+            int maxQueued,
+            ScheduledExecutorService scheduler,
+            Executor executor);
+}
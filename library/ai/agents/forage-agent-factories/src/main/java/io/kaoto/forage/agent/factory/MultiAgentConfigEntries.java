@@ -59,12 +59,7 @@ public final class MultiAgentConfigEntries extends ConfigEntries {
      * @param prefix the prefix to register
      */
     public static void register(String prefix) {
-        if (prefix != null) {
-            for (Map.Entry<ConfigModule, ConfigEntry> entry : entries().entrySet()) {
-                ConfigModule configModule = entry.getKey().asNamed(prefix);
-                CONFIG_MODULES.put(configModule, ConfigEntry.fromModule());
-            }
-        }
+        register(CONFIG_MODULES, prefix);
     }
 
     /**
@@ -4,12 +4,15 @@ import dev.langchain4j.memory.chat.ChatMemoryProvider;
 import dev.langchain4j.model.chat.ChatModel;
 import io.kaoto.forage.core.ai.ChatMemoryBeanProvider;
 import io.kaoto.forage.core.ai.ModelProvider;
-import io.kaoto.forage.core.common.ServiceLoaderHelper;
+import io.kaoto.forage.core.ai.StreamingModelProvider;
+import io.kaoto.forage.core.common.ProviderRegistry;
 import io.kaoto.forage.core.exceptions.RuntimeForageException;
 import io.kaoto.forage.core.util.config.ConfigStore;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -29,10 +32,13 @@ public class MultiAgentFactory implements AgentFactory {
 
     private CamelContext camelContext;
     private final MultiAgentConfig config = new MultiAgentConfig();
+    private final AgentSelector agentSelector = AgentIdSelectorHelper.create(config);
+    private final AgentExecutors executors = new AgentExecutors(this);
 
     private record AgentPair(AgentFactoryConfig agentFactoryConfig, Agent agent) {}
 
-    private Map<String, AgentPair> agents = new ConcurrentHashMap<>();
+    // Each agent is created once, by the first caller asking for it, while the others wait on its future
+    private final Map<String, CompletableFuture<AgentPair>> agents = new ConcurrentHashMap<>();
 
     public MultiAgentFactory() {
         LOG.trace("Creating MultiAgentFactory");
@@ -50,71 +56,80 @@ public class MultiAgentFactory implements AgentFactory {
         return camelContext;
     }
 
-    private List<ServiceLoader.Provider<ModelProvider>> findModelProviders() {
-        ServiceLoader<ModelProvider> modelLoader =
-                ServiceLoader.load(ModelProvider.class, camelContext.getApplicationContextClassLoader());
-
-        return modelLoader.stream().toList();
-    }
-
-    private List<ServiceLoader.Provider<Agent>> findAgents() {
-        ServiceLoader<Agent> serviceLoader =
-                ServiceLoader.load(Agent.class, camelContext.getApplicationContextClassLoader());
-
-        return serviceLoader.stream().toList();
+    private ProviderRegistry providerRegistry() {
+        return ProviderRegistry.of(camelContext.getApplicationContextClassLoader());
     }
 
-    private List<ServiceLoader.Provider<ChatMemoryBeanProvider>> findChatMemoryFactories() {
-        ServiceLoader<ChatMemoryBeanProvider> serviceLoader =
-                ServiceLoader.load(ChatMemoryBeanProvider.class, camelContext.getApplicationContextClassLoader());
-
-        return serviceLoader.stream().toList();
-    }
-
-    public synchronized Agent createAgent(Exchange exchange, String agentId) throws Exception {
+    public Agent createAgent(Exchange exchange, String agentId) throws Exception {
         if (LOG.isTraceEnabled()) {
-            LOG.debug("Available agents: {}", agents);
+            LOG.trace("Available agents: {}", agents.keySet());
         }
 
-        if (agents.containsKey(agentId)) {
+        final CompletableFuture<AgentPair> existing = agentId != null ? agents.get(agentId) : null;
+        if (existing != null) {
             LOG.debug("Reusing existing Agent for {}", agentId);
-            final AgentPair agentPair = agents.get(agentId);
-            return agentPair.agent;
+            return await(existing).agent();
         }
 
         final List<String> definedAgents = config.multiAgentNames();
 
         if (definedAgents.contains(agentId)) {
-            LOG.info("Creating new Agent for {}", agentId);
-            AgentFactoryConfig aFactoryConfig = new AgentFactoryConfig(agentId);
+            final CompletableFuture<AgentPair> created = new CompletableFuture<>();
+            final CompletableFuture<AgentPair> concurrent = agents.putIfAbsent(agentId, created);
+            if (concurrent != null) {
+                LOG.debug("Waiting for the Agent being created for {}", agentId);
+                return await(concurrent).agent();
+            }
 
-            LOG.info("Using factory {} for {}", aFactoryConfig.name(), agentId);
+            try {
+                LOG.info("Creating new Agent for {}", agentId);
+                AgentFactoryConfig aFactoryConfig = new AgentFactoryConfig(agentId);
 
-            Agent agent = newAgent(aFactoryConfig, agentId);
+                LOG.info("Using factory {} for {}", aFactoryConfig.name(), agentId);
 
-            LOG.info("Using agent {} for {}", agent, agentId);
-            agents.put(agentId, new AgentPair(aFactoryConfig, agent));
+                Agent agent = newAgent(aFactoryConfig, agentId);
 
-            return agent;
+                LOG.info("Using agent {} for {}", agent, agentId);
+                created.complete(new AgentPair(aFactoryConfig, agent));
+
+                return agent;
+            } catch (RuntimeException | Error e) {
+                // Let the next exchange try again, rather than failing every exchange with the same error
+                agents.remove(agentId, created);
+                created.completeExceptionally(e);
+                throw e;
+            }
         }
 
         throw AgentIdSelectorHelper.newUndefinedAgentException(config, exchange);
     }
 
-    public synchronized Agent createAgent(Exchange exchange) throws Exception {
-        final String agentId = AgentIdSelectorHelper.select(config, exchange);
+    public Agent createAgent(Exchange exchange) throws Exception {
+        final String agentId = AgentIdSelectorHelper.select(agentSelector, exchange);
 
         return createAgent(exchange, agentId);
     }
 
-    private synchronized Agent newAgent(AgentFactoryConfig agentFactoryConfig, String name) {
+    private static AgentPair await(CompletableFuture<AgentPair> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private Agent newAgent(AgentFactoryConfig agentFactoryConfig, String name) {
         final String agentFactoryClass = agentFactoryConfig.providerAgentClass();
         LOG.info("Creating Agent of type {}", agentFactoryClass);
 
-        final List<ServiceLoader.Provider<Agent>> providers = findAgents();
-
         final ServiceLoader.Provider<Agent> agentProvider =
-                ServiceLoaderHelper.findProviderByClassName(providers, agentFactoryClass);
+                providerRegistry().findByClassName(Agent.class, agentFactoryClass);
 
         if (agentProvider == null) {
             LOG.warn("Agent {} has no provider for {}", name, agentFactoryClass);
@@ -128,9 +143,8 @@ public class MultiAgentFactory implements AgentFactory {
         final String modelFactoryClass = agentFactoryConfig.providerModelFactoryClass();
         LOG.trace("Creating ModelProvider of type {}", modelFactoryClass);
 
-        final List<ServiceLoader.Provider<ModelProvider>> providers = findModelProviders();
         final ServiceLoader.Provider<ModelProvider> modelProvider =
-                ServiceLoaderHelper.findProviderByClassName(providers, modelFactoryClass);
+                providerRegistry().findByClassName(ModelProvider.class, modelFactoryClass);
 
         if (modelProvider == null) {
             return null;
@@ -142,10 +156,8 @@ public class MultiAgentFactory implements AgentFactory {
     private ChatMemoryBeanProvider newChatMemoryFactory(AgentFactoryConfig agentFactoryConfig) {
         final String chatFactoryClass = agentFactoryConfig.providerFeaturesMemoryFactoryClass();
         LOG.trace("Creating ChatMemoryFactory of type {}", chatFactoryClass);
-        final List<ServiceLoader.Provider<ChatMemoryBeanProvider>> providers = findChatMemoryFactories();
-
         final ServiceLoader.Provider<ChatMemoryBeanProvider> chatMemoryFactoryProvider =
-                ServiceLoaderHelper.findProviderByClassName(providers, chatFactoryClass);
+                providerRegistry().findByClassName(ChatMemoryBeanProvider.class, chatFactoryClass);
 
         if (chatMemoryFactoryProvider == null) {
             return null;
@@ -186,11 +198,49 @@ public class MultiAgentFactory implements AgentFactory {
             setGuardrail(outputGuardrailsList, agentConfiguration::withOutputGuardrailClasses);
 
             configurationAware.configure(agentConfiguration);
+
+            if (features.contains(AgentFactoryConfigEntries.FEATURE_STREAMING)) {
+                configureStreaming(agent, modelProvider);
+            }
+        }
+
+        if (agentFactoryConfig.providerFeatures().contains(AgentFactoryConfigEntries.FEATURE_ASYNC)) {
+            configureAsync(agent, agentFactoryConfig);
         }
 
         return agent;
     }
 
+    private static void configureStreaming(Agent agent, ModelProvider modelProvider) {
+        if (!(agent instanceof StreamingConfigurationAware streamingConfigurationAware)) {
+            LOG.warn(
+                    "Streaming is enabled, but agent {} cannot stream its responses",
+                    agent.getClass().getName());
+            return;
+        }
+        if (!(modelProvider instanceof StreamingModelProvider streamingModelProvider)) {
+            LOG.warn(
+                    "Streaming is enabled, but model provider {} cannot create streaming models",
+                    modelProvider.getClass().getName());
+            return;
+        }
+
+        LOG.trace("Creating the streaming model");
+        streamingConfigurationAware.configureStreaming(streamingModelProvider.createStreaming());
+    }
+
+    private void configureAsync(Agent agent, AgentFactoryConfig agentFactoryConfig) {
+        if (!(agent instanceof AsyncConfigurationAware asyncConfigurationAware)) {
+            LOG.warn(
+                    "Async is enabled, but agent {} cannot be invoked asynchronously",
+                    agent.getClass().getName());
+            return;
+        }
+
+        asyncConfigurationAware.configureAsync(
+                executors.executor(camelContext, agentFactoryConfig.providerFeaturesAsyncVirtualThreads()));
+    }
+
     /**
      * The configuration comes as a list of classes in String format, but we need the list to be a list of Classes.
      * @param classesList
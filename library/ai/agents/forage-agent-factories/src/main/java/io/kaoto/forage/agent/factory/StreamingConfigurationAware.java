@@ -0,0 +1,12 @@
+package io.kaoto.forage.agent.factory;
+
+import dev.langchain4j.model.chat.StreamingChatModel;
+
+/**
+ * Implemented by agents that can stream their responses token by token, when the {@code streaming} feature is
+ * enabled and the model provider can create a streaming model.
+ */
+public interface StreamingConfigurationAware {
+
+    void configureStreaming(StreamingChatModel streamingChatModel);
+}
@@ -0,0 +1,72 @@
+package io.kaoto.forage.agent.factory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AgentExecutorsTest {
+
+    private DefaultCamelContext camelContext;
+    private AgentExecutors executors;
+
+    @BeforeEach
+    void setUp() {
+        camelContext = new DefaultCamelContext();
+        camelContext.start();
+        executors = new AgentExecutors(this);
+    }
+
+    @AfterEach
+    void tearDown() {
+        camelContext.stop();
+    }
+
+    @Test
+    void sharesTheExecutorOfAFactory() {
+        ExecutorService executor = executors.executor(camelContext, false);
+
+        assertThat(executors.executor(camelContext, false)).isSameAs(executor);
+        assertThat(runsOn(executor)).startsWith("Camel");
+    }
+
+    @Test
+    void createsAnotherExecutorOnceTheContextStartsAgain() throws Exception {
+        ExecutorService stopped = executors.executor(camelContext, false);
+
+        camelContext.stop();
+        camelContext.start();
+        ExecutorService started = executors.executor(camelContext, false);
+
+        assertThat(stopped.isShutdown()).isTrue();
+        assertThat(started).isNotSameAs(stopped);
+        assertThat(runsOn(started)).isNotNull();
+    }
+
+    @Test
+    void fallsBackToAPoolWithoutVirtualThreads() throws Exception {
+        ExecutorService executor = executors.executor(camelContext, true);
+
+        assertThat(runsOn(executor)).isNotNull();
+        camelContext.stop();
+        camelContext.start();
+        // The virtual thread executor, if any, is shut down with the context and created again as well
+        ExecutorService started = executors.executor(camelContext, true);
+        assertThat(started).isNotSameAs(executor);
+        assertThat(runsOn(started)).isNotNull();
+    }
+
+    private static String runsOn(ExecutorService executor) {
+        try {
+            return CompletableFuture.supplyAsync(() -> Thread.currentThread().getName(), executor)
+                    .get(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new AssertionError("The executor did not run the task", e);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package io.kaoto.forage.agent.factory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import dev.langchain4j.service.tool.ToolProvider;
+import io.kaoto.forage.core.util.config.ConfigModule;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.camel.Exchange;
+import org.apache.camel.component.langchain4j.agent.api.Agent;
+import org.apache.camel.component.langchain4j.agent.api.AiAgentBody;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MultiAgentFactoryTest {
+
+    private DefaultCamelContext camelContext;
+    private MultiAgentFactory factory;
+    private Exchange exchange;
+
+    @BeforeEach
+    void setUp() {
+        System.setProperty("forage.multi.agent.names", "slow,flaky");
+        System.setProperty("forage.slow.provider.agent.class", SlowAgent.class.getName());
+        System.setProperty("forage.flaky.provider.agent.class", FlakyAgent.class.getName());
+
+        camelContext = new DefaultCamelContext();
+        camelContext.setApplicationContextClassLoader(MultiAgentFactoryTest.class.getClassLoader());
+        camelContext.start();
+        factory = new MultiAgentFactory();
+        factory.setCamelContext(camelContext);
+        exchange = new DefaultExchange(camelContext);
+    }
+
+    @AfterEach
+    void tearDown() {
+        camelContext.stop();
+        System.clearProperty("forage.multi.agent.names");
+        System.clearProperty("forage.slow.provider.agent.class");
+        System.clearProperty("forage.flaky.provider.agent.class");
+    }
+
+    @Test
+    void createsAnAgentOnceForConcurrentCallers() throws Exception {
+        SlowAgent.created.set(0);
+        SlowAgent.release = new CountDownLatch(1);
+        ConcurrentLinkedQueue<Object> results = new ConcurrentLinkedQueue<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    results.add(factory.createAgent(exchange, "slow"));
+                } catch (Exception e) {
+                    results.add(e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        // One caller creates the agent while the others wait for it
+        awaitWaiting(threads);
+        SlowAgent.release.countDown();
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+
+        assertThat(SlowAgent.created.get()).isOne();
+        assertThat(results).hasSize(8).allSatisfy(result -> assertThat(result)
+                .isSameAs(results.peek())
+                .isInstanceOf(SlowAgent.class));
+        assertThat(factory.createAgent(exchange, "slow")).isSameAs(results.peek());
+    }
+
+    @Test
+    void createsAnAgentAgainAfterAFailedCreation() throws Exception {
+        FlakyAgent.failures.set(1);
+
+        Throwable failure = catchThrowable(() -> factory.createAgent(exchange, "flaky"));
+        Agent agent = factory.createAgent(exchange, "flaky");
+
+        assertThat(failure).isNotNull();
+        assertThat(agent).isInstanceOf(FlakyAgent.class);
+        assertThat(factory.createAgent(exchange, "flaky")).isSameAs(agent);
+    }
+
+    @Test
+    void createsTheSelectorOnceAndReusesItAcrossExchanges() throws Exception {
+        System.setProperty("forage.multi.agent.id.source", MultiAgentConfig.HEADER);
+        System.setProperty("forage.multi.agent.id.source.header", "agent");
+        try {
+            MultiAgentFactory headerFactory = new MultiAgentFactory();
+            headerFactory.setCamelContext(camelContext);
+
+            // A selector created per exchange would now read the agent ID from another header
+            ConfigStore.getInstance().set(MultiAgentConfigEntries.MULTI_AGENT_ID_SOURCE_HEADER, "other");
+
+            Exchange slow = new DefaultExchange(camelContext);
+            slow.getMessage().setHeader("agent", "slow");
+            Exchange flaky = new DefaultExchange(camelContext);
+            flaky.getMessage().setHeader("agent", "flaky");
+
+            assertThat(headerFactory.createAgent(slow)).isInstanceOf(SlowAgent.class);
+            assertThat(headerFactory.createAgent(flaky)).isInstanceOf(FlakyAgent.class);
+            assertThat(headerFactory.createAgent(slow)).isSameAs(headerFactory.createAgent(slow));
+        } finally {
+            System.clearProperty("forage.multi.agent.id.source");
+            System.clearProperty("forage.multi.agent.id.source.header");
+            Map<ConfigModule, String> cleared = new HashMap<>();
+            cleared.put(MultiAgentConfigEntries.MULTI_AGENT_ID_SOURCE, null);
+            cleared.put(MultiAgentConfigEntries.MULTI_AGENT_ID_SOURCE_HEADER, null);
+            ConfigStore.getInstance().setAll(cleared);
+        }
+    }
+
+    @Test
+    void rejectsAnUndefinedAgent() {
+        assertThat(catchThrowable(() -> factory.createAgent(exchange, "undefined")))
+                .isNotNull();
+    }
+
+    private static void awaitWaiting(List<Thread> threads) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        // The creating caller waits for the release with a timeout, the others wait for the agent without one
+        while (!threads.stream()
+                        .allMatch(thread -> thread.getState() == Thread.State.WAITING
+                                || thread.getState() == Thread.State.TIMED_WAITING)
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    public static final class SlowAgent implements Agent {
+        static final AtomicInteger created = new AtomicInteger();
+        static volatile CountDownLatch release = new CountDownLatch(0);
+
+        public SlowAgent() throws InterruptedException {
+            created.incrementAndGet();
+            release.await(10, TimeUnit.SECONDS);
+        }
+
+        @Override
+        public String chat(AiAgentBody<?> aiAgentBody, ToolProvider toolProvider) {
+            return aiAgentBody.getUserMessage();
+        }
+    }
+
+    public static final class FlakyAgent implements Agent {
+        static final AtomicInteger failures = new AtomicInteger();
+
+        public FlakyAgent() {
+            if (failures.getAndDecrement() > 0) {
+                throw new IllegalStateException("Not ready yet");
+            }
+        }
+
+        @Override
+        public String chat(AiAgentBody<?> aiAgentBody, ToolProvider toolProvider) {
+            return aiAgentBody.getUserMessage();
+        }
+    }
+}
@@ -3,18 +3,36 @@ package io.kaoto.forage.agent;
 import dev.langchain4j.memory.chat.ChatMemoryProvider;
 import dev.langchain4j.memory.chat.MessageWindowChatMemory;
 import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import io.kaoto.forage.agent.factory.AgentExecutors;
+import io.kaoto.forage.agent.factory.AsyncConfigurationAware;
+import io.kaoto.forage.agent.factory.BatchingConfigurationAware;
 import io.kaoto.forage.agent.factory.ConfigurationAware;
+import io.kaoto.forage.agent.factory.StreamingConfigurationAware;
+import io.kaoto.forage.agent.simple.SimpleAgent;
 import io.kaoto.forage.core.ai.ChatMemoryBeanProvider;
 import io.kaoto.forage.core.ai.ModelProvider;
+import io.kaoto.forage.core.ai.StreamingModelProvider;
+import io.kaoto.forage.core.ai.cache.CachingChatModel;
+import io.kaoto.forage.core.ai.cache.SemanticResponseIndex;
+import io.kaoto.forage.core.ai.routing.RoutedBackend;
+import io.kaoto.forage.core.ai.routing.RoutedChatModel;
 import io.kaoto.forage.core.annotations.FactoryType;
-import io.kaoto.forage.core.annotations.ForageBean;
 import io.kaoto.forage.core.annotations.ForageFactory;
 import io.kaoto.forage.core.common.BeanFactory;
-import io.kaoto.forage.core.util.config.ConfigHelper;
+import io.kaoto.forage.core.instrumentation.ForageInstrumentation;
+import io.kaoto.forage.core.instrumentation.StepType;
+import io.kaoto.forage.core.util.config.ConfigOverlay;
 import io.kaoto.forage.core.util.config.ConfigStore;
+import io.kaoto.forage.core.vectordb.EmbeddingStoreProvider;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import org.apache.camel.CamelContext;
 import org.apache.camel.component.langchain4j.agent.api.Agent;
 import org.apache.camel.component.langchain4j.agent.api.AgentConfiguration;
@@ -58,22 +76,32 @@ public class AgentBeanFactory implements BeanFactory {
     private CamelContext camelContext;
     private static final String DEFAULT_AGENT = "agent";
     private static final String FEATURE_MEMORY = "memory";
+    private static final String FEATURE_STREAMING = "streaming";
+    private static final String FEATURE_ASYNC = "async";
+    private static final String FEATURE_CACHE = "cache";
+    private static final String FEATURE_BATCH = "batch";
+    private static final String ROUTED_MODEL_KIND = "routed";
+
+    // The data sources and connection factories the tools and routes of an agent may use are bound first
+    private static final Set<String> CONFIGURE_AFTER =
+            Set.of("io.kaoto.forage.jdbc.DataSourceBeanFactory", "io.kaoto.forage.jms.ConnectionFactoryBeanFactory");
+
+    private final AgentExecutors executors = new AgentExecutors(this);
+    private ScheduledExecutorService batchScheduler;
 
     @Override
     public void configure() {
         AgentConfig defaultConfig = new AgentConfig();
 
         // Auto-detect prefixes from properties like "google.agent.*", "ollama.agent.*"
-        Set<String> prefixes =
-                ConfigStore.getInstance().readPrefixes(defaultConfig, ConfigHelper.getNamedPropertyRegexp("agent"));
+        Set<String> prefixes = ConfigStore.getInstance().readNamedPrefixes(defaultConfig, "agent");
 
         if (!prefixes.isEmpty()) {
             LOG.info("Detected agent prefixes: {}", prefixes);
             configureMultiAgent(prefixes);
         } else {
             // Check if there's a default (non-prefixed) agent configuration
-            Set<String> defaultPrefixes = ConfigStore.getInstance()
-                    .readPrefixes(defaultConfig, ConfigHelper.getDefaultPropertyRegexp("agent"));
+            Set<String> defaultPrefixes = ConfigStore.getInstance().readDefaultPrefixes(defaultConfig, "agent");
             if (!defaultPrefixes.isEmpty()) {
                 LOG.info("Detected default agent configuration");
                 configureDefaultAgent();
@@ -85,12 +113,12 @@ public class AgentBeanFactory implements BeanFactory {
 
     private void configureMultiAgent(Set<String> prefixes) {
         for (String agentName : prefixes) {
-            if (camelContext.getRegistry().lookupByNameAndType(agentName, Agent.class) == null) {
+            if (lookup(agentName, Agent.class) == null) {
                 try {
                     AgentConfig agentConfig = new AgentConfig(agentName);
                     Agent agent = createAgent(agentConfig, agentName);
                     if (agent != null) {
-                        camelContext.getRegistry().bind(agentName, agent);
+                        bind(agentName, agent);
                         LOG.info("Registered Agent bean with name: {}", agentName);
                     }
                 } catch (Exception e) {
@@ -102,12 +130,12 @@ public class AgentBeanFactory implements BeanFactory {
     }
 
     private void configureDefaultAgent() {
-        if (camelContext.getRegistry().lookupByNameAndType(DEFAULT_AGENT, Agent.class) == null) {
+        if (lookup(DEFAULT_AGENT, Agent.class) == null) {
             try {
                 AgentConfig agentConfig = new AgentConfig();
                 Agent agent = createAgent(agentConfig, DEFAULT_AGENT);
                 if (agent != null) {
-                    camelContext.getRegistry().bind(DEFAULT_AGENT, agent);
+                    bind(DEFAULT_AGENT, agent);
                     LOG.info("Registered default Agent bean with name: {}", DEFAULT_AGENT);
                 }
             } catch (Exception e) {
@@ -133,12 +161,16 @@ public class AgentBeanFactory implements BeanFactory {
             return null;
         }
 
+        if (config.hasFeature(FEATURE_CACHE)) {
+            chatModel = createCachingChatModel(config, chatModel, name);
+        }
+
         // Create memory provider if enabled
         ChatMemoryProvider chatMemoryProvider = null;
         if (config.hasFeature(FEATURE_MEMORY)) {
             String memoryKind = config.memoryKind();
             if (memoryKind != null) {
-                chatMemoryProvider = createMemoryProvider(config, memoryKind);
+                chatMemoryProvider = createMemoryProvider(config, memoryKind, name);
             } else {
                 // Default to message-window memory
                 chatMemoryProvider = createDefaultMemoryProvider(config);
@@ -159,63 +191,224 @@ public class AgentBeanFactory implements BeanFactory {
             configurationAware.configure(agentConfiguration);
         }
 
+        if (config.hasFeature(FEATURE_STREAMING)) {
+            configureStreaming(agent, config, modelKind, name);
+        }
+
+        if (config.hasFeature(FEATURE_ASYNC)) {
+            configureAsync(agent, config, name);
+        }
+
+        if (config.hasFeature(FEATURE_BATCH)) {
+            configureBatching(agent, config, name);
+        }
+
+        if (agent instanceof SimpleAgent simpleAgent) {
+            ForageInstrumentation.registerCache("ai-service", name, simpleAgent.serviceCacheStatistics());
+        }
+
         return agent;
     }
 
+    private void configureStreaming(Agent agent, AgentConfig config, String modelKind, String agentName) {
+        if (!(agent instanceof StreamingConfigurationAware streamingConfigurationAware)) {
+            LOG.warn("Streaming is enabled for agent '{}', but the agent cannot stream its responses", agentName);
+            return;
+        }
+
+        ServiceLoader.Provider<ModelProvider> provider = findProviderByKind(ModelProvider.class, modelKind);
+        if (provider == null || !StreamingModelProvider.class.isAssignableFrom(provider.type())) {
+            LOG.warn("Streaming is enabled for agent '{}', but model kind {} cannot stream", agentName, modelKind);
+            return;
+        }
+
+        String prefix = DEFAULT_AGENT.equals(agentName) ? null : agentName;
+        ConfigOverlay overlay = providerConfigOverlay(config, modelKind, prefix);
+        StreamingModelProvider streamingModelProvider = (StreamingModelProvider) provider.get();
+        StreamingChatModel streamingChatModel = ForageInstrumentation.call(
+                StepType.BEAN_CREATE, agentName, () -> streamingModelProvider.createStreaming(prefix, overlay));
+        streamingConfigurationAware.configureStreaming(streamingChatModel);
+    }
+
+    private void configureBatching(Agent agent, AgentConfig config, String agentName) {
+        if (!(agent instanceof BatchingConfigurationAware batchingConfigurationAware)) {
+            LOG.warn("Batching is enabled for agent '{}', but the agent cannot batch its prompts", agentName);
+            return;
+        }
+
+        if (batchScheduler == null) {
+            batchScheduler =
+                    camelContext.getExecutorServiceManager().newSingleThreadScheduledExecutor(this, "ForageAgentBatch");
+        }
+
+        LOG.info(
+                "Batching the prompts of agent '{}' ({} prompts or {} ms, {} calls in flight, up to {} waiting)",
+                agentName,
+                config.batchMaxSize(),
+                config.batchWindowMillis(),
+                config.batchParallelism(),
+                config.batchMaxQueued());
+        batchingConfigurationAware.configureBatching(
+                config.batchMaxSize(),
+                Duration.ofMillis(config.batchWindowMillis()),
+                config.batchParallelism(),
+                config.batchMaxQueued(),
+                batchScheduler,
+                executors.executor(camelContext, config.asyncVirtualThreads()));
+    }
+
+    private ChatModel createCachingChatModel(AgentConfig config, ChatModel chatModel, String agentName) {
+        SemanticResponseIndex semanticIndex = null;
+        String embeddingModelName = config.cacheSemanticEmbeddingModel();
+        if (embeddingModelName != null) {
+            semanticIndex = createSemanticResponseIndex(config, embeddingModelName, agentName);
+        }
+
+        LOG.info(
+                "Caching the responses of agent '{}' ({} entries, {} s, {} matching)",
+                agentName,
+                config.cacheMaxEntries(),
+                config.cacheTtlSeconds(),
+                semanticIndex != null ? "semantic" : "exact");
+        CachingChatModel cachingChatModel = new CachingChatModel(
+                chatModel,
+                config.cacheMaxEntries(),
+                TimeUnit.SECONDS.toNanos(config.cacheTtlSeconds()),
+                semanticIndex,
+                config.cacheIgnoreCase());
+        ForageInstrumentation.registerCache("chat-response", agentName, cachingChatModel.statistics());
+        return cachingChatModel;
+    }
+
+    private SemanticResponseIndex createSemanticResponseIndex(
+            AgentConfig config, String embeddingModelName, String agentName) {
+        EmbeddingModel embeddingModel = lookup(embeddingModelName, EmbeddingModel.class);
+        if (embeddingModel == null) {
+            LOG.warn(
+                    "No embedding model named '{}' for the response cache of agent '{}', using exact matches only",
+                    embeddingModelName,
+                    agentName);
+            return null;
+        }
+
+        String storeKind = config.cacheSemanticStoreKind();
+        ServiceLoader.Provider<EmbeddingStoreProvider> provider =
+                storeKind != null ? findProviderByKind(EmbeddingStoreProvider.class, storeKind) : null;
+        if (provider == null) {
+            LOG.warn(
+                    "No embedding store provider found for kind '{}' for the response cache of agent '{}', using exact matches only",
+                    storeKind,
+                    agentName);
+            return null;
+        }
+
+        String prefix = DEFAULT_AGENT.equals(agentName) ? null : agentName;
+        EmbeddingStoreProvider storeProvider = provider.get();
+        return new SemanticResponseIndex(
+                embeddingModel,
+                ForageInstrumentation.call(StepType.BEAN_CREATE, storeKind, () -> storeProvider.create(prefix)),
+                config.cacheSemanticMinScore());
+    }
+
+    private void configureAsync(Agent agent, AgentConfig config, String agentName) {
+        if (!(agent instanceof AsyncConfigurationAware asyncConfigurationAware)) {
+            LOG.warn("Async is enabled for agent '{}', but the agent cannot be invoked asynchronously", agentName);
+            return;
+        }
+
+        asyncConfigurationAware.configureAsync(executors.executor(camelContext, config.asyncVirtualThreads()));
+    }
+
     private ChatModel createChatModel(AgentConfig config, String modelKind, String agentName) {
-        // Find model provider by kind using ServiceLoader
-        List<ServiceLoader.Provider<ModelProvider>> providers = findModelProviders();
-
-        for (ServiceLoader.Provider<ModelProvider> provider : providers) {
-            Class<? extends ModelProvider> providerClass = provider.type();
-            ForageBean annotation = providerClass.getAnnotation(ForageBean.class);
-            if (annotation != null && annotation.value().equals(modelKind)) {
-                LOG.debug("Found model provider for kind '{}': {}", modelKind, providerClass.getName());
-                ModelProvider modelProvider = provider.get();
-
-                // Create model using unified config
-                return createChatModelFromConfig(config, modelKind, modelProvider, agentName);
-            }
+        if (ROUTED_MODEL_KIND.equals(modelKind)) {
+            return createRoutedChatModel(config, agentName);
+        }
+
+        // Find model provider by kind
+        ServiceLoader.Provider<ModelProvider> provider = findProviderByKind(ModelProvider.class, modelKind);
+        if (provider != null) {
+            LOG.debug(
+                    "Found model provider for kind '{}': {}",
+                    modelKind,
+                    provider.type().getName());
+            ModelProvider modelProvider = provider.get();
+
+            // Create model using unified config
+            return createChatModelFromConfig(config, modelKind, modelProvider, agentName);
         }
 
         LOG.warn("No model provider found for kind: {}", modelKind);
         return null;
     }
 
+    private ChatModel createRoutedChatModel(AgentConfig config, String agentName) {
+        List<RoutedBackend> backends = new ArrayList<>();
+        for (String backend : config.routedBackends()) {
+            // Each backend is "kind" or "kind:name", name being the prefix of its provider configuration
+            int separator = backend.indexOf(':');
+            String kind = separator < 0 ? backend : backend.substring(0, separator);
+            String prefix = separator < 0 ? null : backend.substring(separator + 1);
+
+            ServiceLoader.Provider<ModelProvider> provider = findProviderByKind(ModelProvider.class, kind);
+            if (provider == null) {
+                LOG.warn("No model provider found for kind '{}' of the routed model of agent '{}'", kind, agentName);
+                continue;
+            }
+            ModelProvider modelProvider = provider.get();
+            ChatModel chatModel =
+                    ForageInstrumentation.call(StepType.BEAN_CREATE, agentName, () -> modelProvider.create(prefix));
+            backends.add(new RoutedBackend(backend, chatModel));
+        }
+
+        if (backends.isEmpty()) {
+            LOG.warn("No backend configured for the routed model of agent '{}'", agentName);
+            return null;
+        }
+
+        Double hedgePercentile = config.routedHedgePercentile();
+        LOG.info(
+                "Routing the calls of agent '{}' to {} ({})",
+                agentName,
+                backends.stream().map(RoutedBackend::name).toList(),
+                hedgePercentile != null ? "hedged after p" + hedgePercentile : "not hedged");
+        return new RoutedChatModel(
+                backends,
+                config.routedEjectionFailures(),
+                Duration.ofSeconds(config.routedEjectionSeconds()),
+                hedgePercentile,
+                hedgePercentile != null ? executors.executor(camelContext, config.asyncVirtualThreads()) : null);
+    }
+
     private ChatModel createChatModelFromConfig(
             AgentConfig config, String modelKind, ModelProvider modelProvider, String agentName) {
-        // Map unified agent config values to provider-specific config keys
-        // Provider configs expect keys like: {prefix}.{provider}.api.key
-        // We have values in: {prefix}.agent.api.key
-        // So we need to set system properties that the provider's loadOverrides will pick up
-
-        String providerPrefix = getProviderConfigPrefix(modelKind);
         String prefix = DEFAULT_AGENT.equals(agentName) ? null : agentName;
-
-        // Set provider config values as system properties (provider's loadOverrides will pick these up)
-        setSystemPropertyIfNotNull(prefix, providerPrefix, "api.key", config.apiKey());
-        setSystemPropertyIfNotNull(prefix, providerPrefix, "model.name", config.modelName());
-        setSystemPropertyIfNotNull(prefix, providerPrefix, "base.url", config.baseUrl());
-        setSystemPropertyIfNotNull(prefix, providerPrefix, "temperature", config.temperature());
-        setSystemPropertyIfNotNull(prefix, providerPrefix, "max.tokens", config.maxTokens());
-        setSystemPropertyIfNotNull(prefix, providerPrefix, "top.p", config.topP());
-        setSystemPropertyIfNotNull(prefix, providerPrefix, "top.k", config.topK());
-        setSystemPropertyIfNotNull(prefix, providerPrefix, "endpoint", config.endpoint());
-        setSystemPropertyIfNotNull(prefix, providerPrefix, "deployment.name", config.deploymentName());
-        setSystemPropertyIfNotNull(prefix, providerPrefix, "log.requests", config.logRequests());
-        setSystemPropertyIfNotNull(prefix, providerPrefix, "log.responses", config.logResponses());
-
-        return modelProvider.create(prefix);
+        ConfigOverlay overlay = providerConfigOverlay(config, modelKind, prefix);
+        return ForageInstrumentation.call(StepType.BEAN_CREATE, agentName, () -> modelProvider.create(prefix, overlay));
     }
 
-    private void setSystemPropertyIfNotNull(String prefix, String providerPrefix, String key, Object value) {
-        if (value != null) {
-            String fullKey = prefix != null
-                    ? "forage." + prefix + "." + providerPrefix + "." + key
-                    : "forage." + providerPrefix + "." + key;
-            System.setProperty(fullKey, String.valueOf(value));
-            LOG.trace("Set system property: {}={}", fullKey, value);
-        }
+    /**
+     * Maps the unified agent config values to the provider-specific config keys: provider configs expect keys like
+     * {@code forage.{prefix}.{provider}.api.key}, while the values are in {@code forage.{prefix}.agent.api.key}. The
+     * values are handed to the provider through an overlay, rather than as system properties shared by the whole JVM.
+     */
+    private ConfigOverlay providerConfigOverlay(AgentConfig config, String modelKind, String prefix) {
+        String providerPrefix = getProviderConfigPrefix(modelKind);
+        String keyPrefix =
+                prefix != null ? "forage." + prefix + "." + providerPrefix + "." : "forage." + providerPrefix + ".";
+
+        return ConfigOverlay.builder()
+                .set(keyPrefix + "api.key", config.apiKey())
+                .set(keyPrefix + "model.name", config.modelName())
+                .set(keyPrefix + "base.url", config.baseUrl())
+                .set(keyPrefix + "temperature", config.temperature())
+                .set(keyPrefix + "max.tokens", config.maxTokens())
+                .set(keyPrefix + "top.p", config.topP())
+                .set(keyPrefix + "top.k", config.topK())
+                .set(keyPrefix + "endpoint", config.endpoint())
+                .set(keyPrefix + "deployment.name", config.deploymentName())
+                .set(keyPrefix + "log.requests", config.logRequests())
+                .set(keyPrefix + "log.responses", config.logResponses())
+                .build();
     }
 
     private String getProviderConfigPrefix(String modelKind) {
@@ -235,17 +428,18 @@ public class AgentBeanFactory implements BeanFactory {
         };
     }
 
-    private ChatMemoryProvider createMemoryProvider(AgentConfig config, String memoryKind) {
-        List<ServiceLoader.Provider<ChatMemoryBeanProvider>> providers = findMemoryProviders();
-
-        for (ServiceLoader.Provider<ChatMemoryBeanProvider> provider : providers) {
-            Class<? extends ChatMemoryBeanProvider> providerClass = provider.type();
-            ForageBean annotation = providerClass.getAnnotation(ForageBean.class);
-            if (annotation != null && annotation.value().equals(memoryKind)) {
-                LOG.debug("Found memory provider for kind '{}': {}", memoryKind, providerClass.getName());
-                ChatMemoryBeanProvider memoryProvider = provider.get();
-                return memoryProvider.create();
-            }
+    private ChatMemoryProvider createMemoryProvider(AgentConfig config, String memoryKind, String agentName) {
+        ServiceLoader.Provider<ChatMemoryBeanProvider> provider =
+                findProviderByKind(ChatMemoryBeanProvider.class, memoryKind);
+        if (provider != null) {
+            LOG.debug(
+                    "Found memory provider for kind '{}': {}",
+                    memoryKind,
+                    provider.type().getName());
+            // Named agents get their own memory, configured with their name
+            String prefix = DEFAULT_AGENT.equals(agentName) ? null : agentName;
+            ChatMemoryBeanProvider memoryProvider = provider.get();
+            return ForageInstrumentation.call(StepType.BEAN_CREATE, memoryKind, () -> memoryProvider.create(prefix));
         }
 
         LOG.warn("No memory provider found for kind '{}', using default", memoryKind);
@@ -261,28 +455,16 @@ public class AgentBeanFactory implements BeanFactory {
     }
 
     private Agent findAndCreateAgent() {
-        List<ServiceLoader.Provider<Agent>> providers = findAgents();
+        List<ServiceLoader.Provider<Agent>> providers = findProviders(Agent.class);
         if (!providers.isEmpty()) {
             return providers.get(0).get();
         }
         return null;
     }
 
-    private List<ServiceLoader.Provider<ModelProvider>> findModelProviders() {
-        ServiceLoader<ModelProvider> loader =
-                ServiceLoader.load(ModelProvider.class, camelContext.getApplicationContextClassLoader());
-        return loader.stream().toList();
-    }
-
-    private List<ServiceLoader.Provider<ChatMemoryBeanProvider>> findMemoryProviders() {
-        ServiceLoader<ChatMemoryBeanProvider> loader =
-                ServiceLoader.load(ChatMemoryBeanProvider.class, camelContext.getApplicationContextClassLoader());
-        return loader.stream().toList();
-    }
-
-    private List<ServiceLoader.Provider<Agent>> findAgents() {
-        ServiceLoader<Agent> loader = ServiceLoader.load(Agent.class, camelContext.getApplicationContextClassLoader());
-        return loader.stream().toList();
+    @Override
+    public Set<String> configureAfter() {
+        return CONFIGURE_AFTER;
     }
 
     @Override
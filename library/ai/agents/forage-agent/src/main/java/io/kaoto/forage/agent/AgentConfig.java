@@ -67,6 +67,41 @@ public class AgentConfig implements Config {
         return ConfigStore.getInstance().get(MEMORY_KIND.asNamed(prefix)).orElse(null);
     }
 
+    public boolean asyncVirtualThreads() {
+        return ConfigStore.getInstance()
+                .get(ASYNC_VIRTUAL_THREADS.asNamed(prefix))
+                .map(Boolean::parseBoolean)
+                .orElse(false);
+    }
+
+    public int batchMaxSize() {
+        return ConfigStore.getInstance()
+                .get(BATCH_MAX_SIZE.asNamed(prefix))
+                .map(Integer::parseInt)
+                .orElse(32);
+    }
+
+    public long batchWindowMillis() {
+        return ConfigStore.getInstance()
+                .get(BATCH_WINDOW_MILLIS.asNamed(prefix))
+                .map(Long::parseLong)
+                .orElse(50L);
+    }
+
+    public int batchParallelism() {
+        return ConfigStore.getInstance()
+                .get(BATCH_PARALLELISM.asNamed(prefix))
+                .map(Integer::parseInt)
+                .orElse(16);
+    }
+
+    public int batchMaxQueued() {
+        return ConfigStore.getInstance()
+                .get(BATCH_MAX_QUEUED.asNamed(prefix))
+                .map(Integer::parseInt)
+                .orElse(1000);
+    }
+
     // Common model configuration
 
     public String apiKey() {
@@ -176,4 +211,79 @@ public class AgentConfig implements Config {
                 .get(MEMORY_INFINISPAN_CACHE_NAME.asNamed(prefix))
                 .orElse("chat-memory");
     }
+
+    // Routed model
+
+    public List<String> routedBackends() {
+        return ConfigStore.getInstance()
+                .get(ROUTED_BACKENDS.asNamed(prefix))
+                .map(s -> Arrays.stream(s.split(","))
+                        .map(String::trim)
+                        .filter(backend -> !backend.isEmpty())
+                        .toList())
+                .orElse(Collections.emptyList());
+    }
+
+    public int routedEjectionFailures() {
+        return ConfigStore.getInstance()
+                .get(ROUTED_EJECTION_FAILURES.asNamed(prefix))
+                .map(Integer::parseInt)
+                .orElse(3);
+    }
+
+    public long routedEjectionSeconds() {
+        return ConfigStore.getInstance()
+                .get(ROUTED_EJECTION_SECONDS.asNamed(prefix))
+                .map(Long::parseLong)
+                .orElse(30L);
+    }
+
+    public Double routedHedgePercentile() {
+        return ConfigStore.getInstance()
+                .get(ROUTED_HEDGE_PERCENTILE.asNamed(prefix))
+                .map(Double::parseDouble)
+                .orElse(null);
+    }
+
+    // Response cache
+
+    public int cacheMaxEntries() {
+        return ConfigStore.getInstance()
+                .get(CACHE_MAX_ENTRIES.asNamed(prefix))
+                .map(Integer::parseInt)
+                .orElse(1000);
+    }
+
+    public long cacheTtlSeconds() {
+        return ConfigStore.getInstance()
+                .get(CACHE_TTL_SECONDS.asNamed(prefix))
+                .map(Long::parseLong)
+                .orElse(3600L);
+    }
+
+    public boolean cacheIgnoreCase() {
+        return ConfigStore.getInstance()
+                .get(CACHE_IGNORE_CASE.asNamed(prefix))
+                .map(Boolean::parseBoolean)
+                .orElse(false);
+    }
+
+    public String cacheSemanticEmbeddingModel() {
+        return ConfigStore.getInstance()
+                .get(CACHE_SEMANTIC_EMBEDDING_MODEL.asNamed(prefix))
+                .orElse(null);
+    }
+
+    public String cacheSemanticStoreKind() {
+        return ConfigStore.getInstance()
+                .get(CACHE_SEMANTIC_STORE_KIND.asNamed(prefix))
+                .orElse(null);
+    }
+
+    public double cacheSemanticMinScore() {
+        return ConfigStore.getInstance()
+                .get(CACHE_SEMANTIC_MIN_SCORE.asNamed(prefix))
+                .map(Double::parseDouble)
+                .orElse(0.95);
+    }
 }
@@ -40,7 +40,7 @@ public final class AgentConfigEntries extends ConfigEntries {
     public static final ConfigModule MODEL_KIND = ConfigModule.of(
             AgentConfig.class,
             "forage.agent.model.kind",
-            "The model provider kind (e.g., ollama, openai, google-gemini, azure-openai, anthropic)",
+            "The model provider kind (e.g., ollama, openai, google-gemini, azure-openai, anthropic), or routed",
             "Model Kind",
             null,
             "bean-name",
@@ -50,7 +50,7 @@ public final class AgentConfigEntries extends ConfigEntries {
     public static final ConfigModule FEATURES = ConfigModule.of(
             AgentConfig.class,
             "forage.agent.features",
-            "Comma-separated list of enabled features (e.g., memory)",
+            "Comma-separated list of enabled features (e.g., memory, streaming, async, cache, batch)",
             "Features",
             null,
             "string",
@@ -67,6 +67,56 @@ public final class AgentConfigEntries extends ConfigEntries {
             false,
             ConfigTag.COMMON);
 
+    public static final ConfigModule ASYNC_VIRTUAL_THREADS = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.async.virtual.threads",
+            "Run the model calls of asynchronous agents on virtual threads (requires Java 21+)",
+            "Async Virtual Threads",
+            "false",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule BATCH_MAX_SIZE = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.batch.max.size",
+            "Number of prompts dispatching a batch before the end of its window",
+            "Batch Max Size",
+            "32",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule BATCH_WINDOW_MILLIS = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.batch.window.ms",
+            "Time in milliseconds the first prompt of a batch waits for others",
+            "Batch Window",
+            "50",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule BATCH_PARALLELISM = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.batch.parallelism",
+            "Maximum number of model calls in flight for batched prompts",
+            "Batch Parallelism",
+            "16",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule BATCH_MAX_QUEUED = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.batch.max.queued",
+            "Maximum number of batched prompts waiting for a model call, the prompts submitted beyond being rejected",
+            "Batch Max Queued",
+            "1000",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
     // Common model configuration (shared across providers)
     public static final ConfigModule API_KEY = ConfigModule.of(
             AgentConfig.class,
@@ -243,6 +293,111 @@ public final class AgentConfigEntries extends ConfigEntries {
             false,
             ConfigTag.COMMON);
 
+    // Routed model
+    public static final ConfigModule ROUTED_BACKENDS = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.routed.backends",
+            "Comma-separated list of the backends of the routed model kind, in order of preference, each as kind or "
+                    + "kind:name where name prefixes the provider configuration "
+                    + "(e.g., ollama:local,azure-openai:cloud)",
+            "Routed Backends",
+            null,
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule ROUTED_EJECTION_FAILURES = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.routed.ejection.failures",
+            "Number of failures in a row ejecting a routed backend",
+            "Routed Ejection Failures",
+            "3",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule ROUTED_EJECTION_SECONDS = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.routed.ejection.seconds",
+            "Time in seconds an ejected routed backend is not called",
+            "Routed Ejection Time",
+            "30",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule ROUTED_HEDGE_PERCENTILE = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.routed.hedge.percentile",
+            "Latency percentile (0-100) of a routed backend after which the call is also sent to the next backend "
+                    + "(no hedging if not set)",
+            "Routed Hedge Percentile",
+            null,
+            "double",
+            false,
+            ConfigTag.ADVANCED);
+
+    // Response cache
+    public static final ConfigModule CACHE_MAX_ENTRIES = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.cache.max.entries",
+            "Maximum number of model responses kept in the response cache",
+            "Cache Max Entries",
+            "1000",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule CACHE_TTL_SECONDS = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.cache.ttl.seconds",
+            "Time in seconds a cached model response is kept (0 to keep it until evicted)",
+            "Cache TTL",
+            "3600",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule CACHE_IGNORE_CASE = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.cache.ignore.case",
+            "Whether prompts differing only by case match the same cached response",
+            "Cache Ignore Case",
+            "false",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule CACHE_SEMANTIC_EMBEDDING_MODEL = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.cache.semantic.embedding.model",
+            "Name of the embedding model bean used to match similar prompts (exact matches only if not set)",
+            "Cache Embedding Model",
+            null,
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule CACHE_SEMANTIC_STORE_KIND = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.cache.semantic.store.kind",
+            "The embedding store provider kind holding the cached prompts (e.g., redis, qdrant, pgvector)",
+            "Cache Embedding Store Kind",
+            null,
+            "bean-name",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule CACHE_SEMANTIC_MIN_SCORE = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.cache.semantic.min.score",
+            "Minimum similarity (0.0-1.0) for a cached prompt to match",
+            "Cache Min Score",
+            "0.95",
+            "double",
+            false,
+            ConfigTag.ADVANCED);
+
     private static final Map<ConfigModule, ConfigEntry> CONFIG_MODULES = new ConcurrentHashMap<>();
 
     static {
@@ -254,6 +409,11 @@ public final class AgentConfigEntries extends ConfigEntries {
         CONFIG_MODULES.put(MODEL_KIND, ConfigEntry.fromModule());
         CONFIG_MODULES.put(FEATURES, ConfigEntry.fromModule());
         CONFIG_MODULES.put(MEMORY_KIND, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(ASYNC_VIRTUAL_THREADS, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(BATCH_MAX_SIZE, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(BATCH_WINDOW_MILLIS, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(BATCH_PARALLELISM, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(BATCH_MAX_QUEUED, ConfigEntry.fromModule());
 
         // Common model config
         CONFIG_MODULES.put(API_KEY, ConfigEntry.fromModule());
@@ -279,6 +439,20 @@ public final class AgentConfigEntries extends ConfigEntries {
         CONFIG_MODULES.put(MEMORY_REDIS_PASSWORD, ConfigEntry.fromModule());
         CONFIG_MODULES.put(MEMORY_INFINISPAN_SERVER_LIST, ConfigEntry.fromModule());
         CONFIG_MODULES.put(MEMORY_INFINISPAN_CACHE_NAME, ConfigEntry.fromModule());
+
+        // Routed model
+        CONFIG_MODULES.put(ROUTED_BACKENDS, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(ROUTED_EJECTION_FAILURES, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(ROUTED_EJECTION_SECONDS, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(ROUTED_HEDGE_PERCENTILE, ConfigEntry.fromModule());
+
+        // Response cache
+        CONFIG_MODULES.put(CACHE_MAX_ENTRIES, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(CACHE_TTL_SECONDS, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(CACHE_IGNORE_CASE, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(CACHE_SEMANTIC_EMBEDDING_MODEL, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(CACHE_SEMANTIC_STORE_KIND, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(CACHE_SEMANTIC_MIN_SCORE, ConfigEntry.fromModule());
     }
 
     public static Map<ConfigModule, ConfigEntry> entries() {
@@ -290,12 +464,7 @@ public final class AgentConfigEntries extends ConfigEntries {
     }
 
     public static void register(String prefix) {
-        if (prefix != null) {
-            for (Map.Entry<ConfigModule, ConfigEntry> entry : entries().entrySet()) {
-                ConfigModule configModule = entry.getKey().asNamed(prefix);
-                CONFIG_MODULES.put(configModule, ConfigEntry.fromModule());
-            }
-        }
+        register(CONFIG_MODULES, prefix);
     }
 
     public static void loadOverrides(String prefix) {
@@ -0,0 +1,80 @@
+package io.kaoto.forage.agent.simple;
+
+import dev.langchain4j.service.tool.ToolProvider;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.Exchange;
+import org.apache.camel.component.langchain4j.agent.api.AiAgentBody;
+import org.apache.camel.support.AsyncProcessorSupport;
+
+/**
+ * Camel {@link org.apache.camel.AsyncProcessor} chatting with a {@link SimpleAgent} through
+ * {@link SimpleAgent#chatAsync}, so that the route thread is released while the model answers and the exchange is
+ * continued by the thread completing the model call.
+ *
+ * <p>The message body is either an {@link AiAgentBody} or the user message. The response replaces the body.
+ *
+ * <pre>
+ * from("direct:chat")
+ *     .process(new AgentAsyncProcessor(agent))
+ *     .log("${body}");
+ * </pre>
+ */
+public class AgentAsyncProcessor extends AsyncProcessorSupport {
+
+    private final SimpleAgent agent;
+    private final ToolProvider toolProvider;
+
+    public AgentAsyncProcessor(SimpleAgent agent) {
+        this(agent, null);
+    }
+
+    public AgentAsyncProcessor(SimpleAgent agent, ToolProvider toolProvider) {
+        this.agent = agent;
+        this.toolProvider = toolProvider;
+    }
+
+    @Override
+    public boolean process(Exchange exchange, AsyncCallback callback) {
+        final CompletableFuture<String> response;
+        try {
+            response = agent.chatAsync(toBody(exchange), toolProvider);
+        } catch (Exception e) {
+            exchange.setException(e);
+            callback.done(true);
+            return true;
+        }
+
+        // Without an executor the agent answered on this thread already
+        if (response.isDone()) {
+            response.whenComplete((body, error) -> done(exchange, body, error));
+            callback.done(true);
+            return true;
+        }
+
+        response.whenComplete((body, error) -> {
+            done(exchange, body, error);
+            callback.done(false);
+        });
+        return false;
+    }
+
+    static AiAgentBody<?> toBody(Exchange exchange) throws Exception {
+        final Object body = exchange.getMessage().getBody();
+        if (body instanceof AiAgentBody<?> aiAgentBody) {
+            return aiAgentBody;
+        }
+        return new AiAgentBody<>(exchange.getMessage().getMandatoryBody(String.class));
+    }
+
+    static void done(Exchange exchange, String body, Throwable error) {
+        if (error == null) {
+            exchange.getMessage().setBody(body);
+        } else if (error instanceof CompletionException && error.getCause() != null) {
+            exchange.setException(error.getCause());
+        } else {
+            exchange.setException(error);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package io.kaoto.forage.agent.simple;
+
+import dev.langchain4j.service.tool.ToolProvider;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import org.apache.camel.component.langchain4j.agent.api.AiAgentBody;
+
+/**
+ * Aggregates the prompts submitted to an agent into batches, and dispatches them with bounded parallelism.
+ *
+ * <p>A batch is dispatched when it holds {@code maxBatchSize} prompts, or when the window opened by its first prompt
+ * ends. The prompts of dispatched batches are then run on the executor, with at most {@code parallelism} model calls
+ * in flight: each call completing starts the next waiting one, so no thread is blocked waiting for a slot. Each
+ * prompt gets its own response future, completed with its own response.
+ *
+ * <p>At most {@code maxQueued} prompts wait, in the current batch or for a slot. The futures of the prompts submitted
+ * beyond, or that cannot be scheduled, are failed with a {@link RejectedExecutionException}.
+ */
+final class AgentBatcher {
+
+    private record Request(AiAgentBody<?> body, ToolProvider toolProvider, CompletableFuture<String> response) {}
+
+    private final BiFunction<AiAgentBody<?>, ToolProvider, String> call;
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final int parallelism;
+    private final int maxQueued;
+    private final ScheduledExecutorService scheduler;
+    private final Executor executor;
+
+    private final Object lock = new Object();
+    private List<Request> pending = new ArrayList<>();
+    private ScheduledFuture<?> windowEnd;
+    private final Queue<Request> ready = new ArrayDeque<>();
+    private int inFlight;
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    AgentBatcher(
+            BiFunction<AiAgentBody<?>, ToolProvider, String> call,
+            int maxBatchSize,
+            long windowNanos,
+            int parallelism,
+            int maxQueued,
+            ScheduledExecutorService scheduler,
+            Executor executor) {
+        this.call = call;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.windowNanos = windowNanos;
+        this.parallelism = Math.max(1, parallelism);
+        this.maxQueued = Math.max(1, maxQueued);
+        this.scheduler = scheduler;
+        this.executor = executor;
+    }
+
+    CompletableFuture<String> submit(AiAgentBody<?> body, ToolProvider toolProvider) {
+        final Request request = new Request(body, toolProvider, new CompletableFuture<>());
+        requests.increment();
+
+        List<Request> batch = null;
+        RejectedExecutionException rejection = null;
+        synchronized (lock) {
+            if (pending.size() + ready.size() >= maxQueued) {
+                rejection = new RejectedExecutionException(
+                        String.format("Too many batched prompts: %d waiting for a model call", maxQueued));
+            } else {
+                pending.add(request);
+                if (pending.size() >= maxBatchSize) {
+                    batch = takePending();
+                } else if (pending.size() == 1) {
+                    try {
+                        windowEnd = scheduler.schedule(this::endWindow, windowNanos, TimeUnit.NANOSECONDS);
+                    } catch (RejectedExecutionException e) {
+                        // The request is the only one pending, as the window was not scheduled yet
+                        pending.remove(request);
+                        rejection = e;
+                    }
+                }
+            }
+        }
+
+        if (rejection != null) {
+            rejections.increment();
+            request.response().completeExceptionally(rejection);
+        } else if (batch != null) {
+            dispatch(batch);
+        }
+        return request.response();
+    }
+
+    long batches() {
+        return batches.sum();
+    }
+
+    long requests() {
+        return requests.sum();
+    }
+
+    /**
+     * Returns how many prompts were rejected, as too many were waiting or their window could not be scheduled.
+     */
+    long rejections() {
+        return rejections.sum();
+    }
+
+    // Guarded by lock
+    private List<Request> takePending() {
+        final List<Request> batch = pending;
+        pending = new ArrayList<>();
+        if (windowEnd != null) {
+            windowEnd.cancel(false);
+            windowEnd = null;
+        }
+        return batch;
+    }
+
+    private void endWindow() {
+        final List<Request> batch;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = takePending();
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(List<Request> batch) {
+        batches.increment();
+
+        final List<Request> started = new ArrayList<>();
+        synchronized (lock) {
+            ready.addAll(batch);
+            while (inFlight < parallelism && !ready.isEmpty()) {
+                inFlight++;
+                started.add(ready.poll());
+            }
+        }
+        for (Request request : started) {
+            if (!start(request)) {
+                done();
+            }
+        }
+    }
+
+    private boolean start(Request request) {
+        try {
+            executor.execute(() -> run(request));
+            return true;
+        } catch (RejectedExecutionException e) {
+            request.response().completeExceptionally(e);
+            return false;
+        }
+    }
+
+    private void run(Request request) {
+        try {
+            request.response().complete(call.apply(request.body(), request.toolProvider()));
+        } catch (Throwable t) {
+            request.response().completeExceptionally(t);
+        } finally {
+            done();
+        }
+    }
+
+    /**
+     * Hands the slot of a completed call over to the next waiting prompt, if any.
+     */
+    private void done() {
+        while (true) {
+            final Request next;
+            synchronized (lock) {
+                next = ready.poll();
+                if (next == null) {
+                    inFlight--;
+                    return;
+                }
+            }
+            if (start(next)) {
+                return;
+            }
+        }
+    }
+}
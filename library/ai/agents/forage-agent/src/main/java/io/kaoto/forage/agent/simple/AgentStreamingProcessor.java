@@ -0,0 +1,115 @@
+package io.kaoto.forage.agent.simple;
+
+import dev.langchain4j.service.tool.ToolProvider;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.support.AsyncProcessorSupport;
+import org.apache.camel.support.service.ServiceHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Camel {@link org.apache.camel.AsyncProcessor} streaming the response of a {@link SimpleAgent} through
+ * {@link SimpleAgent#chatStreaming}: each partial response is sent as a message to the given endpoint as soon as the
+ * model produces it, and the whole response replaces the body once the model completes.
+ *
+ * <p>The message body is either an {@link org.apache.camel.component.langchain4j.agent.api.AiAgentBody} or the user
+ * message. The partial messages are copies of the exchange whose body is the partial response, with its position in
+ * the {@value #PARTIAL_RESPONSE_INDEX} header. They are sent in order, on the thread of the model client, so the
+ * endpoint should hand them over quickly, for instance through a {@code seda} queue.
+ *
+ * <pre>
+ * from("direct:chat")
+ *     .process(new AgentStreamingProcessor(agent, "seda:tokens"))
+ *     .log("${body}");
+ *
+ * from("seda:tokens")
+ *     .to("vertx-websocket:chat");
+ * </pre>
+ */
+public class AgentStreamingProcessor extends AsyncProcessorSupport {
+    private static final Logger LOG = LoggerFactory.getLogger(AgentStreamingProcessor.class);
+
+    /**
+     * The header holding the position of a partial response in the stream, starting at 0.
+     */
+    public static final String PARTIAL_RESPONSE_INDEX = "ForageAgentPartialResponseIndex";
+
+    private final SimpleAgent agent;
+    private final String partialResponseUri;
+    private final ToolProvider toolProvider;
+    private ProducerTemplate producerTemplate;
+
+    public AgentStreamingProcessor(SimpleAgent agent, String partialResponseUri) {
+        this(agent, partialResponseUri, null);
+    }
+
+    public AgentStreamingProcessor(SimpleAgent agent, String partialResponseUri, ToolProvider toolProvider) {
+        this.agent = agent;
+        this.partialResponseUri = partialResponseUri;
+        this.toolProvider = toolProvider;
+    }
+
+    @Override
+    public boolean process(Exchange exchange, AsyncCallback callback) {
+        final CompletableFuture<String> response;
+        try {
+            final ProducerTemplate template = producerTemplate(exchange.getContext());
+            final AtomicInteger index = new AtomicInteger();
+            response = agent.chatStreaming(
+                    AgentAsyncProcessor.toBody(exchange),
+                    toolProvider,
+                    partialResponse -> send(template, exchange, partialResponse, index.getAndIncrement()));
+        } catch (Exception e) {
+            exchange.setException(e);
+            callback.done(true);
+            return true;
+        }
+
+        // The model may have streamed the whole response on this thread already
+        if (response.isDone()) {
+            response.whenComplete((body, error) -> AgentAsyncProcessor.done(exchange, body, error));
+            callback.done(true);
+            return true;
+        }
+
+        response.whenComplete((body, error) -> {
+            AgentAsyncProcessor.done(exchange, body, error);
+            callback.done(false);
+        });
+        return false;
+    }
+
+    private void send(ProducerTemplate template, Exchange exchange, String partialResponse, int index) {
+        final Exchange partial = exchange.copy();
+        partial.getMessage().setBody(partialResponse);
+        partial.getMessage().setHeader(PARTIAL_RESPONSE_INDEX, index);
+
+        template.send(partialResponseUri, partial);
+        if (partial.getException() != null) {
+            LOG.warn(
+                    "Unable to send the partial response {} to {}: {}",
+                    index,
+                    partialResponseUri,
+                    partial.getException().getMessage(),
+                    partial.getException());
+        }
+    }
+
+    private synchronized ProducerTemplate producerTemplate(CamelContext camelContext) {
+        if (producerTemplate == null) {
+            producerTemplate = camelContext.createProducerTemplate();
+        }
+        return producerTemplate;
+    }
+
+    @Override
+    protected synchronized void doStop() {
+        ServiceHelper.stopService(producerTemplate);
+        producerTemplate = null;
+    }
+}
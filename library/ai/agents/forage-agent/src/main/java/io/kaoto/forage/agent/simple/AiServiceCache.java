@@ -0,0 +1,144 @@
+package io.kaoto.forage.agent.simple;
+
+import dev.langchain4j.service.tool.ToolProvider;
+import io.kaoto.forage.core.instrumentation.CacheStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * A bounded cache of the AI services built by {@link SimpleAgent}, keyed by service interface, tool provider
+ * (compared by identity) and guardrails.
+ *
+ * <p>Each service is built once, by the first caller asking for it, while concurrent callers for the same key wait
+ * for it. When the cache is full, the services built first are evicted first.
+ */
+final class AiServiceCache implements CacheStatistics {
+
+    private final int maxSize;
+    private final Map<Key, CompletableFuture<Object>> services = new ConcurrentHashMap<>();
+    private final Queue<Key> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    AiServiceCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the cached service for the key, building it with the factory on a miss.
+     * The guardrail lists are part of the key, so they must not be modified afterward.
+     */
+    <T> T get(
+            Class<T> serviceType,
+            ToolProvider toolProvider,
+            List<Class<?>> inputGuardrailClasses,
+            List<Class<?>> outputGuardrailClasses,
+            Supplier<T> factory) {
+        final Key key = new Key(serviceType, new Identity(toolProvider), inputGuardrailClasses, outputGuardrailClasses);
+
+        CompletableFuture<Object> cached = services.get(key);
+        if (cached == null) {
+            final CompletableFuture<Object> created = new CompletableFuture<>();
+            cached = services.putIfAbsent(key, created);
+            if (cached == null) {
+                misses.increment();
+                return serviceType.cast(build(key, created, factory));
+            }
+        }
+
+        hits.increment();
+        return serviceType.cast(await(cached));
+    }
+
+    @Override
+    public long hits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long misses() {
+        return misses.sum();
+    }
+
+    @Override
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    @Override
+    public int size() {
+        return services.size();
+    }
+
+    void clear() {
+        services.clear();
+        insertionOrder.clear();
+    }
+
+    private Object build(Key key, CompletableFuture<Object> created, Supplier<?> factory) {
+        final Object service;
+        try {
+            service = factory.get();
+        } catch (RuntimeException | Error e) {
+            services.remove(key, created);
+            created.completeExceptionally(e);
+            throw e;
+        }
+
+        created.complete(service);
+        insertionOrder.add(key);
+        while (services.size() > maxSize) {
+            final Key eldest = insertionOrder.poll();
+            if (eldest == null) {
+                break;
+            }
+            if (services.remove(eldest) != null) {
+                evictions.increment();
+            }
+        }
+        return service;
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private record Key(
+            Class<?> serviceType,
+            Identity toolProvider,
+            List<Class<?>> inputGuardrailClasses,
+            List<Class<?>> outputGuardrailClasses) {}
+
+    /**
+     * Tool providers are compared by identity, as the Camel tool providers do not implement equals.
+     */
+    private record Identity(Object value) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Identity other && other.value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(value);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package io.kaoto.forage.agent.simple;
+
+import dev.langchain4j.data.message.Content;
+import dev.langchain4j.service.SystemMessage;
+import dev.langchain4j.service.TokenStream;
+import dev.langchain4j.service.UserMessage;
+import dev.langchain4j.service.V;
+import java.util.List;
+
+public interface ForageStreamingAgentWithoutMemory {
+
+    /**
+     * Streaming AI service interface without memory support
+     */
+    TokenStream chat(@UserMessage String userMessage);
+
+    @SystemMessage("{{prompt}}")
+    TokenStream chat(@UserMessage String userMessage, @V("prompt") String systemMessage);
+
+    TokenStream chat(@UserMessage String userMessage, @UserMessage List<Content> contents);
+}
@@ -1,10 +1,21 @@
 package io.kaoto.forage.agent.simple;
 
 import dev.langchain4j.data.message.Content;
+import dev.langchain4j.model.chat.StreamingChatModel;
 import dev.langchain4j.service.AiServices;
+import dev.langchain4j.service.TokenStream;
 import dev.langchain4j.service.tool.ToolProvider;
+import io.kaoto.forage.agent.factory.AsyncConfigurationAware;
+import io.kaoto.forage.agent.factory.BatchingConfigurationAware;
 import io.kaoto.forage.agent.factory.ConfigurationAware;
+import io.kaoto.forage.agent.factory.StreamingConfigurationAware;
+import io.kaoto.forage.core.instrumentation.CacheStatistics;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
 import org.apache.camel.component.langchain4j.agent.api.Agent;
 import org.apache.camel.component.langchain4j.agent.api.AgentConfiguration;
 import org.apache.camel.component.langchain4j.agent.api.AiAgentBody;
@@ -12,23 +23,119 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Simple implementation of an AI agent that provides basic chat functionality
+ * Simple implementation of an AI agent that provides basic chat functionality. When configured with a streaming
+ * model, it can also stream the response token by token through {@link #chatStreaming}. When configured with an
+ * executor, {@link #chatAsync} runs the model calls on it instead of the caller thread, and when configured for
+ * batching, the prompts are dispatched in batches with bounded parallelism, for instance through {@link #chatBatch}.
  */
-public class SimpleAgent implements Agent, ConfigurationAware {
+public class SimpleAgent
+        implements Agent,
+                ConfigurationAware,
+                StreamingConfigurationAware,
+                AsyncConfigurationAware,
+                BatchingConfigurationAware {
     private static final Logger LOG = LoggerFactory.getLogger(SimpleAgent.class);
 
-    private AgentConfiguration configuration;
+    // Enough for the tool providers of the routes sharing an agent, in each flavor
+    private static final int MAX_CACHED_SERVICES = 32;
+
+    private volatile AgentConfiguration configuration;
+    private volatile StreamingChatModel streamingChatModel;
+    private volatile Executor executor;
+    private volatile AgentBatcher batcher;
+    private volatile List<Class<?>> inputGuardrailClasses = List.of();
+    private volatile List<Class<?>> outputGuardrailClasses = List.of();
 
     // Cached AI service instances to avoid recreating proxies on every request
-    private ForageAgentWithMemory cachedMemoryService;
-    private ForageAgentWithoutMemory cachedNoMemoryService;
-    private ToolProvider lastToolProvider;
+    private final AiServiceCache services = new AiServiceCache(MAX_CACHED_SERVICES);
 
     public SimpleAgent() {}
 
     @Override
     public void configure(AgentConfiguration configuration) {
         this.configuration = configuration;
+        this.inputGuardrailClasses = copyOf(configuration.getInputGuardrailClasses());
+        this.outputGuardrailClasses = copyOf(configuration.getOutputGuardrailClasses());
+        services.clear();
+    }
+
+    @Override
+    public void configureStreaming(StreamingChatModel streamingChatModel) {
+        this.streamingChatModel = streamingChatModel;
+        services.clear();
+    }
+
+    @Override
+    public void configureAsync(Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public void configureBatching(
+            int maxBatchSize,
+            Duration window,
+            int parallelism,
+            int maxQueued,
+            ScheduledExecutorService scheduler,
+            Executor executor) {
+        this.executor = executor;
+        this.batcher = new AgentBatcher(
+                this::chat, maxBatchSize, window.toNanos(), parallelism, maxQueued, scheduler, executor);
+    }
+
+    /**
+     * Returns whether this agent has an executor, and so whether {@link #chatAsync} releases the caller thread.
+     *
+     * @return true if the model calls run asynchronously
+     */
+    public boolean isAsync() {
+        return executor != null;
+    }
+
+    /**
+     * Returns whether this agent has a streaming model, and so whether {@link #chatStreaming} can be used.
+     *
+     * @return true if the responses can be streamed
+     */
+    public boolean isStreaming() {
+        return streamingChatModel != null;
+    }
+
+    /**
+     * Returns how many batches of prompts were dispatched.
+     *
+     * @return the number of batches, or 0 if this agent does not batch its prompts
+     */
+    public long batches() {
+        final AgentBatcher current = batcher;
+        return current != null ? current.batches() : 0;
+    }
+
+    /**
+     * Returns how many times a cached AI service was reused.
+     *
+     * @return the number of cache hits
+     */
+    public long serviceCacheHits() {
+        return services.hits();
+    }
+
+    /**
+     * Returns how many times an AI service had to be built.
+     *
+     * @return the number of cache misses
+     */
+    public long serviceCacheMisses() {
+        return services.misses();
+    }
+
+    /**
+     * Returns the statistics of the cache of AI services.
+     *
+     * @return the statistics of the cache
+     */
+    public CacheStatistics serviceCacheStatistics() {
+        return services;
     }
 
     private boolean hasMemory() {
@@ -64,29 +171,131 @@ public class SimpleAgent implements Agent, ConfigurationAware {
     }
 
     /**
-     * Create AI service with a single universal tool that handles multiple Camel routes and Memory Provider.
-     * Services are cached to avoid recreating proxies on every request when the toolProvider is unchanged.
+     * Chats like {@link #chat(AiAgentBody, ToolProvider)}, but without blocking the caller: the model call runs on the
+     * executor of this agent, so that the caller thread, usually a Camel consumer thread, is free during the model
+     * round trip. Without an executor the call runs on the caller thread, and the returned future is already done.
+     * When batching is configured, the message joins the current batch instead.
+     *
+     * @param aiAgentBody the message to send to the model
+     * @param toolProvider the tool provider of the route, or null
+     * @return a future completed with the response, or exceptionally if the model fails
      */
-    @SuppressWarnings("unchecked")
-    private <T> T createAiAgentService(ToolProvider toolProvider, Class<T> clazz) {
-        // Check if we can return a cached instance
-        if (toolProvider == lastToolProvider) {
-            if (clazz == ForageAgentWithMemory.class && cachedMemoryService != null) {
-                LOG.debug("Reusing cached ForageAgentWithMemory service");
-                return (T) cachedMemoryService;
-            } else if (clazz == ForageAgentWithoutMemory.class && cachedNoMemoryService != null) {
-                LOG.debug("Reusing cached ForageAgentWithoutMemory service");
-                return (T) cachedNoMemoryService;
+    public CompletableFuture<String> chatAsync(AiAgentBody<?> aiAgentBody, ToolProvider toolProvider) {
+        final AgentBatcher currentBatcher = batcher;
+        if (currentBatcher != null) {
+            return currentBatcher.submit(aiAgentBody, toolProvider);
+        }
+
+        final Executor current = executor;
+        if (current == null) {
+            try {
+                return CompletableFuture.completedFuture(chat(aiAgentBody, toolProvider));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
             }
+        }
+
+        return CompletableFuture.supplyAsync(() -> chat(aiAgentBody, toolProvider), current);
+    }
+
+    /**
+     * Chats with each of the independent messages, asynchronously as {@link #chatAsync} does, for bulk workloads.
+     *
+     * @param aiAgentBodies the messages to send to the model
+     * @param toolProvider the tool provider of the route, or null
+     * @return a future completed with the responses in the order of the messages, or exceptionally if one fails
+     */
+    public CompletableFuture<List<String>> chatBatch(List<AiAgentBody<?>> aiAgentBodies, ToolProvider toolProvider) {
+        final List<CompletableFuture<String>> responses = aiAgentBodies.stream()
+                .map(aiAgentBody -> chatAsync(aiAgentBody, toolProvider))
+                .toList();
+
+        return CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new))
+                .thenApply(ignored ->
+                        responses.stream().map(CompletableFuture::join).toList());
+    }
+
+    /**
+     * Chats like {@link #chat(AiAgentBody, ToolProvider)}, but streams the response: each partial response is passed
+     * to the consumer as soon as the model produces it, while the returned future completes with the whole response.
+     * {@link AgentStreamingProcessor} sends the partial responses of an exchange as Camel messages.
+     *
+     * @param aiAgentBody the message to send to the model
+     * @param toolProvider the tool provider of the route, or null
+     * @param onPartialResponse called with each partial response, on the thread of the model client
+     * @return a future completed with the whole response, or exceptionally if the model fails
+     * @throws IllegalStateException if this agent has no streaming model
+     */
+    public CompletableFuture<String> chatStreaming(
+            AiAgentBody<?> aiAgentBody, ToolProvider toolProvider, Consumer<String> onPartialResponse) {
+        if (!isStreaming()) {
+            throw new IllegalStateException("A streaming model must be provided for streaming responses");
+        }
+
+        final TokenStream tokenStream;
+        if (hasMemory()) {
+            LOG.debug("Streaming with memory");
+            ForageStreamingAgentWithMemory agentService =
+                    createAiAgentService(toolProvider, ForageStreamingAgentWithMemory.class);
+
+            tokenStream = aiAgentBody.getSystemMessage() != null
+                    ? agentService.chat(
+                            aiAgentBody.getMemoryId(), aiAgentBody.getUserMessage(), aiAgentBody.getSystemMessage())
+                    : agentService.chat(aiAgentBody.getMemoryId(), aiAgentBody.getUserMessage());
         } else {
-            // Tool provider changed, invalidate cache
-            cachedMemoryService = null;
-            cachedNoMemoryService = null;
-            lastToolProvider = toolProvider;
+            LOG.debug("Streaming without memory");
+            ForageStreamingAgentWithoutMemory agentService =
+                    createAiAgentService(toolProvider, ForageStreamingAgentWithoutMemory.class);
+
+            if (aiAgentBody.getContent() != null) {
+                tokenStream = agentService.chat(aiAgentBody.getUserMessage(), List.of(aiAgentBody.getContent()));
+            } else {
+                tokenStream = aiAgentBody.getSystemMessage() != null
+                        ? agentService.chat(aiAgentBody.getUserMessage(), aiAgentBody.getSystemMessage())
+                        : agentService.chat(aiAgentBody.getUserMessage());
+            }
         }
 
+        final CompletableFuture<String> response = new CompletableFuture<>();
+        tokenStream
+                .onPartialResponse(onPartialResponse)
+                .onCompleteResponse(chatResponse ->
+                        response.complete(chatResponse.aiMessage().text()))
+                .onError(response::completeExceptionally)
+                .start();
+
+        return response;
+    }
+
+    /**
+     * Create AI service with a single universal tool that handles multiple Camel routes and Memory Provider.
+     * Services are cached per service interface, tool provider and guardrails, as building the AiServices proxy is
+     * expensive, so that routes alternating between tool providers reuse their services as well.
+     */
+    private <T> T createAiAgentService(ToolProvider toolProvider, Class<T> clazz) {
+        return services.get(clazz, toolProvider, inputGuardrailClasses, outputGuardrailClasses, () -> {
+            T service = buildAiAgentService(toolProvider, clazz);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug(
+                        "Created new {} service ({} cached, {} hits, {} misses)",
+                        clazz.getSimpleName(),
+                        services.size(),
+                        services.hits(),
+                        services.misses());
+            }
+            return service;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T buildAiAgentService(ToolProvider toolProvider, Class<T> clazz) {
         LOG.info("Creating new {} service", clazz.getSimpleName());
-        AiServices<T> builder = AiServices.builder(clazz).chatModel(configuration.getChatModel());
+        AiServices<T> builder = AiServices.builder(clazz);
+        if (isStreamingService(clazz)) {
+            builder.streamingChatModel(streamingChatModel);
+        } else {
+            builder.chatModel(configuration.getChatModel());
+        }
 
         if (hasMemory()) {
             builder = builder.chatMemoryProvider(configuration.getChatMemoryProvider());
@@ -103,26 +312,23 @@ public class SimpleAgent implements Agent, ConfigurationAware {
         }
 
         // Input Guardrails
-        if (configuration.getInputGuardrailClasses() != null
-                && !configuration.getInputGuardrailClasses().isEmpty()) {
-            builder.inputGuardrailClasses((List) configuration.getInputGuardrailClasses());
+        if (!inputGuardrailClasses.isEmpty()) {
+            builder.inputGuardrailClasses((List) inputGuardrailClasses);
         }
 
         // Output Guardrails
-        if (configuration.getOutputGuardrailClasses() != null
-                && !configuration.getOutputGuardrailClasses().isEmpty()) {
-            builder.outputGuardrailClasses((List) configuration.getOutputGuardrailClasses());
+        if (!outputGuardrailClasses.isEmpty()) {
+            builder.outputGuardrailClasses((List) outputGuardrailClasses);
         }
 
-        T service = builder.build();
+        return builder.build();
+    }
 
-        // Cache the service
-        if (clazz == ForageAgentWithMemory.class) {
-            cachedMemoryService = (ForageAgentWithMemory) service;
-        } else if (clazz == ForageAgentWithoutMemory.class) {
-            cachedNoMemoryService = (ForageAgentWithoutMemory) service;
-        }
+    private static boolean isStreamingService(Class<?> clazz) {
+        return clazz == ForageStreamingAgentWithMemory.class || clazz == ForageStreamingAgentWithoutMemory.class;
+    }
 
-        return service;
+    private static List<Class<?>> copyOf(List<Class<?>> classes) {
+        return classes != null ? List.copyOf(classes) : List.of();
     }
 }
@@ -0,0 +1,80 @@
+package io.kaoto.forage.agent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.kaoto.forage.core.BootstrapConfigEntries;
+import io.kaoto.forage.core.ForageContextServicePlugin;
+import io.kaoto.forage.core.instrumentation.ForageInstrumentation;
+import io.kaoto.forage.core.instrumentation.InstrumentationListener;
+import io.kaoto.forage.core.instrumentation.StepType;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import io.kaoto.forage.jdbc.DataSourceBeanFactory;
+import io.kaoto.forage.jms.ConnectionFactoryBeanFactory;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AgentBeanFactoryBootstrapTest {
+
+    private final List<String> events = new CopyOnWriteArrayList<>();
+    private final InstrumentationListener listener = (type, name) -> {
+        if (type != StepType.FACTORY_CONFIGURE) {
+            return (durationNanos, failure) -> {};
+        }
+        events.add("begin " + name);
+        if (!AgentBeanFactory.class.getName().equals(name)) {
+            // Slows the other factories down, so that an agent factory not waiting for them would begin first
+            sleep();
+        }
+        return (durationNanos, failure) -> events.add("end " + name);
+    };
+
+    private CamelContext camelContext;
+
+    @BeforeEach
+    void setUp() {
+        System.setProperty("forage.bootstrap.parallel", "true");
+        // The context loads the Forage plugin once already, only the bootstrap triggered by the tests is recorded
+        camelContext = new DefaultCamelContext();
+        ForageInstrumentation.addListener(listener);
+    }
+
+    @AfterEach
+    void tearDown() {
+        camelContext.stop();
+        ForageInstrumentation.removeListener(listener);
+        System.clearProperty("forage.bootstrap.parallel");
+        ConfigStore.getInstance().set(BootstrapConfigEntries.PARALLEL, null);
+    }
+
+    @Test
+    void declaresTheFactoriesOfTheBeansAgentsMayUse() {
+        assertThat(new AgentBeanFactory().configureAfter())
+                .containsExactlyInAnyOrder(
+                        DataSourceBeanFactory.class.getName(), ConnectionFactoryBeanFactory.class.getName());
+    }
+
+    @Test
+    void isConfiguredAfterTheDataSourcesAndConnectionFactoriesInParallelMode() {
+        new ForageContextServicePlugin().load(camelContext);
+
+        assertThat(events)
+                .containsSubsequence(
+                        "end " + DataSourceBeanFactory.class.getName(), "begin " + AgentBeanFactory.class.getName())
+                .containsSubsequence(
+                        "end " + ConnectionFactoryBeanFactory.class.getName(),
+                        "begin " + AgentBeanFactory.class.getName());
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(200);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
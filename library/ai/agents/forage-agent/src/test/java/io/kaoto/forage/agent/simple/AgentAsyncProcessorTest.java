@@ -0,0 +1,115 @@
+package io.kaoto.forage.agent.simple;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.kaoto.forage.agent.simple.SimpleAgentTest.AnsweringChatModel;
+import io.kaoto.forage.agent.simple.SimpleAgentTest.ManualExecutor;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.Exchange;
+import org.apache.camel.component.langchain4j.agent.api.AiAgentBody;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AgentAsyncProcessorTest {
+
+    private DefaultCamelContext camelContext;
+    private final RecordingCallback callback = new RecordingCallback();
+
+    @BeforeEach
+    void setUp() {
+        camelContext = new DefaultCamelContext();
+        camelContext.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        camelContext.stop();
+    }
+
+    @Test
+    void completesSynchronouslyWithoutAnExecutor() {
+        AgentAsyncProcessor processor = new AgentAsyncProcessor(SimpleAgentTest.agent(new AnsweringChatModel()));
+        Exchange exchange = exchange("Hello");
+
+        assertThat(processor.process(exchange, callback)).isTrue();
+
+        assertThat(callback.done).containsExactly(true);
+        assertThat(exchange.getMessage().getBody()).isEqualTo("Answer to Hello");
+    }
+
+    @Test
+    void continuesTheExchangeOnTheThreadCompletingTheModelCall() {
+        SimpleAgent agent = SimpleAgentTest.agent(new AnsweringChatModel());
+        ManualExecutor executor = new ManualExecutor();
+        agent.configureAsync(executor);
+        AgentAsyncProcessor processor = new AgentAsyncProcessor(agent);
+        Exchange exchange = exchange(new AiAgentBody<>("Hello"));
+
+        assertThat(processor.process(exchange, callback)).isFalse();
+        assertThat(callback.done).isEmpty();
+
+        executor.runNext();
+        assertThat(callback.done).containsExactly(false);
+        assertThat(exchange.getMessage().getBody()).isEqualTo("Answer to Hello");
+    }
+
+    @Test
+    void setsTheFailureOfTheModelOnTheExchange() {
+        AnsweringChatModel model = new AnsweringChatModel();
+        model.failure = new IllegalStateException("Model unavailable");
+        SimpleAgent agent = SimpleAgentTest.agent(model);
+        ManualExecutor executor = new ManualExecutor();
+        agent.configureAsync(executor);
+        Exchange exchange = exchange("Hello");
+
+        assertThat(new AgentAsyncProcessor(agent).process(exchange, callback)).isFalse();
+        executor.runNext();
+
+        assertThat(callback.done).containsExactly(false);
+        assertThat(exchange.getException()).isSameAs(model.failure);
+    }
+
+    @Test
+    void setsTheFailureOfASynchronousCallOnTheExchange() {
+        AnsweringChatModel model = new AnsweringChatModel();
+        model.failure = new IllegalStateException("Model unavailable");
+        Exchange exchange = exchange("Hello");
+
+        assertThat(new AgentAsyncProcessor(SimpleAgentTest.agent(model)).process(exchange, callback))
+                .isTrue();
+
+        assertThat(callback.done).containsExactly(true);
+        assertThat(exchange.getException()).isSameAs(model.failure);
+    }
+
+    @Test
+    void rejectsAMissingBody() {
+        Exchange exchange = exchange(null);
+
+        assertThat(new AgentAsyncProcessor(SimpleAgentTest.agent(new AnsweringChatModel())).process(exchange, callback))
+                .isTrue();
+
+        assertThat(callback.done).containsExactly(true);
+        assertThat(exchange.getException()).isNotNull();
+    }
+
+    private Exchange exchange(Object body) {
+        Exchange exchange = new DefaultExchange(camelContext);
+        exchange.getMessage().setBody(body);
+        return exchange;
+    }
+
+    private static final class RecordingCallback implements AsyncCallback {
+        final List<Boolean> done = new ArrayList<>();
+
+        @Override
+        public void done(boolean doneSync) {
+            done.add(doneSync);
+        }
+    }
+}
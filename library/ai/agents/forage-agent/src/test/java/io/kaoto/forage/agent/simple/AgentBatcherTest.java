@@ -0,0 +1,155 @@
+package io.kaoto.forage.agent.simple;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.camel.component.langchain4j.agent.api.AiAgentBody;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AgentBatcherTest {
+
+    private static final long LONG_WINDOW = TimeUnit.HOURS.toNanos(1);
+
+    private ScheduledExecutorService scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void dispatchesAFullBatchWithoutWaitingForTheWindow() {
+        AgentBatcher batcher = batcher(3, LONG_WINDOW, 16, 100, Runnable::run);
+
+        List<CompletableFuture<String>> first = submit(batcher, "a", "b", "c");
+        List<CompletableFuture<String>> second = submit(batcher, "d", "e");
+
+        assertThat(first).allMatch(CompletableFuture::isDone);
+        assertThat(first.get(1).join()).isEqualTo("Answer to b");
+        assertThat(second).noneMatch(CompletableFuture::isDone);
+        assertThat(batcher.batches()).isEqualTo(1);
+        assertThat(batcher.requests()).isEqualTo(5);
+    }
+
+    @Test
+    void dispatchesAPartialBatchWhenTheWindowEnds() {
+        AgentBatcher batcher = batcher(10, TimeUnit.MILLISECONDS.toNanos(20), 16, 100, Runnable::run);
+
+        List<CompletableFuture<String>> responses = submit(batcher, "a", "b");
+
+        assertThat(CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new))
+                        .orTimeout(5, TimeUnit.SECONDS)
+                        .thenApply(ignored -> responses.get(0).join())
+                        .join())
+                .isEqualTo("Answer to a");
+        assertThat(batcher.batches()).isEqualTo(1);
+    }
+
+    @Test
+    void handsTheSlotOfACompletedCallOverToTheNextPrompt() {
+        ManualExecutor executor = new ManualExecutor();
+        AgentBatcher batcher = batcher(3, LONG_WINDOW, 1, 100, executor);
+
+        List<CompletableFuture<String>> responses = submit(batcher, "a", "b", "c");
+
+        assertThat(executor.tasks).hasSize(1);
+        executor.runNext();
+        assertThat(responses.get(0)).isCompletedWithValue("Answer to a");
+        assertThat(executor.tasks).hasSize(1);
+        executor.runNext();
+        executor.runNext();
+        assertThat(executor.tasks).isEmpty();
+        assertThat(responses).allMatch(CompletableFuture::isDone);
+
+        // The slot is free again
+        List<CompletableFuture<String>> next = submit(batcher, "d", "e", "f");
+        assertThat(executor.tasks).hasSize(1);
+        executor.runNext();
+        assertThat(next.get(0)).isCompletedWithValue("Answer to d");
+    }
+
+    @Test
+    void rejectsThePromptsBeyondTheQueueBound() {
+        ManualExecutor executor = new ManualExecutor();
+        AgentBatcher batcher = batcher(1, LONG_WINDOW, 1, 2, executor);
+
+        List<CompletableFuture<String>> responses = submit(batcher, "a", "b", "c", "d");
+
+        assertThat(responses.subList(0, 3)).noneMatch(CompletableFuture::isDone);
+        assertThat(responses.get(3))
+                .isCompletedExceptionally()
+                .failsWithin(0, TimeUnit.SECONDS)
+                .withThrowableOfType(Exception.class)
+                .withCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(batcher.rejections()).isEqualTo(1);
+
+        executor.runNext();
+        assertThat(submit(batcher, "e").get(0)).isNotDone();
+    }
+
+    @Test
+    void failsThePromptWhoseWindowCannotBeScheduled() {
+        AgentBatcher batcher = batcher(10, LONG_WINDOW, 16, 100, Runnable::run);
+        scheduler.shutdown();
+
+        List<CompletableFuture<String>> responses = submit(batcher, "a", "b");
+
+        assertThat(responses).allSatisfy(response -> assertThat(response)
+                .failsWithin(0, TimeUnit.SECONDS)
+                .withThrowableOfType(Exception.class)
+                .withCauseInstanceOf(RejectedExecutionException.class));
+        assertThat(batcher.rejections()).isEqualTo(2);
+    }
+
+    private AgentBatcher batcher(
+            int maxBatchSize, long windowNanos, int parallelism, int maxQueued, Executor executor) {
+        return new AgentBatcher(
+                (body, toolProvider) -> "Answer to " + body.getUserMessage(),
+                maxBatchSize,
+                windowNanos,
+                parallelism,
+                maxQueued,
+                scheduler,
+                executor);
+    }
+
+    private static List<CompletableFuture<String>> submit(AgentBatcher batcher, String... prompts) {
+        List<CompletableFuture<String>> responses = new ArrayList<>();
+        for (String prompt : prompts) {
+            responses.add(batcher.submit(new AiAgentBody<>(prompt), null));
+        }
+        return responses;
+    }
+
+    /**
+     * Runs the tasks one at a time, when asked to.
+     */
+    private static final class ManualExecutor implements Executor {
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.add(task);
+        }
+
+        void runNext() {
+            tasks.remove().run();
+        }
+    }
+}
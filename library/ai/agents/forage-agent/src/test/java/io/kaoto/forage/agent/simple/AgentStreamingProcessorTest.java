@@ -0,0 +1,129 @@
+package io.kaoto.forage.agent.simple;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import io.kaoto.forage.agent.simple.SimpleAgentTest.AnsweringChatModel;
+import io.kaoto.forage.agent.simple.SimpleAgentTest.StreamingAnsweringChatModel;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.Exchange;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AgentStreamingProcessorTest {
+
+    private DefaultCamelContext camelContext;
+    private MockEndpoint tokens;
+    private final List<Boolean> done = new ArrayList<>();
+    private final AsyncCallback callback = done::add;
+
+    @BeforeEach
+    void setUp() {
+        camelContext = new DefaultCamelContext();
+        camelContext.start();
+        tokens = camelContext.getEndpoint("mock:tokens", MockEndpoint.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        camelContext.stop();
+    }
+
+    @Test
+    void sendsEachPartialResponseAsAMessage() {
+        SimpleAgent agent = SimpleAgentTest.agent(new AnsweringChatModel());
+        agent.configureStreaming(new StreamingAnsweringChatModel());
+        AgentStreamingProcessor processor = new AgentStreamingProcessor(agent, "mock:tokens");
+        Exchange exchange = exchange("Hello");
+        exchange.getMessage().setHeader("conversation", "42");
+
+        assertThat(processor.process(exchange, callback)).isTrue();
+
+        assertThat(done).containsExactly(true);
+        assertThat(exchange.getMessage().getBody()).isEqualTo("Answer to Hello");
+        assertThat(tokens.getExchanges())
+                .extracting(partial -> partial.getMessage().getBody())
+                .containsExactly("Answer", " to", " Hello");
+        assertThat(tokens.getExchanges())
+                .extracting(partial -> partial.getMessage().getHeader(AgentStreamingProcessor.PARTIAL_RESPONSE_INDEX))
+                .containsExactly(0, 1, 2);
+        assertThat(tokens.getExchanges())
+                .allMatch(partial -> "42".equals(partial.getMessage().getHeader("conversation")));
+    }
+
+    @Test
+    void continuesTheExchangeOnTheThreadCompletingTheStream() {
+        SimpleAgent agent = SimpleAgentTest.agent(new AnsweringChatModel());
+        DeferredStreamingChatModel model = new DeferredStreamingChatModel();
+        agent.configureStreaming(model);
+        Exchange exchange = exchange("Hello");
+
+        assertThat(new AgentStreamingProcessor(agent, "mock:tokens").process(exchange, callback))
+                .isFalse();
+        model.handler.onPartialResponse("Hi");
+        assertThat(tokens.getReceivedCounter()).isOne();
+        assertThat(done).isEmpty();
+
+        model.handler.onCompleteResponse(
+                ChatResponse.builder().aiMessage(AiMessage.from("Hi")).build());
+        assertThat(done).containsExactly(false);
+        assertThat(exchange.getMessage().getBody()).isEqualTo("Hi");
+    }
+
+    @Test
+    void setsTheFailureOfTheModelOnTheExchange() {
+        SimpleAgent agent = SimpleAgentTest.agent(new AnsweringChatModel());
+        DeferredStreamingChatModel model = new DeferredStreamingChatModel();
+        agent.configureStreaming(model);
+        Exchange exchange = exchange("Hello");
+        IllegalStateException failure = new IllegalStateException("Model unavailable");
+
+        assertThat(new AgentStreamingProcessor(agent, "mock:tokens").process(exchange, callback))
+                .isFalse();
+        model.handler.onError(failure);
+
+        assertThat(done).containsExactly(false);
+        assertThat(exchange.getException()).isSameAs(failure);
+    }
+
+    @Test
+    void setsTheFailureOnTheExchangeWithoutAStreamingModel() {
+        SimpleAgent agent = SimpleAgentTest.agent(new AnsweringChatModel());
+        Exchange exchange = exchange("Hello");
+
+        assertThat(new AgentStreamingProcessor(agent, "mock:tokens").process(exchange, callback))
+                .isTrue();
+
+        assertThat(done).containsExactly(true);
+        assertThat(exchange.getException()).isInstanceOf(IllegalStateException.class);
+        assertThat(tokens.getReceivedCounter()).isZero();
+    }
+
+    private Exchange exchange(Object body) {
+        Exchange exchange = new DefaultExchange(camelContext);
+        exchange.getMessage().setBody(body);
+        return exchange;
+    }
+
+    /**
+     * Keeps the handler of the last request, so that the test streams the response itself.
+     */
+    private static final class DeferredStreamingChatModel implements StreamingChatModel {
+        volatile StreamingChatResponseHandler handler;
+
+        @Override
+        public void chat(ChatRequest chatRequest, StreamingChatResponseHandler handler) {
+            this.handler = handler;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package io.kaoto.forage.agent.simple;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import dev.langchain4j.service.tool.ToolProvider;
+import dev.langchain4j.service.tool.ToolProviderRequest;
+import dev.langchain4j.service.tool.ToolProviderResult;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class AiServiceCacheTest {
+
+    private static final List<Class<?>> NO_GUARDRAILS = List.of();
+
+    interface Assistant {}
+
+    interface Reviewer {}
+
+    @Test
+    void buildsAServiceOnceAndReusesIt() {
+        AiServiceCache cache = new AiServiceCache(4);
+        AtomicInteger built = new AtomicInteger();
+
+        Assistant first = get(cache, Assistant.class, null, built);
+        Assistant second = get(cache, Assistant.class, null, built);
+
+        assertThat(second).isSameAs(first);
+        assertThat(built.get()).isOne();
+        assertThat(cache.hits()).isOne();
+        assertThat(cache.misses()).isOne();
+    }
+
+    @Test
+    void evictsTheServicesBuiltFirstWhenFull() {
+        AiServiceCache cache = new AiServiceCache(2);
+        AtomicInteger built = new AtomicInteger();
+        ToolProvider first = new NoToolProvider();
+        ToolProvider second = new NoToolProvider();
+        ToolProvider third = new NoToolProvider();
+
+        Assistant evicted = get(cache, Assistant.class, first, built);
+        get(cache, Assistant.class, second, built);
+        get(cache, Assistant.class, third, built);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.evictions()).isOne();
+        assertThat(get(cache, Assistant.class, first, built)).isNotSameAs(evicted);
+        assertThat(built.get()).isEqualTo(4);
+    }
+
+    @Test
+    void keysTheServicesByTypeToolProviderAndGuardrails() {
+        AiServiceCache cache = new AiServiceCache(8);
+        AtomicInteger built = new AtomicInteger();
+        ToolProvider toolProvider = new NoToolProvider();
+
+        get(cache, Assistant.class, null, built);
+        get(cache, Reviewer.class, null, built);
+        get(cache, Assistant.class, toolProvider, built);
+        // Tool providers are compared by identity
+        get(cache, Assistant.class, new NoToolProvider(), built);
+        cache.get(
+                Assistant.class, null, List.of(Object.class), NO_GUARDRAILS, () -> newService(Assistant.class, built));
+
+        assertThat(built.get()).isEqualTo(5);
+        assertThat(cache.size()).isEqualTo(5);
+    }
+
+    @Test
+    void buildsAServiceOnceForConcurrentCallers() throws Exception {
+        AiServiceCache cache = new AiServiceCache(4);
+        AtomicInteger built = new AtomicInteger();
+        CountDownLatch building = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Assistant> first = CompletableFuture.supplyAsync(
+                () -> cache.get(Assistant.class, null, NO_GUARDRAILS, NO_GUARDRAILS, () -> {
+                    building.countDown();
+                    await(release);
+                    return newService(Assistant.class, built);
+                }));
+        assertThat(building.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Assistant> second =
+                CompletableFuture.supplyAsync(() -> get(cache, Assistant.class, null, built));
+        release.countDown();
+
+        assertThat(second.get(10, TimeUnit.SECONDS)).isSameAs(first.get(10, TimeUnit.SECONDS));
+        assertThat(built.get()).isOne();
+    }
+
+    @Test
+    void buildsAServiceAgainAfterAFailedBuild() {
+        AiServiceCache cache = new AiServiceCache(4);
+        AtomicInteger built = new AtomicInteger();
+
+        assertThatThrownBy(() -> cache.get(Assistant.class, null, NO_GUARDRAILS, NO_GUARDRAILS, () -> {
+                    throw new IllegalStateException("No model");
+                }))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(get(cache, Assistant.class, null, built)).isNotNull();
+        assertThat(cache.size()).isOne();
+        assertThat(cache.misses()).isEqualTo(2);
+    }
+
+    private static <T> T get(AiServiceCache cache, Class<T> type, ToolProvider toolProvider, AtomicInteger built) {
+        return cache.get(type, toolProvider, NO_GUARDRAILS, NO_GUARDRAILS, () -> newService(type, built));
+    }
+
+    private static <T> T newService(Class<T> type, AtomicInteger built) {
+        built.incrementAndGet();
+        return type.cast(
+                Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> null));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class NoToolProvider implements ToolProvider {
+        @Override
+        public ToolProviderResult provideTools(ToolProviderRequest request) {
+            return ToolProviderResult.builder().build();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package io.kaoto.forage.agent.simple;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import org.apache.camel.component.langchain4j.agent.api.AgentConfiguration;
+import org.apache.camel.component.langchain4j.agent.api.AiAgentBody;
+import org.junit.jupiter.api.Test;
+
+class SimpleAgentTest {
+
+    @Test
+    void answersOnTheCallerThreadWithoutAnExecutor() {
+        SimpleAgent agent = agent(new AnsweringChatModel());
+
+        CompletableFuture<String> response = agent.chatAsync(new AiAgentBody<>("Hello"), null);
+
+        assertThat(agent.isAsync()).isFalse();
+        assertThat(response).isCompletedWithValue("Answer to Hello");
+    }
+
+    @Test
+    void answersOnTheExecutorOfTheAgent() {
+        SimpleAgent agent = agent(new AnsweringChatModel());
+        ManualExecutor executor = new ManualExecutor();
+        agent.configureAsync(executor);
+
+        CompletableFuture<String> response = agent.chatAsync(new AiAgentBody<>("Hello"), null);
+
+        assertThat(agent.isAsync()).isTrue();
+        assertThat(response).isNotDone();
+        executor.runNext();
+        assertThat(response).isCompletedWithValue("Answer to Hello");
+    }
+
+    @Test
+    void completesExceptionallyWhenTheModelFails() {
+        AnsweringChatModel model = new AnsweringChatModel();
+        model.failure = new IllegalStateException("Model unavailable");
+        SimpleAgent agent = agent(model);
+
+        CompletableFuture<String> direct = agent.chatAsync(new AiAgentBody<>("Hello"), null);
+        ManualExecutor executor = new ManualExecutor();
+        agent.configureAsync(executor);
+        CompletableFuture<String> async = agent.chatAsync(new AiAgentBody<>("Hello"), null);
+        executor.runNext();
+
+        assertThat(direct).isCompletedExceptionally();
+        assertThat(async).isCompletedExceptionally();
+        assertThat(async.handle((body, error) -> error))
+                .succeedsWithin(Duration.ZERO)
+                .isInstanceOf(CompletionException.class)
+                .extracting(Throwable::getCause)
+                .isSameAs(model.failure);
+    }
+
+    @Test
+    void answersEachMessageOfABatchInOrder() {
+        SimpleAgent agent = agent(new AnsweringChatModel());
+        agent.configureAsync(Runnable::run);
+
+        CompletableFuture<List<String>> responses =
+                agent.chatBatch(List.of(new AiAgentBody<>("a"), new AiAgentBody<>("b")), null);
+
+        assertThat(responses).isCompletedWithValue(List.of("Answer to a", "Answer to b"));
+    }
+
+    @Test
+    void streamsThePartialResponsesOfTheModel() {
+        SimpleAgent agent = agent(new AnsweringChatModel());
+        agent.configureStreaming(new StreamingAnsweringChatModel());
+        List<String> partialResponses = new ArrayList<>();
+
+        CompletableFuture<String> response =
+                agent.chatStreaming(new AiAgentBody<>("Hello"), null, partialResponses::add);
+
+        assertThat(agent.isStreaming()).isTrue();
+        assertThat(partialResponses).containsExactly("Answer", " to", " Hello");
+        assertThat(response).isCompletedWithValue("Answer to Hello");
+    }
+
+    @Test
+    void completesTheStreamExceptionallyWhenTheModelFails() {
+        SimpleAgent agent = agent(new AnsweringChatModel());
+        StreamingAnsweringChatModel model = new StreamingAnsweringChatModel();
+        model.failure = new IllegalStateException("Model unavailable");
+        agent.configureStreaming(model);
+        List<String> partialResponses = new ArrayList<>();
+
+        CompletableFuture<String> response =
+                agent.chatStreaming(new AiAgentBody<>("Hello"), null, partialResponses::add);
+
+        // The partial responses streamed before the failure are kept
+        assertThat(partialResponses).containsExactly("Answer");
+        assertThat(response.handle((body, error) -> error))
+                .succeedsWithin(Duration.ZERO)
+                .isSameAs(model.failure);
+    }
+
+    @Test
+    void rejectsStreamingWithoutAStreamingModel() {
+        SimpleAgent agent = agent(new AnsweringChatModel());
+
+        assertThat(agent.isStreaming()).isFalse();
+        assertThatThrownBy(() -> agent.chatStreaming(new AiAgentBody<>("Hello"), null, partial -> {}))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    static SimpleAgent agent(ChatModel chatModel) {
+        SimpleAgent agent = new SimpleAgent();
+        agent.configure(new AgentConfiguration().withChatModel(chatModel));
+        return agent;
+    }
+
+    static String lastUserMessage(List<ChatMessage> messages) {
+        return ((UserMessage) messages.get(messages.size() - 1)).singleText();
+    }
+
+    static class AnsweringChatModel implements ChatModel {
+        volatile RuntimeException failure;
+
+        @Override
+        public ChatResponse chat(ChatRequest chatRequest) {
+            if (failure != null) {
+                throw failure;
+            }
+            return ChatResponse.builder()
+                    .aiMessage(AiMessage.from("Answer to " + lastUserMessage(chatRequest.messages())))
+                    .build();
+        }
+    }
+
+    /**
+     * Streams the answer word by word, failing after the first word when a failure is set.
+     */
+    static class StreamingAnsweringChatModel implements StreamingChatModel {
+        volatile RuntimeException failure;
+
+        @Override
+        public void chat(ChatRequest chatRequest, StreamingChatResponseHandler handler) {
+            String answer = "Answer to " + lastUserMessage(chatRequest.messages());
+            handler.onPartialResponse("Answer");
+            if (failure != null) {
+                handler.onError(failure);
+                return;
+            }
+            handler.onPartialResponse(" to");
+            handler.onPartialResponse(" " + lastUserMessage(chatRequest.messages()));
+            handler.onCompleteResponse(
+                    ChatResponse.builder().aiMessage(AiMessage.from(answer)).build());
+        }
+    }
+
+    static class ManualExecutor implements Executor {
+        final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public synchronized void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        synchronized void runNext() {
+            tasks.remove().run();
+        }
+    }
+}
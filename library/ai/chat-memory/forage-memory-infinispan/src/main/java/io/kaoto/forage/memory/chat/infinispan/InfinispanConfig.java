@@ -1,8 +1,14 @@
 package io.kaoto.forage.memory.chat.infinispan;
 
 import static io.kaoto.forage.memory.chat.infinispan.InfinispanConfigEntries.CACHE_NAME;
+import static io.kaoto.forage.memory.chat.infinispan.InfinispanConfigEntries.CODEC;
+import static io.kaoto.forage.memory.chat.infinispan.InfinispanConfigEntries.COMPRESSION;
 import static io.kaoto.forage.memory.chat.infinispan.InfinispanConfigEntries.CONNECTION_TIMEOUT;
+import static io.kaoto.forage.memory.chat.infinispan.InfinispanConfigEntries.EXPIRATION_LIFESPAN_SECONDS;
+import static io.kaoto.forage.memory.chat.infinispan.InfinispanConfigEntries.EXPIRATION_MAX_IDLE_SECONDS;
 import static io.kaoto.forage.memory.chat.infinispan.InfinispanConfigEntries.MAX_RETRIES;
+import static io.kaoto.forage.memory.chat.infinispan.InfinispanConfigEntries.MEMORY_MAX_COUNT;
+import static io.kaoto.forage.memory.chat.infinispan.InfinispanConfigEntries.NEAR_CACHE_MAX_ENTRIES;
 import static io.kaoto.forage.memory.chat.infinispan.InfinispanConfigEntries.PASSWORD;
 import static io.kaoto.forage.memory.chat.infinispan.InfinispanConfigEntries.POOL_MAX_ACTIVE;
 import static io.kaoto.forage.memory.chat.infinispan.InfinispanConfigEntries.POOL_MAX_WAIT;
@@ -41,6 +47,9 @@ import org.slf4j.LoggerFactory;
  *   <li><code>infinispan.max-retries</code> - Maximum number of connection retries (default: 3)</li>
  *   <li><code>infinispan.pool.max-active</code> - Maximum active connections per server (default: 20)</li>
  *   <li><code>infinispan.pool.max-wait</code> - Maximum time to wait for connection in milliseconds (default: 3000)</li>
+ *   <li><code>infinispan.expiration.max-idle-seconds</code> - Expiry of the conversations neither read nor updated (default: 0, none)</li>
+ *   <li><code>infinispan.expiration.lifespan-seconds</code> - Expiry of the conversations not updated (default: 0, none)</li>
+ *   <li><code>infinispan.memory.max-count</code> - Maximum number of conversations of a cache created by Forage (default: 0, none)</li>
  * </ul>
  *
  * <p><strong>Configuration Sources (in order of precedence):</strong>
@@ -290,6 +299,94 @@ public class InfinispanConfig implements Config {
                 .orElse(Integer.parseInt(POOL_MAX_WAIT.defaultValue()));
     }
 
+    /**
+     * Returns the time in seconds after which a conversation neither read nor updated expires.
+     *
+     * @return the max-idle time in seconds, 0 for no expiry
+     * @throws IllegalArgumentException if the configured value is not a valid integer
+     */
+    public long expirationMaxIdleSeconds() {
+        return ConfigStore.getInstance()
+                .get(EXPIRATION_MAX_IDLE_SECONDS.asNamed(prefix))
+                .map(value -> {
+                    try {
+                        return Long.parseLong(value);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid Infinispan expiration max-idle value: " + value, e);
+                    }
+                })
+                .orElse(Long.parseLong(EXPIRATION_MAX_IDLE_SECONDS.defaultValue()));
+    }
+
+    /**
+     * Returns the time in seconds after which a conversation not updated expires.
+     *
+     * @return the lifespan in seconds, 0 for no expiry
+     * @throws IllegalArgumentException if the configured value is not a valid integer
+     */
+    public long expirationLifespanSeconds() {
+        return ConfigStore.getInstance()
+                .get(EXPIRATION_LIFESPAN_SECONDS.asNamed(prefix))
+                .map(value -> {
+                    try {
+                        return Long.parseLong(value);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid Infinispan expiration lifespan value: " + value, e);
+                    }
+                })
+                .orElse(Long.parseLong(EXPIRATION_LIFESPAN_SECONDS.defaultValue()));
+    }
+
+    /**
+     * Returns the maximum number of conversations of the cache, applied when the cache is created by Forage.
+     *
+     * @return the maximum number of entries, 0 for no limit
+     * @throws IllegalArgumentException if the configured value is not a valid integer
+     */
+    public long memoryMaxCount() {
+        return ConfigStore.getInstance()
+                .get(MEMORY_MAX_COUNT.asNamed(prefix))
+                .map(value -> {
+                    try {
+                        return Long.parseLong(value);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid Infinispan memory max-count value: " + value, e);
+                    }
+                })
+                .orElse(Long.parseLong(MEMORY_MAX_COUNT.defaultValue()));
+    }
+
+    /**
+     * Returns the name of the codec encoding the stored messages (i.e.: {@code json} or {@code binary}).
+     */
+    public String codec() {
+        return ConfigStore.getInstance().get(CODEC.asNamed(prefix)).orElse(CODEC.defaultValue());
+    }
+
+    /**
+     * Returns the compression of the large encoded messages, either {@code none} or {@code deflate}.
+     */
+    public String compression() {
+        return ConfigStore.getInstance().get(COMPRESSION.asNamed(prefix)).orElse(COMPRESSION.defaultValue());
+    }
+
+    /**
+     * Returns the maximum number of conversations kept in the local near cache, or 0 when it is disabled.
+     */
+    public int nearCacheMaxEntries() {
+        return ConfigStore.getInstance()
+                .get(NEAR_CACHE_MAX_ENTRIES.asNamed(prefix))
+                .map(value -> {
+                    try {
+                        return Integer.parseInt(value);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException(
+                                "Invalid Infinispan near-cache max-entries value: " + value, e);
+                    }
+                })
+                .orElse(Integer.parseInt(NEAR_CACHE_MAX_ENTRIES.defaultValue()));
+    }
+
     /**
      * Returns the unique name identifier for this Infinispan memory configuration module.
      *
@@ -118,6 +118,63 @@ public final class InfinispanConfigEntries extends ConfigEntries {
             "integer",
             false,
             ConfigTag.ADVANCED);
+    public static final ConfigModule EXPIRATION_MAX_IDLE_SECONDS = ConfigModule.of(
+            InfinispanConfig.class,
+            "forage.infinispan.expiration.max-idle-seconds",
+            "Time in seconds after which a conversation neither read nor updated expires (0 for no expiry)",
+            "Max Idle",
+            "0",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule EXPIRATION_LIFESPAN_SECONDS = ConfigModule.of(
+            InfinispanConfig.class,
+            "forage.infinispan.expiration.lifespan-seconds",
+            "Time in seconds after which a conversation not updated expires, even if read (0 for no expiry)",
+            "Lifespan",
+            "0",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule MEMORY_MAX_COUNT = ConfigModule.of(
+            InfinispanConfig.class,
+            "forage.infinispan.memory.max-count",
+            "Maximum number of conversations of the cache when it is created by Forage, the least recently used "
+                    + "being evicted (0 for no limit)",
+            "Max Count",
+            "0",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule CODEC = ConfigModule.of(
+            InfinispanConfig.class,
+            "forage.infinispan.codec",
+            "Encoding of the stored messages: json, binary (compact, length-prefixed fields) or the name of a "
+                    + "custom codec",
+            "Codec",
+            "json",
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule COMPRESSION = ConfigModule.of(
+            InfinispanConfig.class,
+            "forage.infinispan.compression",
+            "Compression of the large encoded messages: none or deflate",
+            "Compression",
+            "none",
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule NEAR_CACHE_MAX_ENTRIES = ConfigModule.of(
+            InfinispanConfig.class,
+            "forage.infinispan.near-cache.max-entries",
+            "Maximum number of conversations kept decoded in a local near cache, invalidated by Infinispan when changed "
+                    + "elsewhere (0 to disable the near cache)",
+            "Near Cache Max Entries",
+            "0",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
 
     private static final Map<ConfigModule, ConfigEntry> CONFIG_MODULES = new ConcurrentHashMap<>();
 
@@ -138,6 +195,12 @@ public final class InfinispanConfigEntries extends ConfigEntries {
         CONFIG_MODULES.put(POOL_MAX_ACTIVE, ConfigEntry.fromModule());
         CONFIG_MODULES.put(POOL_MIN_IDLE, ConfigEntry.fromModule());
         CONFIG_MODULES.put(POOL_MAX_WAIT, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(EXPIRATION_MAX_IDLE_SECONDS, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(EXPIRATION_LIFESPAN_SECONDS, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(MEMORY_MAX_COUNT, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(CODEC, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(COMPRESSION, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(NEAR_CACHE_MAX_ENTRIES, ConfigEntry.fromModule());
     }
 
     public static Map<ConfigModule, ConfigEntry> entries() {
@@ -153,12 +216,7 @@ public final class InfinispanConfigEntries extends ConfigEntries {
      * @param prefix the prefix to register
      */
     public static void register(String prefix) {
-        if (prefix != null) {
-            for (Map.Entry<ConfigModule, ConfigEntry> entry : entries().entrySet()) {
-                ConfigModule configModule = entry.getKey().asNamed(prefix);
-                CONFIG_MODULES.put(configModule, ConfigEntry.fromModule());
-            }
-        }
+        register(CONFIG_MODULES, prefix);
     }
 
     /**
@@ -0,0 +1,55 @@
+package io.kaoto.forage.memory.chat.infinispan;
+
+import io.kaoto.forage.core.ai.memory.NearCacheChatMemoryStore;
+import org.infinispan.client.hotrod.annotation.ClientCacheEntryCreated;
+import org.infinispan.client.hotrod.annotation.ClientCacheEntryExpired;
+import org.infinispan.client.hotrod.annotation.ClientCacheEntryModified;
+import org.infinispan.client.hotrod.annotation.ClientCacheEntryRemoved;
+import org.infinispan.client.hotrod.annotation.ClientCacheFailover;
+import org.infinispan.client.hotrod.annotation.ClientListener;
+import org.infinispan.client.hotrod.event.ClientCacheEntryCreatedEvent;
+import org.infinispan.client.hotrod.event.ClientCacheEntryExpiredEvent;
+import org.infinispan.client.hotrod.event.ClientCacheEntryModifiedEvent;
+import org.infinispan.client.hotrod.event.ClientCacheEntryRemovedEvent;
+import org.infinispan.client.hotrod.event.ClientCacheFailoverEvent;
+
+/**
+ * Invalidates the local copies of a {@link NearCacheChatMemoryStore} with the events of a Hot Rod client listener.
+ *
+ * <p>The server sends the keys of all the entries created, modified, removed or expired, whoever changed them. When
+ * the listener fails over to another server, events may have been lost, so all the local copies are dropped.
+ */
+@ClientListener
+public final class InfinispanInvalidationListener {
+
+    private final NearCacheChatMemoryStore nearCache;
+
+    InfinispanInvalidationListener(NearCacheChatMemoryStore nearCache) {
+        this.nearCache = nearCache;
+    }
+
+    @ClientCacheEntryCreated
+    public void created(ClientCacheEntryCreatedEvent<String> event) {
+        nearCache.invalidate(event.getKey());
+    }
+
+    @ClientCacheEntryModified
+    public void modified(ClientCacheEntryModifiedEvent<String> event) {
+        nearCache.invalidate(event.getKey());
+    }
+
+    @ClientCacheEntryRemoved
+    public void removed(ClientCacheEntryRemovedEvent<String> event) {
+        nearCache.invalidate(event.getKey());
+    }
+
+    @ClientCacheEntryExpired
+    public void expired(ClientCacheEntryExpiredEvent<String> event) {
+        nearCache.invalidate(event.getKey());
+    }
+
+    @ClientCacheFailover
+    public void failover(ClientCacheFailoverEvent event) {
+        nearCache.invalidateAll();
+    }
+}
@@ -2,11 +2,19 @@ package io.kaoto.forage.memory.chat.infinispan;
 
 import dev.langchain4j.memory.chat.ChatMemoryProvider;
 import dev.langchain4j.memory.chat.MessageWindowChatMemory;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
 import io.kaoto.forage.core.ai.ChatMemoryBeanProvider;
+import io.kaoto.forage.core.ai.memory.ChatMessageCodec;
+import io.kaoto.forage.core.ai.memory.ChatMessageCodecs;
+import io.kaoto.forage.core.ai.memory.NearCacheChatMemoryStore;
 import io.kaoto.forage.core.annotations.ForageBean;
+import io.kaoto.forage.core.instrumentation.ForageInstrumentation;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.infinispan.client.hotrod.RemoteCache;
 import org.infinispan.client.hotrod.RemoteCacheManager;
 import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
+import org.infinispan.commons.configuration.StringConfiguration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,7 +38,15 @@ import org.slf4j.LoggerFactory;
  * <p><strong>Configuration:</strong>
  * The factory uses {@link InfinispanConfig} to obtain Infinispan connection parameters.
  * Configuration can be provided through environment variables, system properties,
- * or configuration files. See {@link InfinispanConfig} for detailed configuration options.
+ * or configuration files. See {@link InfinispanConfig} for detailed configuration options. When
+ * {@code forage.infinispan.near-cache.max-entries} is set, the conversations last used are also kept decoded in a
+ * local near cache, invalidated by the events of a client listener, so that the next turn of a conversation served by
+ * the same instance only writes to Infinispan.
+ *
+ * <p>Each name, usually the name of an agent, has its own cache manager and store, configured with
+ * {@code forage.<name>.infinispan.*}; the unnamed store is configured with {@code forage.infinispan.*}. The store of
+ * a name is created, and connected to Infinispan, the first time a provider is asked for it, and is shared by all the
+ * callers asking for the same name.
  *
  * <p><strong>Thread Safety:</strong>
  * This factory is thread-safe and can be safely used in concurrent environments.
@@ -51,65 +67,17 @@ public class InfinispanMemoryBeanProvider implements ChatMemoryBeanProvider {
     private static final Logger LOG = LoggerFactory.getLogger(InfinispanMemoryBeanProvider.class);
     private static final int DEFAULT_MAX_MESSAGES = 10;
 
-    private static final InfinispanConfig CONFIG = new InfinispanConfig();
-    private static final RemoteCacheManager CACHE_MANAGER;
-    private static RemoteCache<String, String> CACHE;
-    private static final PersistentInfinispanStore INFINISPAN_STORE;
-
-    static {
-        LOG.info(
-                "Initializing Infinispan chat memory provider with servers: {}, cache: {}",
-                CONFIG.serverList(),
-                CONFIG.cacheName());
-
-        try {
-            // Initialize Infinispan cache manager with configuration from InfinispanConfig
-            final ConfigurationBuilder builder = CONFIG.toConfigurationBuilder();
-
-            CACHE_MANAGER = new RemoteCacheManager(builder.build());
-
-            // Start the cache manager
-            CACHE_MANAGER.start();
-
-            // Get or create the cache for chat messages
-            String cacheName = CONFIG.cacheName();
-            try {
-                // Try to get the named cache first
-                CACHE = CACHE_MANAGER.getCache(cacheName);
-                if (CACHE == null) {
-                    LOG.info("Cache '{}' not found, creating it with default template", cacheName);
-                    // Create cache using the default template
-                    CACHE_MANAGER.administration().createCache(cacheName, (String) null);
-                    CACHE = CACHE_MANAGER.getCache(cacheName);
-                }
-            } catch (Exception e) {
-                throw new IllegalArgumentException(
-                        String.format("Failed to get or create named cache %s", cacheName), e);
-            }
-
-            // Test the connection by performing a simple operation
-            CACHE.size(); // This will throw an exception if connection fails
-            LOG.info(
-                    "Successfully connected to Infinispan cluster at {} with cache '{}'",
-                    CONFIG.serverList(),
-                    CONFIG.cacheName());
-
-            INFINISPAN_STORE = new PersistentInfinispanStore(CACHE);
-
-        } catch (Exception e) {
-            LOG.error("Failed to initialize Infinispan connection for chat memory", e);
-            throw new RuntimeException("Failed to connect to Infinispan for chat memory storage", e);
-        }
-    }
+    // Keyed by name, the unnamed memory being keyed by the empty string
+    private static final Map<String, InfinispanChatMemory> MEMORIES = new ConcurrentHashMap<>();
 
     /**
      * Creates a new Infinispan memory factory.
      *
-     * <p>The factory uses the statically initialized Infinispan cache manager that was
-     * configured during class loading using the {@link InfinispanConfig} settings.
+     * <p>The Infinispan cache managers are created on the first call to {@link #create(String)} for each name, using
+     * the {@link InfinispanConfig} settings of that name.
      */
     public InfinispanMemoryBeanProvider() {
-        // Cache manager and store are initialized statically
+        // Cache managers and stores are initialized on demand
     }
 
     /**
@@ -134,36 +102,157 @@ public class InfinispanMemoryBeanProvider implements ChatMemoryBeanProvider {
      */
     @Override
     public ChatMemoryProvider create() {
+        return create(null);
+    }
+
+    /**
+     * Creates a chat memory provider like {@link #create()}, backed by the Infinispan store configured with
+     * {@code forage.<id>.infinispan.*}.
+     *
+     * @param id the name of the store, or {@code null} for the unnamed store
+     * @return a chat memory provider backed by the Infinispan store of the given name, never {@code null}
+     * @throws RuntimeException if Infinispan connection cannot be established or configured
+     */
+    @Override
+    public ChatMemoryProvider create(String id) {
+        ChatMemoryStore store =
+                MEMORIES.computeIfAbsent(id != null ? id : "", name -> new InfinispanChatMemory(id)).store;
         return memoryId -> {
             LOG.debug("Creating message window chat memory for ID: {}", memoryId);
             return MessageWindowChatMemory.builder()
                     .id(memoryId)
                     .maxMessages(DEFAULT_MAX_MESSAGES)
-                    .chatMemoryStore(INFINISPAN_STORE)
+                    .chatMemoryStore(store)
                     .build();
         };
     }
 
-    @Override
-    public ChatMemoryProvider create(String id) {
-        throw new UnsupportedOperationException("Named chat memory stores are not yet supported for Infinispan");
-    }
-
     /**
-     * Closes the Infinispan cache manager and releases all associated resources.
+     * Closes the Infinispan cache managers and releases all associated resources.
      *
      * <p>This method should be called during application shutdown to ensure proper
-     * cleanup of Infinispan connections. After calling this method, the factory should
-     * not be used to create new memory providers.
+     * cleanup of Infinispan connections. The cache managers are created again if a
+     * provider is created afterwards.
      *
      * <p><strong>Note:</strong> This method is not automatically called and must be
      * explicitly invoked by the application or container during shutdown. Since the
-     * cache manager is static, this affects all instances of this factory class.
+     * cache managers are static, this affects all instances of this factory class.
      */
     public static void close() {
-        if (CACHE_MANAGER != null) {
+        MEMORIES.values().removeIf(memory -> {
+            memory.close();
+            return true;
+        });
+    }
+
+    /**
+     * The cache manager and store of a name.
+     */
+    private static final class InfinispanChatMemory {
+        private final RemoteCacheManager cacheManager;
+        private final RemoteCache<String, Object> cache;
+        private final ChatMemoryStore store;
+        private final InfinispanInvalidationListener invalidationListener;
+
+        private InfinispanChatMemory(String id) {
+            InfinispanConfig config = new InfinispanConfig(id);
+            LOG.info(
+                    "Initializing Infinispan chat memory provider '{}' with servers: {}, cache: {}",
+                    id,
+                    config.serverList(),
+                    config.cacheName());
+
+            RemoteCacheManager manager = null;
+            try {
+                // Initialize Infinispan cache manager with configuration from InfinispanConfig
+                final ConfigurationBuilder builder = config.toConfigurationBuilder();
+
+                manager = new RemoteCacheManager(builder.build());
+
+                // Start the cache manager
+                manager.start();
+
+                // Get or create the cache for chat messages
+                cache = cache(manager, config);
+
+                // Test the connection by performing a simple operation
+                cache.size(); // This will throw an exception if connection fails
+                LOG.info(
+                        "Successfully connected to Infinispan cluster at {} with cache '{}'",
+                        config.serverList(),
+                        config.cacheName());
+
+                ChatMessageCodec codec = ChatMessageCodecs.of(config.codec(), config.compression());
+                PersistentInfinispanStore persistentStore = new PersistentInfinispanStore(
+                        cache, config.expirationLifespanSeconds(), config.expirationMaxIdleSeconds(), codec);
+                LOG.debug("Storing chat memory in Infinispan using the {} codec", codec.name());
+
+                if (config.nearCacheMaxEntries() > 0) {
+                    NearCacheChatMemoryStore nearCache =
+                            new NearCacheChatMemoryStore(persistentStore, config.nearCacheMaxEntries());
+                    invalidationListener = new InfinispanInvalidationListener(nearCache);
+                    // Events are sent once the listener is registered, so the near cache can be used from now on
+                    cache.addClientListener(invalidationListener);
+                    nearCache.resume();
+                    ForageInstrumentation.registerCache(
+                            "chat-memory-near-cache", id != null ? id : "infinispan", nearCache);
+                    store = nearCache;
+                    LOG.debug("Keeping up to {} conversations in the near cache", config.nearCacheMaxEntries());
+                } else {
+                    invalidationListener = null;
+                    store = persistentStore;
+                }
+                cacheManager = manager;
+
+            } catch (Exception e) {
+                // The cache manager of a store failing to start is not kept, so it is closed here
+                if (manager != null) {
+                    manager.close();
+                }
+                LOG.error("Failed to initialize Infinispan connection for chat memory", e);
+                throw new RuntimeException("Failed to connect to Infinispan for chat memory storage", e);
+            }
+        }
+
+        private static RemoteCache<String, Object> cache(RemoteCacheManager manager, InfinispanConfig config) {
+            String cacheName = config.cacheName();
+            try {
+                // Try to get the named cache first
+                RemoteCache<String, Object> cache = manager.getCache(cacheName);
+                if (cache == null) {
+                    long maxCount = config.memoryMaxCount();
+                    if (maxCount > 0) {
+                        LOG.info("Cache '{}' not found, creating it with up to {} entries", cacheName, maxCount);
+                        manager.administration()
+                                .createCache(
+                                        cacheName,
+                                        new StringConfiguration(String.format(
+                                                "<distributed-cache><memory max-count=\"%d\" when-full=\"REMOVE\"/>"
+                                                        + "</distributed-cache>",
+                                                maxCount)));
+                    } else {
+                        LOG.info("Cache '{}' not found, creating it with default template", cacheName);
+                        // Create cache using the default template
+                        manager.administration().createCache(cacheName, (String) null);
+                    }
+                    cache = manager.getCache(cacheName);
+                } else if (config.memoryMaxCount() > 0) {
+                    LOG.info(
+                            "Cache '{}' already exists, its own configuration bounds its number of entries", cacheName);
+                }
+                return cache;
+            } catch (Exception e) {
+                throw new IllegalArgumentException(
+                        String.format("Failed to get or create named cache %s", cacheName), e);
+            }
+        }
+
+        private void close() {
+            if (invalidationListener != null) {
+                cache.removeClientListener(invalidationListener);
+            }
             LOG.info("Closing Infinispan cache manager for chat memory");
-            CACHE_MANAGER.close();
+            cacheManager.close();
         }
     }
 }
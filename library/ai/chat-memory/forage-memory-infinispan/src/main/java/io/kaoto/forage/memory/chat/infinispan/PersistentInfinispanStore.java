@@ -4,9 +4,13 @@ import dev.langchain4j.data.message.ChatMessage;
 import dev.langchain4j.data.message.ChatMessageDeserializer;
 import dev.langchain4j.data.message.ChatMessageSerializer;
 import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+import io.kaoto.forage.core.ai.memory.ChatMessageCodec;
+import io.kaoto.forage.core.ai.memory.JsonChatMessageCodec;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import org.infinispan.client.hotrod.RemoteCache;
 import org.infinispan.client.hotrod.RemoteCacheManager;
 import org.slf4j.Logger;
@@ -16,14 +20,14 @@ import org.slf4j.LoggerFactory;
  * Infinispan-based implementation of {@link ChatMemoryStore} that provides persistent storage
  * for chat conversation history using Infinispan as the backing store.
  *
- * <p>This implementation stores chat messages as JSON-serialized data in Infinispan, with each
- * conversation identified by a unique memory ID. The store supports the full lifecycle
+ * <p>This implementation stores chat messages as JSON-serialized data in Infinispan, or encoded with another
+ * {@link ChatMessageCodec}, with each conversation identified by a unique memory ID. The store supports the full lifecycle
  * of chat memory operations including retrieval, updates, and deletion.
  *
  * <p><strong>Key Features:</strong>
  * <ul>
  *   <li>Persistent storage of chat conversations across application restarts</li>
- *   <li>Automatic JSON serialization/deserialization of chat messages</li>
+ *   <li>Automatic serialization/deserialization of chat messages, as JSON or compact binary</li>
  *   <li>Distributed caching via Infinispan for scalability and high availability</li>
  *   <li>UTF-8 encoding for proper international character support</li>
  *   <li>Robust error handling with proper resource cleanup</li>
@@ -31,7 +35,13 @@ import org.slf4j.LoggerFactory;
  *
  * <p><strong>Infinispan Key Structure:</strong>
  * Each conversation is stored with the memory ID as the cache key, containing a JSON string
- * of serialized {@link ChatMessage} objects. Empty conversations are represented as empty lists.
+ * of serialized {@link ChatMessage} objects, or the bytes encoded by the codec when another codec is used. Empty
+ * conversations are represented as empty lists. Conversations stored with another built-in codec remain readable
+ * after the codec is changed.
+ *
+ * <p><strong>Expiration:</strong>
+ * When a lifespan or a max-idle time is configured, each update writes the conversation with them, so that Infinispan
+ * removes the conversations no longer updated, or neither read nor updated.
  *
  * <p><strong>Thread Safety:</strong>
  * This class is thread-safe as it uses Infinispan's thread-safe {@link RemoteCache} operations.
@@ -50,7 +60,13 @@ public class PersistentInfinispanStore implements ChatMemoryStore {
     private static final Logger LOG = LoggerFactory.getLogger(PersistentInfinispanStore.class);
     private static final String EMPTY_MESSAGES_JSON = "[]";
 
-    private final RemoteCache<String, String> cache;
+    private final RemoteCache<String, Object> cache;
+    private final long lifespanSeconds;
+    private final long maxIdleSeconds;
+    private final ChatMessageCodec codec;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
 
     /**
      * Creates a new Infinispan-based chat memory store.
@@ -58,8 +74,39 @@ public class PersistentInfinispanStore implements ChatMemoryStore {
      * @param cache the Infinispan remote cache to use for storing chat messages, must not be {@code null}
      * @throws NullPointerException if cache is null
      */
-    public PersistentInfinispanStore(RemoteCache<String, String> cache) {
-        this.cache = Objects.requireNonNull(cache, "RemoteCache cannot be null");
+    public PersistentInfinispanStore(RemoteCache<String, ?> cache) {
+        this(cache, 0, 0);
+    }
+
+    /**
+     * Creates a new Infinispan-based chat memory store expiring the conversations.
+     *
+     * @param cache the Infinispan remote cache to use for storing chat messages, must not be {@code null}
+     * @param lifespanSeconds the time in seconds a conversation is kept after its last update, 0 for no expiry
+     * @param maxIdleSeconds the time in seconds a conversation is kept after its last access, 0 for no expiry
+     * @throws NullPointerException if cache is null
+     */
+    public PersistentInfinispanStore(RemoteCache<String, ?> cache, long lifespanSeconds, long maxIdleSeconds) {
+        this(cache, lifespanSeconds, maxIdleSeconds, JsonChatMessageCodec.INSTANCE);
+    }
+
+    /**
+     * Creates a new Infinispan-based chat memory store expiring the conversations and encoding them with a codec.
+     *
+     * @param cache the Infinispan remote cache to use for storing chat messages, must not be {@code null}
+     * @param lifespanSeconds the time in seconds a conversation is kept after its last update, 0 for no expiry
+     * @param maxIdleSeconds the time in seconds a conversation is kept after its last access, 0 for no expiry
+     * @param codec the codec encoding the conversations, must not be {@code null}
+     * @throws NullPointerException if cache or codec is null
+     */
+    @SuppressWarnings("unchecked")
+    public PersistentInfinispanStore(
+            RemoteCache<String, ?> cache, long lifespanSeconds, long maxIdleSeconds, ChatMessageCodec codec) {
+        // Values are JSON strings with the JSON codec, as they have always been, and byte arrays otherwise
+        this.cache = (RemoteCache<String, Object>) Objects.requireNonNull(cache, "RemoteCache cannot be null");
+        this.lifespanSeconds = lifespanSeconds;
+        this.maxIdleSeconds = maxIdleSeconds;
+        this.codec = Objects.requireNonNull(codec, "ChatMessageCodec cannot be null");
     }
 
     /**
@@ -79,7 +126,7 @@ public class PersistentInfinispanStore implements ChatMemoryStore {
 
         String key = memoryId.toString();
         try {
-            String removed = cache.remove(key);
+            Object removed = cache.remove(key);
             if (removed != null) {
                 LOG.debug("Deleted conversation for memory ID: {}", key);
             } else {
@@ -108,18 +155,25 @@ public class PersistentInfinispanStore implements ChatMemoryStore {
 
         String key = memoryId.toString();
         try {
-            String json = cache.get(key);
+            Object value = cache.get(key);
 
-            if (json == null) {
+            if (value == null) {
+                misses.increment();
                 LOG.debug("No messages found for memory ID: {}", key);
                 return Collections.emptyList();
             }
+            hits.increment();
 
-            if (json.isEmpty() || EMPTY_MESSAGES_JSON.equals(json)) {
-                return Collections.emptyList();
+            List<ChatMessage> messages;
+            if (value instanceof byte[] bytes) {
+                messages = codec.decode(bytes);
+            } else {
+                String json = value.toString();
+                if (json.isEmpty() || EMPTY_MESSAGES_JSON.equals(json)) {
+                    return Collections.emptyList();
+                }
+                messages = ChatMessageDeserializer.messagesFromJson(json);
             }
-
-            List<ChatMessage> messages = ChatMessageDeserializer.messagesFromJson(json);
             LOG.debug("Retrieved {} messages for memory ID: {}", messages.size(), key);
             return messages;
         } catch (Exception e) {
@@ -135,7 +189,7 @@ public class PersistentInfinispanStore implements ChatMemoryStore {
      * Updates the chat messages for the specified memory ID.
      *
      * <p>This operation replaces the entire conversation history with the provided messages.
-     * The messages are serialized to JSON format and stored in Infinispan. If the messages list
+     * The messages are encoded with the codec of the store and stored in Infinispan. If the messages list
      * is empty, an empty conversation is stored (not deleted).
      *
      * @param memoryId the unique identifier for the conversation to update, must not be {@code null}
@@ -150,8 +204,21 @@ public class PersistentInfinispanStore implements ChatMemoryStore {
 
         String key = memoryId.toString();
         try {
-            String json = ChatMessageSerializer.messagesToJson(messages);
-            cache.put(key, json);
+            Object value = codec == JsonChatMessageCodec.INSTANCE
+                    ? ChatMessageSerializer.messagesToJson(messages)
+                    : codec.encode(messages);
+            if (lifespanSeconds > 0 || maxIdleSeconds > 0) {
+                // Negative values stand for no expiry
+                cache.put(
+                        key,
+                        value,
+                        lifespanSeconds > 0 ? lifespanSeconds : -1,
+                        TimeUnit.SECONDS,
+                        maxIdleSeconds > 0 ? maxIdleSeconds : -1,
+                        TimeUnit.SECONDS);
+            } else {
+                cache.put(key, value);
+            }
             LOG.debug("Updated {} messages for memory ID: {}", messages.size(), key);
         } catch (Exception e) {
             LOG.error("Failed to update messages for memory ID: {}", key, e);
@@ -161,4 +228,12 @@ public class PersistentInfinispanStore implements ChatMemoryStore {
             throw new RuntimeException("Failed to update chat messages in Infinispan", e);
         }
     }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
 }
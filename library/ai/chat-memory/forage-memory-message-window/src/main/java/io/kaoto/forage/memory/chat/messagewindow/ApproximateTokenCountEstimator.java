@@ -0,0 +1,43 @@
+package io.kaoto.forage.memory.chat.messagewindow;
+
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.TokenCountEstimator;
+
+/**
+ * Estimates the number of tokens of the messages from the length of their texts, without the tokenizer of a
+ * particular model: about four characters per token for English text, plus a few tokens per message for its role.
+ *
+ * <p>The estimate is only meant to bound the size of token windows, not to match the count of the model.
+ */
+final class ApproximateTokenCountEstimator implements TokenCountEstimator {
+
+    static final ApproximateTokenCountEstimator INSTANCE = new ApproximateTokenCountEstimator();
+
+    private static final int CHARACTERS_PER_TOKEN = 4;
+    private static final int MESSAGE_OVERHEAD_TOKENS = 4;
+
+    private ApproximateTokenCountEstimator() {}
+
+    @Override
+    public int estimateTokenCountInText(String text) {
+        return text == null ? 0 : tokens(text.length());
+    }
+
+    @Override
+    public int estimateTokenCountInMessage(ChatMessage message) {
+        return MESSAGE_OVERHEAD_TOKENS + tokens(PersistentChatMemoryStore.estimateTextLength(message));
+    }
+
+    @Override
+    public int estimateTokenCountInMessages(Iterable<ChatMessage> messages) {
+        int count = 0;
+        for (ChatMessage message : messages) {
+            count += estimateTokenCountInMessage(message);
+        }
+        return count;
+    }
+
+    private static int tokens(long characters) {
+        return (int) Math.min(Integer.MAX_VALUE, (characters + CHARACTERS_PER_TOKEN - 1) / CHARACTERS_PER_TOKEN);
+    }
+}
@@ -2,11 +2,24 @@ package io.kaoto.forage.memory.chat.messagewindow;
 
 import dev.langchain4j.memory.chat.ChatMemoryProvider;
 import dev.langchain4j.memory.chat.MessageWindowChatMemory;
+import dev.langchain4j.memory.chat.TokenWindowChatMemory;
 import io.kaoto.forage.core.ai.ChatMemoryBeanProvider;
 import io.kaoto.forage.core.annotations.ForageBean;
+import io.kaoto.forage.core.instrumentation.ForageInstrumentation;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Creates chat memories kept in memory, in a {@link PersistentChatMemoryStore} per name.
+ *
+ * <p>Each name, usually the name of an agent, has its own store, window and bounds, configured with
+ * {@code forage.<name>.message-window.*}; the unnamed store is configured with {@code forage.message-window.*}.
+ * The conversations of an agent are thus bounded and evicted independently of the other agents, and agents do not
+ * contend on the same store. Providers are created once per name and shared by all the callers asking for it.
+ */
 @ForageBean(
         value = "message-window",
         components = {"camel-langchain4j-agent"},
@@ -15,30 +28,44 @@ import org.slf4j.LoggerFactory;
 public class MessageWindowChatMemoryBeanProvider implements ChatMemoryBeanProvider {
     private static final Logger LOG = LoggerFactory.getLogger(MessageWindowChatMemoryBeanProvider.class);
 
-    private static final PersistentChatMemoryStore PERSISTENT_CHAT_MEMORY_STORE = new PersistentChatMemoryStore();
-    private final ChatMemoryProvider chatMemoryProvider;
-
-    public MessageWindowChatMemoryBeanProvider() {
-        chatMemoryProvider = getChatMemoryProvider();
-    }
+    // Keyed by name, the unnamed provider being keyed by the empty string
+    private static final Map<String, ChatMemoryProvider> PROVIDERS = new ConcurrentHashMap<>();
 
     @Override
-    public synchronized ChatMemoryProvider create() {
-        return chatMemoryProvider;
+    public ChatMemoryProvider create() {
+        return create(null);
     }
 
     @Override
     public ChatMemoryProvider create(String id) {
-        throw new UnsupportedOperationException(
-                "Named chat memory stores are not yet supported for the memory chat window");
+        return PROVIDERS.computeIfAbsent(id != null ? id : "", name -> newChatMemoryProvider(id));
     }
 
-    private static ChatMemoryProvider getChatMemoryProvider() {
-        LOG.trace("Creating MessageWindowChatMemoryFactory");
+    private static ChatMemoryProvider newChatMemoryProvider(String id) {
+        MessageWindowConfig config = new MessageWindowConfig(id);
+        PersistentChatMemoryStore store = new PersistentChatMemoryStore(
+                config.maxConversations(),
+                config.maxBytes(),
+                Duration.ofSeconds(config.maxIdleSeconds()),
+                Duration.ofSeconds(config.lifespanSeconds()));
+        ForageInstrumentation.registerCache("chat-memory", id, store);
+
+        if ("tokens".equals(config.window())) {
+            int maxTokens = config.maxTokens();
+            LOG.debug("Creating the chat memory store '{}' with a window of {} tokens", id, maxTokens);
+            return memoryId -> TokenWindowChatMemory.builder()
+                    .id(memoryId)
+                    .maxTokens(maxTokens, ApproximateTokenCountEstimator.INSTANCE)
+                    .chatMemoryStore(store)
+                    .build();
+        }
+
+        int maxMessages = config.maxMessages();
+        LOG.debug("Creating the chat memory store '{}' with a window of {} messages", id, maxMessages);
         return memoryId -> MessageWindowChatMemory.builder()
                 .id(memoryId)
-                .maxMessages(10)
-                .chatMemoryStore(PERSISTENT_CHAT_MEMORY_STORE)
+                .maxMessages(maxMessages)
+                .chatMemoryStore(store)
                 .build();
     }
 }
@@ -0,0 +1,142 @@
+package io.kaoto.forage.memory.chat.messagewindow;
+
+import static io.kaoto.forage.memory.chat.messagewindow.MessageWindowConfigEntries.LIFESPAN_SECONDS;
+import static io.kaoto.forage.memory.chat.messagewindow.MessageWindowConfigEntries.MAX_BYTES;
+import static io.kaoto.forage.memory.chat.messagewindow.MessageWindowConfigEntries.MAX_CONVERSATIONS;
+import static io.kaoto.forage.memory.chat.messagewindow.MessageWindowConfigEntries.MAX_IDLE_SECONDS;
+import static io.kaoto.forage.memory.chat.messagewindow.MessageWindowConfigEntries.MAX_MESSAGES;
+import static io.kaoto.forage.memory.chat.messagewindow.MessageWindowConfigEntries.MAX_TOKENS;
+import static io.kaoto.forage.memory.chat.messagewindow.MessageWindowConfigEntries.WINDOW;
+
+import io.kaoto.forage.core.util.config.Config;
+import io.kaoto.forage.core.util.config.ConfigModule;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import java.util.Optional;
+
+public class MessageWindowConfig implements Config {
+
+    private final String prefix;
+
+    public MessageWindowConfig() {
+        this(null);
+    }
+
+    public MessageWindowConfig(String prefix) {
+        this.prefix = prefix;
+
+        // First register new configuration modules. This happens only if a prefix is provided
+        MessageWindowConfigEntries.register(prefix);
+
+        // Then, loads the configurations from the properties file associated with this Config module
+        ConfigStore.getInstance().load(MessageWindowConfig.class, this, this::register);
+
+        // Lastly, load the overrides defined in system properties and environment variables
+        MessageWindowConfigEntries.loadOverrides(prefix);
+    }
+
+    /**
+     * Returns what bounds the messages of a conversation, either {@code messages} or {@code tokens}.
+     */
+    public String window() {
+        return ConfigStore.getInstance()
+                .get(WINDOW.asNamed(prefix))
+                .map(value -> {
+                    if ("messages".equalsIgnoreCase(value) || "tokens".equalsIgnoreCase(value)) {
+                        return value.toLowerCase();
+                    }
+                    throw new IllegalArgumentException(
+                            "Invalid message window value: " + value + " (must be messages or tokens)");
+                })
+                .orElse(WINDOW.defaultValue());
+    }
+
+    public int maxMessages() {
+        return ConfigStore.getInstance()
+                .get(MAX_MESSAGES.asNamed(prefix))
+                .map(value -> {
+                    try {
+                        return Integer.parseInt(value);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid max-messages value: " + value, e);
+                    }
+                })
+                .orElse(Integer.parseInt(MAX_MESSAGES.defaultValue()));
+    }
+
+    public int maxTokens() {
+        return ConfigStore.getInstance()
+                .get(MAX_TOKENS.asNamed(prefix))
+                .map(value -> {
+                    try {
+                        return Integer.parseInt(value);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid max-tokens value: " + value, e);
+                    }
+                })
+                .orElse(Integer.parseInt(MAX_TOKENS.defaultValue()));
+    }
+
+    public int maxConversations() {
+        return ConfigStore.getInstance()
+                .get(MAX_CONVERSATIONS.asNamed(prefix))
+                .map(value -> {
+                    try {
+                        return Integer.parseInt(value);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid max-conversations value: " + value, e);
+                    }
+                })
+                .orElse(Integer.parseInt(MAX_CONVERSATIONS.defaultValue()));
+    }
+
+    public long maxBytes() {
+        return ConfigStore.getInstance()
+                .get(MAX_BYTES.asNamed(prefix))
+                .map(value -> {
+                    try {
+                        return Long.parseLong(value);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid max-bytes value: " + value, e);
+                    }
+                })
+                .orElse(Long.parseLong(MAX_BYTES.defaultValue()));
+    }
+
+    public long maxIdleSeconds() {
+        return ConfigStore.getInstance()
+                .get(MAX_IDLE_SECONDS.asNamed(prefix))
+                .map(value -> {
+                    try {
+                        return Long.parseLong(value);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid max-idle-seconds value: " + value, e);
+                    }
+                })
+                .orElse(Long.parseLong(MAX_IDLE_SECONDS.defaultValue()));
+    }
+
+    public long lifespanSeconds() {
+        return ConfigStore.getInstance()
+                .get(LIFESPAN_SECONDS.asNamed(prefix))
+                .map(value -> {
+                    try {
+                        return Long.parseLong(value);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid lifespan-seconds value: " + value, e);
+                    }
+                })
+                .orElse(Long.parseLong(LIFESPAN_SECONDS.defaultValue()));
+    }
+
+    @Override
+    public String name() {
+        return "forage-memory-message-window";
+    }
+
+    @Override
+    public void register(String name, String value) {
+        Optional<ConfigModule> config = MessageWindowConfigEntries.find(prefix, name);
+
+        config.ifPresent(module -> ConfigStore.getInstance().set(module, value));
+    }
+}
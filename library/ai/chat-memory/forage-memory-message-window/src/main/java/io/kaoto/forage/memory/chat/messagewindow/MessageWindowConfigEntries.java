@@ -0,0 +1,119 @@
+package io.kaoto.forage.memory.chat.messagewindow;
+
+import io.kaoto.forage.core.util.config.ConfigEntries;
+import io.kaoto.forage.core.util.config.ConfigEntry;
+import io.kaoto.forage.core.util.config.ConfigModule;
+import io.kaoto.forage.core.util.config.ConfigTag;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class MessageWindowConfigEntries extends ConfigEntries {
+    public static final ConfigModule WINDOW = ConfigModule.of(
+            MessageWindowConfig.class,
+            "forage.message-window.window",
+            "What bounds the messages handed to the model: messages (the last max-messages messages) or tokens (the "
+                    + "last messages within max-tokens estimated tokens)",
+            "Window",
+            "messages",
+            "string",
+            false,
+            ConfigTag.COMMON);
+    public static final ConfigModule MAX_MESSAGES = ConfigModule.of(
+            MessageWindowConfig.class,
+            "forage.message-window.max-messages",
+            "Maximum number of messages of a conversation kept, with the messages window",
+            "Max Messages",
+            "10",
+            "integer",
+            false,
+            ConfigTag.COMMON);
+    public static final ConfigModule MAX_TOKENS = ConfigModule.of(
+            MessageWindowConfig.class,
+            "forage.message-window.max-tokens",
+            "Maximum number of tokens of a conversation kept, estimated from the length of the texts, with the tokens "
+                    + "window",
+            "Max Tokens",
+            "4000",
+            "integer",
+            false,
+            ConfigTag.COMMON);
+    public static final ConfigModule MAX_CONVERSATIONS = ConfigModule.of(
+            MessageWindowConfig.class,
+            "forage.message-window.max-conversations",
+            "Maximum number of conversations kept in memory, the least recently used being evicted (0 for no limit)",
+            "Max Conversations",
+            "10000",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule MAX_BYTES = ConfigModule.of(
+            MessageWindowConfig.class,
+            "forage.message-window.max-bytes",
+            "Maximum size in bytes of the conversations kept in memory, the least recently used being evicted "
+                    + "(0 for no limit)",
+            "Max Bytes",
+            "0",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule MAX_IDLE_SECONDS = ConfigModule.of(
+            MessageWindowConfig.class,
+            "forage.message-window.max-idle-seconds",
+            "Time in seconds after which a conversation neither read nor updated expires (0 for no expiry)",
+            "Max Idle",
+            "0",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule LIFESPAN_SECONDS = ConfigModule.of(
+            MessageWindowConfig.class,
+            "forage.message-window.lifespan-seconds",
+            "Time in seconds after which a conversation not updated expires, even if read (0 for no expiry)",
+            "Lifespan",
+            "0",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    private static final Map<ConfigModule, ConfigEntry> CONFIG_MODULES = new ConcurrentHashMap<>();
+
+    static {
+        init();
+    }
+
+    static void init() {
+        CONFIG_MODULES.put(WINDOW, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(MAX_MESSAGES, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(MAX_TOKENS, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(MAX_CONVERSATIONS, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(MAX_BYTES, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(MAX_IDLE_SECONDS, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(LIFESPAN_SECONDS, ConfigEntry.fromModule());
+    }
+
+    public static Map<ConfigModule, ConfigEntry> entries() {
+        return Collections.unmodifiableMap(CONFIG_MODULES);
+    }
+
+    public static Optional<ConfigModule> find(String prefix, String name) {
+        return find(CONFIG_MODULES, prefix, name);
+    }
+
+    /**
+     * Registers new known configuration if a prefix is provided (otherwise is ignored)
+     * @param prefix the prefix to register
+     */
+    public static void register(String prefix) {
+        register(CONFIG_MODULES, prefix);
+    }
+
+    /**
+     * Load override configurations (which are defined via environment variables and/or system properties)
+     * @param prefix and optional prefix to use
+     */
+    public static void loadOverrides(String prefix) {
+        load(CONFIG_MODULES, prefix);
+    }
+}
@@ -1,40 +1,152 @@
 package io.kaoto.forage.memory.chat.messagewindow;
 
-import static dev.langchain4j.data.message.ChatMessageDeserializer.messagesFromJson;
-import static dev.langchain4j.data.message.ChatMessageSerializer.messagesToJson;
-
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.data.message.AiMessage;
 import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.Content;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.TextContent;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.data.message.UserMessage;
 import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+import io.kaoto.forage.core.instrumentation.CacheStatistics;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class PersistentChatMemoryStore implements ChatMemoryStore {
+/**
+ * In-memory {@link ChatMemoryStore}, bounded by a number of conversations and a size, and expiring the
+ * conversations idle or not updated for too long.
+ *
+ * <p>Conversations are held in a {@link ConcurrentHashMap}, so that agents reading and updating different
+ * conversations do not contend on the store. When a bound is exceeded, a single writer at a time evicts the least
+ * recently used conversations, down to 90% of the bound so that the next writes do not evict again; the other
+ * writers go on meanwhile. Expired conversations are dropped when they are read, and swept by the writers at most
+ * once per expiry period.
+ *
+ * <p>Conversations are kept as the messages themselves, which are immutable, so reading and updating a conversation
+ * only copies the list of messages. The size of a conversation is estimated from the length of its texts, plus a
+ * fixed overhead per message and per non-text content.
+ */
+public class PersistentChatMemoryStore implements ChatMemoryStore, CacheStatistics {
     private static final Logger LOG = LoggerFactory.getLogger(PersistentChatMemoryStore.class);
-    private final Map<Object, String> memoryMap = new ConcurrentHashMap<>();
+    private static final int MESSAGE_OVERHEAD = 64;
+    private static final int CONTENT_OVERHEAD = 256;
+
+    private final int maxConversations;
+    private final long maxBytes;
+    private final long maxIdleNanos;
+    private final long lifespanNanos;
+    private final long sweepIntervalNanos;
+    private final LongSupplier ticker;
+
+    private final Map<Object, Conversation> memoryMap = new ConcurrentHashMap<>();
+    private final AtomicLong residentBytes = new AtomicLong();
+    // Set by the writer purging the store
+    private final AtomicBoolean purging = new AtomicBoolean();
+    private volatile long lastSweep;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    private static final class Conversation {
+        private final List<ChatMessage> messages;
+        private final long bytes;
+        private final long updated;
+        private volatile long accessed;
+
+        private Conversation(List<ChatMessage> messages, long bytes, long now) {
+            this.messages = messages;
+            this.bytes = bytes;
+            this.updated = now;
+            this.accessed = now;
+        }
+    }
+
+    // The access time is copied, as it keeps changing while the candidates are sorted
+    private record Candidate(Object memoryId, Conversation conversation, long accessed) {}
 
     public PersistentChatMemoryStore() {
+        this(0, 0, Duration.ZERO, Duration.ZERO);
+    }
+
+    /**
+     * @param maxConversations the maximum number of conversations, 0 for no limit
+     * @param maxBytes the maximum size of the conversations, 0 for no limit
+     * @param maxIdle how long a conversation neither read nor updated is kept, zero for no expiry
+     * @param lifespan how long a conversation not updated is kept, zero for no expiry
+     */
+    public PersistentChatMemoryStore(int maxConversations, long maxBytes, Duration maxIdle, Duration lifespan) {
+        this(maxConversations, maxBytes, maxIdle, lifespan, System::nanoTime);
+    }
+
+    PersistentChatMemoryStore(
+            int maxConversations, long maxBytes, Duration maxIdle, Duration lifespan, LongSupplier ticker) {
+        this.maxConversations = maxConversations;
+        this.maxBytes = maxBytes;
+        this.maxIdleNanos = maxIdle.toNanos();
+        this.lifespanNanos = lifespan.toNanos();
+        this.sweepIntervalNanos = maxIdleNanos > 0 && lifespanNanos > 0
+                ? Math.min(maxIdleNanos, lifespanNanos)
+                : Math.max(maxIdleNanos, lifespanNanos);
+        this.ticker = ticker;
+        this.lastSweep = ticker.getAsLong();
         LOG.trace(
                 "Creating PersistentChatMemoryStore {}", Thread.currentThread().getId());
     }
 
     @Override
     public List<ChatMessage> getMessages(Object memoryId) {
-        String json = memoryMap.get(memoryId);
-        return json != null ? messagesFromJson(json) : List.of();
+        Conversation conversation = memoryMap.get(memoryId);
+        long now = ticker.getAsLong();
+        if (conversation != null && isExpired(conversation, now)) {
+            if (remove(memoryId, conversation)) {
+                expirations.increment();
+            }
+            conversation = null;
+        }
+        if (conversation == null) {
+            misses.increment();
+            return List.of();
+        }
+        conversation.accessed = now;
+        hits.increment();
+        return new ArrayList<>(conversation.messages);
     }
 
     @Override
     public void updateMessages(Object memoryId, List<ChatMessage> messages) {
-        String json = messagesToJson(messages);
-        memoryMap.put(memoryId, json);
+        List<ChatMessage> copy = List.copyOf(messages);
+        long now = ticker.getAsLong();
+        Conversation conversation = new Conversation(copy, estimateBytes(copy), now);
+        Conversation previous = memoryMap.put(memoryId, conversation);
+        residentBytes.addAndGet(conversation.bytes - (previous != null ? previous.bytes : 0));
+
+        boolean sweep = sweepIntervalNanos > 0 && now - lastSweep >= sweepIntervalNanos;
+        if ((sweep || isOverflowing(0, 0)) && purging.compareAndSet(false, true)) {
+            try {
+                purge(memoryId, now, sweep);
+            } finally {
+                purging.set(false);
+            }
+        }
         if (LOG.isTraceEnabled()) {
             LOG.trace(
-                    "Updated PersistentChatMemoryStore {}: {}",
+                    "Updated PersistentChatMemoryStore {}: {} ({} conversations)",
                     Thread.currentThread().getId(),
-                    memoryMap);
+                    memoryId,
+                    getMemoryCount());
         }
     }
 
@@ -44,18 +156,144 @@ public class PersistentChatMemoryStore implements ChatMemoryStore {
             LOG.trace(
                     "Deleted PersistentChatMemoryStore {}: {}",
                     Thread.currentThread().getId(),
-                    memoryMap);
+                    memoryId);
+        }
+        Conversation removed = memoryMap.remove(memoryId);
+        if (removed != null) {
+            residentBytes.addAndGet(-removed.bytes);
+        }
+    }
+
+    /**
+     * Drops the expired conversations when sweeping, then evicts the least recently used conversations until the
+     * store is back to 90% of its bounds. The conversation just written is kept, even if it exceeds the size alone.
+     */
+    private void purge(Object written, long now, boolean sweep) {
+        if (sweep) {
+            lastSweep = now;
+            memoryMap.forEach((memoryId, conversation) -> {
+                if (isExpired(conversation, now) && remove(memoryId, conversation)) {
+                    expirations.increment();
+                }
+            });
+        }
+
+        int slackConversations = maxConversations / 10;
+        long slackBytes = maxBytes / 10;
+        if (!isOverflowing(0, 0)) {
+            return;
+        }
+        List<Candidate> candidates = new ArrayList<>(memoryMap.size());
+        memoryMap.forEach((memoryId, conversation) -> {
+            if (!memoryId.equals(written)) {
+                candidates.add(new Candidate(memoryId, conversation, conversation.accessed));
+            }
+        });
+        candidates.sort(Comparator.comparingLong(Candidate::accessed));
+        for (Candidate candidate : candidates) {
+            if (!isOverflowing(slackConversations, slackBytes)) {
+                break;
+            }
+            // Not evicted if it was updated meanwhile
+            if (remove(candidate.memoryId(), candidate.conversation())) {
+                if (isExpired(candidate.conversation(), now)) {
+                    expirations.increment();
+                } else {
+                    evictions.increment();
+                }
+            }
         }
-        memoryMap.remove(memoryId);
+    }
+
+    private boolean isOverflowing(int slackConversations, long slackBytes) {
+        return (maxConversations > 0 && memoryMap.size() > maxConversations - slackConversations)
+                || (maxBytes > 0 && residentBytes.get() > maxBytes - slackBytes);
+    }
+
+    private boolean remove(Object memoryId, Conversation conversation) {
+        if (memoryMap.remove(memoryId, conversation)) {
+            residentBytes.addAndGet(-conversation.bytes);
+            return true;
+        }
+        return false;
+    }
+
+    private static long estimateBytes(List<ChatMessage> messages) {
+        long bytes = 0;
+        for (ChatMessage message : messages) {
+            bytes += MESSAGE_OVERHEAD + estimateTextLength(message);
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the length of the texts of a message, each non-text content counting for a fixed length.
+     */
+    static long estimateTextLength(ChatMessage message) {
+        long length = 0;
+        if (message instanceof SystemMessage system) {
+            length += system.text().length();
+        } else if (message instanceof UserMessage user) {
+            for (Content content : user.contents()) {
+                length += content instanceof TextContent text ? text.text().length() : CONTENT_OVERHEAD;
+            }
+        } else if (message instanceof AiMessage ai) {
+            length += ai.text() != null ? ai.text().length() : 0;
+            for (ToolExecutionRequest request : ai.toolExecutionRequests()) {
+                length += request.arguments() != null ? request.arguments().length() : 0;
+            }
+        } else if (message instanceof ToolExecutionResultMessage result) {
+            length += result.text() != null ? result.text().length() : 0;
+        } else {
+            length += CONTENT_OVERHEAD;
+        }
+        return length;
+    }
+
+    private boolean isExpired(Conversation conversation, long now) {
+        return (maxIdleNanos > 0 && now - conversation.accessed > maxIdleNanos)
+                || (lifespanNanos > 0 && now - conversation.updated > lifespanNanos);
     }
 
     public int getMemoryCount() {
         return memoryMap.size();
     }
 
+    @Override
+    public int size() {
+        return memoryMap.size();
+    }
+
     public void clearAll() {
         LOG.trace(
                 "Clearing PersistentChatMemoryStore {}", Thread.currentThread().getId());
-        memoryMap.clear();
+        memoryMap.forEach(this::remove);
+    }
+
+    /**
+     * Returns the estimated size in bytes of the conversations held by the store.
+     */
+    @Override
+    public long residentBytes() {
+        return residentBytes.get();
+    }
+
+    @Override
+    public long hits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long misses() {
+        return misses.sum();
+    }
+
+    @Override
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public long expirations() {
+        return expirations.sum();
     }
 }
@@ -0,0 +1,78 @@
+package io.kaoto.forage.memory.chat.messagewindow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.memory.ChatMemory;
+import dev.langchain4j.memory.chat.ChatMemoryProvider;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MessageWindowChatMemoryBeanProviderTest {
+
+    // Each message is estimated to 4 tokens for its role plus 10 tokens for its text
+    private static final String FORTY_CHARACTERS = "x".repeat(40);
+
+    @TempDir
+    static Path configDir;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        System.setProperty("forage.config.dir", configDir.toString());
+        ConfigStore.getInstance().invalidate();
+        Files.writeString(
+                configDir.resolve("forage-memory-message-window.properties"),
+                "forage.message-window.max-messages=2\n"
+                        + "forage.alpha.message-window.max-messages=4\n"
+                        + "forage.beta.message-window.window=tokens\n"
+                        + "forage.beta.message-window.max-tokens=30\n");
+    }
+
+    @AfterAll
+    static void tearDown() {
+        System.clearProperty("forage.config.dir");
+        ConfigStore.getInstance().invalidate();
+    }
+
+    @Test
+    void sharesTheProviderOfEachName() {
+        MessageWindowChatMemoryBeanProvider beanProvider = new MessageWindowChatMemoryBeanProvider();
+
+        assertThat(beanProvider.create("alpha")).isSameAs(new MessageWindowChatMemoryBeanProvider().create("alpha"));
+        assertThat(beanProvider.create()).isSameAs(beanProvider.create(null));
+        assertThat(beanProvider.create("alpha")).isNotSameAs(beanProvider.create());
+    }
+
+    @Test
+    void boundsTheMessagesWithTheWindowOfEachName() {
+        MessageWindowChatMemoryBeanProvider beanProvider = new MessageWindowChatMemoryBeanProvider();
+
+        assertThat(fill(beanProvider.create("alpha"), "windows").messages()).hasSize(4);
+        assertThat(fill(beanProvider.create(), "windows").messages()).hasSize(2);
+        assertThat(fill(beanProvider.create("beta"), "windows").messages()).hasSize(2);
+    }
+
+    @Test
+    void keepsTheConversationsOfEachNameApart() {
+        MessageWindowChatMemoryBeanProvider beanProvider = new MessageWindowChatMemoryBeanProvider();
+
+        beanProvider.create("alpha").get("apart").add(UserMessage.from("Hello"));
+
+        assertThat(beanProvider.create("alpha").get("apart").messages()).hasSize(1);
+        assertThat(beanProvider.create().get("apart").messages()).isEmpty();
+        assertThat(beanProvider.create("beta").get("apart").messages()).isEmpty();
+    }
+
+    private static ChatMemory fill(ChatMemoryProvider provider, String memoryId) {
+        ChatMemory memory = provider.get(memoryId);
+        for (int i = 0; i < 6; i++) {
+            memory.add(UserMessage.from(FORTY_CHARACTERS));
+        }
+        return memory;
+    }
+}
@@ -0,0 +1,177 @@
+package io.kaoto.forage.memory.chat.messagewindow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.UserMessage;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class PersistentChatMemoryStoreTest {
+
+    private static final List<ChatMessage> TURN = List.of(UserMessage.from("Hello"), AiMessage.from("Hi there"));
+    // Two messages of 64 bytes each, plus the length of their texts
+    private static final long TURN_BYTES = 64 + 5 + 64 + 8;
+
+    private final AtomicLong time = new AtomicLong();
+
+    @Test
+    void evictsTheLeastRecentlyUsedConversations() {
+        PersistentChatMemoryStore store = newStore(3, 0, Duration.ZERO, Duration.ZERO);
+
+        update(store, "a");
+        update(store, "b");
+        update(store, "c");
+        advance(Duration.ofSeconds(1));
+        store.getMessages("a");
+        update(store, "d");
+
+        assertThat(store.getMemoryCount()).isEqualTo(3);
+        assertThat(store.getMessages("b")).isEmpty();
+        assertThat(store.getMessages("a")).isEqualTo(TURN);
+        assertThat(store.getMessages("c")).isEqualTo(TURN);
+        assertThat(store.getMessages("d")).isEqualTo(TURN);
+        assertThat(store.evictions()).isEqualTo(1);
+    }
+
+    @Test
+    void evictsDownToNinetyPercentOfTheBound() {
+        PersistentChatMemoryStore store = newStore(20, 0, Duration.ZERO, Duration.ZERO);
+
+        for (int i = 0; i < 21; i++) {
+            update(store, "conversation-" + i);
+        }
+
+        assertThat(store.getMemoryCount()).isEqualTo(18);
+        assertThat(store.evictions()).isEqualTo(3);
+        assertThat(store.getMessages("conversation-0")).isEmpty();
+        assertThat(store.getMessages("conversation-20")).isEqualTo(TURN);
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedConversationsOverTheSize() {
+        long maxBytes = 2 * TURN_BYTES + TURN_BYTES / 2;
+        PersistentChatMemoryStore store = newStore(0, maxBytes, Duration.ZERO, Duration.ZERO);
+
+        update(store, "a");
+        update(store, "b");
+        assertThat(store.residentBytes()).isEqualTo(2 * TURN_BYTES);
+
+        update(store, "c");
+
+        assertThat(store.residentBytes()).isEqualTo(2 * TURN_BYTES);
+        assertThat(store.getMessages("a")).isEmpty();
+        assertThat(store.getMessages("c")).isEqualTo(TURN);
+        assertThat(store.evictions()).isEqualTo(1);
+    }
+
+    @Test
+    void keepsTheConversationJustWrittenEvenIfTooLarge() {
+        PersistentChatMemoryStore store = newStore(0, 1, Duration.ZERO, Duration.ZERO);
+
+        update(store, "a");
+        update(store, "b");
+
+        assertThat(store.getMemoryCount()).isEqualTo(1);
+        assertThat(store.getMessages("b")).isEqualTo(TURN);
+        assertThat(store.residentBytes()).isEqualTo(TURN_BYTES);
+    }
+
+    @Test
+    void expiresTheConversationsIdleForTooLong() {
+        PersistentChatMemoryStore store = newStore(0, 0, Duration.ofSeconds(10), Duration.ZERO);
+
+        update(store, "conversation");
+        advance(Duration.ofSeconds(6));
+        assertThat(store.getMessages("conversation")).isEqualTo(TURN);
+        advance(Duration.ofSeconds(6));
+        assertThat(store.getMessages("conversation")).isEqualTo(TURN);
+        advance(Duration.ofSeconds(11));
+
+        assertThat(store.getMessages("conversation")).isEmpty();
+        assertThat(store.expirations()).isEqualTo(1);
+        assertThat(store.residentBytes()).isZero();
+    }
+
+    @Test
+    void expiresTheConversationsNotUpdatedForTooLong() {
+        PersistentChatMemoryStore store = newStore(0, 0, Duration.ZERO, Duration.ofSeconds(10));
+
+        update(store, "conversation");
+        advance(Duration.ofSeconds(6));
+        assertThat(store.getMessages("conversation")).isEqualTo(TURN);
+        advance(Duration.ofSeconds(6));
+
+        assertThat(store.getMessages("conversation")).isEmpty();
+        assertThat(store.expirations()).isEqualTo(1);
+    }
+
+    @Test
+    void sweepsTheExpiredConversationsOnWrite() {
+        PersistentChatMemoryStore store = newStore(0, 0, Duration.ofSeconds(10), Duration.ZERO);
+
+        update(store, "a");
+        update(store, "b");
+        advance(Duration.ofSeconds(11));
+        update(store, "c");
+
+        assertThat(store.getMemoryCount()).isEqualTo(1);
+        assertThat(store.expirations()).isEqualTo(2);
+        assertThat(store.residentBytes()).isEqualTo(TURN_BYTES);
+    }
+
+    @Test
+    void staysBoundedUnderConcurrentUpdates() throws Exception {
+        PersistentChatMemoryStore store = newStore(100, 0, Duration.ZERO, Duration.ZERO);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        String memoryId = thread + "-" + i;
+                        update(store, memoryId);
+                        store.getMessages(memoryId);
+                        if (i % 10 == 0) {
+                            store.deleteMessages(memoryId);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        // A writer may have overflowed the store while another one was evicting, the next write evicts again
+        update(store, "last");
+
+        assertThat(store.getMemoryCount()).isLessThanOrEqualTo(100);
+        assertThat(store.residentBytes()).isEqualTo(store.getMemoryCount() * TURN_BYTES);
+    }
+
+    private PersistentChatMemoryStore newStore(
+            int maxConversations, long maxBytes, Duration maxIdle, Duration lifespan) {
+        return new PersistentChatMemoryStore(maxConversations, maxBytes, maxIdle, lifespan, time::get);
+    }
+
+    private void update(PersistentChatMemoryStore store, String memoryId) {
+        store.updateMessages(memoryId, TURN);
+        // Tells the conversations apart by their access times
+        time.incrementAndGet();
+    }
+
+    private void advance(Duration duration) {
+        time.addAndGet(duration.toNanos());
+    }
+}
@@ -0,0 +1,353 @@
+package io.kaoto.forage.memory.chat.redis;
+
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+import io.kaoto.forage.core.ai.memory.ChatMessageCodec;
+import io.kaoto.forage.core.ai.memory.JsonChatMessageCodec;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Transaction;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.exceptions.JedisException;
+
+/**
+ * Redis-based implementation of {@link ChatMemoryStore} storing each conversation as a Redis list, with one
+ * encoded {@link ChatMessage} per entry (JSON by default, see {@link ChatMessageCodec}).
+ *
+ * <p>Unlike {@link PersistentRedisStore}, which rewrites the whole conversation on every turn, this store only sends
+ * the changes: the new messages are appended with {@code RPUSH}, the messages evicted from the head of the window
+ * are dropped with {@code LTRIM}, and the messages removed elsewhere (such as the oldest message after a system
+ * message) are marked and removed with {@code LSET} and {@code LREM}. The commands of a turn are sent in a single
+ * pipelined {@code MULTI}/{@code EXEC}, so the conversation is never seen half updated. Conversations are read with
+ * {@code LRANGE}.
+ *
+ * <p>To compute the changes without reading the conversation again, the store remembers the messages it last read or
+ * wrote for the most recently used conversations. The messages of a conversation it does not remember are read once,
+ * and a conversation with no message in common with the stored one is rewritten. As with
+ * {@link PersistentRedisStore}, a conversation is expected to be updated by one caller at a time. When one of the
+ * commands of an update fails anyway, for instance because the conversation expired or was changed by another
+ * instance meanwhile, the conversation is rewritten.
+ *
+ * <p>When an expiry is configured, it is set on the list again in the transaction of each update.
+ *
+ * <p>Conversations written by {@link PersistentRedisStore} can still be read, and are converted to a list on their
+ * next update.
+ *
+ * @see PersistentRedisStore
+ * @since 1.0
+ */
+public class PersistentRedisListStore implements ChatMemoryStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PersistentRedisListStore.class);
+    private static final int TRACKED_CONVERSATIONS = 1024;
+    private static final byte[] REMOVED = "\u0000forage:removed".getBytes(StandardCharsets.UTF_8);
+
+    private final JedisPool jedisPool;
+    private final long expireSeconds;
+    private final ChatMessageCodec codec;
+    private final Map<String, Snapshot> snapshots = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Snapshot> eldest) {
+            return size() > TRACKED_CONVERSATIONS;
+        }
+    };
+
+    /**
+     * The messages of a conversation as last read from or written to Redis, along with their encoded form.
+     */
+    private record Snapshot(List<ChatMessage> messages, List<byte[]> values) {}
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a new Redis-based chat memory store using lists.
+     *
+     * @param jedisPool the Redis connection pool to use for database operations, must not be {@code null}
+     * @param expireSeconds the time in seconds a conversation is kept after its last update, 0 to keep it forever
+     * @throws NullPointerException if jedisPool is null
+     */
+    public PersistentRedisListStore(JedisPool jedisPool, long expireSeconds) {
+        this(jedisPool, expireSeconds, JsonChatMessageCodec.INSTANCE);
+    }
+
+    /**
+     * Creates a new Redis-based chat memory store using lists, encoding the messages with a codec.
+     *
+     * @param jedisPool the Redis connection pool to use for database operations, must not be {@code null}
+     * @param expireSeconds the time in seconds a conversation is kept after its last update, 0 to keep it forever
+     * @param codec the codec encoding each message, must not be {@code null}
+     * @throws NullPointerException if jedisPool or codec is null
+     */
+    public PersistentRedisListStore(JedisPool jedisPool, long expireSeconds, ChatMessageCodec codec) {
+        this.jedisPool = Objects.requireNonNull(jedisPool, "JedisPool cannot be null");
+        this.expireSeconds = expireSeconds;
+        this.codec = Objects.requireNonNull(codec, "ChatMessageCodec cannot be null");
+    }
+
+    @Override
+    public void deleteMessages(Object memoryId) {
+        Objects.requireNonNull(memoryId, "Memory ID cannot be null");
+
+        String key = memoryId.toString();
+        forget(key);
+        try (Jedis jedis = jedisPool.getResource()) {
+            long deleted = jedis.del(key);
+            LOG.debug("Deleted {} conversation(s) for memory ID: {}", deleted, key);
+        } catch (JedisException e) {
+            LOG.error("Failed to delete messages for memory ID: {}", key, e);
+            throw new RuntimeException("Failed to delete chat messages from Redis", e);
+        }
+    }
+
+    @Override
+    public List<ChatMessage> getMessages(Object memoryId) {
+        Objects.requireNonNull(memoryId, "Memory ID cannot be null");
+
+        String key = memoryId.toString();
+        try (Jedis jedis = jedisPool.getResource()) {
+            Snapshot snapshot = read(jedis, key);
+            if (snapshot == null) {
+                List<ChatMessage> messages = readDocument(jedis, key);
+                (messages.isEmpty() ? misses : hits).increment();
+                return messages;
+            }
+
+            (snapshot.messages().isEmpty() ? misses : hits).increment();
+            remember(key, snapshot);
+            LOG.debug(
+                    "Retrieved {} messages for memory ID: {}",
+                    snapshot.messages().size(),
+                    key);
+            return new ArrayList<>(snapshot.messages());
+        } catch (JedisException e) {
+            LOG.error("Failed to retrieve messages for memory ID: {}", key, e);
+            throw new RuntimeException("Failed to retrieve chat messages from Redis", e);
+        } catch (RuntimeException e) {
+            LOG.error("Failed to deserialize messages for memory ID: {}", key, e);
+            throw new RuntimeException("Failed to deserialize chat messages", e);
+        }
+    }
+
+    @Override
+    public void updateMessages(Object memoryId, List<ChatMessage> messages) {
+        Objects.requireNonNull(memoryId, "Memory ID cannot be null");
+        Objects.requireNonNull(messages, "Messages list cannot be null");
+
+        String key = memoryId.toString();
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        try (Jedis jedis = jedisPool.getResource()) {
+            Snapshot stored = snapshot(key);
+            if (stored == null) {
+                stored = read(jedis, key);
+            }
+
+            Snapshot updated = stored != null
+                    ? update(jedis, keyBytes, stored, messages)
+                    : rewrite(jedis, keyBytes, messages, new byte[messages.size()][]);
+            remember(key, updated);
+        } catch (JedisException e) {
+            forget(key);
+            LOG.error("Failed to update messages for memory ID: {}", key, e);
+            throw new RuntimeException("Failed to update chat messages in Redis", e);
+        } catch (RuntimeException e) {
+            forget(key);
+            LOG.error("Failed to serialize messages for memory ID: {}", key, e);
+            throw new RuntimeException("Failed to serialize chat messages", e);
+        }
+    }
+
+    /**
+     * Sends the changes from the stored messages to the given messages, which are expected to be the stored messages
+     * with some of them removed and new ones appended.
+     */
+    private Snapshot update(Jedis jedis, byte[] key, Snapshot stored, List<ChatMessage> messages) {
+        byte[][] values = new byte[messages.size()][];
+
+        // Match the stored messages, in order, with the head of the new messages; the unmatched ones were removed
+        int matched = 0;
+        List<Integer> removed = new ArrayList<>();
+        for (int i = 0; i < stored.messages().size(); i++) {
+            if (matched < messages.size() && matches(stored, i, messages.get(matched), values, matched)) {
+                matched++;
+            } else {
+                removed.add(i);
+            }
+        }
+
+        if (matched == 0) {
+            return rewrite(jedis, key, messages, values);
+        }
+
+        if (removed.isEmpty() && matched == messages.size()) {
+            if (expireSeconds > 0) {
+                jedis.expire(key, expireSeconds);
+            }
+            return new Snapshot(List.copyOf(messages), List.of(values));
+        }
+
+        int trimmed = 0;
+        while (trimmed < removed.size() && removed.get(trimmed) == trimmed) {
+            trimmed++;
+        }
+
+        Transaction transaction = jedis.multi();
+        for (int i = trimmed; i < removed.size(); i++) {
+            transaction.lset(key, removed.get(i), REMOVED);
+        }
+        if (trimmed > 0) {
+            transaction.ltrim(key, trimmed, -1);
+        }
+        if (trimmed < removed.size()) {
+            transaction.lrem(key, 0, REMOVED);
+        }
+        if (matched < messages.size()) {
+            transaction.rpush(key, encode(messages, values, matched));
+        }
+        if (expireSeconds > 0) {
+            transaction.expire(key, expireSeconds);
+        }
+        if (failed(transaction)) {
+            LOG.debug(
+                    "The stored messages of memory ID {} changed meanwhile, rewriting them",
+                    new String(key, StandardCharsets.UTF_8));
+            return rewrite(jedis, key, messages, values);
+        }
+
+        LOG.debug(
+                "Removed {} and appended {} messages for memory ID: {}",
+                removed.size(),
+                messages.size() - matched,
+                new String(key, StandardCharsets.UTF_8));
+        return new Snapshot(List.copyOf(messages), List.of(values));
+    }
+
+    private Snapshot rewrite(Jedis jedis, byte[] key, List<ChatMessage> messages, byte[][] values) {
+        Transaction transaction = jedis.multi();
+        transaction.del(key);
+        if (!messages.isEmpty()) {
+            transaction.rpush(key, encode(messages, values, 0));
+            if (expireSeconds > 0) {
+                transaction.expire(key, expireSeconds);
+            }
+        }
+        if (failed(transaction)) {
+            throw new JedisDataException(
+                    "Failed to rewrite the messages of memory ID " + new String(key, StandardCharsets.UTF_8));
+        }
+
+        LOG.debug("Rewrote {} messages for memory ID: {}", messages.size(), new String(key, StandardCharsets.UTF_8));
+        return new Snapshot(List.copyOf(messages), List.of(values));
+    }
+
+    /**
+     * Executes the transaction, returning whether it was discarded or one of its commands failed.
+     */
+    private static boolean failed(Transaction transaction) {
+        List<Object> replies;
+        try {
+            replies = transaction.exec();
+        } catch (JedisDataException e) {
+            LOG.trace("Redis discarded the transaction", e);
+            return true;
+        }
+        if (replies == null) {
+            return true;
+        }
+        for (Object reply : replies) {
+            if (reply instanceof Exception) {
+                LOG.trace("A command of the transaction failed", (Exception) reply);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matches(Snapshot stored, int index, ChatMessage message, byte[][] values, int position) {
+        byte[] storedValue = stored.values().get(index);
+        if (message == stored.messages().get(index)) {
+            values[position] = storedValue;
+            return true;
+        }
+        if (values[position] == null) {
+            values[position] = codec.encodeMessage(message);
+        }
+        return Arrays.equals(values[position], storedValue);
+    }
+
+    private byte[][] encode(List<ChatMessage> messages, byte[][] values, int from) {
+        for (int i = from; i < messages.size(); i++) {
+            if (values[i] == null) {
+                values[i] = codec.encodeMessage(messages.get(i));
+            }
+        }
+        return Arrays.copyOfRange(values, from, values.length);
+    }
+
+    /**
+     * Reads the stored messages, or returns null if the conversation was stored as a single document.
+     */
+    private Snapshot read(Jedis jedis, String key) {
+        List<byte[]> values;
+        try {
+            values = jedis.lrange(key.getBytes(StandardCharsets.UTF_8), 0, -1);
+        } catch (JedisDataException e) {
+            if (e.getMessage() != null && e.getMessage().startsWith("WRONGTYPE")) {
+                return null;
+            }
+            throw e;
+        }
+
+        List<ChatMessage> messages = new ArrayList<>(values.size());
+        for (byte[] value : values) {
+            messages.add(codec.decodeMessage(value));
+        }
+        return new Snapshot(Collections.unmodifiableList(messages), Collections.unmodifiableList(values));
+    }
+
+    private List<ChatMessage> readDocument(Jedis jedis, String key) {
+        byte[] bytes = jedis.get(key.getBytes(StandardCharsets.UTF_8));
+        if (bytes == null || bytes.length == 0) {
+            return Collections.emptyList();
+        }
+        LOG.debug("Reading the messages of memory ID {} stored as a single document", key);
+        return codec.decode(bytes);
+    }
+
+    private Snapshot snapshot(String key) {
+        synchronized (snapshots) {
+            return snapshots.get(key);
+        }
+    }
+
+    private void remember(String key, Snapshot snapshot) {
+        synchronized (snapshots) {
+            snapshots.put(key, snapshot);
+        }
+    }
+
+    private void forget(String key) {
+        synchronized (snapshots) {
+            snapshots.remove(key);
+        }
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+}
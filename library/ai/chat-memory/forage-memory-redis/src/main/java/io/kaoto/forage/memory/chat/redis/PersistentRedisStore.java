@@ -1,39 +1,46 @@
 package io.kaoto.forage.memory.chat.redis;
 
 import dev.langchain4j.data.message.ChatMessage;
-import dev.langchain4j.data.message.ChatMessageDeserializer;
-import dev.langchain4j.data.message.ChatMessageSerializer;
 import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+import io.kaoto.forage.core.ai.memory.ChatMessageCodec;
+import io.kaoto.forage.core.ai.memory.JsonChatMessageCodec;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.exceptions.JedisException;
+import redis.clients.jedis.params.SetParams;
 
 /**
  * Redis-based implementation of {@link ChatMemoryStore} that provides persistent storage
  * for chat conversation history using Redis as the backing store.
  *
- * <p>This implementation stores chat messages as JSON-serialized data in Redis, with each
- * conversation identified by a unique memory ID. The store supports the full lifecycle
+ * <p>This implementation stores chat messages as JSON-serialized data in Redis, or encoded with another
+ * {@link ChatMessageCodec}, with each conversation identified by a unique memory ID. The store supports the full lifecycle
  * of chat memory operations including retrieval, updates, and deletion.
  *
  * <p><strong>Key Features:</strong>
  * <ul>
  *   <li>Persistent storage of chat conversations across application restarts</li>
- *   <li>Automatic JSON serialization/deserialization of chat messages</li>
+ *   <li>Automatic serialization/deserialization of chat messages, as JSON or compact binary</li>
  *   <li>Connection pooling via {@link JedisPool} for optimal performance</li>
  *   <li>UTF-8 encoding for proper international character support</li>
  *   <li>Robust error handling with proper resource cleanup</li>
  * </ul>
  *
  * <p><strong>Redis Key Structure:</strong>
- * Each conversation is stored with the memory ID as the Redis key, containing a JSON array
- * of serialized {@link ChatMessage} objects. Empty conversations are represented as empty lists.
+ * Each conversation is stored with the memory ID as the Redis key, containing the encoded
+ * {@link ChatMessage} objects (a JSON array by default). Empty conversations are represented as empty lists.
+ * Conversations stored with another built-in codec remain readable after the codec is changed.
+ *
+ * <p><strong>Expiration:</strong>
+ * When an expiry is configured, each update sets it on the key again, so that conversations no longer updated are
+ * removed by Redis.
  *
  * <p><strong>Thread Safety:</strong>
  * This class is thread-safe as it uses a connection pool and ensures proper resource
@@ -51,9 +58,13 @@ import redis.clients.jedis.exceptions.JedisException;
 public class PersistentRedisStore implements ChatMemoryStore {
 
     private static final Logger LOG = LoggerFactory.getLogger(PersistentRedisStore.class);
-    private static final String EMPTY_MESSAGES_JSON = "[]";
 
     private final JedisPool jedisPool;
+    private final long expireSeconds;
+    private final ChatMessageCodec codec;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
 
     /**
      * Creates a new Redis-based chat memory store.
@@ -62,7 +73,32 @@ public class PersistentRedisStore implements ChatMemoryStore {
      * @throws NullPointerException if jedisPool is null
      */
     public PersistentRedisStore(JedisPool jedisPool) {
+        this(jedisPool, 0);
+    }
+
+    /**
+     * Creates a new Redis-based chat memory store expiring the conversations.
+     *
+     * @param jedisPool the Redis connection pool to use for database operations, must not be {@code null}
+     * @param expireSeconds the time in seconds a conversation is kept after its last update, 0 to keep it forever
+     * @throws NullPointerException if jedisPool is null
+     */
+    public PersistentRedisStore(JedisPool jedisPool, long expireSeconds) {
+        this(jedisPool, expireSeconds, JsonChatMessageCodec.INSTANCE);
+    }
+
+    /**
+     * Creates a new Redis-based chat memory store expiring the conversations and encoding them with a codec.
+     *
+     * @param jedisPool the Redis connection pool to use for database operations, must not be {@code null}
+     * @param expireSeconds the time in seconds a conversation is kept after its last update, 0 to keep it forever
+     * @param codec the codec encoding the conversations, must not be {@code null}
+     * @throws NullPointerException if jedisPool or codec is null
+     */
+    public PersistentRedisStore(JedisPool jedisPool, long expireSeconds, ChatMessageCodec codec) {
         this.jedisPool = Objects.requireNonNull(jedisPool, "JedisPool cannot be null");
+        this.expireSeconds = expireSeconds;
+        this.codec = Objects.requireNonNull(codec, "ChatMessageCodec cannot be null");
     }
 
     /**
@@ -111,16 +147,13 @@ public class PersistentRedisStore implements ChatMemoryStore {
             byte[] bytes = jedis.get(keyBytes);
 
             if (bytes == null) {
+                misses.increment();
                 LOG.debug("No messages found for memory ID: {}", key);
                 return Collections.emptyList();
             }
+            hits.increment();
 
-            String json = new String(bytes, StandardCharsets.UTF_8);
-            if (json.isEmpty() || EMPTY_MESSAGES_JSON.equals(json)) {
-                return Collections.emptyList();
-            }
-
-            List<ChatMessage> messages = ChatMessageDeserializer.messagesFromJson(json);
+            List<ChatMessage> messages = codec.decode(bytes);
             LOG.debug("Retrieved {} messages for memory ID: {}", messages.size(), key);
             return messages;
         } catch (JedisException e) {
@@ -136,7 +169,7 @@ public class PersistentRedisStore implements ChatMemoryStore {
      * Updates the chat messages for the specified memory ID.
      *
      * <p>This operation replaces the entire conversation history with the provided messages.
-     * The messages are serialized to JSON format and stored in Redis. If the messages list
+     * The messages are encoded with the codec of the store and stored in Redis. If the messages list
      * is empty, an empty conversation is stored (not deleted).
      *
      * @param memoryId the unique identifier for the conversation to update, must not be {@code null}
@@ -151,11 +184,14 @@ public class PersistentRedisStore implements ChatMemoryStore {
 
         String key = memoryId.toString();
         try (Jedis jedis = jedisPool.getResource()) {
-            String json = ChatMessageSerializer.messagesToJson(messages);
             byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
-            byte[] messageBytes = json.getBytes(StandardCharsets.UTF_8);
+            byte[] messageBytes = codec.encode(messages);
 
-            jedis.set(keyBytes, messageBytes);
+            if (expireSeconds > 0) {
+                jedis.set(keyBytes, messageBytes, SetParams.setParams().ex(expireSeconds));
+            } else {
+                jedis.set(keyBytes, messageBytes);
+            }
             LOG.debug("Updated {} messages for memory ID: {}", messages.size(), key);
         } catch (JedisException e) {
             LOG.error("Failed to update messages for memory ID: {}", key, e);
@@ -165,4 +201,12 @@ public class PersistentRedisStore implements ChatMemoryStore {
             throw new RuntimeException("Failed to serialize chat messages", e);
         }
     }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
 }
@@ -1,7 +1,13 @@
 package io.kaoto.forage.memory.chat.redis;
 
+import static io.kaoto.forage.memory.chat.redis.RedisConfigEntries.CODEC;
+import static io.kaoto.forage.memory.chat.redis.RedisConfigEntries.COMPRESSION;
 import static io.kaoto.forage.memory.chat.redis.RedisConfigEntries.DATABASE;
+import static io.kaoto.forage.memory.chat.redis.RedisConfigEntries.EXPIRATION_LIFESPAN_SECONDS;
+import static io.kaoto.forage.memory.chat.redis.RedisConfigEntries.EXPIRATION_MAX_IDLE_SECONDS;
 import static io.kaoto.forage.memory.chat.redis.RedisConfigEntries.HOST;
+import static io.kaoto.forage.memory.chat.redis.RedisConfigEntries.LAYOUT;
+import static io.kaoto.forage.memory.chat.redis.RedisConfigEntries.NEAR_CACHE_MAX_ENTRIES;
 import static io.kaoto.forage.memory.chat.redis.RedisConfigEntries.PASSWORD;
 import static io.kaoto.forage.memory.chat.redis.RedisConfigEntries.POOL_MAX_IDLE;
 import static io.kaoto.forage.memory.chat.redis.RedisConfigEntries.POOL_MAX_TOTAL;
@@ -325,6 +331,92 @@ public class RedisConfig implements Config {
                 .orElse(Integer.parseInt(POOL_MAX_WAIT_MILLIS.defaultValue()));
     }
 
+    /**
+     * Returns the layout of the stored conversations, either {@code json} or {@code list}.
+     */
+    public String layout() {
+        return ConfigStore.getInstance()
+                .get(LAYOUT.asNamed(prefix))
+                .map(value -> {
+                    if ("json".equalsIgnoreCase(value) || "list".equalsIgnoreCase(value)) {
+                        return value.toLowerCase();
+                    }
+                    throw new IllegalArgumentException(
+                            "Invalid Redis layout value: " + value + " (must be json or list)");
+                })
+                .orElse(LAYOUT.defaultValue());
+    }
+
+    public long expirationMaxIdleSeconds() {
+        return ConfigStore.getInstance()
+                .get(EXPIRATION_MAX_IDLE_SECONDS.asNamed(prefix))
+                .map(value -> {
+                    try {
+                        return Long.parseLong(value);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid Redis expiration max-idle value: " + value, e);
+                    }
+                })
+                .orElse(Long.parseLong(EXPIRATION_MAX_IDLE_SECONDS.defaultValue()));
+    }
+
+    public long expirationLifespanSeconds() {
+        return ConfigStore.getInstance()
+                .get(EXPIRATION_LIFESPAN_SECONDS.asNamed(prefix))
+                .map(value -> {
+                    try {
+                        return Long.parseLong(value);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid Redis expiration lifespan value: " + value, e);
+                    }
+                })
+                .orElse(Long.parseLong(EXPIRATION_LIFESPAN_SECONDS.defaultValue()));
+    }
+
+    /**
+     * Returns the time in seconds a conversation is kept after its last update, or 0 to keep it forever. Redis keeps
+     * a single expiry per key, and agents update their conversation on each turn, so both the max-idle and the
+     * lifespan are counted from the last update, the shortest one applying.
+     */
+    public long expireSeconds() {
+        long maxIdle = expirationMaxIdleSeconds();
+        long lifespan = expirationLifespanSeconds();
+        if (maxIdle <= 0 || lifespan <= 0) {
+            return Math.max(0, Math.max(maxIdle, lifespan));
+        }
+        return Math.min(maxIdle, lifespan);
+    }
+
+    /**
+     * Returns the name of the codec encoding the stored messages (i.e.: {@code json} or {@code binary}).
+     */
+    public String codec() {
+        return ConfigStore.getInstance().get(CODEC.asNamed(prefix)).orElse(CODEC.defaultValue());
+    }
+
+    /**
+     * Returns the compression of the large encoded messages, either {@code none} or {@code deflate}.
+     */
+    public String compression() {
+        return ConfigStore.getInstance().get(COMPRESSION.asNamed(prefix)).orElse(COMPRESSION.defaultValue());
+    }
+
+    /**
+     * Returns the maximum number of conversations kept in the local near cache, or 0 when it is disabled.
+     */
+    public int nearCacheMaxEntries() {
+        return ConfigStore.getInstance()
+                .get(NEAR_CACHE_MAX_ENTRIES.asNamed(prefix))
+                .map(value -> {
+                    try {
+                        return Integer.parseInt(value);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid Redis near-cache max-entries value: " + value, e);
+                    }
+                })
+                .orElse(Integer.parseInt(NEAR_CACHE_MAX_ENTRIES.defaultValue()));
+    }
+
     /**
      * Returns the unique name identifier for this Redis memory configuration module.
      *
@@ -118,6 +118,63 @@ public final class RedisConfigEntries extends ConfigEntries {
             "integer",
             false,
             ConfigTag.ADVANCED);
+    public static final ConfigModule LAYOUT = ConfigModule.of(
+            RedisConfig.class,
+            "forage.redis.layout",
+            "Layout of the stored conversations: json (one document, rewritten on each turn) or list (one entry per "
+                    + "message, only the changes are sent on each turn)",
+            "Layout",
+            "json",
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule EXPIRATION_MAX_IDLE_SECONDS = ConfigModule.of(
+            RedisConfig.class,
+            "forage.redis.expiration.max-idle-seconds",
+            "Time in seconds after which a conversation not updated expires (0 for no expiry)",
+            "Max Idle",
+            "0",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule EXPIRATION_LIFESPAN_SECONDS = ConfigModule.of(
+            RedisConfig.class,
+            "forage.redis.expiration.lifespan-seconds",
+            "Time in seconds after which a conversation not updated expires, even if read (0 for no expiry)",
+            "Lifespan",
+            "0",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule CODEC = ConfigModule.of(
+            RedisConfig.class,
+            "forage.redis.codec",
+            "Encoding of the stored messages: json, binary (compact, length-prefixed fields) or the name of a "
+                    + "custom codec",
+            "Codec",
+            "json",
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule COMPRESSION = ConfigModule.of(
+            RedisConfig.class,
+            "forage.redis.compression",
+            "Compression of the large encoded messages: none or deflate",
+            "Compression",
+            "none",
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule NEAR_CACHE_MAX_ENTRIES = ConfigModule.of(
+            RedisConfig.class,
+            "forage.redis.near-cache.max-entries",
+            "Maximum number of conversations kept decoded in a local near cache, invalidated by Redis when changed "
+                    + "elsewhere (0 to disable the near cache)",
+            "Near Cache Max Entries",
+            "0",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
 
     private static final Map<ConfigModule, ConfigEntry> CONFIG_MODULES = new ConcurrentHashMap<>();
 
@@ -138,6 +195,12 @@ public final class RedisConfigEntries extends ConfigEntries {
         CONFIG_MODULES.put(POOL_TEST_ON_RETURN, ConfigEntry.fromModule());
         CONFIG_MODULES.put(POOL_TEST_WHILE_IDLE, ConfigEntry.fromModule());
         CONFIG_MODULES.put(POOL_MAX_WAIT_MILLIS, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(LAYOUT, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(EXPIRATION_MAX_IDLE_SECONDS, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(EXPIRATION_LIFESPAN_SECONDS, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(CODEC, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(COMPRESSION, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(NEAR_CACHE_MAX_ENTRIES, ConfigEntry.fromModule());
     }
 
     public static Map<ConfigModule, ConfigEntry> entries() {
@@ -153,12 +216,7 @@ public final class RedisConfigEntries extends ConfigEntries {
      * @param prefix the prefix to register
      */
     public static void register(String prefix) {
-        if (prefix != null) {
-            for (Map.Entry<ConfigModule, ConfigEntry> entry : entries().entrySet()) {
-                ConfigModule configModule = entry.getKey().asNamed(prefix);
-                CONFIG_MODULES.put(configModule, ConfigEntry.fromModule());
-            }
-        }
+        register(CONFIG_MODULES, prefix);
     }
 
     /**
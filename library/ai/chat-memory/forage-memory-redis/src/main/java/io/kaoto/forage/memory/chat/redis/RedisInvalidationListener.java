@@ -0,0 +1,131 @@
+package io.kaoto.forage.memory.chat.redis;
+
+import io.kaoto.forage.core.ai.memory.NearCacheChatMemoryStore;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisClientConfig;
+import redis.clients.jedis.JedisPubSub;
+import redis.clients.jedis.Protocol;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.exceptions.JedisException;
+
+/**
+ * Invalidates the local copies of a {@link NearCacheChatMemoryStore} with Redis client-side caching.
+ *
+ * <p>A dedicated connection turns key tracking on in broadcasting mode, redirecting the invalidation messages to
+ * itself, and subscribes to them. Redis then reports every key changed, expired or evicted, whoever changed it. The
+ * near cache is resumed once the subscription is confirmed, and suspended while the connection is down, as the
+ * messages sent meanwhile are lost; the connection is opened again with an increasing delay.
+ *
+ * <p>Tracking requires Redis 6 or later. When the server rejects it, the near cache stays suspended, so that all the
+ * calls go to Redis.
+ */
+final class RedisInvalidationListener implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RedisInvalidationListener.class);
+
+    private static final String INVALIDATION_CHANNEL = "__redis__:invalidate";
+    private static final long MIN_RETRY_DELAY_MILLIS = 100;
+    private static final long MAX_RETRY_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    private final HostAndPort address;
+    private final JedisClientConfig clientConfig;
+    private final NearCacheChatMemoryStore nearCache;
+    private final Thread thread;
+
+    private volatile boolean closed;
+    private volatile Jedis connection;
+
+    /**
+     * @param address the address of the Redis server
+     * @param clientConfig the configuration of the connection, without socket timeout as it blocks on the
+     *     subscription
+     * @param nearCache the near cache to invalidate
+     */
+    RedisInvalidationListener(HostAndPort address, JedisClientConfig clientConfig, NearCacheChatMemoryStore nearCache) {
+        this.address = address;
+        this.clientConfig = clientConfig;
+        this.nearCache = nearCache;
+        this.thread = new Thread(this::listen, "forage-redis-invalidation");
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    private void listen() {
+        long retryDelay = MIN_RETRY_DELAY_MILLIS;
+        while (!closed) {
+            try (Jedis jedis = new Jedis(address, clientConfig)) {
+                connection = jedis;
+                long clientId = jedis.clientId();
+                jedis.sendCommand(
+                        Protocol.Command.CLIENT, "TRACKING", "ON", "REDIRECT", Long.toString(clientId), "BCAST");
+                retryDelay = MIN_RETRY_DELAY_MILLIS;
+                jedis.subscribe(new Invalidations(), INVALIDATION_CHANNEL);
+            } catch (JedisDataException e) {
+                LOG.warn(
+                        "Redis rejected client-side caching, the chat memory near cache is disabled: {}",
+                        e.getMessage());
+                return;
+            } catch (JedisException e) {
+                if (!closed) {
+                    LOG.warn(
+                            "Lost the Redis invalidation connection, retrying in {} ms: {}",
+                            retryDelay,
+                            e.getMessage());
+                }
+            } finally {
+                connection = null;
+                nearCache.suspend();
+            }
+
+            if (!closed) {
+                try {
+                    Thread.sleep(retryDelay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                retryDelay = Math.min(retryDelay * 2, MAX_RETRY_DELAY_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * Stops listening; the near cache stays suspended.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Jedis jedis = connection;
+        if (jedis != null) {
+            // Unblocks the subscription
+            jedis.disconnect();
+        }
+        thread.interrupt();
+    }
+
+    private final class Invalidations extends JedisPubSub {
+
+        @Override
+        public void onSubscribe(String channel, int subscribedChannels) {
+            LOG.debug("Listening to Redis invalidations, the chat memory near cache is active");
+            nearCache.resume();
+        }
+
+        @Override
+        public void onMessage(String channel, String key) {
+            // A null key means that the whole database was flushed
+            if (key == null) {
+                nearCache.invalidateAll();
+            } else {
+                nearCache.invalidate(key);
+            }
+        }
+    }
+}
@@ -2,10 +2,19 @@ package io.kaoto.forage.memory.chat.redis;
 
 import dev.langchain4j.memory.chat.ChatMemoryProvider;
 import dev.langchain4j.memory.chat.MessageWindowChatMemory;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
 import io.kaoto.forage.core.ai.ChatMemoryBeanProvider;
+import io.kaoto.forage.core.ai.memory.ChatMessageCodec;
+import io.kaoto.forage.core.ai.memory.ChatMessageCodecs;
+import io.kaoto.forage.core.ai.memory.NearCacheChatMemoryStore;
 import io.kaoto.forage.core.annotations.ForageBean;
+import io.kaoto.forage.core.instrumentation.ForageInstrumentation;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import redis.clients.jedis.DefaultJedisClientConfig;
+import redis.clients.jedis.HostAndPort;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.JedisPoolConfig;
 import redis.clients.jedis.exceptions.JedisException;
@@ -30,7 +39,18 @@ import redis.clients.jedis.exceptions.JedisException;
  * <p><strong>Configuration:</strong>
  * The factory uses {@link RedisConfig} to obtain Redis connection parameters.
  * Configuration can be provided through environment variables, system properties,
- * or configuration files. See {@link RedisConfig} for detailed configuration options.
+ * or configuration files. See {@link RedisConfig} for detailed configuration options. Conversations are stored
+ * as single JSON documents by default, or as lists updated with the changes of each turn when
+ * {@code forage.redis.layout} is {@code list}. Messages are encoded as JSON by default, or with the codec named by
+ * {@code forage.redis.codec}, and optionally compressed as set by {@code forage.redis.compression}. When
+ * {@code forage.redis.near-cache.max-entries} is set, the conversations last used are also kept decoded in a local
+ * near cache, invalidated by Redis client-side caching, so that the next turn of a conversation served by the same
+ * instance only writes to Redis.
+ *
+ * <p>Each name, usually the name of an agent, has its own connection pool and store, configured with
+ * {@code forage.<name>.redis.*}; the unnamed store is configured with {@code forage.redis.*}. The store of a name is
+ * created, and connected to Redis, the first time a provider is asked for it, and is shared by all the callers
+ * asking for the same name.
  *
  * <p><strong>Thread Safety:</strong>
  * This factory is thread-safe and can be safely used in concurrent environments.
@@ -40,6 +60,7 @@ import redis.clients.jedis.exceptions.JedisException;
  * @see ChatMemoryBeanProvider
  * @see RedisConfig
  * @see PersistentRedisStore
+ * @see PersistentRedisListStore
  * @since 1.0
  */
 @ForageBean(
@@ -51,67 +72,17 @@ public class RedisMemoryBeanProvider implements ChatMemoryBeanProvider {
     private static final Logger LOG = LoggerFactory.getLogger(RedisMemoryBeanProvider.class);
     private static final int DEFAULT_MAX_MESSAGES = 100;
 
-    private static final RedisConfig CONFIG = new RedisConfig();
-    private static final JedisPool JEDIS_POOL;
-    private static final PersistentRedisStore REDIS_STORE;
-
-    static {
-        LOG.info(
-                "Initializing Redis chat memory provider with host: {}, port: {}, database: {}",
-                CONFIG.host(),
-                CONFIG.port(),
-                CONFIG.database());
-
-        try {
-            // Initialize Redis connection pool with configuration from RedisConfig
-            JedisPoolConfig poolConfig = new JedisPoolConfig();
-            poolConfig.setMaxTotal(CONFIG.poolMaxTotal());
-            poolConfig.setMaxIdle(CONFIG.poolMaxIdle());
-            poolConfig.setMinIdle(CONFIG.poolMinIdle());
-            poolConfig.setTestOnBorrow(CONFIG.poolTestOnBorrow());
-            poolConfig.setTestOnReturn(CONFIG.poolTestOnReturn());
-            poolConfig.setTestWhileIdle(CONFIG.poolTestWhileIdle());
-            poolConfig.setMaxWaitMillis(CONFIG.poolMaxWaitMillis());
-
-            LOG.debug(
-                    "Redis pool configuration: maxTotal={}, maxIdle={}, minIdle={}, testOnBorrow={}, testOnReturn={}, testWhileIdle={}, maxWaitMillis={}",
-                    poolConfig.getMaxTotal(),
-                    poolConfig.getMaxIdle(),
-                    poolConfig.getMinIdle(),
-                    poolConfig.getTestOnBorrow(),
-                    poolConfig.getTestOnReturn(),
-                    poolConfig.getTestWhileIdle(),
-                    poolConfig.getMaxWaitMillis());
-
-            JEDIS_POOL = new JedisPool(
-                    poolConfig, CONFIG.host(), CONFIG.port(), CONFIG.timeout(), CONFIG.password(), CONFIG.database());
-
-            // Test the connection
-            try (var jedis = JEDIS_POOL.getResource()) {
-                jedis.ping();
-                LOG.info(
-                        "Successfully connected to Redis at {}:{}/{} with pool configuration",
-                        CONFIG.host(),
-                        CONFIG.port(),
-                        CONFIG.database());
-            }
-
-            REDIS_STORE = new PersistentRedisStore(JEDIS_POOL);
-
-        } catch (JedisException e) {
-            LOG.error("Failed to initialize Redis connection pool for chat memory", e);
-            throw new RuntimeException("Failed to connect to Redis for chat memory storage", e);
-        }
-    }
+    // Keyed by name, the unnamed memory being keyed by the empty string
+    private static final Map<String, RedisChatMemory> MEMORIES = new ConcurrentHashMap<>();
 
     /**
      * Creates a new Redis memory factory.
      *
-     * <p>The factory uses the statically initialized Redis connection pool that was
-     * configured during class loading using the {@link RedisConfig} settings.
+     * <p>The Redis connection pools are created on the first call to {@link #create(String)} for each name, using
+     * the {@link RedisConfig} settings of that name.
      */
     public RedisMemoryBeanProvider() {
-        // Redis pool and store are initialized statically
+        // Redis pools and stores are initialized on demand
     }
 
     /**
@@ -136,36 +107,146 @@ public class RedisMemoryBeanProvider implements ChatMemoryBeanProvider {
      */
     @Override
     public ChatMemoryProvider create() {
+        return create(null);
+    }
+
+    /**
+     * Creates a chat memory provider like {@link #create()}, backed by the Redis store configured with
+     * {@code forage.<id>.redis.*}.
+     *
+     * @param id the name of the store, or {@code null} for the unnamed store
+     * @return a chat memory provider backed by the Redis store of the given name, never {@code null}
+     * @throws RuntimeException if Redis connection cannot be established or configured
+     */
+    @Override
+    public ChatMemoryProvider create(String id) {
+        ChatMemoryStore store = MEMORIES.computeIfAbsent(id != null ? id : "", name -> new RedisChatMemory(id)).store;
         return memoryId -> {
             LOG.debug("Creating message window chat memory for ID: {}", memoryId);
             return MessageWindowChatMemory.builder()
                     .id(memoryId)
                     .maxMessages(DEFAULT_MAX_MESSAGES)
-                    .chatMemoryStore(REDIS_STORE)
+                    .chatMemoryStore(store)
                     .build();
         };
     }
 
-    @Override
-    public ChatMemoryProvider create(String id) {
-        throw new UnsupportedOperationException("Named chat memory stores are not yet supported for Redis");
-    }
-
     /**
-     * Closes the Redis connection pool and releases all associated resources.
+     * Closes the Redis connection pools and releases all associated resources.
      *
      * <p>This method should be called during application shutdown to ensure proper
-     * cleanup of Redis connections. After calling this method, the factory should
-     * not be used to create new memory providers.
+     * cleanup of Redis connections. The pools are created again if a provider is
+     * created afterwards.
      *
      * <p><strong>Note:</strong> This method is not automatically called and must be
      * explicitly invoked by the application or container during shutdown. Since the
-     * Redis pool is static, this affects all instances of this factory class.
+     * Redis pools are static, this affects all instances of this factory class.
      */
     public static void close() {
-        if (JEDIS_POOL != null && !JEDIS_POOL.isClosed()) {
-            LOG.info("Closing Redis connection pool for chat memory");
-            JEDIS_POOL.close();
+        MEMORIES.values().removeIf(memory -> {
+            memory.close();
+            return true;
+        });
+    }
+
+    /**
+     * The connection pool and store of a name.
+     */
+    private static final class RedisChatMemory {
+        private final JedisPool jedisPool;
+        private final ChatMemoryStore store;
+        private final RedisInvalidationListener invalidationListener;
+
+        private RedisChatMemory(String id) {
+            RedisConfig config = new RedisConfig(id);
+            LOG.info(
+                    "Initializing Redis chat memory provider '{}' with host: {}, port: {}, database: {}",
+                    id,
+                    config.host(),
+                    config.port(),
+                    config.database());
+
+            // Initialize Redis connection pool with configuration from RedisConfig
+            JedisPoolConfig poolConfig = new JedisPoolConfig();
+            poolConfig.setMaxTotal(config.poolMaxTotal());
+            poolConfig.setMaxIdle(config.poolMaxIdle());
+            poolConfig.setMinIdle(config.poolMinIdle());
+            poolConfig.setTestOnBorrow(config.poolTestOnBorrow());
+            poolConfig.setTestOnReturn(config.poolTestOnReturn());
+            poolConfig.setTestWhileIdle(config.poolTestWhileIdle());
+            poolConfig.setMaxWaitMillis(config.poolMaxWaitMillis());
+
+            LOG.debug(
+                    "Redis pool configuration: maxTotal={}, maxIdle={}, minIdle={}, testOnBorrow={}, testOnReturn={}, testWhileIdle={}, maxWaitMillis={}",
+                    poolConfig.getMaxTotal(),
+                    poolConfig.getMaxIdle(),
+                    poolConfig.getMinIdle(),
+                    poolConfig.getTestOnBorrow(),
+                    poolConfig.getTestOnReturn(),
+                    poolConfig.getTestWhileIdle(),
+                    poolConfig.getMaxWaitMillis());
+
+            jedisPool = new JedisPool(
+                    poolConfig, config.host(), config.port(), config.timeout(), config.password(), config.database());
+
+            try {
+                // Test the connection
+                try (var jedis = jedisPool.getResource()) {
+                    jedis.ping();
+                    LOG.info(
+                            "Successfully connected to Redis at {}:{}/{} with pool configuration",
+                            config.host(),
+                            config.port(),
+                            config.database());
+                }
+
+                ChatMessageCodec codec = ChatMessageCodecs.of(config.codec(), config.compression());
+                ChatMemoryStore persistentStore = "list".equals(config.layout())
+                        ? new PersistentRedisListStore(jedisPool, config.expireSeconds(), codec)
+                        : new PersistentRedisStore(jedisPool, config.expireSeconds(), codec);
+                if (config.nearCacheMaxEntries() > 0) {
+                    NearCacheChatMemoryStore nearCache =
+                            new NearCacheChatMemoryStore(persistentStore, config.nearCacheMaxEntries());
+                    invalidationListener = new RedisInvalidationListener(
+                            new HostAndPort(config.host(), config.port()),
+                            DefaultJedisClientConfig.builder()
+                                    .connectionTimeoutMillis(config.timeout())
+                                    .socketTimeoutMillis(0)
+                                    .password(config.password())
+                                    .database(config.database())
+                                    .clientName("forage-chat-memory-invalidation")
+                                    .build(),
+                            nearCache);
+                    invalidationListener.start();
+                    ForageInstrumentation.registerCache("chat-memory-near-cache", id != null ? id : "redis", nearCache);
+                    store = nearCache;
+                    LOG.debug("Keeping up to {} conversations in the near cache", config.nearCacheMaxEntries());
+                } else {
+                    invalidationListener = null;
+                    store = persistentStore;
+                }
+                LOG.debug(
+                        "Storing chat memory in Redis using the {} layout and the {} codec, expiring after {} s",
+                        config.layout(),
+                        codec.name(),
+                        config.expireSeconds());
+
+            } catch (JedisException e) {
+                // The pool of a store failing to start is not kept, so it is closed here
+                jedisPool.close();
+                LOG.error("Failed to initialize Redis connection pool for chat memory", e);
+                throw new RuntimeException("Failed to connect to Redis for chat memory storage", e);
+            }
+        }
+
+        private void close() {
+            if (invalidationListener != null) {
+                invalidationListener.close();
+            }
+            if (!jedisPool.isClosed()) {
+                LOG.info("Closing Redis connection pool for chat memory");
+                jedisPool.close();
+            }
         }
     }
 }
@@ -0,0 +1,113 @@
+package io.kaoto.forage.memory.chat.tck;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.UserMessage;
+import io.kaoto.forage.memory.chat.infinispan.PersistentInfinispanStore;
+import java.util.List;
+import org.infinispan.client.hotrod.MetadataValue;
+import org.infinispan.client.hotrod.RemoteCache;
+import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
+import org.infinispan.commons.configuration.StringConfiguration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Tests the expiry of the conversations stored by {@link PersistentInfinispanStore} against a real Infinispan
+ * instance.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class InfinispanChatMemoryStoreTest {
+
+    private static final int INFINISPAN_PORT = 11222;
+    private static final String KEY = "conversation";
+
+    private static final List<ChatMessage> TURN =
+            List.of(UserMessage.from("What is Forage?"), AiMessage.from("A set of Camel extensions"));
+
+    @Container
+    static GenericContainer<?> infinispan = new GenericContainer<>(DockerImageName.parse("infinispan/server:15.1"))
+            .withExposedPorts(INFINISPAN_PORT)
+            .withEnv("USER", "admin")
+            .withEnv("PASS", "password");
+
+    private static RemoteCacheManager cacheManager;
+    private static RemoteCache<String, Object> cache;
+
+    @BeforeAll
+    static void setUpCache() {
+        ConfigurationBuilder builder = new ConfigurationBuilder();
+        builder.addServer().host(infinispan.getHost()).port(infinispan.getMappedPort(INFINISPAN_PORT));
+        builder.security()
+                .authentication()
+                .enable()
+                .username("admin")
+                .password("password")
+                .realm("default")
+                .saslMechanism("DIGEST-MD5");
+        cacheManager = new RemoteCacheManager(builder.build());
+        cache = cacheManager
+                .administration()
+                .getOrCreateCache("chat-memory-expiry", new StringConfiguration("<distributed-cache/>"));
+    }
+
+    @AfterAll
+    static void closeCache() {
+        cacheManager.close();
+    }
+
+    @BeforeEach
+    void clear() {
+        cache.clear();
+    }
+
+    @Test
+    void storesAConversationWithItsLifespanAndMaxIdle() {
+        new PersistentInfinispanStore(cache, 60, 30).updateMessages(KEY, TURN);
+
+        MetadataValue<Object> entry = cache.getWithMetadata(KEY);
+        assertThat(entry.getLifespan()).isEqualTo(60);
+        assertThat(entry.getMaxIdle()).isEqualTo(30);
+    }
+
+    @Test
+    void storesAConversationWithOnlyALifespan() {
+        new PersistentInfinispanStore(cache, 60, 0).updateMessages(KEY, TURN);
+
+        MetadataValue<Object> entry = cache.getWithMetadata(KEY);
+        assertThat(entry.getLifespan()).isEqualTo(60);
+        assertThat(entry.getMaxIdle()).isEqualTo(-1);
+    }
+
+    @Test
+    void storesAConversationWithoutExpiry() {
+        new PersistentInfinispanStore(cache).updateMessages(KEY, TURN);
+
+        MetadataValue<Object> entry = cache.getWithMetadata(KEY);
+        assertThat(entry.getLifespan()).isEqualTo(-1);
+        assertThat(entry.getMaxIdle()).isEqualTo(-1);
+    }
+
+    @Test
+    void expiresAConversationAfterItsLifespan() throws InterruptedException {
+        PersistentInfinispanStore store = new PersistentInfinispanStore(cache, 1, 0);
+        store.updateMessages(KEY, TURN);
+        assertThat(store.getMessages(KEY)).isEqualTo(TURN);
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!store.getMessages(KEY).isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+
+        assertThat(store.getMessages(KEY)).isEmpty();
+    }
+}
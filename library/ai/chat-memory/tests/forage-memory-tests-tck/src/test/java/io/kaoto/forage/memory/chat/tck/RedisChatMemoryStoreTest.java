@@ -0,0 +1,145 @@
+package io.kaoto.forage.memory.chat.tck;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import io.kaoto.forage.memory.chat.redis.PersistentRedisListStore;
+import io.kaoto.forage.memory.chat.redis.PersistentRedisStore;
+import java.util.List;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+
+/**
+ * Tests the Redis chat memory stores against a real Redis instance: the incremental updates of the list layout, its
+ * recovery when a conversation changed behind its back, and the expiry of the conversations.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RedisChatMemoryStoreTest {
+
+    private static final int REDIS_PORT = 6379;
+    private static final String KEY = "conversation";
+
+    private static final ChatMessage SYSTEM = SystemMessage.from("You are a helpful assistant");
+    private static final ChatMessage QUESTION = UserMessage.from("What is Forage?");
+    private static final ChatMessage ANSWER = AiMessage.from("A set of Camel extensions");
+    private static final ChatMessage FOLLOW_UP = UserMessage.from("Which ones?");
+
+    @Container
+    static GenericContainer<?> redis =
+            new GenericContainer<>(DockerImageName.parse("redis:7-alpine")).withExposedPorts(REDIS_PORT);
+
+    private static JedisPool jedisPool;
+
+    @BeforeAll
+    static void setUpPool() {
+        jedisPool = new JedisPool(redis.getHost(), redis.getMappedPort(REDIS_PORT));
+    }
+
+    @AfterAll
+    static void closePool() {
+        jedisPool.close();
+    }
+
+    @BeforeEach
+    void flush() {
+        try (Jedis jedis = jedisPool.getResource()) {
+            jedis.flushAll();
+        }
+    }
+
+    @Test
+    void appendsAndRemovesOnlyTheChangedMessages() {
+        PersistentRedisListStore store = new PersistentRedisListStore(jedisPool, 0);
+
+        store.updateMessages(KEY, List.of(SYSTEM, QUESTION, ANSWER));
+        store.updateMessages(KEY, List.of(SYSTEM, ANSWER, FOLLOW_UP));
+
+        assertThat(store.getMessages(KEY)).containsExactly(SYSTEM, ANSWER, FOLLOW_UP);
+        assertThat(new PersistentRedisListStore(jedisPool, 0).getMessages(KEY))
+                .containsExactly(SYSTEM, ANSWER, FOLLOW_UP);
+        try (Jedis jedis = jedisPool.getResource()) {
+            assertThat(jedis.type(KEY)).isEqualTo("list");
+        }
+    }
+
+    @Test
+    void rewritesAConversationChangedByAnotherInstance() {
+        PersistentRedisListStore store = new PersistentRedisListStore(jedisPool, 0);
+        store.updateMessages(KEY, List.of(SYSTEM, QUESTION, ANSWER));
+
+        // The list is now shorter than the messages the store remembers, so marking the question fails
+        try (Jedis jedis = jedisPool.getResource()) {
+            jedis.ltrim(KEY, 2, -1);
+        }
+        store.updateMessages(KEY, List.of(SYSTEM, ANSWER, FOLLOW_UP));
+
+        assertThat(new PersistentRedisListStore(jedisPool, 0).getMessages(KEY))
+                .containsExactly(SYSTEM, ANSWER, FOLLOW_UP);
+    }
+
+    @Test
+    void convertsAConversationStoredAsADocument() {
+        new PersistentRedisStore(jedisPool, 0).updateMessages(KEY, List.of(SYSTEM, QUESTION));
+        PersistentRedisListStore store = new PersistentRedisListStore(jedisPool, 0);
+
+        assertThat(store.getMessages(KEY)).containsExactly(SYSTEM, QUESTION);
+        store.updateMessages(KEY, List.of(SYSTEM, QUESTION, ANSWER));
+
+        assertThat(new PersistentRedisListStore(jedisPool, 0).getMessages(KEY))
+                .containsExactly(SYSTEM, QUESTION, ANSWER);
+    }
+
+    @Test
+    void refreshesTheExpiryOfAListOnEachUpdate() {
+        PersistentRedisListStore store = new PersistentRedisListStore(jedisPool, 60);
+
+        store.updateMessages(KEY, List.of(SYSTEM, QUESTION));
+        try (Jedis jedis = jedisPool.getResource()) {
+            assertThat(jedis.ttl(KEY)).isBetween(1L, 60L);
+            jedis.persist(KEY);
+        }
+
+        store.updateMessages(KEY, List.of(SYSTEM, QUESTION, ANSWER));
+        try (Jedis jedis = jedisPool.getResource()) {
+            assertThat(jedis.ttl(KEY)).isBetween(1L, 60L);
+            jedis.persist(KEY);
+        }
+
+        // Unchanged messages still extend the life of the conversation
+        store.updateMessages(KEY, List.of(SYSTEM, QUESTION, ANSWER));
+        try (Jedis jedis = jedisPool.getResource()) {
+            assertThat(jedis.ttl(KEY)).isBetween(1L, 60L);
+        }
+    }
+
+    @Test
+    void expiresADocumentAfterItsLastUpdate() {
+        PersistentRedisStore store = new PersistentRedisStore(jedisPool, 60);
+
+        store.updateMessages(KEY, List.of(SYSTEM, QUESTION));
+
+        try (Jedis jedis = jedisPool.getResource()) {
+            assertThat(jedis.ttl(KEY)).isBetween(1L, 60L);
+        }
+    }
+
+    @Test
+    void keepsConversationsWithoutExpiry() {
+        new PersistentRedisListStore(jedisPool, 0).updateMessages(KEY, List.of(SYSTEM, QUESTION));
+
+        try (Jedis jedis = jedisPool.getResource()) {
+            assertThat(jedis.ttl(KEY)).isEqualTo(-1L);
+        }
+    }
+}
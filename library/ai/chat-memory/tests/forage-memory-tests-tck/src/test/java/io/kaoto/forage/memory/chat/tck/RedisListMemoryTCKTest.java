@@ -0,0 +1,23 @@
+package io.kaoto.forage.memory.chat.tck;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+
+/**
+ * Runs the {@link RedisMemoryTCKTest} with the conversations stored as Redis lists ({@code forage.redis.layout=list})
+ * rather than as single documents.
+ *
+ * <p>The Redis store is initialized once per JVM, so each test class runs in its own JVM.
+ */
+class RedisListMemoryTCKTest extends RedisMemoryTCKTest {
+
+    @BeforeAll
+    static void setUpListLayout() {
+        System.setProperty("forage.redis.layout", "list");
+    }
+
+    @AfterAll
+    static void tearDownListLayout() {
+        System.clearProperty("forage.redis.layout");
+    }
+}
@@ -1,6 +1,9 @@
 package io.kaoto.forage.models.chat.azureopenai;
 
 import static io.kaoto.forage.models.chat.azureopenai.AzureOpenAiConfigEntries.API_KEY;
+import static io.kaoto.forage.models.chat.azureopenai.AzureOpenAiConfigEntries.CONCURRENCY_LIMIT;
+import static io.kaoto.forage.models.chat.azureopenai.AzureOpenAiConfigEntries.CONCURRENCY_QUEUE_SIZE;
+import static io.kaoto.forage.models.chat.azureopenai.AzureOpenAiConfigEntries.CONCURRENCY_QUEUE_TIMEOUT;
 import static io.kaoto.forage.models.chat.azureopenai.AzureOpenAiConfigEntries.DEPLOYMENT_NAME;
 import static io.kaoto.forage.models.chat.azureopenai.AzureOpenAiConfigEntries.ENDPOINT;
 import static io.kaoto.forage.models.chat.azureopenai.AzureOpenAiConfigEntries.FREQUENCY_PENALTY;
@@ -19,6 +22,7 @@ import io.kaoto.forage.core.util.config.Config;
 import io.kaoto.forage.core.util.config.ConfigModule;
 import io.kaoto.forage.core.util.config.ConfigStore;
 import io.kaoto.forage.core.util.config.MissingConfigException;
+import java.time.Duration;
 import java.util.Optional;
 
 /**
@@ -453,4 +457,40 @@ public class AzureOpenAiConfig implements Config {
                 .map(Boolean::parseBoolean)
                 .orElse(null);
     }
+
+    /**
+     * Returns the maximum number of concurrent calls to the model.
+     *
+     * @return the maximum concurrency limit, or null if the calls are not limited
+     */
+    public Integer concurrencyLimit() {
+        return ConfigStore.getInstance()
+                .get(CONCURRENCY_LIMIT.asNamed(prefix))
+                .map(Integer::parseInt)
+                .orElse(null);
+    }
+
+    /**
+     * Returns the maximum number of calls waiting for the concurrency limit.
+     *
+     * @return the queue size (default: 100)
+     */
+    public int concurrencyQueueSize() {
+        return ConfigStore.getInstance()
+                .get(CONCURRENCY_QUEUE_SIZE.asNamed(prefix))
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(CONCURRENCY_QUEUE_SIZE.defaultValue()));
+    }
+
+    /**
+     * Returns the maximum time a call waits for the concurrency limit.
+     *
+     * @return the queue timeout (default: 60 seconds)
+     */
+    public Duration concurrencyQueueTimeout() {
+        return Duration.ofSeconds(ConfigStore.getInstance()
+                .get(CONCURRENCY_QUEUE_TIMEOUT.asNamed(prefix))
+                .map(Long::parseLong)
+                .orElse(Long.parseLong(CONCURRENCY_QUEUE_TIMEOUT.defaultValue())));
+    }
 }
@@ -137,6 +137,34 @@ public final class AzureOpenAiConfigEntries extends ConfigEntries {
             false,
             ConfigTag.ADVANCED);
 
+    public static final ConfigModule CONCURRENCY_LIMIT = ConfigModule.of(
+            AzureOpenAiConfig.class,
+            "forage.azure.openai.concurrency.limit",
+            "Maximum number of concurrent calls to the model, adapted to the rate sustained by Azure OpenAI (no limit if not set)",
+            "Concurrency Limit",
+            null,
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule CONCURRENCY_QUEUE_SIZE = ConfigModule.of(
+            AzureOpenAiConfig.class,
+            "forage.azure.openai.concurrency.queue.size",
+            "Maximum number of calls waiting for the concurrency limit",
+            "Concurrency Queue Size",
+            "100",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule CONCURRENCY_QUEUE_TIMEOUT = ConfigModule.of(
+            AzureOpenAiConfig.class,
+            "forage.azure.openai.concurrency.queue.timeout",
+            "Maximum time in seconds a call waits for the concurrency limit",
+            "Concurrency Queue Timeout",
+            "60",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
     private static final Map<ConfigModule, ConfigEntry> CONFIG_MODULES = new ConcurrentHashMap<>();
 
     static {
@@ -158,6 +186,9 @@ public final class AzureOpenAiConfigEntries extends ConfigEntries {
         CONFIG_MODULES.put(TIMEOUT, ConfigEntry.fromModule());
         CONFIG_MODULES.put(MAX_RETRIES, ConfigEntry.fromModule());
         CONFIG_MODULES.put(LOG_REQUESTS_AND_RESPONSES, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(CONCURRENCY_LIMIT, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(CONCURRENCY_QUEUE_SIZE, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(CONCURRENCY_QUEUE_TIMEOUT, ConfigEntry.fromModule());
     }
 
     public static Map<ConfigModule, ConfigEntry> entries() {
@@ -173,12 +204,7 @@ public final class AzureOpenAiConfigEntries extends ConfigEntries {
      * @param prefix the prefix to register
      */
     public static void register(String prefix) {
-        if (prefix != null) {
-            for (Map.Entry<ConfigModule, ConfigEntry> entry : entries().entrySet()) {
-                ConfigModule configModule = entry.getKey().asNamed(prefix);
-                CONFIG_MODULES.put(configModule, ConfigEntry.fromModule());
-            }
-        }
+        register(CONFIG_MODULES, prefix);
     }
 
     /**
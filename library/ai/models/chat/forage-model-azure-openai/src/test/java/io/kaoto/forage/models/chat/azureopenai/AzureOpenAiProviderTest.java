@@ -0,0 +1,43 @@
+package io.kaoto.forage.models.chat.azureopenai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.langchain4j.model.azure.AzureOpenAiStreamingChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import io.kaoto.forage.core.ai.StreamingModelProvider;
+import io.kaoto.forage.core.ai.limit.ConcurrencyLimitedStreamingChatModel;
+import io.kaoto.forage.core.util.config.ConfigOverlay;
+import org.junit.jupiter.api.Test;
+
+class AzureOpenAiProviderTest {
+
+    @Test
+    void createsAStreamingModelFromTheNamedConfiguration() {
+        StreamingModelProvider provider = new AzureOpenAiProvider();
+        ConfigOverlay overlay = ConfigOverlay.builder()
+                .set("forage.streamer.azure.openai.api.key", "test-key")
+                .set("forage.streamer.azure.openai.endpoint", "https://streamer.openai.azure.com/")
+                .set("forage.streamer.azure.openai.deployment.name", "gpt-4o")
+                .set("forage.streamer.azure.openai.temperature", 0.3)
+                .build();
+
+        StreamingChatModel model = provider.createStreaming("streamer", overlay);
+
+        assertThat(model).isInstanceOf(AzureOpenAiStreamingChatModel.class);
+        assertThat(model.defaultRequestParameters().temperature()).isEqualTo(0.3);
+    }
+
+    @Test
+    void limitsTheConcurrentStreamingCallsWhenConfigured() {
+        ConfigOverlay overlay = ConfigOverlay.builder()
+                .set("forage.limited.azure.openai.api.key", "test-key")
+                .set("forage.limited.azure.openai.endpoint", "https://limited.openai.azure.com/")
+                .set("forage.limited.azure.openai.deployment.name", "gpt-4o")
+                .set("forage.limited.azure.openai.concurrency.limit", 4)
+                .build();
+
+        StreamingChatModel model = new AzureOpenAiProvider().createStreaming("limited", overlay);
+
+        assertThat(model).isInstanceOf(ConcurrencyLimitedStreamingChatModel.class);
+    }
+}
@@ -5,7 +5,9 @@ import static java.time.Duration.ofSeconds;
 import dev.langchain4j.model.chat.ChatModel;
 import dev.langchain4j.model.googleai.GoogleAiGeminiChatModel;
 import io.kaoto.forage.core.ai.ModelProvider;
+import io.kaoto.forage.core.ai.http.SharedHttpClients;
 import io.kaoto.forage.core.annotations.ForageBean;
+import java.net.http.HttpClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -19,6 +21,7 @@ import org.slf4j.LoggerFactory;
         description = "Google Gemini models")
 public class GoogleGeminiProvider implements ModelProvider {
     private static final Logger LOG = LoggerFactory.getLogger(GoogleGeminiProvider.class);
+    private static final String BASE_URL = "https://generativelanguage.googleapis.com/v1beta";
 
     @Override
     public ChatModel create(String id) {
@@ -31,6 +34,7 @@ public class GoogleGeminiProvider implements ModelProvider {
                 .temperature(1.0)
                 .timeout(ofSeconds(60))
                 .logRequestsAndResponses(true)
+                .httpClientBuilder(SharedHttpClients.builder(BASE_URL, HttpClient.Version.HTTP_2))
                 .build();
     }
 }
@@ -1,6 +1,9 @@
 package io.kaoto.forage.models.chat.mistralai;
 
 import static io.kaoto.forage.models.chat.mistralai.MistralAiConfigEntries.API_KEY;
+import static io.kaoto.forage.models.chat.mistralai.MistralAiConfigEntries.CONCURRENCY_LIMIT;
+import static io.kaoto.forage.models.chat.mistralai.MistralAiConfigEntries.CONCURRENCY_QUEUE_SIZE;
+import static io.kaoto.forage.models.chat.mistralai.MistralAiConfigEntries.CONCURRENCY_QUEUE_TIMEOUT;
 import static io.kaoto.forage.models.chat.mistralai.MistralAiConfigEntries.LOG_REQUESTS_AND_RESPONSES;
 import static io.kaoto.forage.models.chat.mistralai.MistralAiConfigEntries.MAX_RETRIES;
 import static io.kaoto.forage.models.chat.mistralai.MistralAiConfigEntries.MAX_TOKENS;
@@ -14,6 +17,7 @@ import io.kaoto.forage.core.util.config.Config;
 import io.kaoto.forage.core.util.config.ConfigModule;
 import io.kaoto.forage.core.util.config.ConfigStore;
 import io.kaoto.forage.core.util.config.MissingConfigException;
+import java.time.Duration;
 import java.util.Optional;
 
 /**
@@ -244,4 +248,40 @@ public class MistralAiConfig implements Config {
                 .map(Boolean::parseBoolean)
                 .orElse(null);
     }
+
+    /**
+     * Returns the maximum number of concurrent calls to the model.
+     *
+     * @return the maximum concurrency limit, or null if the calls are not limited
+     */
+    public Integer concurrencyLimit() {
+        return ConfigStore.getInstance()
+                .get(CONCURRENCY_LIMIT.asNamed(prefix))
+                .map(Integer::parseInt)
+                .orElse(null);
+    }
+
+    /**
+     * Returns the maximum number of calls waiting for the concurrency limit.
+     *
+     * @return the queue size (default: 100)
+     */
+    public int concurrencyQueueSize() {
+        return ConfigStore.getInstance()
+                .get(CONCURRENCY_QUEUE_SIZE.asNamed(prefix))
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(CONCURRENCY_QUEUE_SIZE.defaultValue()));
+    }
+
+    /**
+     * Returns the maximum time a call waits for the concurrency limit.
+     *
+     * @return the queue timeout (default: 60 seconds)
+     */
+    public Duration concurrencyQueueTimeout() {
+        return Duration.ofSeconds(ConfigStore.getInstance()
+                .get(CONCURRENCY_QUEUE_TIMEOUT.asNamed(prefix))
+                .map(Long::parseLong)
+                .orElse(Long.parseLong(CONCURRENCY_QUEUE_TIMEOUT.defaultValue())));
+    }
 }
@@ -92,6 +92,34 @@ public final class MistralAiConfigEntries extends ConfigEntries {
             false,
             ConfigTag.ADVANCED);
 
+    public static final ConfigModule CONCURRENCY_LIMIT = ConfigModule.of(
+            MistralAiConfig.class,
+            "forage.mistralai.concurrency.limit",
+            "Maximum number of concurrent calls to the model, adapted to the rate sustained by MistralAI (no limit if not set)",
+            "Concurrency Limit",
+            null,
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule CONCURRENCY_QUEUE_SIZE = ConfigModule.of(
+            MistralAiConfig.class,
+            "forage.mistralai.concurrency.queue.size",
+            "Maximum number of calls waiting for the concurrency limit",
+            "Concurrency Queue Size",
+            "100",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule CONCURRENCY_QUEUE_TIMEOUT = ConfigModule.of(
+            MistralAiConfig.class,
+            "forage.mistralai.concurrency.queue.timeout",
+            "Maximum time in seconds a call waits for the concurrency limit",
+            "Concurrency Queue Timeout",
+            "60",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
     private static final Map<ConfigModule, ConfigEntry> CONFIG_MODULES = new ConcurrentHashMap<>();
 
     static {
@@ -108,6 +136,9 @@ public final class MistralAiConfigEntries extends ConfigEntries {
         CONFIG_MODULES.put(TIMEOUT, ConfigEntry.fromModule());
         CONFIG_MODULES.put(MAX_RETRIES, ConfigEntry.fromModule());
         CONFIG_MODULES.put(LOG_REQUESTS_AND_RESPONSES, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(CONCURRENCY_LIMIT, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(CONCURRENCY_QUEUE_SIZE, ConfigEntry.fromModule());
+        CONFIG_MODULES.put(CONCURRENCY_QUEUE_TIMEOUT, ConfigEntry.fromModule());
     }
 
     public static Map<ConfigModule, ConfigEntry> entries() {
@@ -123,12 +154,7 @@ public final class MistralAiConfigEntries extends ConfigEntries {
      * @param prefix the prefix to register
      */
     public static void register(String prefix) {
-        if (prefix != null) {
-            for (Map.Entry<ConfigModule, ConfigEntry> entry : entries().entrySet()) {
-                ConfigModule configModule = entry.getKey().asNamed(prefix);
-                CONFIG_MODULES.put(configModule, ConfigEntry.fromModule());
-            }
-        }
+        register(CONFIG_MODULES, prefix);
     }
 
     /**
@@ -5,7 +5,10 @@ import static java.time.Duration.ofSeconds;
 import dev.langchain4j.model.chat.ChatModel;
 import dev.langchain4j.model.mistralai.MistralAiChatModel;
 import io.kaoto.forage.core.ai.ModelProvider;
+import io.kaoto.forage.core.ai.http.SharedHttpClients;
+import io.kaoto.forage.core.ai.limit.ConcurrencyLimiters;
 import io.kaoto.forage.core.annotations.ForageBean;
+import java.net.http.HttpClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -47,6 +50,7 @@ import org.slf4j.LoggerFactory;
         description = "Mistral AI models")
 public class MistralAiProvider implements ModelProvider {
     private static final Logger LOG = LoggerFactory.getLogger(MistralAiProvider.class);
+    private static final String BASE_URL = "https://api.mistral.ai/v1";
 
     /**
      * Creates a new MistralAI chat model instance with the configured parameters.
@@ -98,6 +102,15 @@ public class MistralAiProvider implements ModelProvider {
             builder.logResponses(config.logRequestsAndResponses());
         }
 
-        return builder.build();
+        builder.httpClientBuilder(SharedHttpClients.builder(BASE_URL, HttpClient.Version.HTTP_2));
+
+        return ConcurrencyLimiters.limit(
+                builder.build(),
+                "mistral-ai",
+                BASE_URL,
+                config.modelName(),
+                config.concurrencyLimit(),
+                config.concurrencyQueueSize(),
+                config.concurrencyQueueTimeout());
     }
 }
@@ -1,9 +1,14 @@
 package io.kaoto.forage.models.chat.ollama;
 
 import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
 import dev.langchain4j.model.ollama.OllamaChatModel;
+import dev.langchain4j.model.ollama.OllamaStreamingChatModel;
 import io.kaoto.forage.core.ai.ModelProvider;
+import io.kaoto.forage.core.ai.StreamingModelProvider;
+import io.kaoto.forage.core.ai.http.SharedHttpClients;
 import io.kaoto.forage.core.annotations.ForageBean;
+import java.net.http.HttpClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,6 +32,9 @@ import org.slf4j.LoggerFactory;
  *   <li>Response Logging: Optionally configured via OLLAMA_LOG_RESPONSES environment variable (no default)</li>
  * </ul>
  *
+ * <p>The same configuration is used to create an {@link OllamaStreamingChatModel} through
+ * {@link #createStreaming(String)}.
+ *
  * <p><strong>Usage:</strong>
  * <pre>{@code
  * // Configuration is automatic through environment variables or defaults
@@ -43,7 +51,7 @@ import org.slf4j.LoggerFactory;
         components = {"camel-langchain4j-agent"},
         feature = "Chat Model",
         description = "Locally-hosted models via Ollama (Llama, Mistral, etc.)")
-public class OllamaProvider implements ModelProvider {
+public class OllamaProvider implements ModelProvider, StreamingModelProvider {
     private static final Logger LOG = LoggerFactory.getLogger(OllamaProvider.class);
 
     /**
@@ -113,6 +121,57 @@ public class OllamaProvider implements ModelProvider {
             builder.logResponses(logResponses);
         }
 
+        // Ollama is usually served over plain HTTP, where HTTP/2 would only add an upgrade attempt per connection
+        builder.httpClientBuilder(SharedHttpClients.builder(baseUrl, HttpClient.Version.HTTP_1_1));
+
+        return builder.build();
+    }
+
+    /**
+     * Creates a new Ollama streaming chat model instance with the configured parameters.
+     *
+     * @return a new configured Ollama streaming chat model instance
+     */
+    @Override
+    public StreamingChatModel createStreaming(String id) {
+        final OllamaConfig config = new OllamaConfig(id);
+
+        LOG.trace("Creating Ollama streaming model: {} at {}", config.modelName(), config.baseUrl());
+
+        OllamaStreamingChatModel.OllamaStreamingChatModelBuilder builder =
+                OllamaStreamingChatModel.builder().baseUrl(config.baseUrl()).modelName(config.modelName());
+
+        // Only set optional parameters if they are configured
+        if (config.temperature() != null) {
+            builder.temperature(config.temperature());
+        }
+
+        if (config.topK() != null) {
+            builder.topK(config.topK());
+        }
+
+        if (config.topP() != null) {
+            builder.topP(config.topP());
+        }
+
+        if (config.minP() != null) {
+            builder.minP(config.minP());
+        }
+
+        if (config.numCtx() != null) {
+            builder.numCtx(config.numCtx());
+        }
+
+        if (config.logRequests() != null) {
+            builder.logRequests(config.logRequests());
+        }
+
+        if (config.logResponses() != null) {
+            builder.logResponses(config.logResponses());
+        }
+
+        builder.httpClientBuilder(SharedHttpClients.builder(config.baseUrl(), HttpClient.Version.HTTP_1_1));
+
         return builder.build();
     }
 }
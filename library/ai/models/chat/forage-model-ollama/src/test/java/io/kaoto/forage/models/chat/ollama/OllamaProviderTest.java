@@ -0,0 +1,42 @@
+package io.kaoto.forage.models.chat.ollama;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.ollama.OllamaStreamingChatModel;
+import io.kaoto.forage.core.ai.StreamingModelProvider;
+import io.kaoto.forage.core.util.config.ConfigOverlay;
+import org.junit.jupiter.api.Test;
+
+class OllamaProviderTest {
+
+    @Test
+    void createsAStreamingModelFromTheNamedConfiguration() {
+        StreamingModelProvider provider = new OllamaProvider();
+        ConfigOverlay overlay = ConfigOverlay.builder()
+                .set("forage.streamer.ollama.base.url", "http://streamer:11434")
+                .set("forage.streamer.ollama.model.name", "granite3.3:8b")
+                .set("forage.streamer.ollama.temperature", 0.4)
+                .set("forage.streamer.ollama.top.k", 20)
+                .build();
+
+        StreamingChatModel model = provider.createStreaming("streamer", overlay);
+
+        assertThat(model).isInstanceOf(OllamaStreamingChatModel.class);
+        assertThat(model.defaultRequestParameters().modelName()).isEqualTo("granite3.3:8b");
+        assertThat(model.defaultRequestParameters().temperature()).isEqualTo(0.4);
+        assertThat(model.defaultRequestParameters().topK()).isEqualTo(20);
+    }
+
+    @Test
+    void keepsTheOverlayValuesToTheModelCreatedWithIt() {
+        ConfigOverlay overlay = ConfigOverlay.builder()
+                .set("forage.scoped.ollama.model.name", "granite3.3:8b")
+                .build();
+
+        StreamingChatModel model = new OllamaProvider().createStreaming("scoped", overlay);
+
+        assertThat(model.defaultRequestParameters().modelName()).isEqualTo("granite3.3:8b");
+        assertThat(new OllamaConfig("scoped").modelName()).isNotEqualTo("granite3.3:8b");
+    }
+}
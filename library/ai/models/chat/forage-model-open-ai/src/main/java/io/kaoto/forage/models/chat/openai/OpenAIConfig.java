@@ -2,6 +2,9 @@ package io.kaoto.forage.models.chat.openai;
 
 import static io.kaoto.forage.models.chat.openai.OpenAIConfigEntries.API_KEY;
 import static io.kaoto.forage.models.chat.openai.OpenAIConfigEntries.BASE_URL;
+import static io.kaoto.forage.models.chat.openai.OpenAIConfigEntries.CONCURRENCY_LIMIT;
+import static io.kaoto.forage.models.chat.openai.OpenAIConfigEntries.CONCURRENCY_QUEUE_SIZE;
+import static io.kaoto.forage.models.chat.openai.OpenAIConfigEntries.CONCURRENCY_QUEUE_TIMEOUT;
 import static io.kaoto.forage.models.chat.openai.OpenAIConfigEntries.FREQUENCY_PENALTY;
 import static io.kaoto.forage.models.chat.openai.OpenAIConfigEntries.HTTP1_1;
 import static io.kaoto.forage.models.chat.openai.OpenAIConfigEntries.LOG_REQUESTS;
@@ -399,7 +402,7 @@ public class OpenAIConfig implements Config {
         return ConfigStore.getInstance()
                 .get(TIMEOUT.asNamed(prefix))
                 .map(Duration::parse)
-                .orElseThrow(null);
+                .orElse(null);
     }
 
     public Boolean http1_1() {
@@ -408,4 +411,40 @@ public class OpenAIConfig implements Config {
                 .map(Boolean::parseBoolean)
                 .orElse(null);
     }
+
+    /**
+     * Returns the maximum number of concurrent calls to the model.
+     *
+     * @return the maximum concurrency limit, or null if the calls are not limited
+     */
+    public Integer concurrencyLimit() {
+        return ConfigStore.getInstance()
+                .get(CONCURRENCY_LIMIT.asNamed(prefix))
+                .map(Integer::parseInt)
+                .orElse(null);
+    }
+
+    /**
+     * Returns the maximum number of calls waiting for the concurrency limit.
+     *
+     * @return the queue size (default: 100)
+     */
+    public int concurrencyQueueSize() {
+        return ConfigStore.getInstance()
+                .get(CONCURRENCY_QUEUE_SIZE.asNamed(prefix))
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(CONCURRENCY_QUEUE_SIZE.defaultValue()));
+    }
+
+    /**
+     * Returns the maximum time a call waits for the concurrency limit.
+     *
+     * @return the queue timeout (default: 60 seconds)
+     */
+    public Duration concurrencyQueueTimeout() {
+        return Duration.ofSeconds(ConfigStore.getInstance()
+                .get(CONCURRENCY_QUEUE_TIMEOUT.asNamed(prefix))
+                .map(Long::parseLong)
+                .orElse(Long.parseLong(CONCURRENCY_QUEUE_TIMEOUT.defaultValue())));
+    }
 }
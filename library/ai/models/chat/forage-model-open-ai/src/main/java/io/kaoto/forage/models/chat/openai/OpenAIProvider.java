@@ -1,9 +1,14 @@
 package io.kaoto.forage.models.chat.openai;
 
-import dev.langchain4j.http.client.jdk.JdkHttpClientBuilder;
+import dev.langchain4j.http.client.HttpClientBuilder;
 import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
 import dev.langchain4j.model.openai.OpenAiChatModel;
+import dev.langchain4j.model.openai.OpenAiStreamingChatModel;
 import io.kaoto.forage.core.ai.ModelProvider;
+import io.kaoto.forage.core.ai.StreamingModelProvider;
+import io.kaoto.forage.core.ai.http.SharedHttpClients;
+import io.kaoto.forage.core.ai.limit.ConcurrencyLimiters;
 import io.kaoto.forage.core.annotations.ForageBean;
 import java.net.http.HttpClient;
 import org.slf4j.Logger;
@@ -30,6 +35,10 @@ import org.slf4j.LoggerFactory;
  *   <li>Response Logging: Optionally configured via OPENAI_LOG_RESPONSES environment variable (no default)</li>
  * </ul>
  *
+ * <p>The same configuration is used to create an {@link OpenAiStreamingChatModel} through
+ * {@link #createStreaming(String)}. The models calling the same endpoint with the same settings share their HTTP
+ * client through {@link SharedHttpClients}.
+ *
  * <p><strong>Usage:</strong>
  * <pre>{@code
  * // Configuration is automatic through environment variables or defaults
@@ -46,8 +55,9 @@ import org.slf4j.LoggerFactory;
         components = {"camel-langchain4j-agent"},
         feature = "Chat Model",
         description = "OpenAI API-compatible models")
-public class OpenAIProvider implements ModelProvider {
+public class OpenAIProvider implements ModelProvider, StreamingModelProvider {
     private static final Logger LOG = LoggerFactory.getLogger(OpenAIProvider.class);
+    private static final String DEFAULT_BASE_URL = "https://api.openai.com/v1";
 
     /**
      * Creates a new OpenAI chat model instance with the configured parameters.
@@ -125,14 +135,88 @@ public class OpenAIProvider implements ModelProvider {
             builder.timeout(config.timeout());
         }
 
-        if (config.http1_1()) {
-            JdkHttpClientBuilder clientBuilder = new JdkHttpClientBuilder();
+        builder.httpClientBuilder(httpClientBuilder(config));
+
+        return ConcurrencyLimiters.limit(
+                builder.build(),
+                "openai",
+                baseUrl(config),
+                config.modelName(),
+                config.concurrencyLimit(),
+                config.concurrencyQueueSize(),
+                config.concurrencyQueueTimeout());
+    }
+
+    /**
+     * Creates a new OpenAI streaming chat model instance with the configured parameters.
+     *
+     * @return a new configured OpenAI streaming chat model instance
+     */
+    @Override
+    public StreamingChatModel createStreaming(String id) {
+        OpenAIConfig config = new OpenAIConfig(id);
+
+        LOG.trace("Creating OpenAI streaming model: {}", config.modelName());
+
+        OpenAiStreamingChatModel.OpenAiStreamingChatModelBuilder builder =
+                OpenAiStreamingChatModel.builder().apiKey(config.apiKey()).modelName(config.modelName());
+
+        // Only set optional parameters if they are configured
+        if (config.baseUrl() != null) {
+            builder.baseUrl(config.baseUrl());
+        }
+
+        if (config.temperature() != null) {
+            builder.temperature(config.temperature());
+        }
+
+        if (config.maxTokens() != null) {
+            builder.maxTokens(config.maxTokens());
+        }
 
-            clientBuilder.httpClientBuilder(HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1));
+        if (config.topP() != null) {
+            builder.topP(config.topP());
+        }
 
-            builder.httpClientBuilder(clientBuilder);
+        if (config.frequencyPenalty() != null) {
+            builder.frequencyPenalty(config.frequencyPenalty());
         }
 
-        return builder.build();
+        if (config.presencePenalty() != null) {
+            builder.presencePenalty(config.presencePenalty());
+        }
+
+        if (config.logRequests() != null) {
+            builder.logRequests(config.logRequests());
+        }
+
+        if (config.logResponses() != null) {
+            builder.logResponses(config.logResponses());
+        }
+
+        if (config.timeout() != null) {
+            builder.timeout(config.timeout());
+        }
+
+        builder.httpClientBuilder(httpClientBuilder(config));
+
+        return ConcurrencyLimiters.limit(
+                builder.build(),
+                "openai",
+                baseUrl(config),
+                config.modelName(),
+                config.concurrencyLimit(),
+                config.concurrencyQueueSize(),
+                config.concurrencyQueueTimeout());
+    }
+
+    private static HttpClientBuilder httpClientBuilder(OpenAIConfig config) {
+        return SharedHttpClients.builder(
+                baseUrl(config),
+                Boolean.TRUE.equals(config.http1_1()) ? HttpClient.Version.HTTP_1_1 : HttpClient.Version.HTTP_2);
+    }
+
+    private static String baseUrl(OpenAIConfig config) {
+        return config.baseUrl() != null ? config.baseUrl() : DEFAULT_BASE_URL;
     }
 }
@@ -0,0 +1,44 @@
+package io.kaoto.forage.models.chat.openai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.openai.OpenAiStreamingChatModel;
+import io.kaoto.forage.core.ai.StreamingModelProvider;
+import io.kaoto.forage.core.ai.limit.ConcurrencyLimitedStreamingChatModel;
+import io.kaoto.forage.core.util.config.ConfigOverlay;
+import org.junit.jupiter.api.Test;
+
+class OpenAIProviderTest {
+
+    @Test
+    void createsAStreamingModelFromTheNamedConfiguration() {
+        StreamingModelProvider provider = new OpenAIProvider();
+        ConfigOverlay overlay = ConfigOverlay.builder()
+                .set("forage.streamer.openai.api.key", "test-key")
+                .set("forage.streamer.openai.model.name", "gpt-4o-mini")
+                .set("forage.streamer.openai.temperature", 0.2)
+                .set("forage.streamer.openai.max.tokens", 128)
+                .build();
+
+        StreamingChatModel model = provider.createStreaming("streamer", overlay);
+
+        assertThat(model).isInstanceOf(OpenAiStreamingChatModel.class);
+        assertThat(model.defaultRequestParameters().modelName()).isEqualTo("gpt-4o-mini");
+        assertThat(model.defaultRequestParameters().temperature()).isEqualTo(0.2);
+        assertThat(model.defaultRequestParameters().maxOutputTokens()).isEqualTo(128);
+    }
+
+    @Test
+    void limitsTheConcurrentStreamingCallsWhenConfigured() {
+        ConfigOverlay overlay = ConfigOverlay.builder()
+                .set("forage.limited.openai.api.key", "test-key")
+                .set("forage.limited.openai.base.url", "http://localhost:8089/v1")
+                .set("forage.limited.openai.concurrency.limit", 4)
+                .build();
+
+        StreamingChatModel model = new OpenAIProvider().createStreaming("limited", overlay);
+
+        assertThat(model).isInstanceOf(ConcurrencyLimitedStreamingChatModel.class);
+    }
+}
@@ -3,6 +3,7 @@ package io.kaoto.forage.models.chat.watsonxai;
 import dev.langchain4j.model.chat.ChatModel;
 import dev.langchain4j.model.watsonx.WatsonxChatModel;
 import io.kaoto.forage.core.ai.ModelProvider;
+import io.kaoto.forage.core.ai.limit.ConcurrencyLimiters;
 import io.kaoto.forage.core.annotations.ForageBean;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -92,6 +93,13 @@ public class WatsonxAiProvider implements ModelProvider {
             builder.logResponses(config.logRequestsAndResponses());
         }
 
-        return builder.build();
+        return ConcurrencyLimiters.limit(
+                builder.build(),
+                "watsonx-ai",
+                config.url(),
+                config.modelName(),
+                config.concurrencyLimit(),
+                config.concurrencyQueueSize(),
+                config.concurrencyQueueTimeout());
     }
 }
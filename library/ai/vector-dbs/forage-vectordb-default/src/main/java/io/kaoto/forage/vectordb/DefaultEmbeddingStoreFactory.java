@@ -2,7 +2,9 @@ package io.kaoto.forage.vectordb;
 
 import dev.langchain4j.data.segment.TextSegment;
 import dev.langchain4j.store.embedding.EmbeddingStore;
+import io.kaoto.forage.core.common.ProviderRegistry;
 import io.kaoto.forage.core.vectordb.EmbeddingStoreProvider;
+import java.util.List;
 import java.util.ServiceLoader;
 import org.apache.camel.CamelContext;
 import org.apache.camel.component.langchain4j.embeddingstore.EmbeddingStoreFactory;
@@ -22,9 +24,12 @@ public class DefaultEmbeddingStoreFactory implements EmbeddingStoreFactory {
 
     @Override
     public EmbeddingStore<TextSegment> createEmbeddingStore() {
-        ServiceLoader<EmbeddingStoreProvider> providers = ServiceLoader.load(EmbeddingStoreProvider.class);
-        EmbeddingStoreProvider provider =
-                providers.findFirst().orElseThrow(() -> new IllegalStateException("No EmbeddingStoreProvider found"));
-        return provider.create();
+        ClassLoader classLoader = camelContext != null ? camelContext.getApplicationContextClassLoader() : null;
+        List<ServiceLoader.Provider<EmbeddingStoreProvider>> providers =
+                ProviderRegistry.of(classLoader).providers(EmbeddingStoreProvider.class);
+        if (providers.isEmpty()) {
+            throw new IllegalStateException("No EmbeddingStoreProvider found");
+        }
+        return providers.get(0).get().create();
     }
 }
@@ -49,8 +49,7 @@ public class ForageJdbcProcessor {
             throws Exception {
         ConfigStore.getInstance().setClassLoader(Thread.currentThread().getContextClassLoader());
         DataSourceFactoryConfig config = new DataSourceFactoryConfig();
-        Set<String> prefixes =
-                ConfigStore.getInstance().readPrefixes(config, ConfigHelper.getNamedPropertyRegexp("jdbc"));
+        Set<String> prefixes = ConfigStore.getInstance().readNamedPrefixes(config, "jdbc");
 
         Map<String, DataSourceFactoryConfig> configs = prefixes.isEmpty()
                 ? Collections.singletonMap("dataSource", new DataSourceFactoryConfig())
@@ -1,6 +1,5 @@
 package io.kaoto.forage.quarkus.jdbc;
 
-import io.kaoto.forage.core.util.config.ConfigHelper;
 import io.kaoto.forage.core.util.config.ConfigStore;
 import io.kaoto.forage.jdbc.common.DataSourceFactoryConfig;
 import java.util.HashMap;
@@ -20,8 +19,7 @@ public class ForageJdbcConfigSource implements ConfigSource {
         // try loading multiDatasource properties
         ConfigStore.getInstance().setClassLoader(Thread.currentThread().getContextClassLoader());
         DataSourceFactoryConfig config = new DataSourceFactoryConfig();
-        Set<String> prefixes =
-                ConfigStore.getInstance().readPrefixes(config, ConfigHelper.getNamedPropertyRegexp("jdbc"));
+        Set<String> prefixes = ConfigStore.getInstance().readNamedPrefixes(config, "jdbc");
 
         if (!prefixes.isEmpty()) {
             for (String name : prefixes) {
@@ -29,7 +27,7 @@ public class ForageJdbcConfigSource implements ConfigSource {
                 configureDs(name, dsFactoryConfig);
             }
         } else if (!ConfigStore.getInstance()
-                .readPrefixes(config, ConfigHelper.getDefaultPropertyRegexp("jdbc"))
+                .readDefaultPrefixes(config, "jdbc")
                 .isEmpty()) {
             configureDs("dataSource", config);
         } else {
@@ -1,6 +1,11 @@
 package io.kaoto.forage.jdbc.common;
 
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.ACQUISITION_TIMEOUT_SECONDS;
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.MAX_SIZE;
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.MIN_SIZE;
+
 import io.agroal.api.AgroalDataSource;
+import io.agroal.api.configuration.AgroalConnectionPoolConfiguration;
 import io.agroal.api.configuration.AgroalDataSourceConfiguration;
 import io.agroal.api.configuration.supplier.AgroalConnectionFactoryConfigurationSupplier;
 import io.agroal.api.configuration.supplier.AgroalConnectionPoolConfigurationSupplier;
@@ -9,7 +14,11 @@ import io.agroal.api.security.NamePrincipal;
 import io.agroal.api.security.SimplePassword;
 import io.agroal.api.transaction.TransactionIntegration;
 import io.agroal.narayana.NarayanaTransactionIntegration;
+import io.kaoto.forage.core.ConfigWatchConfig;
 import io.kaoto.forage.core.jdbc.DataSourceProvider;
+import io.kaoto.forage.core.util.config.ConfigChangeEvent;
+import io.kaoto.forage.core.util.config.ConfigChangeListener;
+import io.kaoto.forage.core.util.config.ConfigStore;
 import io.kaoto.forage.jdbc.common.idempotent.ForageIdRepository;
 import io.kaoto.forage.jdbc.common.transactions.TransactionConfiguration;
 import java.time.Duration;
@@ -103,12 +112,60 @@ public abstract class PooledDataSource implements DataSourceProvider, ForageIdRe
         AgroalDataSourceConfiguration dsConfig = configSupplier.get();
 
         LOG.info("Pooled DataSource initialized successfully for id: {}", id);
+        AgroalDataSource dataSource;
         try {
-            return AgroalDataSource.from(dsConfig);
+            dataSource = AgroalDataSource.from(dsConfig);
         } catch (Exception e) {
             LOG.error("Failed to create DataSource for id: {}", id, e);
             throw new RuntimeException("Failed to create DataSource", e);
         }
+
+        if (!new ConfigWatchConfig().enabled()) {
+            return dataSource;
+        }
+
+        // The resizer is removed when the data source is closed
+        PoolResizer resizer = new PoolResizer(dataSource, config, id);
+        ConfigStore.getInstance().addChangeListener(resizer);
+        return new ResizableDataSource(dataSource, resizer);
+    }
+
+    /**
+     * Applies the pool size and acquisition timeout changes of a reloaded configuration to a running pool.
+     * Other settings, such as the JDBC URL or the credentials, require a restart.
+     */
+    private record PoolResizer(AgroalDataSource dataSource, DataSourceFactoryConfig config, String id)
+            implements ConfigChangeListener {
+
+        @Override
+        public void onChange(ConfigChangeEvent event) {
+            if (!event.changedAny(
+                    MIN_SIZE.asNamed(id), MAX_SIZE.asNamed(id), ACQUISITION_TIMEOUT_SECONDS.asNamed(id))) {
+                return;
+            }
+
+            AgroalConnectionPoolConfiguration pool =
+                    dataSource.getConfiguration().connectionPoolConfiguration();
+            int minSize = config.minSize();
+            int maxSize = config.maxSize();
+
+            // Agroal rejects a min size above the max size, so grow the max size first and shrink it last
+            if (minSize > pool.maxSize()) {
+                pool.setMaxSize(maxSize);
+                pool.setMinSize(minSize);
+            } else {
+                pool.setMinSize(minSize);
+                pool.setMaxSize(maxSize);
+            }
+            pool.setAcquisitionTimeout(Duration.ofSeconds(config.acquisitionTimeoutSeconds()));
+
+            LOG.info(
+                    "Resized DataSource {} pool - Min Size: {}, Max Size: {}, Acquisition Timeout: {}s",
+                    id == null ? "dataSource" : id,
+                    minSize,
+                    maxSize,
+                    config.acquisitionTimeoutSeconds());
+        }
     }
 
     protected DataSourceFactoryConfig getConfig() {
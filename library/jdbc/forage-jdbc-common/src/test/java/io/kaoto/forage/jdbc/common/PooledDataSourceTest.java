@@ -0,0 +1,145 @@
+package io.kaoto.forage.jdbc.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.agroal.api.AgroalDataSource;
+import io.kaoto.forage.core.ConfigWatchConfigEntries;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Properties;
+import java.util.logging.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PooledDataSourceTest {
+
+    private static final String CONFIGURATION = "forage.jdbc.db.kind=h2\n"
+            + "forage.jdbc.url=jdbc:h2:mem:pooled-data-source-test\n"
+            + "forage.jdbc.username=sa\n"
+            + "forage.jdbc.password=sa\n"
+            + "forage.jdbc.pool.initial.size=0\n"
+            + "forage.jdbc.pool.min.size=0\n";
+
+    // No connection is opened, the pools being empty
+    private static class TestPooledDataSource extends PooledDataSource {
+        @Override
+        protected Class getConnectionProviderClass() {
+            return NoConnectionDriver.class;
+        }
+
+        @Override
+        public String getTestQuery() {
+            return "SELECT 1";
+        }
+    }
+
+    public static class NoConnectionDriver implements Driver {
+        @Override
+        public Connection connect(String url, Properties info) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean acceptsURL(String url) {
+            return true;
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+            return new DriverPropertyInfo[0];
+        }
+
+        @Override
+        public int getMajorVersion() {
+            return 1;
+        }
+
+        @Override
+        public int getMinorVersion() {
+            return 0;
+        }
+
+        @Override
+        public boolean jdbcCompliant() {
+            return false;
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+    }
+
+    @TempDir
+    Path configDir;
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        System.setProperty("forage.config.dir", configDir.toString());
+        // The pools are only resized when the configuration files are watched
+        System.setProperty("forage.config.watch.enabled", "true");
+        ConfigStore.getInstance().invalidate();
+        file = configDir.resolve("forage-datasource-factory.properties");
+        Files.writeString(file, CONFIGURATION + "forage.jdbc.pool.max.size=5\n");
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty("forage.config.dir");
+        System.clearProperty("forage.config.watch.enabled");
+        ConfigStore.getInstance().set(ConfigWatchConfigEntries.ENABLED, null);
+        DataSourceFactoryConfigEntries.entries().keySet().forEach(module -> ConfigStore.getInstance()
+                .set(module, null));
+        ConfigStore.getInstance().invalidate();
+    }
+
+    @Test
+    void resizesOnlyThePoolsStillOpen() throws Exception {
+        AgroalDataSource open = new TestPooledDataSource().createPooledDataSource(null);
+        AgroalDataSource closed = new TestPooledDataSource().createPooledDataSource(null);
+        try {
+            closed.close();
+
+            Files.writeString(file, CONFIGURATION + "forage.jdbc.pool.max.size=8\n");
+            file.toFile().setLastModified(file.toFile().lastModified() + 2000);
+            ConfigStore.getInstance().reload();
+
+            assertThat(open.getConfiguration().connectionPoolConfiguration().maxSize())
+                    .isEqualTo(8);
+            assertThat(closed.getConfiguration().connectionPoolConfiguration().maxSize())
+                    .isEqualTo(5);
+        } finally {
+            open.close();
+        }
+    }
+
+    @Test
+    void keepsThePoolsAsConfiguredWithoutWatching() throws Exception {
+        System.clearProperty("forage.config.watch.enabled");
+        ConfigStore.getInstance().set(ConfigWatchConfigEntries.ENABLED, null);
+        AgroalDataSource dataSource = new TestPooledDataSource().createPooledDataSource(null);
+        try {
+            Files.writeString(file, CONFIGURATION + "forage.jdbc.pool.max.size=8\n");
+            file.toFile().setLastModified(file.toFile().lastModified() + 2000);
+            ConfigStore.getInstance().reload();
+
+            assertThat(dataSource).isNotInstanceOf(ResizableDataSource.class);
+            assertThat(dataSource
+                            .getConfiguration()
+                            .connectionPoolConfiguration()
+                            .maxSize())
+                    .isEqualTo(5);
+        } finally {
+            dataSource.close();
+        }
+    }
+}
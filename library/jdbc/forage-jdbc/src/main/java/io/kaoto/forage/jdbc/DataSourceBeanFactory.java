@@ -5,7 +5,8 @@ import io.kaoto.forage.core.annotations.ConditionalBeanGroup;
 import io.kaoto.forage.core.annotations.FactoryType;
 import io.kaoto.forage.core.annotations.ForageFactory;
 import io.kaoto.forage.core.common.BeanFactory;
-import io.kaoto.forage.core.common.ServiceLoaderHelper;
+import io.kaoto.forage.core.instrumentation.ForageInstrumentation;
+import io.kaoto.forage.core.instrumentation.StepType;
 import io.kaoto.forage.core.jdbc.DataSourceProvider;
 import io.kaoto.forage.core.jta.MandatoryJtaTransactionPolicy;
 import io.kaoto.forage.core.jta.NeverJtaTransactionPolicy;
@@ -13,7 +14,6 @@ import io.kaoto.forage.core.jta.NotSupportedJtaTransactionPolicy;
 import io.kaoto.forage.core.jta.RequiredJtaTransactionPolicy;
 import io.kaoto.forage.core.jta.RequiresNewJtaTransactionPolicy;
 import io.kaoto.forage.core.jta.SupportsJtaTransactionPolicy;
-import io.kaoto.forage.core.util.config.ConfigHelper;
 import io.kaoto.forage.core.util.config.ConfigStore;
 import io.kaoto.forage.jdbc.common.DataSourceCommonExportHelper;
 import io.kaoto.forage.jdbc.common.DataSourceFactoryConfig;
@@ -100,24 +100,23 @@ public class DataSourceBeanFactory implements BeanFactory {
     public void configure() {
 
         DataSourceFactoryConfig config = new DataSourceFactoryConfig();
-        Set<String> prefixes =
-                ConfigStore.getInstance().readPrefixes(config, ConfigHelper.getNamedPropertyRegexp("jdbc"));
+        Set<String> prefixes = ConfigStore.getInstance().readNamedPrefixes(config, "jdbc");
 
         if (config.transactionEnabled()) {
-            camelContext.getRegistry().bind("PROPAGATION_REQUIRED", new RequiredJtaTransactionPolicy());
-            camelContext.getRegistry().bind("MANDATORY", new MandatoryJtaTransactionPolicy());
-            camelContext.getRegistry().bind("NEVER", new NeverJtaTransactionPolicy());
-            camelContext.getRegistry().bind("NOT_SUPPORTED", new NotSupportedJtaTransactionPolicy());
-            camelContext.getRegistry().bind("REQUIRES_NEW", new RequiresNewJtaTransactionPolicy());
-            camelContext.getRegistry().bind("SUPPORTS", new SupportsJtaTransactionPolicy());
+            bind("PROPAGATION_REQUIRED", new RequiredJtaTransactionPolicy());
+            bind("MANDATORY", new MandatoryJtaTransactionPolicy());
+            bind("NEVER", new NeverJtaTransactionPolicy());
+            bind("NOT_SUPPORTED", new NotSupportedJtaTransactionPolicy());
+            bind("REQUIRES_NEW", new RequiresNewJtaTransactionPolicy());
+            bind("SUPPORTS", new SupportsJtaTransactionPolicy());
         }
 
         if (!prefixes.isEmpty()) {
             for (String name : prefixes) {
-                if (camelContext.getRegistry().lookupByNameAndType(name, DataSource.class) == null) {
+                if (lookup(name, DataSource.class) == null) {
                     DataSourceFactoryConfig dsFactoryConfig = new DataSourceFactoryConfig(name);
                     ForageDataSource forageDataSource = newDataSource(dsFactoryConfig, name);
-                    camelContext.getRegistry().bind(name, forageDataSource.dataSource());
+                    bind(name, forageDataSource.dataSource());
                     createAggregationRepository(dsFactoryConfig, forageDataSource.dataSource());
                     createIdempotentRepository(
                             dsFactoryConfig, forageDataSource.dataSource(), forageDataSource.forageIdRepository());
@@ -125,12 +124,12 @@ public class DataSourceBeanFactory implements BeanFactory {
             }
         } else {
             try {
-                if (camelContext.getRegistry().lookupByNameAndType("dataSource", DataSource.class) == null) {
+                if (lookup("dataSource", DataSource.class) == null) {
                     final List<ServiceLoader.Provider<DataSourceProvider>> providers =
                             findProviders(DataSourceProvider.class);
                     if (providers.size() == 1) {
                         ForageDataSource forageDataSource = doCreateDataSource(providers.get(0), null);
-                        camelContext.getRegistry().bind(DEFAULT_DATASOURCE, forageDataSource.dataSource());
+                        bind(DEFAULT_DATASOURCE, forageDataSource.dataSource());
                         createAggregationRepository(config, forageDataSource.dataSource());
                         createIdempotentRepository(
                                 config, forageDataSource.dataSource(), forageDataSource.forageIdRepository());
@@ -150,7 +149,7 @@ public class DataSourceBeanFactory implements BeanFactory {
             ForageJdbcMessageIdRepository forageJdbcMessageIdRepository =
                     new ForageJdbcMessageIdRepository(config, agroalDataSource, forageIdRepository);
 
-            camelContext.getRegistry().bind(config.idempotentRepositoryTableName(), forageJdbcMessageIdRepository);
+            bind(config.idempotentRepositoryTableName(), forageJdbcMessageIdRepository);
         }
     }
 
@@ -160,14 +159,12 @@ public class DataSourceBeanFactory implements BeanFactory {
             return;
         }
         if (dsFactoryConfig.aggregationRepositoryName() != null) {
-            camelContext
-                    .getRegistry()
-                    .bind(
-                            dsFactoryConfig.aggregationRepositoryName(),
-                            new ForageAggregationRepository(
-                                    agroalDataSource,
-                                    com.arjuna.ats.jta.TransactionManager.transactionManager(),
-                                    dsFactoryConfig));
+            bind(
+                    dsFactoryConfig.aggregationRepositoryName(),
+                    new ForageAggregationRepository(
+                            agroalDataSource,
+                            com.arjuna.ats.jta.TransactionManager.transactionManager(),
+                            dsFactoryConfig));
         }
     }
 
@@ -176,10 +173,8 @@ public class DataSourceBeanFactory implements BeanFactory {
                 DataSourceCommonExportHelper.transformDbKindIntoProviderClass(dataSourceFactoryConfig.dbKind());
         LOG.info("Creating DataSource of type {}", dataSourceProviderClass);
 
-        final List<ServiceLoader.Provider<DataSourceProvider>> providers = findProviders(DataSourceProvider.class);
-
         final ServiceLoader.Provider<DataSourceProvider> dataSourceProvider =
-                ServiceLoaderHelper.findProviderByClassName(providers, dataSourceProviderClass);
+                findProvider(DataSourceProvider.class, dataSourceProviderClass);
 
         if (dataSourceProvider == null) {
             LOG.warn("DataSource {} has no provider for {}", name, dataSourceProviderClass);
@@ -195,7 +190,9 @@ public class DataSourceBeanFactory implements BeanFactory {
         if (dataSourceProvider instanceof ForageIdRepository forageIdRepo) {
             forageIdRepository = forageIdRepo;
         }
-        return new ForageDataSource(dataSourceProvider.create(name), forageIdRepository);
+        return new ForageDataSource(
+                ForageInstrumentation.call(StepType.BEAN_CREATE, name, () -> dataSourceProvider.create(name)),
+                forageIdRepository);
     }
 
     @Override
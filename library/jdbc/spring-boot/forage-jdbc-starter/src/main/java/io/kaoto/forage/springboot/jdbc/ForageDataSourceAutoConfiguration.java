@@ -5,6 +5,7 @@ import io.agroal.springframework.boot.AgroalDataSourceAutoConfiguration;
 import io.kaoto.forage.core.annotations.FactoryType;
 import io.kaoto.forage.core.annotations.FactoryVariant;
 import io.kaoto.forage.core.annotations.ForageFactory;
+import io.kaoto.forage.core.common.ProviderRegistry;
 import io.kaoto.forage.core.common.ServiceLoaderHelper;
 import io.kaoto.forage.core.jdbc.DataSourceProvider;
 import io.kaoto.forage.core.jta.MandatoryJtaTransactionPolicy;
@@ -13,7 +14,6 @@ import io.kaoto.forage.core.jta.NotSupportedJtaTransactionPolicy;
 import io.kaoto.forage.core.jta.RequiredJtaTransactionPolicy;
 import io.kaoto.forage.core.jta.RequiresNewJtaTransactionPolicy;
 import io.kaoto.forage.core.jta.SupportsJtaTransactionPolicy;
-import io.kaoto.forage.core.util.config.ConfigHelper;
 import io.kaoto.forage.core.util.config.ConfigStore;
 import io.kaoto.forage.jdbc.common.DataSourceCommonExportHelper;
 import io.kaoto.forage.jdbc.common.DataSourceFactoryConfig;
@@ -92,8 +92,7 @@ public class ForageDataSourceAutoConfiguration implements BeanFactoryAware {
             configurableBeanFactory.registerSingleton("SUPPORTS", new SupportsJtaTransactionPolicy());
         }
 
-        Set<String> prefixes =
-                ConfigStore.getInstance().readPrefixes(config, ConfigHelper.getNamedPropertyRegexp("jdbc"));
+        Set<String> prefixes = ConfigStore.getInstance().readNamedPrefixes(config, "jdbc");
         log.debug("Found {} prefixes for JDBC configuration: {}", prefixes.size(), prefixes);
 
         if (!prefixes.isEmpty()) {
@@ -199,11 +198,8 @@ public class ForageDataSourceAutoConfiguration implements BeanFactoryAware {
     }
 
     private List<ServiceLoader.Provider<DataSourceProvider>> findDataSourceProviders() {
-        ServiceLoader<DataSourceProvider> serviceLoader = ServiceLoader.load(
-                DataSourceProvider.class, beanFactory.getClass().getClassLoader());
-
         List<ServiceLoader.Provider<DataSourceProvider>> providers =
-                serviceLoader.stream().toList();
+                ProviderRegistry.of(beanFactory.getClass().getClassLoader()).providers(DataSourceProvider.class);
         log.debug(
                 "Found {} DataSource providers: {}",
                 providers.size(),
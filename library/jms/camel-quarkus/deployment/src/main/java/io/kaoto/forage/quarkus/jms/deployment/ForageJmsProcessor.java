@@ -3,7 +3,6 @@ package io.kaoto.forage.quarkus.jms.deployment;
 import io.kaoto.forage.core.annotations.FactoryType;
 import io.kaoto.forage.core.annotations.FactoryVariant;
 import io.kaoto.forage.core.annotations.ForageFactory;
-import io.kaoto.forage.core.util.config.ConfigHelper;
 import io.kaoto.forage.core.util.config.ConfigStore;
 import io.kaoto.forage.jms.common.ConnectionFactoryConfig;
 import io.kaoto.forage.quarkus.jms.ForageJmsRecorder;
@@ -46,7 +45,7 @@ public class ForageJmsProcessor {
             throws Exception {
 
         ConnectionFactoryConfig config = new ConnectionFactoryConfig();
-        Set<String> named = ConfigStore.getInstance().readPrefixes(config, ConfigHelper.getNamedPropertyRegexp("jms"));
+        Set<String> named = ConfigStore.getInstance().readNamedPrefixes(config, "jms");
 
         Map<String, ConnectionFactoryConfig> configs = named.isEmpty()
                 ? Collections.singletonMap((String) null, config)
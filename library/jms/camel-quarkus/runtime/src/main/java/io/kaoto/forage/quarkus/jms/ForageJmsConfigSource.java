@@ -1,7 +1,6 @@
 package io.kaoto.forage.quarkus.jms;
 
 import io.kaoto.forage.core.util.config.AbstractConfigSource;
-import io.kaoto.forage.core.util.config.ConfigHelper;
 import io.kaoto.forage.core.util.config.ConfigStore;
 import io.kaoto.forage.jms.common.ConnectionFactoryConfig;
 import java.util.Set;
@@ -17,16 +16,14 @@ public class ForageJmsConfigSource extends AbstractConfigSource {
         // try load named JMS properties
         ConfigStore.getInstance().setClassLoader(Thread.currentThread().getContextClassLoader());
         ConnectionFactoryConfig config = new ConnectionFactoryConfig();
-        Set<String> named = ConfigStore.getInstance().readPrefixes(config, ConfigHelper.getNamedPropertyRegexp("jms"));
+        Set<String> named = ConfigStore.getInstance().readNamedPrefixes(config, "jms");
 
         if (!named.isEmpty()) {
             for (String name : named) {
                 ConnectionFactoryConfig connectionFactoryConfig = new ConnectionFactoryConfig(name);
                 configureJms(name, connectionFactoryConfig);
             }
-        } else if (!ConfigStore.getInstance()
-                .readPrefixes(config, ConfigHelper.getDefaultPropertyRegexp("jms"))
-                .isEmpty()) {
+        } else if (!ConfigStore.getInstance().readDefaultPrefixes(config, "jms").isEmpty()) {
             configureJms("<default>", config);
         } else {
             LOG.trace("No jms config found.");
@@ -1,6 +1,15 @@
 package io.kaoto.forage.jms.common;
 
+import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.BLOCK_IF_FULL_TIMEOUT_MILLIS;
+import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.IDLE_TIMEOUT_MILLIS;
+import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.MAX_CONNECTIONS;
+import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.MAX_SESSIONS_PER_CONNECTION;
+
+import io.kaoto.forage.core.ConfigWatchConfig;
 import io.kaoto.forage.core.jms.ConnectionFactoryProvider;
+import io.kaoto.forage.core.util.config.ConfigChangeEvent;
+import io.kaoto.forage.core.util.config.ConfigChangeListener;
+import io.kaoto.forage.core.util.config.ConfigStore;
 import io.kaoto.forage.jms.common.transactions.TransactionConfiguration;
 import jakarta.jms.ConnectionFactory;
 import jakarta.jms.XAConnectionFactory;
@@ -72,7 +81,7 @@ public abstract class PooledConnectionFactory implements ConnectionFactoryProvid
             }
 
             // Configure pooled connection factory for XA
-            JmsPoolConnectionFactory pooledConnectionFactory = new JmsPoolConnectionFactory();
+            ResizablePoolConnectionFactory pooledConnectionFactory = new ResizablePoolConnectionFactory();
             pooledConnectionFactory.setConnectionFactory(xaConnectionFactory);
             pooledConnectionFactory.setMaxConnections(config.maxConnections());
             pooledConnectionFactory.setMaxSessionsPerConnection(config.maxSessionsPerConnection());
@@ -84,6 +93,7 @@ public abstract class PooledConnectionFactory implements ConnectionFactoryProvid
                 pooledConnectionFactory.setBlockIfSessionPoolIsFullTimeout(config.blockIfFullTimeoutMillis());
             }
 
+            pooledConnectionFactory.listenToConfigChanges(new PoolResizer(pooledConnectionFactory, config, id));
             LOG.info("Pooled XA ConnectionFactory initialized successfully for id: {}", id);
             return pooledConnectionFactory;
         } else {
@@ -95,7 +105,7 @@ public abstract class PooledConnectionFactory implements ConnectionFactoryProvid
             }
 
             // Configure pooled connection factory
-            JmsPoolConnectionFactory pooledConnectionFactory = new JmsPoolConnectionFactory();
+            ResizablePoolConnectionFactory pooledConnectionFactory = new ResizablePoolConnectionFactory();
             pooledConnectionFactory.setConnectionFactory(underlyingConnectionFactory);
             pooledConnectionFactory.setMaxConnections(config.maxConnections());
             pooledConnectionFactory.setMaxSessionsPerConnection(config.maxSessionsPerConnection());
@@ -107,6 +117,7 @@ public abstract class PooledConnectionFactory implements ConnectionFactoryProvid
                 pooledConnectionFactory.setBlockIfSessionPoolIsFullTimeout(config.blockIfFullTimeoutMillis());
             }
 
+            pooledConnectionFactory.listenToConfigChanges(new PoolResizer(pooledConnectionFactory, config, id));
             LOG.info("Pooled ConnectionFactory initialized successfully for id: {}", id);
             return pooledConnectionFactory;
         }
@@ -115,4 +126,61 @@ public abstract class PooledConnectionFactory implements ConnectionFactoryProvid
     protected ConnectionFactoryConfig getConfig() {
         return config;
     }
+
+    /**
+     * A connection pool whose limits follow the changes of the reloaded configuration until it is stopped, so that
+     * the {@link ConfigStore} does not keep stopped pools reachable nor resizes them.
+     */
+    private static final class ResizablePoolConnectionFactory extends JmsPoolConnectionFactory {
+        private volatile ConfigChangeListener resizer;
+
+        void listenToConfigChanges(ConfigChangeListener resizer) {
+            if (new ConfigWatchConfig().enabled()) {
+                this.resizer = resizer;
+                ConfigStore.getInstance().addChangeListener(resizer);
+            }
+        }
+
+        @Override
+        public void stop() {
+            if (resizer != null) {
+                ConfigStore.getInstance().removeChangeListener(resizer);
+            }
+            super.stop();
+        }
+    }
+
+    /**
+     * Applies the pool limit changes of a reloaded configuration to a running pool.
+     * Other settings, such as the broker URL or the credentials, require a restart.
+     */
+    private record PoolResizer(JmsPoolConnectionFactory connectionFactory, ConnectionFactoryConfig config, String id)
+            implements ConfigChangeListener {
+
+        @Override
+        public void onChange(ConfigChangeEvent event) {
+            if (!event.changedAny(
+                    MAX_CONNECTIONS.asNamed(id),
+                    MAX_SESSIONS_PER_CONNECTION.asNamed(id),
+                    IDLE_TIMEOUT_MILLIS.asNamed(id),
+                    BLOCK_IF_FULL_TIMEOUT_MILLIS.asNamed(id))) {
+                return;
+            }
+
+            connectionFactory.setMaxConnections(config.maxConnections());
+            connectionFactory.setMaxSessionsPerConnection(config.maxSessionsPerConnection());
+            connectionFactory.setConnectionIdleTimeout((int) config.idleTimeoutMillis());
+            if (config.blockIfFull() && config.blockIfFullTimeoutMillis() > 0) {
+                connectionFactory.setBlockIfSessionPoolIsFullTimeout(config.blockIfFullTimeoutMillis());
+            }
+
+            LOG.info(
+                    "Resized ConnectionFactory {} pool - Max Connections: {}, Max Sessions Per Connection: {}, "
+                            + "Idle Timeout: {}ms",
+                    id == null ? "connectionFactory" : id,
+                    config.maxConnections(),
+                    config.maxSessionsPerConnection(),
+                    config.idleTimeoutMillis());
+        }
+    }
 }
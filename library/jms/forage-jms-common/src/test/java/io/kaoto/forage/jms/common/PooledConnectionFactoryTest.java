@@ -0,0 +1,102 @@
+package io.kaoto.forage.jms.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.kaoto.forage.core.ConfigWatchConfigEntries;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.XAConnectionFactory;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.messaginghub.pooled.jms.JmsPoolConnectionFactory;
+
+class PooledConnectionFactoryTest {
+
+    private static final String CONFIGURATION =
+            "forage.jms.kind=artemis\n" + "forage.jms.broker.url=tcp://localhost:61616\n";
+
+    // No connection is opened, the pools being empty
+    private static class TestPooledConnectionFactory extends PooledConnectionFactory {
+        @Override
+        protected ConnectionFactory createConnectionFactory(ConnectionFactoryConfig config) {
+            return (ConnectionFactory) Proxy.newProxyInstance(
+                    getClass().getClassLoader(), new Class<?>[] {ConnectionFactory.class}, (proxy, method, args) -> {
+                        throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+
+        @Override
+        protected XAConnectionFactory createXAConnectionFactory(ConnectionFactoryConfig config) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    @TempDir
+    Path configDir;
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        System.setProperty("forage.config.dir", configDir.toString());
+        // The pools are only resized when the configuration files are watched
+        System.setProperty("forage.config.watch.enabled", "true");
+        ConfigStore.getInstance().invalidate();
+        file = configDir.resolve("forage-connectionfactory.properties");
+        Files.writeString(file, CONFIGURATION + "forage.jms.pool.max.connections=5\n");
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty("forage.config.dir");
+        System.clearProperty("forage.config.watch.enabled");
+        ConfigStore.getInstance().set(ConfigWatchConfigEntries.ENABLED, null);
+        ConnectionFactoryConfigEntries.entries().keySet().forEach(module -> ConfigStore.getInstance()
+                .set(module, null));
+        ConfigStore.getInstance().invalidate();
+    }
+
+    @Test
+    void resizesOnlyThePoolsStillRunning() throws Exception {
+        JmsPoolConnectionFactory running =
+                (JmsPoolConnectionFactory) new TestPooledConnectionFactory().createPooledConnectionFactory(null);
+        JmsPoolConnectionFactory stopped =
+                (JmsPoolConnectionFactory) new TestPooledConnectionFactory().createPooledConnectionFactory(null);
+        try {
+            stopped.stop();
+            // Stopping the pool may reset its limits, which must then be left as they are
+            int stoppedMaxConnections = stopped.getMaxConnections();
+
+            Files.writeString(file, CONFIGURATION + "forage.jms.pool.max.connections=8\n");
+            file.toFile().setLastModified(file.toFile().lastModified() + 2000);
+            ConfigStore.getInstance().reload();
+
+            assertThat(running.getMaxConnections()).isEqualTo(8);
+            assertThat(stopped.getMaxConnections()).isEqualTo(stoppedMaxConnections);
+        } finally {
+            running.stop();
+        }
+    }
+
+    @Test
+    void keepsThePoolsAsConfiguredWithoutWatching() throws Exception {
+        System.clearProperty("forage.config.watch.enabled");
+        ConfigStore.getInstance().set(ConfigWatchConfigEntries.ENABLED, null);
+        JmsPoolConnectionFactory pool =
+                (JmsPoolConnectionFactory) new TestPooledConnectionFactory().createPooledConnectionFactory(null);
+        try {
+            Files.writeString(file, CONFIGURATION + "forage.jms.pool.max.connections=8\n");
+            file.toFile().setLastModified(file.toFile().lastModified() + 2000);
+            ConfigStore.getInstance().reload();
+
+            assertThat(pool.getMaxConnections()).isEqualTo(5);
+        } finally {
+            pool.stop();
+        }
+    }
+}
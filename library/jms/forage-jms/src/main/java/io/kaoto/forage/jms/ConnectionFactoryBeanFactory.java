@@ -5,7 +5,8 @@ import io.kaoto.forage.core.annotations.ConditionalBeanGroup;
 import io.kaoto.forage.core.annotations.FactoryType;
 import io.kaoto.forage.core.annotations.ForageFactory;
 import io.kaoto.forage.core.common.BeanFactory;
-import io.kaoto.forage.core.common.ServiceLoaderHelper;
+import io.kaoto.forage.core.instrumentation.ForageInstrumentation;
+import io.kaoto.forage.core.instrumentation.StepType;
 import io.kaoto.forage.core.jms.ConnectionFactoryProvider;
 import io.kaoto.forage.core.jta.MandatoryJtaTransactionPolicy;
 import io.kaoto.forage.core.jta.NeverJtaTransactionPolicy;
@@ -13,7 +14,6 @@ import io.kaoto.forage.core.jta.NotSupportedJtaTransactionPolicy;
 import io.kaoto.forage.core.jta.RequiredJtaTransactionPolicy;
 import io.kaoto.forage.core.jta.RequiresNewJtaTransactionPolicy;
 import io.kaoto.forage.core.jta.SupportsJtaTransactionPolicy;
-import io.kaoto.forage.core.util.config.ConfigHelper;
 import io.kaoto.forage.core.util.config.ConfigStore;
 import io.kaoto.forage.jms.common.ConnectionFactoryCommonExportHelper;
 import io.kaoto.forage.jms.common.ConnectionFactoryConfig;
@@ -76,38 +76,34 @@ public class ConnectionFactoryBeanFactory implements BeanFactory {
     public void configure() {
 
         ConnectionFactoryConfig config = new ConnectionFactoryConfig();
-        Set<String> prefixes =
-                ConfigStore.getInstance().readPrefixes(config, ConfigHelper.getNamedPropertyRegexp("jms"));
+        Set<String> prefixes = ConfigStore.getInstance().readNamedPrefixes(config, "jms");
 
         if (config.transactionEnabled()) {
-            camelContext.getRegistry().bind("PROPAGATION_REQUIRED", new RequiredJtaTransactionPolicy());
-            camelContext.getRegistry().bind("MANDATORY", new MandatoryJtaTransactionPolicy());
-            camelContext.getRegistry().bind("NEVER", new NeverJtaTransactionPolicy());
-            camelContext.getRegistry().bind("NOT_SUPPORTED", new NotSupportedJtaTransactionPolicy());
-            camelContext.getRegistry().bind("REQUIRES_NEW", new RequiresNewJtaTransactionPolicy());
-            camelContext.getRegistry().bind("SUPPORTS", new SupportsJtaTransactionPolicy());
+            bind("PROPAGATION_REQUIRED", new RequiredJtaTransactionPolicy());
+            bind("MANDATORY", new MandatoryJtaTransactionPolicy());
+            bind("NEVER", new NeverJtaTransactionPolicy());
+            bind("NOT_SUPPORTED", new NotSupportedJtaTransactionPolicy());
+            bind("REQUIRES_NEW", new RequiresNewJtaTransactionPolicy());
+            bind("SUPPORTS", new SupportsJtaTransactionPolicy());
         }
 
         if (!prefixes.isEmpty()) {
             for (String name : prefixes) {
-                if (camelContext.getRegistry().lookupByNameAndType(name, ConnectionFactory.class) == null) {
+                if (lookup(name, ConnectionFactory.class) == null) {
                     ConnectionFactoryConfig cfConfig = new ConnectionFactoryConfig(name);
                     ForageConnectionFactory forageConnectionFactory = newConnectionFactory(cfConfig, name);
-                    camelContext.getRegistry().bind(name, forageConnectionFactory.connectionFactory());
+                    bind(name, forageConnectionFactory.connectionFactory());
                 }
             }
         } else {
             try {
-                if (camelContext.getRegistry().lookupByNameAndType(DEFAULT_CONNECTION_FACTORY, ConnectionFactory.class)
-                        == null) {
+                if (lookup(DEFAULT_CONNECTION_FACTORY, ConnectionFactory.class) == null) {
                     final List<ServiceLoader.Provider<ConnectionFactoryProvider>> providers =
                             findProviders(ConnectionFactoryProvider.class);
                     if (providers.size() == 1) {
                         ForageConnectionFactory forageConnectionFactory =
                                 doCreateConnectionFactory(providers.get(0), null);
-                        camelContext
-                                .getRegistry()
-                                .bind(DEFAULT_CONNECTION_FACTORY, forageConnectionFactory.connectionFactory());
+                        bind(DEFAULT_CONNECTION_FACTORY, forageConnectionFactory.connectionFactory());
                     } else {
                         throw new IllegalArgumentException(
                                 "No ConnectionFactory implementation is present in the classpath");
@@ -126,11 +122,8 @@ public class ConnectionFactoryBeanFactory implements BeanFactory {
                         connectionFactoryConfig.jmsKind());
         LOG.info("Creating ConnectionFactory of type {}", connectionFactoryProviderClass);
 
-        final List<ServiceLoader.Provider<ConnectionFactoryProvider>> providers =
-                findProviders(ConnectionFactoryProvider.class);
-
         final ServiceLoader.Provider<ConnectionFactoryProvider> connectionFactoryProvider =
-                ServiceLoaderHelper.findProviderByClassName(providers, connectionFactoryProviderClass);
+                findProvider(ConnectionFactoryProvider.class, connectionFactoryProviderClass);
 
         if (connectionFactoryProvider == null) {
             LOG.warn("ConnectionFactory {} has no provider for {}", name, connectionFactoryProviderClass);
@@ -143,7 +136,8 @@ public class ConnectionFactoryBeanFactory implements BeanFactory {
     private ForageConnectionFactory doCreateConnectionFactory(
             ServiceLoader.Provider<ConnectionFactoryProvider> provider, String name) {
         final ConnectionFactoryProvider connectionFactoryProvider = provider.get();
-        return new ForageConnectionFactory(connectionFactoryProvider.create(name));
+        return new ForageConnectionFactory(
+                ForageInstrumentation.call(StepType.BEAN_CREATE, name, () -> connectionFactoryProvider.create(name)));
     }
 
     @Override
@@ -3,6 +3,7 @@ package io.kaoto.forage.springboot.jms;
 import io.kaoto.forage.core.annotations.FactoryType;
 import io.kaoto.forage.core.annotations.FactoryVariant;
 import io.kaoto.forage.core.annotations.ForageFactory;
+import io.kaoto.forage.core.common.ProviderRegistry;
 import io.kaoto.forage.core.common.ServiceLoaderHelper;
 import io.kaoto.forage.core.jms.ConnectionFactoryProvider;
 import io.kaoto.forage.core.jta.MandatoryJtaTransactionPolicy;
@@ -11,7 +12,6 @@ import io.kaoto.forage.core.jta.NotSupportedJtaTransactionPolicy;
 import io.kaoto.forage.core.jta.RequiredJtaTransactionPolicy;
 import io.kaoto.forage.core.jta.RequiresNewJtaTransactionPolicy;
 import io.kaoto.forage.core.jta.SupportsJtaTransactionPolicy;
-import io.kaoto.forage.core.util.config.ConfigHelper;
 import io.kaoto.forage.core.util.config.ConfigStore;
 import io.kaoto.forage.jms.common.ConnectionFactoryCommonExportHelper;
 import io.kaoto.forage.jms.common.ConnectionFactoryConfig;
@@ -74,8 +74,7 @@ public class ForageConnectionFactoryAutoConfiguration implements BeanFactoryAwar
             configurableBeanFactory.registerSingleton("SUPPORTS", new SupportsJtaTransactionPolicy());
         }
 
-        Set<String> prefixes =
-                ConfigStore.getInstance().readPrefixes(config, ConfigHelper.getNamedPropertyRegexp("jms"));
+        Set<String> prefixes = ConfigStore.getInstance().readNamedPrefixes(config, "jms");
         log.debug("Found {} prefixes for JMS configuration: {}", prefixes.size(), prefixes);
 
         if (!prefixes.isEmpty()) {
@@ -172,11 +171,8 @@ public class ForageConnectionFactoryAutoConfiguration implements BeanFactoryAwar
     }
 
     private List<ServiceLoader.Provider<ConnectionFactoryProvider>> findConnectionFactoryProviders() {
-        ServiceLoader<ConnectionFactoryProvider> serviceLoader = ServiceLoader.load(
-                ConnectionFactoryProvider.class, beanFactory.getClass().getClassLoader());
-
         List<ServiceLoader.Provider<ConnectionFactoryProvider>> providers =
-                serviceLoader.stream().toList();
+                ProviderRegistry.of(beanFactory.getClass().getClassLoader()).providers(ConnectionFactoryProvider.class);
         log.debug(
                 "Found {} ConnectionFactory providers: {}",
                 providers.size(),
@@ -3,7 +3,6 @@ package io.kaoto.forage.plugin;
 import io.kaoto.forage.core.common.ExportCustomizer;
 import io.kaoto.forage.core.common.RuntimeType;
 import io.kaoto.forage.core.util.config.Config;
-import io.kaoto.forage.core.util.config.ConfigHelper;
 import io.kaoto.forage.core.util.config.ConfigModule;
 import io.kaoto.forage.core.util.config.ConfigStore;
 import java.util.LinkedHashSet;
@@ -46,10 +45,8 @@ public abstract class AbstractExportCustomizer<T extends Config> implements Expo
         if (enabled == null) {
             // to enable customizer:
             // - at least one property with required prefix has to exist or such property with prefixed with "name"
-            Set<String> defaultProperties = ConfigStore.getInstance()
-                    .readPrefixes(getConfig(), ConfigHelper.getDefaultPropertyRegexp(getPrefix()));
-            Set<String> namedProperties = ConfigStore.getInstance()
-                    .readPrefixes(getConfig(), ConfigHelper.getNamedPropertyRegexp(getPrefix()));
+            Set<String> defaultProperties = ConfigStore.getInstance().readDefaultPrefixes(getConfig(), getPrefix());
+            Set<String> namedProperties = ConfigStore.getInstance().readNamedPrefixes(getConfig(), getPrefix());
 
             if (defaultProperties.isEmpty() && namedProperties.isEmpty()) {
                 Log.trace("No property for %s (%s) is present."
@@ -85,8 +82,7 @@ public abstract class AbstractExportCustomizer<T extends Config> implements Expo
      */
     protected Set<String> readAllValuesFromProperty(ConfigModule entry) {
 
-        Set<String> named =
-                ConfigStore.getInstance().readPrefixes(getConfig(), ConfigHelper.getNamedPropertyRegexp(getPrefix()));
+        Set<String> named = ConfigStore.getInstance().readNamedPrefixes(getConfig(), getPrefix());
         // values from default properties
         Set<Optional<String>> values = named.stream()
                 .map(n -> {
@@ -80,6 +80,22 @@ public class CodeScanner {
             return result;
         }
 
+        scanSourceDirectory(sourceDir, result);
+
+        log.debug("Single-pass scan completed for " + artifact.getArtifactId() + ": "
+                + result.getBeans().size()
+                + " beans, " + result.getFactories().size() + " factories, "
+                + result.getConfigProperties().size() + " config properties, "
+                + result.getConfigClasses().size()
+                + " config classes");
+
+        return result;
+    }
+
+    /**
+     * Scans all the Java sources of a source directory into the given result, skipping test sources.
+     */
+    public void scanSourceDirectory(Path sourceDir, ScanResult result) {
         try {
             log.debug("Scanning source directory: " + sourceDir);
 
@@ -100,15 +116,6 @@ public class CodeScanner {
             log.warn("Failed to scan source directory: " + sourceDir);
             log.debug("Scan error details: " + e.getMessage(), e);
         }
-
-        log.debug("Single-pass scan completed for " + artifact.getArtifactId() + ": "
-                + result.getBeans().size()
-                + " beans, " + result.getFactories().size() + " factories, "
-                + result.getConfigProperties().size() + " config properties, "
-                + result.getConfigClasses().size()
-                + " config classes");
-
-        return result;
     }
 
     /**
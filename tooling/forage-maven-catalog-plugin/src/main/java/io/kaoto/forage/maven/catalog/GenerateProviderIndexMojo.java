@@ -0,0 +1,88 @@
+package io.kaoto.forage.maven.catalog;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Maven plugin goal to generate the provider index of a Forage artifact.
+ *
+ * This Mojo reads the {@code META-INF/services} files of the module, resolves the {@code @ForageBean} name of each
+ * implementation from the module sources and writes {@code META-INF/forage/providers.properties}, so that the
+ * providers can be resolved at runtime without scanning the classpath.
+ */
+@Mojo(name = "generate-provider-index", defaultPhase = LifecyclePhase.PROCESS_CLASSES, threadSafe = true)
+public class GenerateProviderIndexMojo extends AbstractMojo {
+
+    /**
+     * The Maven project instance.
+     */
+    @Parameter(defaultValue = "${project}", readonly = true, required = true)
+    private MavenProject project;
+
+    /**
+     * The directory holding the compiled classes, where the index is written.
+     */
+    @Parameter(defaultValue = "${project.build.outputDirectory}", readonly = true)
+    private File classesDirectory;
+
+    /**
+     * Skips the generation of the provider index.
+     */
+    @Parameter(property = "forage.providerIndex.skip", defaultValue = "false")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (skip || classesDirectory == null || !classesDirectory.isDirectory()) {
+            getLog().debug("Skipping the provider index generation");
+            return;
+        }
+
+        try {
+            ProviderIndexGenerator generator = new ProviderIndexGenerator();
+            Path classes = classesDirectory.toPath();
+
+            // Only scan the sources when the module declares services
+            if (generator.buildIndex(classes, Map.of()).isEmpty()) {
+                getLog().debug("No service declared in " + classes + ", skipping the provider index generation");
+                return;
+            }
+
+            Map<String, List<String>> index = generator.buildIndex(classes, scanKinds());
+            Path file = generator.write(classes, index);
+
+            getLog().info(String.format("Generated provider index for %d services: %s", index.size(), file));
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed to generate the Forage provider index", e);
+        }
+    }
+
+    private Map<String, String> scanKinds() {
+        CodeScanner scanner = new CodeScanner(getLog());
+        ScanResult result = new ScanResult();
+        for (String sourceRoot : project.getCompileSourceRoots()) {
+            Path sourceDir = Path.of(sourceRoot);
+            if (Files.isDirectory(sourceDir)) {
+                scanner.scanSourceDirectory(sourceDir, result);
+            }
+        }
+
+        Map<String, String> kinds = new HashMap<>();
+        for (ScannedBean bean : result.getBeans()) {
+            kinds.put(bean.getClassName(), bean.getName());
+        }
+        return kinds;
+    }
+}
@@ -0,0 +1,97 @@
+package io.kaoto.forage.maven.catalog;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Generates the provider index read at runtime by {@code io.kaoto.forage.core.common.ProviderRegistry}.
+ *
+ * <p>The index lists, for each {@code META-INF/services} file of the artifact, the implementations in declaration
+ * order along with their kind (the {@code @ForageBean} name) when they have one:
+ *
+ * <pre>
+ * io.kaoto.forage.core.ai.ModelProvider=io.kaoto.forage.models.chat.openai.OpenAIProvider:openai
+ * </pre>
+ *
+ * <p>The output is sorted and carries no timestamp, so that builds stay reproducible.
+ */
+public class ProviderIndexGenerator {
+
+    /**
+     * The location of the provider index, relative to the classes directory.
+     */
+    public static final String INDEX_RESOURCE = "META-INF/forage/providers.properties";
+
+    private static final String SERVICES_DIRECTORY = "META-INF/services";
+
+    /**
+     * Builds the provider index of a classes directory.
+     *
+     * @param classesDirectory the directory holding the compiled classes and resources of the artifact
+     * @param kinds the kind of the scanned beans, by fully qualified class name
+     * @return the entries of the index by service interface, empty if the artifact declares no service
+     */
+    public Map<String, List<String>> buildIndex(Path classesDirectory, Map<String, String> kinds) throws IOException {
+        Map<String, List<String>> index = new TreeMap<>();
+        Path servicesDirectory = classesDirectory.resolve(SERVICES_DIRECTORY);
+        if (!Files.isDirectory(servicesDirectory)) {
+            return index;
+        }
+
+        try (Stream<Path> files = Files.list(servicesDirectory)) {
+            for (Path file : files.filter(Files::isRegularFile).toList()) {
+                List<String> entries = new ArrayList<>();
+                for (String implementation : readServiceFile(file)) {
+                    String kind = kinds.get(implementation.replace('$', '.'));
+                    entries.add(kind != null && !kind.isEmpty() ? implementation + ":" + kind : implementation);
+                }
+                if (!entries.isEmpty()) {
+                    index.put(file.getFileName().toString(), entries);
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Writes the provider index into the classes directory.
+     *
+     * @param classesDirectory the directory holding the compiled classes and resources of the artifact
+     * @param index the entries of the index by service interface
+     * @return the written file
+     */
+    public Path write(Path classesDirectory, Map<String, List<String>> index) throws IOException {
+        StringBuilder content = new StringBuilder("# Generated by the Forage Maven catalog plugin, do not edit\n");
+        index.forEach((service, entries) -> content.append(service)
+                .append('=')
+                .append(String.join(",", entries))
+                .append('\n'));
+
+        Path file = classesDirectory.resolve(INDEX_RESOURCE);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    /**
+     * Reads the implementations declared in a service file, following the {@link java.util.ServiceLoader} format.
+     */
+    private static List<String> readServiceFile(Path file) throws IOException {
+        List<String> implementations = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            int comment = line.indexOf('#');
+            String implementation = (comment >= 0 ? line.substring(0, comment) : line).trim();
+            if (!implementation.isEmpty() && !implementations.contains(implementation)) {
+                implementations.add(implementation);
+            }
+        }
+        return implementations;
+    }
+}
@@ -0,0 +1,60 @@
+package io.kaoto.forage.maven.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for ProviderIndexGenerator.
+ */
+public class ProviderIndexGeneratorTest {
+
+    @TempDir
+    Path classes;
+
+    @Test
+    public void testIndexServicesWithTheirKinds() throws Exception {
+        Path services = Files.createDirectories(classes.resolve("META-INF/services"));
+        Files.writeString(
+                services.resolve("io.kaoto.forage.core.ai.ModelProvider"),
+                "# model providers\n"
+                        + "io.kaoto.forage.models.chat.openai.OpenAIProvider\n"
+                        + "io.kaoto.forage.models.chat.ollama.OllamaProvider # local models\n"
+                        + "io.kaoto.forage.models.chat.custom.CustomProvider\n");
+
+        ProviderIndexGenerator generator = new ProviderIndexGenerator();
+        Map<String, List<String>> index = generator.buildIndex(
+                classes,
+                Map.of(
+                        "io.kaoto.forage.models.chat.openai.OpenAIProvider", "openai",
+                        "io.kaoto.forage.models.chat.ollama.OllamaProvider", "ollama"));
+
+        assertThat(index)
+                .containsOnlyKeys("io.kaoto.forage.core.ai.ModelProvider")
+                .containsEntry(
+                        "io.kaoto.forage.core.ai.ModelProvider",
+                        List.of(
+                                "io.kaoto.forage.models.chat.openai.OpenAIProvider:openai",
+                                "io.kaoto.forage.models.chat.ollama.OllamaProvider:ollama",
+                                "io.kaoto.forage.models.chat.custom.CustomProvider"));
+
+        Path file = generator.write(classes, index);
+
+        assertThat(file).isEqualTo(classes.resolve(ProviderIndexGenerator.INDEX_RESOURCE));
+        assertThat(Files.readAllLines(file))
+                .contains("io.kaoto.forage.core.ai.ModelProvider="
+                        + "io.kaoto.forage.models.chat.openai.OpenAIProvider:openai,"
+                        + "io.kaoto.forage.models.chat.ollama.OllamaProvider:ollama,"
+                        + "io.kaoto.forage.models.chat.custom.CustomProvider");
+    }
+
+    @Test
+    public void testNoIndexWithoutServices() throws Exception {
+        assertThat(new ProviderIndexGenerator().buildIndex(classes, Map.of())).isEmpty();
+    }
+}